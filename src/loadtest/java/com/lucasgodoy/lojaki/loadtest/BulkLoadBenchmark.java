@@ -0,0 +1,136 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.LojakiBackendApplication;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BatchInsertBulkLoader;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BulkLoadReport;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BulkLoader;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BulkTable;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.PostgresCopyBulkLoader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Throughput of the two bulk loaders on PostgreSQL: the same store items
+ * (200k by default, spread over a seeded store's products) loaded with
+ * PostgresCopyBulkLoader and with BatchInsertBulkLoader, in the same chunk
+ * size. Each load is followed by a re-run of the same rows, which all
+ * already exist and are skipped, as when an interrupted import is
+ * restarted.
+ *
+ * Loads go into a populated catalog (--existing rows, as many as the load
+ * by default, loaded and analyzed up front): into a table the planner still
+ * believes nearly empty, the batch loader's per-chunk duplicate lookups
+ * become sequential scans and its numbers mean nothing. Loaded rows are
+ * deleted and the table vacuumed between loads, so every load starts from
+ * the same table and indexes.
+ *
+ * Loaders alternate for --rounds rounds; every load reports wall time and
+ * rows per second.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.BulkLoadBenchmark \
+ *       -Dloadtest.args="--jdbc-url=jdbc:postgresql://localhost:5432/lojaki --username=postgres --password= \
+ *       --items=200000 --existing=200000 --chunk-size=10000 --rounds=3"
+ */
+public final class BulkLoadBenchmark {
+
+    /** Stock of loaded rows, so they can be told apart from the seeded and existing ones */
+    private static final int LOADED_STOCK = 7;
+    private static final int EXISTING_STOCK = 8;
+
+    private BulkLoadBenchmark() { }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        if (!options.containsKey("jdbc-url")) {
+            throw new IllegalArgumentException("COPY runs on PostgreSQL only: pass --jdbc-url");
+        }
+        int items = Integer.parseInt(options.getOrDefault("items", "200000"));
+        int chunkSize = Integer.parseInt(options.getOrDefault("chunk-size", "10000"));
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "3"));
+        int existing = Integer.parseInt(options.getOrDefault("existing", String.valueOf(items)));
+        List<String> runnerArgs = new ArrayList<>(List.of("--stores=1", "--users=1",
+                "--products=" + options.getOrDefault("products", "1000")));
+        for (String passed : List.of("jdbc-url", "username", "password")) {
+            if (options.containsKey(passed)) {
+                runnerArgs.add("--" + passed + "=" + options.get(passed));
+            }
+        }
+        LoadTestOptions loadTestOptions = LoadTestOptions.parse(runnerArgs.toArray(String[]::new));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = SpringApplication.run(LojakiBackendApplication.class,
+                loadTestOptions.springArguments());
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            DataSource dataSource = context.getBean(DataSource.class);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            CatalogSeeder.SeededStore seeded = new CatalogSeeder(entityManager, transactions, dataSource)
+                    .seed(loadTestOptions).get(0);
+            Store store = seeded.store();
+            Product[] products = seeded.products();
+            new PostgresCopyBulkLoader(dataSource, chunkSize)
+                    .loadStoreItems(storeItems(store, products, existing, EXISTING_STOCK));
+            System.out.printf("store items=%,d over %,d products into %,d existing, chunk size %,d%n", items,
+                    products.length, existing, chunkSize);
+
+            Map<String, Function<DataSource, BulkLoader>> loaders = Map.of(
+                    "COPY", source -> new PostgresCopyBulkLoader(source, chunkSize),
+                    "batch INSERT", source -> new BatchInsertBulkLoader(source, chunkSize));
+            for (int round = 1; round <= rounds; round++) {
+                for (String name : List.of("COPY", "batch INSERT")) {
+                    List<StoreItem> rows = storeItems(store, products, items, LOADED_STOCK);
+                    jdbcTemplate.execute("VACUUM ANALYZE store_items");
+                    BulkLoader loader = loaders.get(name).apply(dataSource);
+                    print("round " + round + " " + name + ":", loader.loadStoreItems(rows));
+                    print("round " + round + " " + name + " re-run:", loader.loadStoreItems(rows));
+                    jdbcTemplate.update("DELETE FROM store_items WHERE store_id = ? AND stock = ?", store.getId(),
+                            LOADED_STOCK);
+                }
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<StoreItem> storeItems(Store store, Product[] products, int count, int stock) {
+        List<StoreItem> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(StoreItem.create(store, products[i % products.length], BigDecimal.valueOf(1000 + i % 9000, 2),
+                    stock));
+        }
+        return rows;
+    }
+
+    private static void print(String label, BulkLoadReport report) {
+        long millis = Math.max(1, report.getDuration().toMillis());
+        long read = report.getReadRows().getOrDefault(BulkTable.STORE_ITEMS, 0L);
+        System.out.printf("%-28s %,9d inserted %,9d skipped in %,7d ms | %,9.0f rows/s read%n", label,
+                report.getInsertedRows(BulkTable.STORE_ITEMS), report.getSkippedRows(BulkTable.STORE_ITEMS),
+                millis, read * 1000.0 / millis);
+    }
+}
@@ -0,0 +1,210 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.application.cart.CartWriteBehind;
+import com.lucasgodoy.lojaki.application.cart.Carts;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.domain.cart.model.SavedCart;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.repository.CartRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and memory benchmark of the in-memory cart store, without a
+ * database: carts are filled from a synthetic catalog (see
+ * {@link CatalogSnapshotBenchmark}), then N threads mutate random carts
+ * (adds, quantity changes, removals and reads) while a writer reprices
+ * catalog items, so reads also pay for revalidation.
+ *
+ * Reports heap retained per cart and mutations per second, in memory only
+ * and with write-behind to an in-memory repository (which measures the
+ * cost of scheduling and flushing, not of the database).
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.CartBenchmark \
+ *       -Dloadtest.args="--carts=100000 --lines=5 --threads=8 --duration=10s"
+ */
+public final class CartBenchmark {
+
+    private static final int SHARDS = 64;
+
+    /** Catalog price changes per second during the timed runs */
+    private static final int REPRICES_PER_SECOND = 100;
+
+    private CartBenchmark() { }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int products = Integer.parseInt(options.getOrDefault("products", "10000"));
+        int cartCount = Integer.parseInt(options.getOrDefault("carts", "100000"));
+        int lines = Integer.parseInt(options.getOrDefault("lines", "5"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "10s").toUpperCase());
+
+        UUID storeId = UUID.randomUUID();
+        List<StoreItem> items = CatalogSnapshotBenchmark.synthesize(storeId, products, new SplittableRandom(42));
+        CatalogSnapshots snapshots = new CatalogSnapshots(
+                new CatalogSnapshotBenchmark.FixedStoreItems(new ArrayList<>(items)), Clock.systemUTC());
+        snapshots.snapshot(storeId);
+        UUID[] ids = items.stream().map(StoreItem::getId).toArray(UUID[]::new);
+        List<StoreItem> repriced = new ArrayList<>(items.subList(0, Math.min(1_000, products)));
+        items = null;
+
+        String[] cartIds = new String[cartCount];
+        for (int i = 0; i < cartCount; i++) {
+            cartIds[i] = "session-" + i;
+        }
+
+        // Memory only
+        long baseline = CatalogSnapshotBenchmark.usedHeapAfterGc();
+        Carts carts = new Carts(snapshots, null, SHARDS, cartCount * 2, Duration.ofHours(1), Clock.systemUTC());
+        fill(carts, cartIds, storeId, ids, lines);
+        long cartBytes = CatalogSnapshotBenchmark.usedHeapAfterGc() - baseline;
+        System.out.printf("carts=%,d lines/cart=%d products=%,d shards=%d%n", carts.getCartCount(), lines,
+                products, SHARDS);
+        System.out.printf("memory:          %,d bytes/cart (%,d bytes/line, incl. cart id)%n",
+                cartBytes / cartCount, cartBytes / cartCount / lines);
+        mutate("in memory", carts, cartIds, storeId, ids, threads, duration, snapshots, repriced);
+        carts = null;
+
+        // With write-behind
+        MemoryCarts repository = new MemoryCarts();
+        CartWriteBehind writeBehind = new CartWriteBehind(repository, Duration.ofMillis(100), 500,
+                Clock.systemUTC());
+        writeBehind.start();
+        carts = new Carts(snapshots, writeBehind, SHARDS, cartCount * 2, Duration.ofHours(1), Clock.systemUTC());
+        fill(carts, cartIds, storeId, ids, lines);
+        mutate("write-behind", carts, cartIds, storeId, ids, threads, duration, snapshots, repriced);
+        writeBehind.stop();
+        System.out.printf("write-behind:    %,d scheduled, %,d written, %,d deleted, %,d rows (%.1f changes per write)%n",
+                writeBehind.getScheduledCount(), writeBehind.getWrittenCount(), writeBehind.getDeletedCount(),
+                repository.rows.size(),
+                (double) writeBehind.getScheduledCount() / Math.max(1, writeBehind.getWrittenCount()
+                        + writeBehind.getDeletedCount()));
+    }
+
+    private static void fill(Carts carts, String[] cartIds, UUID storeId, UUID[] ids, int lines) {
+        SplittableRandom random = new SplittableRandom(7);
+        for (String cartId : cartIds) {
+            for (int l = 0; l < lines; l++) {
+                carts.add(cartId, storeId, ids[random.nextInt(ids.length)], 1 + random.nextInt(3));
+            }
+        }
+    }
+
+    private static void mutate(String label, Carts carts, String[] cartIds, UUID storeId, UUID[] ids, int threads,
+                               Duration duration, CatalogSnapshots snapshots, List<StoreItem> repriced)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads + 1);
+
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(100 + t);
+            Thread worker = new Thread(() -> {
+                long count = 0;
+                long failures = 0;
+                while (running.get()) {
+                    String cartId = cartIds[random.nextInt(cartIds.length)];
+                    UUID storeItemId = ids[random.nextInt(ids.length)];
+                    int op = random.nextInt(10);
+                    try {
+                        if (op < 5) {
+                            carts.add(cartId, storeId, storeItemId, 1);
+                        } else if (op < 7) {
+                            carts.remove(cartId, storeItemId);
+                        } else if (op < 8) {
+                            carts.setQuantity(cartId, storeItemId, 1 + random.nextInt(5));
+                        } else {
+                            carts.get(cartId);
+                        }
+                    } catch (DomainException e) {
+                        failures++; // Item not in the cart, or the cart is full
+                    }
+                    count++;
+                }
+                operations.add(count);
+                rejected.add(failures);
+                done.countDown();
+            }, "cart-worker-" + t);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        Thread writer = new Thread(() -> {
+            long intervalNanos = 1_000_000_000L / REPRICES_PER_SECOND;
+            long next = System.nanoTime();
+            int i = 0;
+            while (running.get()) {
+                if (System.nanoTime() >= next) {
+                    StoreItem item = repriced.get(i++ % repriced.size());
+                    item.updatePrice(item.getPrice().add(BigDecimal.ONE));
+                    snapshots.onStoreItemChanged(item);
+                    next += intervalNanos;
+                }
+                Thread.onSpinWait();
+            }
+            done.countDown();
+        }, "catalog-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        long mutationsBefore = carts.getMutationCount();
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        done.await();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%-16s %,.0f ops/s with %d threads, %,.0f mutations/s, %.1f%% rejected%n", label + ":",
+                operations.sum() / seconds, threads, (carts.getMutationCount() - mutationsBefore) / seconds,
+                100.0 * rejected.sum() / Math.max(1, operations.sum()));
+    }
+
+    /** Keeps written carts in a map, standing in for the database */
+    private static final class MemoryCarts implements CartRepository {
+
+        private final Map<String, SavedCart> rows = new ConcurrentHashMap<>();
+
+        @Override
+        public SavedCart find(String cartId, Instant now) {
+            SavedCart cart = rows.get(cartId);
+            return cart == null || !cart.getExpiresAt().isAfter(now) ? null : cart;
+        }
+
+        @Override
+        public void saveAll(List<SavedCart> carts) {
+            carts.forEach(cart -> rows.put(cart.getCartId(), cart));
+        }
+
+        @Override
+        public void deleteAll(Collection<String> cartIds) {
+            cartIds.forEach(rows::remove);
+        }
+
+        @Override
+        public int deleteExpired(Instant now) {
+            int before = rows.size();
+            rows.values().removeIf(cart -> !cart.getExpiresAt().isAfter(now));
+            return before - rows.size();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BulkLoadReport;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BulkLoader;
+import com.lucasgodoy.lojaki.infrastructure.persistence.bulk.BulkTable;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.BrandMapper;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.CategoryMapper;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.StoreMapper;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.UserMapper;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaProductRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds the stores, users, products and store items the workload runs against.
+ *
+ * Reference rows and products go through the regular mappers and JPA
+ * repository (in chunks, so the persistence context stays small); store
+ * items go through the bulk loader. Products are returned in popularity
+ * order: index 0 is the SKU the Zipf sampler picks most often.
+ */
+final class CatalogSeeder {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int BRANDS_PER_STORE = 10;
+    private static final int CATEGORIES_PER_STORE = 20;
+
+    /** Large enough that checkouts never run a popular SKU dry during a run */
+    private static final int INITIAL_STOCK = 1_000_000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactions;
+    private final DataSource dataSource;
+
+    CatalogSeeder(EntityManager entityManager, TransactionTemplate transactions, DataSource dataSource) {
+        this.entityManager = entityManager;
+        this.transactions = transactions;
+        this.dataSource = dataSource;
+    }
+
+    List<SeededStore> seed(LoadTestOptions options) {
+        Random random = new Random(options.seed());
+        JpaProductRepository productRepository = new JpaProductRepository(entityManager);
+        BulkLoader bulkLoader = BulkLoader.forDataSource(dataSource, CHUNK_SIZE);
+
+        List<SeededStore> stores = new ArrayList<>();
+        for (int s = 0; s < options.stores(); s++) {
+            Store store = Store.create("Load test store " + s);
+            List<Brand> brands = new ArrayList<>();
+            List<Category> categories = new ArrayList<>();
+            List<User> users = new ArrayList<>();
+            for (int b = 0; b < BRANDS_PER_STORE; b++) {
+                brands.add(Brand.create(store, "Brand " + s + "-" + b));
+            }
+            for (int c = 0; c < CATEGORIES_PER_STORE; c++) {
+                categories.add(Category.create(store, "Category " + s + "-" + c));
+            }
+            for (int u = 0; u < options.usersPerStore(); u++) {
+                users.add(new User(UUID.randomUUID(), "load-" + s + "-" + u + "@lojaki.test", Role.STAFF));
+            }
+            transactions.executeWithoutResult(status -> {
+                entityManager.persist(StoreMapper.INSTANCE.toEntity(store));
+                brands.forEach(brand -> entityManager.persist(BrandMapper.INSTANCE.toEntity(brand, entityManager)));
+                categories.forEach(category -> entityManager.persist(CategoryMapper.INSTANCE.toEntity(category, entityManager)));
+                users.forEach(user -> entityManager.persist(UserMapper.INSTANCE.toEntity(user)));
+            });
+
+            Product[] products = new Product[options.productsPerStore()];
+            StoreItem[] storeItems = new StoreItem[products.length];
+            for (int p = 0; p < products.length; p++) {
+                BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(99_900), 2).setScale(2, RoundingMode.UNNECESSARY);
+                products[p] = Product.create(store, "SKU " + s + "-" + p, "Seeded by the load test",
+                        new Money(price, LoadTestRunner.CURRENCY), INITIAL_STOCK,
+                        brands.get(random.nextInt(brands.size())),
+                        categories.get(random.nextInt(categories.size())));
+                storeItems[p] = StoreItem.create(store, products[p], price, INITIAL_STOCK);
+            }
+            for (int from = 0; from < products.length; from += CHUNK_SIZE) {
+                int to = Math.min(from + CHUNK_SIZE, products.length);
+                int start = from;
+                transactions.executeWithoutResult(status -> {
+                    for (int p = start; p < to; p++) {
+                        productRepository.save(products[p]);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            }
+            BulkLoadReport report = bulkLoader.loadStoreItems(List.of(storeItems));
+            if (report.getInsertedRows(BulkTable.STORE_ITEMS) != storeItems.length) {
+                throw new IllegalStateException("Could not seed store items: " + report);
+            }
+            stores.add(new SeededStore(store, List.copyOf(users), products, storeItems));
+        }
+        return stores;
+    }
+
+    /**
+     * One seeded store; products and storeItems share indexes.
+     */
+    record SeededStore(Store store, List<User> users, Product[] products, StoreItem[] storeItems) { }
+}
@@ -0,0 +1,292 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogEntry;
+import com.lucasgodoy.lojaki.application.catalog.CatalogFacets;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.catalog.FacetFilter;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memory and read-throughput benchmark of the catalog snapshot, without a
+ * database: a synthetic store is built as the domain objects the mappers
+ * produce (one Store/Brand/Category copy per row, as for a query result),
+ * then loaded into a snapshot.
+ *
+ * Reports heap retained per product by the domain graph and by the
+ * snapshot, the cost of one copy-on-write update, facet panel latency
+ * (see {@link CatalogFacets}) for random filters, and lookups per second
+ * with N reader threads while a writer publishes price changes.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.CatalogSnapshotBenchmark \
+ *       -Dloadtest.args="--products=100000 --threads=8 --duration=10s"
+ */
+public final class CatalogSnapshotBenchmark {
+
+    private static final int BRANDS = 200;
+    private static final int CATEGORIES = 300;
+
+    /** Items kept for the writer thread to reprice */
+    private static final int WRITER_ITEMS = 1_000;
+
+    /** Facet panels timed, each with a random filter */
+    private static final int PANELS = 5_000;
+
+    private CatalogSnapshotBenchmark() { }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int products = Integer.parseInt(options.getOrDefault("products", "100000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "10s").toUpperCase());
+        int writesPerSecond = Integer.parseInt(options.getOrDefault("writes", "100"));
+
+        UUID storeId = UUID.randomUUID();
+        long baseline = usedHeapAfterGc();
+        SplittableRandom random = new SplittableRandom(42);
+        List<StoreItem> items = synthesize(storeId, products, random);
+        long domainBytes = usedHeapAfterGc() - baseline;
+
+        List<StoreItem> catalogSource = new ArrayList<>(items);
+        CatalogSnapshots snapshots = new CatalogSnapshots(new FixedStoreItems(catalogSource), Clock.systemUTC());
+        long loadStart = System.nanoTime();
+        CatalogSnapshot snapshot = snapshots.snapshot(storeId);
+        long loadNanos = System.nanoTime() - loadStart;
+
+        UUID[] ids = new UUID[products];
+        for (int i = 0; i < products; i++) {
+            ids[i] = items.get(i).getId();
+        }
+        List<StoreItem> writerItems = new ArrayList<>(items.subList(0, Math.min(WRITER_ITEMS, products)));
+        items = null;
+        catalogSource.clear();
+        long snapshotBytes = usedHeapAfterGc() - baseline - (long) products * uuidBytes() - writerItemsBytes(
+                domainBytes, products, writerItems.size());
+
+        System.out.printf("products=%d brands=%d categories=%d%n", snapshot.size(),
+                snapshot.getBrandCount(), snapshot.getCategoryCount());
+        System.out.printf("domain objects:  %,d bytes/product%n", domainBytes / products);
+        System.out.printf("snapshot:        %,d bytes/product (incl. product names)%n", snapshotBytes / products);
+        System.out.printf("build:           %,d ms%n", Duration.ofNanos(loadNanos).toMillis());
+
+        int updates = 200;
+        long updateStart = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            StoreItem item = writerItems.get(i % writerItems.size());
+            item.adjustStock(1);
+            snapshots.onStoreItemChanged(item);
+        }
+        System.out.printf("update:          %,d us per copy-on-write publish%n",
+                (System.nanoTime() - updateStart) / updates / 1_000);
+
+        facetPanels(snapshots, storeId, writerItems, random);
+        readThroughput(snapshots, storeId, ids, threads, duration, writesPerSecond, writerItems);
+    }
+
+    private static void facetPanels(CatalogSnapshots snapshots, UUID storeId, List<StoreItem> writerItems,
+                                    SplittableRandom random) throws InterruptedException {
+        CatalogFacets facets = new CatalogFacets(snapshots, CatalogFacets.DEFAULT_PRICE_BOUNDARIES);
+        snapshots.subscribe(facets);
+        long before = usedHeapAfterGc();
+        long buildStart = System.nanoTime();
+        facets.panel(storeId, FacetFilter.none());
+        long buildNanos = System.nanoTime() - buildStart;
+        int products = snapshots.snapshot(storeId).size();
+        System.out.printf("facet index:     %,d bytes/product, built in %,d ms%n",
+                (usedHeapAfterGc() - before) / products, Duration.ofNanos(buildNanos).toMillis());
+
+        List<UUID> categoryIds = new ArrayList<>();
+        List<UUID> brandIds = new ArrayList<>();
+        for (StoreItem item : writerItems) {
+            categoryIds.add(item.getProduct().getCategory().getId());
+            brandIds.add(item.getProduct().getBrand().getId());
+        }
+        long[] nanos = new long[PANELS];
+        for (int round = 0; round < 2; round++) { // The first round only warms up
+            for (int i = 0; i < PANELS; i++) {
+                FacetFilter filter = new FacetFilter(
+                        random.nextBoolean() ? Set.of(categoryIds.get(random.nextInt(categoryIds.size()))) : Set.of(),
+                        random.nextBoolean() ? Set.of(brandIds.get(random.nextInt(brandIds.size()))) : Set.of(),
+                        random.nextBoolean() ? Set.of(random.nextInt(facets.getPriceBuckets().size())) : Set.of(),
+                        random.nextBoolean() ? Boolean.TRUE : null);
+                long start = System.nanoTime();
+                facets.panel(storeId, filter);
+                nanos[i] = System.nanoTime() - start;
+                if (i % 10 == 0) {
+                    StoreItem item = writerItems.get(random.nextInt(writerItems.size()));
+                    item.adjustStock(item.getStock() > 0 ? -item.getStock() : 5);
+                    snapshots.onStoreItemChanged(item);
+                }
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("facet panel:     p50 %,d us, p99 %,d us, max %,d us (random filters, stock changes between)%n",
+                nanos[PANELS / 2] / 1_000, nanos[PANELS * 99 / 100] / 1_000, nanos[PANELS - 1] / 1_000);
+    }
+
+    private static void readThroughput(CatalogSnapshots snapshots, UUID storeId, UUID[] ids, int threads,
+                                       Duration duration, int writesPerSecond, List<StoreItem> writerItems)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        LongAdder blackhole = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads + 1);
+
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            Thread reader = new Thread(() -> {
+                long count = 0;
+                long sum = 0;
+                while (running.get()) {
+                    CatalogEntry entry = snapshots.snapshot(storeId).find(ids[random.nextInt(ids.length)]);
+                    sum += entry == null ? 0 : entry.getStock();
+                    count++;
+                }
+                reads.add(count);
+                blackhole.add(sum);
+                done.countDown();
+            }, "catalog-reader-" + t);
+            reader.setDaemon(true);
+            reader.start();
+        }
+        Thread writer = new Thread(() -> {
+            long intervalNanos = writesPerSecond <= 0 ? Long.MAX_VALUE : 1_000_000_000L / writesPerSecond;
+            long next = System.nanoTime();
+            int i = 0;
+            while (running.get()) {
+                if (System.nanoTime() >= next && !writerItems.isEmpty()) {
+                    StoreItem item = writerItems.get(i++ % writerItems.size());
+                    item.updatePrice(item.getPrice().add(BigDecimal.ONE));
+                    snapshots.onStoreItemChanged(item);
+                    writes.increment();
+                    next += intervalNanos;
+                }
+                Thread.onSpinWait();
+            }
+            done.countDown();
+        }, "catalog-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        done.await();
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("reads:           %,.0f lookups/s with %d threads (%,.0f per thread), %d writes/s%n",
+                reads.sum() / seconds, threads, reads.sum() / seconds / threads, Math.round(writes.sum() / seconds));
+        if (blackhole.sum() == Long.MIN_VALUE) {
+            System.out.println();
+        }
+    }
+
+    // ===== Synthetic Catalog =====
+
+    static List<StoreItem> synthesize(UUID storeId, int products, SplittableRandom random) {
+        Instant now = Instant.now();
+        UUID[] brandIds = new UUID[BRANDS];
+        UUID[] categoryIds = new UUID[CATEGORIES];
+        for (int i = 0; i < BRANDS; i++) {
+            brandIds[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds[i] = UUID.randomUUID();
+        }
+        List<StoreItem> items = new ArrayList<>(products);
+        for (int p = 0; p < products; p++) {
+            int b = random.nextInt(BRANDS);
+            int c = random.nextInt(CATEGORIES);
+            Brand brand = Brand.restore(brandIds[b], store(storeId, now), "Brand " + b, true, null, now, now);
+            Category category = Category.restore(categoryIds[c], store(storeId, now), "Category " + c,
+                    null, null, true, null, now, now);
+            BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(50_000), 2);
+            Product product = Product.restore(UUID.randomUUID(), store(storeId, now), "Product " + p,
+                    "Synthetic product " + p, new Money(price, LoadTestRunner.CURRENCY), 100,
+                    brand, category, true, null, now, now);
+            items.add(StoreItem.restore(UUID.randomUUID(), store(storeId, now), product, price, 100, true, null));
+        }
+        return items;
+    }
+
+    private static Store store(UUID storeId, Instant now) {
+        return Store.restore(storeId, "Benchmark store", true, null, now, now);
+    }
+
+    // ids[] holds one UUID per product for the readers; it is not part of the snapshot
+    private static long uuidBytes() {
+        return 16 + 16 + 4; // object header + two longs, plus the array slot
+    }
+
+    // Writer items stay reachable with their whole graph
+    private static long writerItemsBytes(long domainBytes, int products, int writerItems) {
+        return domainBytes / products * writerItems;
+    }
+
+    static long usedHeapAfterGc() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    /** Serves a fixed list as the store's catalog */
+    record FixedStoreItems(List<StoreItem> items) implements StoreItemRepository {
+
+        @Override
+        public StoreItem findById(UUID id) {
+            return null;
+        }
+
+        @Override
+        public void save(StoreItem storeItem) {
+        }
+
+        @Override
+        public List<StoreItem> findCatalog(UUID storeId) {
+            return List.copyOf(items);
+        }
+
+        @Override
+        public List<StoreItem> findByIds(Collection<UUID> ids) {
+            return List.of();
+        }
+
+        @Override
+        public List<StoreItem> findByStoreAndProducts(UUID storeId, Collection<UUID> productIds) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.LojakiBackendApplication;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerSearchKeys;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Latency of the support-staff customer lookups (CustomerRepository) on a
+ * large customer base: phone, document and name prefix, each scoped to one
+ * store, against the same search written over the original columns, which
+ * no index serves and so scans the customers table.
+ *
+ * Customers are inserted with plain JDBC batches, spread evenly over the
+ * stores, with their normalized search keys filled in as CustomerEntity
+ * does. Each lookup then runs on one thread, in its own read-only
+ * transaction, for random seeded customers; reports the median, 99th
+ * percentile and maximum latency and the mean rows returned.
+ *
+ * Without --jdbc-url the customers live in an in-memory H2 database, which
+ * needs a large heap at 5M customers (1M ran in -Xmx2g, close to the GC
+ * limit; allow about 2 GB per million); pass a PostgreSQL URL to measure
+ * the plans production gets, including the varchar_pattern_ops index of
+ * CustomerSearchIndexes.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.CustomerSearchBenchmark \
+ *       -Dloadtest.jvmArgs="-Xmx12g" \
+ *       -Dloadtest.args="--customers=5000000 --stores=10 --queries=2000 --scan-queries=10"
+ */
+public final class CustomerSearchBenchmark {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final String[] FIRST_NAMES = {"José", "João", "Maria", "Ana", "Antônio", "Francisco", "Carlos",
+            "Paulo", "Pedro", "Lucas", "Luiz", "Marcos", "Luís", "Gabriel", "Rafael", "Márcia", "Juliana", "Fernanda",
+            "Patrícia", "Aline", "Sandra", "Camila", "Amanda", "Bruna", "Letícia", "Júlia", "Beatriz", "Larissa"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Almeida", "Lopes",
+            "Soares", "Fernandes", "Vieira", "Barbosa", "Rocha", "Dias", "Nascimento", "Andrade", "Moreira", "Nunes",
+            "Marques", "Machado", "Mendes", "Freitas", "Cardoso", "Ramos", "Gonçalves", "Santana", "Teixeira"};
+
+    private CustomerSearchBenchmark() { }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int customerCount = Integer.parseInt(options.getOrDefault("customers", "5000000"));
+        int storeCount = Integer.parseInt(options.getOrDefault("stores", "10"));
+        int queries = Integer.parseInt(options.getOrDefault("queries", "2000"));
+        int scanQueries = Integer.parseInt(options.getOrDefault("scan-queries", "10"));
+        List<String> runnerArgs = new ArrayList<>(List.of("--stores=1", "--users=1", "--products=1"));
+        for (String passed : List.of("jdbc-url", "username", "password")) {
+            if (options.containsKey(passed)) {
+                runnerArgs.add("--" + passed + "=" + options.get(passed));
+            }
+        }
+        LoadTestOptions loadTestOptions = LoadTestOptions.parse(runnerArgs.toArray(String[]::new));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = SpringApplication.run(LojakiBackendApplication.class,
+                loadTestOptions.springArguments());
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            CustomerRepository repository = context.getBean(CustomerRepository.class);
+
+            UUID[] stores = new UUID[storeCount];
+            Instant now = Instant.now();
+            transactions.executeWithoutResult(status -> {
+                for (int s = 0; s < stores.length; s++) {
+                    stores[s] = UUID.randomUUID();
+                    entityManager.persist(new StoreEntity(stores[s], "Customer store " + s, null, true, null, now, now));
+                }
+            });
+
+            long seedStart = System.nanoTime();
+            seed(jdbcTemplate, transactions, stores, customerCount);
+            // Fresh statistics, so the planner knows how selective each index is
+            if (!loadTestOptions.isH2()) {
+                jdbcTemplate.execute("ANALYZE customers");
+                jdbcTemplate.execute("ANALYZE customer_store");
+            }
+            System.out.printf("customers=%,d stores=%d database=%s seeded in %,d s%n", customerCount, storeCount,
+                    loadTestOptions.isH2() ? "H2" : "PostgreSQL", (System.nanoTime() - seedStart) / 1_000_000_000L);
+
+            SplittableRandom random = new SplittableRandom(7);
+            IntFunction<UUID> storeOf = i -> stores[i % stores.length];
+
+            measure("phone", queries, readOnly, random, customerCount, i ->
+                    repository.findByPhone(storeOf.apply(i), phone(i)).size());
+            measure("document", queries, readOnly, random, customerCount, i ->
+                    repository.findByDocument(storeOf.apply(i), document(i)).size());
+            measure("name prefix", queries, readOnly, random, customerCount, i ->
+                    repository.findByNamePrefix(storeOf.apply(i), firstName(i) + " " + lastName(i).substring(0, 3),
+                            CustomerRepository.MAX_NAME_RESULTS).size());
+
+            // The same searches over the original columns, as they would run without the search keys
+            measure("phone scan", scanQueries, readOnly, random, customerCount, i -> jdbcTemplate.queryForList(
+                    "SELECT c.id FROM customers c WHERE c.phone = ? AND c.deleted_at IS NULL AND EXISTS"
+                            + " (SELECT 1 FROM customer_store cs WHERE cs.customer_id = c.id AND cs.store_id = ?)",
+                    UUID.class, phone(i), storeOf.apply(i)).size());
+            measure("name scan", scanQueries, readOnly, random, customerCount, i -> jdbcTemplate.queryForList(
+                    "SELECT c.id FROM customers c WHERE LOWER(c.first_name || ' ' || c.last_name) LIKE ?"
+                            + " AND c.deleted_at IS NULL AND EXISTS"
+                            + " (SELECT 1 FROM customer_store cs WHERE cs.customer_id = c.id AND cs.store_id = ?)"
+                            + " ORDER BY c.first_name, c.last_name, c.id LIMIT " + CustomerRepository.MAX_NAME_RESULTS,
+                    UUID.class, (firstName(i) + " " + lastName(i).substring(0, 3)).toLowerCase() + "%",
+                    storeOf.apply(i)).size());
+        } finally {
+            context.close();
+        }
+    }
+
+    // ===== Data =====
+
+    // Customer i belongs to store i % stores; every field is derived from i, so lookups need no stored sample
+    private static void seed(JdbcTemplate jdbcTemplate, TransactionTemplate transactions, UUID[] stores,
+                             int customerCount) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        for (int from = 0; from < customerCount; from += BATCH_SIZE) {
+            int to = Math.min(customerCount, from + BATCH_SIZE);
+            List<Object[]> users = new ArrayList<>(to - from);
+            List<Object[]> customers = new ArrayList<>(to - from);
+            List<Object[]> links = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                UUID userId = new UUID(1L, i);
+                UUID customerId = new UUID(2L, i);
+                users.add(new Object[]{userId, "customer-" + i + "@lojaki.test", Role.STAFF.name(), true});
+                customers.add(new Object[]{customerId, userId, firstName(i), lastName(i), phone(i), document(i),
+                        CustomerSearchKeys.phone(phone(i)), CustomerSearchKeys.document(document(i)),
+                        CustomerSearchKeys.fullName(firstName(i), lastName(i)), true, createdAt, createdAt});
+                links.add(new Object[]{new UUID(3L, i), customerId, stores[i % stores.length], createdAt, createdAt});
+            }
+            transactions.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("INSERT INTO users (id, email, role, active) VALUES (?, ?, ?, ?)", users);
+                jdbcTemplate.batchUpdate("INSERT INTO customers (id, user_id, first_name, last_name, phone, document,"
+                        + " phone_digits, document_digits, search_name, active, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", customers);
+                jdbcTemplate.batchUpdate("INSERT INTO customer_store (id, customer_id, store_id, created_at, updated_at)"
+                        + " VALUES (?, ?, ?, ?, ?)", links);
+            });
+            if (to % 500_000 == 0) {
+                System.out.printf("  %,d customers%n", to);
+            }
+        }
+    }
+
+    private static String firstName(int i) {
+        return FIRST_NAMES[Math.floorMod(i * 31 + 7, FIRST_NAMES.length)];
+    }
+
+    private static String lastName(int i) {
+        return LAST_NAMES[Math.floorMod(i * 17 + 3, LAST_NAMES.length)];
+    }
+
+    // Unique per customer, formatted as staff type it: "(11) 90000-0042"
+    private static String phone(int i) {
+        String digits = String.format("%08d", i);
+        return "(11) 9" + digits.substring(0, 4) + "-" + digits.substring(4);
+    }
+
+    // Unique per customer, formatted like a CPF: "000.004.200-42"
+    private static String document(int i) {
+        String digits = String.format("%011d", (long) i * 100 + i % 100);
+        return digits.substring(0, 3) + "." + digits.substring(3, 6) + "." + digits.substring(6, 9)
+                + "-" + digits.substring(9);
+    }
+
+    // ===== Measurement =====
+
+    private static void measure(String label, int queries, TransactionTemplate readOnly, SplittableRandom random,
+                                int customerCount, IntFunction<Integer> lookup) {
+        if (queries < 1) {
+            return;
+        }
+        // Warm-up: plan caches, connection and JIT, on customers the timed loop is unlikely to repeat
+        for (int q = 0; q < Math.min(queries, 100); q++) {
+            int customer = random.nextInt(customerCount);
+            readOnly.execute(status -> lookup.apply(customer));
+        }
+        long[] micros = new long[queries];
+        long rows = 0;
+        for (int q = 0; q < queries; q++) {
+            int customer = random.nextInt(customerCount);
+            long start = System.nanoTime();
+            Integer found = readOnly.execute(status -> lookup.apply(customer));
+            micros[q] = (System.nanoTime() - start) / 1_000;
+            rows += found;
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-12s %,6d queries | p50 %,9d us | p99 %,9d us | max %,9d us | %.1f rows/query%n",
+                label + ":", queries, micros[queries / 2], micros[(int) Math.min(queries - 1, queries * 99L / 100)],
+                micros[queries - 1], (double) rows / queries);
+    }
+}
@@ -0,0 +1,185 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucasgodoy.lojaki.infrastructure.monitoring.sql.SqlReport;
+import com.lucasgodoy.lojaki.loadtest.OpenModelDriver.RunResult;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Writes the results of a run to its own directory, so runs can be compared:
+ *
+ * - summary.csv: count, errors, throughput and response-time percentiles per operation
+ * - {operation}.hgrm / {operation}-service.hgrm: full percentile distributions (milliseconds)
+ * - histograms.hlog: every histogram, tagged by operation, for HdrHistogram log tools
+ * - run.properties: the options the run used
+ * - statements.json: the most expensive SQL statements, with callers and percentiles
+ */
+final class LatencyReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final DateTimeFormatter RUN_NAME = DateTimeFormatter.ofPattern("'run-'yyyyMMdd-HHmmss");
+
+    private LatencyReport() { }
+
+    static Path write(LoadTestOptions options, RunResult result) {
+        Path directory = options.outputDirectory().resolve(LocalDateTime.now().format(RUN_NAME));
+        try {
+            Files.createDirectories(directory);
+            writeSummary(directory.resolve("summary.csv"), result);
+            for (OperationStats stats : result.stats().values()) {
+                String name = stats.operation().optionName();
+                writeDistribution(directory.resolve(name + ".hgrm"), stats.responseTime());
+                writeDistribution(directory.resolve(name + "-service.hgrm"), stats.serviceTime());
+            }
+            writeLog(directory.resolve("histograms.hlog"), result);
+            writeOptions(directory.resolve("run.properties"), options, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write load test results to " + directory, e);
+        }
+        return directory;
+    }
+
+    /**
+     * Prints a human-readable table of the run.
+     */
+    static void print(RunResult result, PrintStream out) {
+        out.printf(Locale.ROOT, "%-9s %9s %7s %8s %10s %9s %9s %9s %9s %9s %12s%n",
+                "operation", "count", "errors", "skipped", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms", "svc p99 ms");
+        for (OperationStats stats : result.stats().values()) {
+            Histogram response = stats.responseTime();
+            out.printf(Locale.ROOT, "%-9s %9d %7d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    stats.operation().optionName(), stats.completed(), stats.errors(), stats.skipped(),
+                    throughput(stats, result), millis(response, 50), millis(response, 90), millis(response, 99),
+                    millis(response, 99.9), response.getMaxValue() / NANOS_PER_MILLI,
+                    millis(stats.serviceTime(), 99));
+            if (!stats.errorTypes().isEmpty()) {
+                out.println("          errors: " + stats.errorTypes());
+            }
+        }
+        out.printf(Locale.ROOT, "offered=%d maxBacklog=%d drain=%dms%n",
+                result.offered(), result.maxBacklog(), result.drainTime().toMillis());
+    }
+
+    private static void writeSummary(Path file, RunResult result) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("operation,count,errors,skipped,throughput_per_s,mean_ms");
+            for (double percentile : PERCENTILES) {
+                out.write(",p" + percentileLabel(percentile) + "_ms");
+            }
+            out.write(",max_ms,service_p50_ms,service_p99_ms\n");
+            for (OperationStats stats : result.stats().values()) {
+                Histogram response = stats.responseTime();
+                StringBuilder line = new StringBuilder()
+                        .append(stats.operation().optionName())
+                        .append(',').append(stats.completed())
+                        .append(',').append(stats.errors())
+                        .append(',').append(stats.skipped())
+                        .append(',').append(format(throughput(stats, result)))
+                        .append(',').append(format(response.getMean() / NANOS_PER_MILLI));
+                for (double percentile : PERCENTILES) {
+                    line.append(',').append(format(millis(response, percentile)));
+                }
+                line.append(',').append(format(response.getMaxValue() / NANOS_PER_MILLI))
+                        .append(',').append(format(millis(stats.serviceTime(), 50)))
+                        .append(',').append(format(millis(stats.serviceTime(), 99)))
+                        .append('\n');
+                out.write(line.toString());
+            }
+        }
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 5, NANOS_PER_MILLI);
+        }
+    }
+
+    private static void writeLog(Path file, RunResult result) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            long from = result.measuredFrom().toEpochMilli();
+            writer.outputComment("Lojaki load test, values in nanoseconds");
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(from);
+            writer.setBaseTime(from);
+            writer.outputLegend();
+            for (OperationStats stats : result.stats().values()) {
+                writer.outputIntervalHistogram(tagged(stats.responseTime(), stats.operation().optionName(), result));
+                writer.outputIntervalHistogram(tagged(stats.serviceTime(), stats.operation().optionName() + "-service", result));
+            }
+        }
+    }
+
+    static void writeStatements(Path file, SqlReport report, ObjectMapper objectMapper) {
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write statement report to " + file, e);
+        }
+    }
+
+    private static Histogram tagged(Histogram histogram, String tag, RunResult result) {
+        Histogram copy = histogram.copy();
+        copy.setTag(tag);
+        copy.setStartTimeStamp(result.measuredFrom().toEpochMilli());
+        copy.setEndTimeStamp(result.measuredFrom().plus(result.measured()).toEpochMilli());
+        return copy;
+    }
+
+    private static void writeOptions(Path file, LoadTestOptions options, RunResult result) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("database", options.isH2() ? "h2" : options.jdbcUrl());
+        properties.setProperty("stores", String.valueOf(options.stores()));
+        properties.setProperty("products", String.valueOf(options.productsPerStore()));
+        properties.setProperty("users", String.valueOf(options.usersPerStore()));
+        properties.setProperty("zipf", String.valueOf(options.zipfExponent()));
+        properties.setProperty("rate", String.valueOf(options.ratePerSecond()));
+        properties.setProperty("warmup", options.warmup().toString());
+        properties.setProperty("duration", options.duration().toString());
+        properties.setProperty("workers", String.valueOf(options.workers()));
+        properties.setProperty("pool-size", String.valueOf(options.poolSize()));
+        properties.setProperty("seed", String.valueOf(options.seed()));
+        properties.setProperty("catalog", options.catalogSnapshot() ? "snapshot" : "database");
+        for (Map.Entry<Operation, Integer> entry : options.mix().entrySet()) {
+            properties.setProperty("mix." + entry.getKey().optionName(), String.valueOf(entry.getValue()));
+        }
+        properties.setProperty("offered", String.valueOf(result.offered()));
+        properties.setProperty("max-backlog", String.valueOf(result.maxBacklog()));
+        properties.setProperty("drain-ms", String.valueOf(result.drainTime().toMillis()));
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(out, "Lojaki load test run");
+        }
+    }
+
+    private static double throughput(OperationStats stats, RunResult result) {
+        return stats.completed() / Math.max(1e-9, result.measured().toNanos() / 1e9);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static String percentileLabel(double percentile) {
+        return String.valueOf(percentile).replace(".0", "").replace('.', '_');
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
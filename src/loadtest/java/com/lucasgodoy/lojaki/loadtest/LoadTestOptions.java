@@ -0,0 +1,174 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of one load-test run, parsed from "--name=value" arguments.
+ *
+ * Without --jdbc-url the app runs against a fresh in-memory H2 database;
+ * pass a PostgreSQL URL (plus --username / --password) to load a real one.
+ */
+record LoadTestOptions(int stores,
+                       int productsPerStore,
+                       int usersPerStore,
+                       double zipfExponent,
+                       double ratePerSecond,
+                       Duration warmup,
+                       Duration duration,
+                       int workers,
+                       Map<Operation, Integer> mix,
+                       String jdbcUrl,
+                       String username,
+                       String password,
+                       int poolSize,
+                       Path outputDirectory,
+                       long seed,
+                       boolean catalogSnapshot) {
+
+    static final String USAGE = """
+            Options (all optional):
+              --stores=5                 stores to seed
+              --products=2000            products (and store items) per store
+              --users=50                 users per store
+              --zipf=1.1                 Zipf exponent of SKU popularity
+              --rate=200                 target arrivals per second (open model)
+              --warmup=10s               arrivals not measured at the start
+              --duration=60s             measured period
+              --workers=32               threads executing operations
+              --mix=catalog:70,order:20,status:10
+              --jdbc-url=...             database to load (default: in-memory H2)
+              --username= --password=    credentials for --jdbc-url
+              --pool-size=10             connection pool size
+              --out=target/loadtest      directory for results
+              --seed=42                  random seed for data and arrivals
+              --catalog=database         catalog reads from the database or the in-memory snapshot
+            """;
+
+    LoadTestOptions {
+        if (stores < 1 || productsPerStore < 1 || usersPerStore < 1) {
+            throw new IllegalArgumentException("Stores, products and users must be positive");
+        }
+        if (zipfExponent <= 0) {
+            throw new IllegalArgumentException("Zipf exponent must be positive");
+        }
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (workers < 1 || poolSize < 1) {
+            throw new IllegalArgumentException("Workers and pool size must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive weight");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Unrecognized argument: " + arg + "\n" + USAGE);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("stores", "5")),
+                Integer.parseInt(values.getOrDefault("products", "2000")),
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Double.parseDouble(values.getOrDefault("zipf", "1.1")),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "60s")),
+                Integer.parseInt(values.getOrDefault("workers", "32")),
+                mix(values.getOrDefault("mix", "catalog:70,order:20,status:10")),
+                values.get("jdbc-url"),
+                values.getOrDefault("username", ""),
+                values.getOrDefault("password", ""),
+                Integer.parseInt(values.getOrDefault("pool-size", "10")),
+                Path.of(values.getOrDefault("out", "target/loadtest")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                catalogSnapshot(values.getOrDefault("catalog", "database")));
+        values.keySet().removeAll(List.of("stores", "products", "users", "zipf", "rate", "warmup", "duration",
+                "workers", "mix", "jdbc-url", "username", "password", "pool-size", "out", "seed", "catalog"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet() + "\n" + USAGE);
+        }
+        return options;
+    }
+
+    /**
+     * Spring arguments pointing the app at the load-test database. Passed as
+     * command-line arguments so they override application.properties.
+     */
+    String[] springArguments() {
+        List<String> arguments = new ArrayList<>();
+        boolean h2 = jdbcUrl == null;
+        arguments.add("--spring.datasource.url=" + (h2 ? "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1" : jdbcUrl));
+        arguments.add("--spring.datasource.username=" + (h2 ? "sa" : username));
+        arguments.add("--spring.datasource.password=" + (h2 ? "" : password));
+        arguments.add("--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"));
+        arguments.add("--spring.jpa.properties.hibernate.dialect="
+                + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"));
+        arguments.add("--spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        arguments.add("--spring.datasource.hikari.minimum-idle=" + poolSize);
+        // The non-blocking catalog stack reads the same database through its own pool
+        arguments.add("--lojaki.catalog.r2dbc.url="
+                + (h2 ? "r2dbc:h2:mem:///loadtest;DB_CLOSE_DELAY=-1" : jdbcUrl.replaceFirst("^jdbc:", "r2dbc:")));
+        arguments.add("--lojaki.catalog.r2dbc.username=" + (h2 ? "sa" : username));
+        arguments.add("--lojaki.catalog.r2dbc.password=" + (h2 ? "" : password));
+        arguments.add("--spring.jpa.show-sql=false");
+        arguments.add("--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        // Random port: the actuator endpoints stay reachable while the load runs
+        arguments.add("--server.port=0");
+        return arguments.toArray(String[]::new);
+    }
+
+    boolean isH2() {
+        return jdbcUrl == null;
+    }
+
+    private static Duration duration(String value) {
+        String text = value.trim().toLowerCase();
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text));
+    }
+
+    private static boolean catalogSnapshot(String value) {
+        return switch (value.trim().toLowerCase()) {
+            case "database" -> false;
+            case "snapshot" -> true;
+            default -> throw new IllegalArgumentException("Catalog is database or snapshot, got " + value);
+        };
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like name:weight, got " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative");
+            }
+            weights.put(Operation.fromName(pair[0].trim()), weight);
+        }
+        return weights;
+    }
+}
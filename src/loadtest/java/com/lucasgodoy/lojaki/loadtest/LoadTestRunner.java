@@ -0,0 +1,114 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.LojakiBackendApplication;
+import com.lucasgodoy.lojaki.application.bestseller.BestSellerEngine;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.event.OrderEventPublisher;
+import com.lucasgodoy.lojaki.application.idempotency.IdempotencyStore;
+import com.lucasgodoy.lojaki.application.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucasgodoy.lojaki.infrastructure.monitoring.sql.SqlTelemetry;
+import com.lucasgodoy.lojaki.infrastructure.persistence.SpringAfterCommit;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JdbcIdempotencyKeyRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JdbcOrderStatusRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaOrderRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaStoreItemRepository;
+import com.lucasgodoy.lojaki.loadtest.CatalogSeeder.SeededStore;
+import com.lucasgodoy.lojaki.loadtest.OpenModelDriver.RunResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * Checkout load test: boots the application, seeds a catalog and drives an
+ * open-model mix of catalog reads, order creation and status transitions,
+ * then writes latency histograms and throughput per operation, along with
+ * the most expensive SQL statements of the run.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.args="--rate=300 --duration=2m"
+ */
+public final class LoadTestRunner {
+
+    static final Currency CURRENCY = Currency.getInstance("BRL");
+
+    /** Most expensive statements saved with the results */
+    private static final int TOP_STATEMENTS = 20;
+
+    private LoadTestRunner() { }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // Devtools would restart main() in a new class loader with the Spring arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context =
+                SpringApplication.run(LojakiBackendApplication.class, options.springArguments());
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            TransactionTemplate readOnlyTransactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnlyTransactions.setReadOnly(true);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            long seedStart = System.nanoTime();
+            List<SeededStore> stores = new CatalogSeeder(entityManager, transactions, context.getBean(DataSource.class))
+                    .seed(options);
+            System.out.printf("Seeded %d stores x %d products in %d ms%n", options.stores(),
+                    options.productsPerStore(), Duration.ofNanos(System.nanoTime() - seedStart).toMillis());
+
+            OrderEventPublisher eventPublisher = new OrderEventPublisher();
+            eventPublisher.subscribe(new BestSellerEngine(Clock.systemUTC()));
+            JpaStoreItemRepository storeItemRepository = new JpaStoreItemRepository(entityManager);
+            OrderService orderService = new OrderService(
+                    new JpaOrderRepository(entityManager),
+                    new JdbcOrderStatusRepository(jdbcTemplate),
+                    new IdempotencyStore(new JdbcIdempotencyKeyRepository(jdbcTemplate),
+                            Duration.ofHours(24), Duration.ofSeconds(5), Clock.systemUTC(),
+                            new SpringAfterCommit()),
+                    eventPublisher,
+                    storeItemRepository,
+                    new SpringAfterCommit());
+            CatalogSnapshots catalogSnapshots = null;
+            if (options.catalogSnapshot()) {
+                CatalogSnapshots snapshots = new CatalogSnapshots(storeItemRepository, Clock.systemUTC());
+                long loadStart = System.nanoTime();
+                for (SeededStore store : stores) {
+                    readOnlyTransactions.execute(status -> snapshots.snapshot(store.store().getId()));
+                }
+                System.out.printf("Loaded %d catalog snapshots in %d ms%n", stores.size(),
+                        Duration.ofNanos(System.nanoTime() - loadStart).toMillis());
+                catalogSnapshots = snapshots;
+            }
+            Workload workload = new Workload(stores, options.zipfExponent(), options.mix(), orderService,
+                    storeItemRepository, catalogSnapshots, transactions, readOnlyTransactions);
+
+            System.out.printf("Driving %.0f req/s for %s (warm-up %s) with %d workers%n", options.ratePerSecond(),
+                    options.duration(), options.warmup(), options.workers());
+            RunResult result = new OpenModelDriver(workload, options).run();
+
+            LatencyReport.print(result, System.out);
+            Path directory = LatencyReport.write(options, result);
+            SqlTelemetry sqlTelemetry = context.getBeanProvider(SqlTelemetry.class).getIfAvailable();
+            if (sqlTelemetry != null) {
+                LatencyReport.writeStatements(directory.resolve("statements.json"),
+                        sqlTelemetry.report("total", TOP_STATEMENTS), context.getBean(ObjectMapper.class));
+            }
+            System.out.println("Results written to " + directory.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+}
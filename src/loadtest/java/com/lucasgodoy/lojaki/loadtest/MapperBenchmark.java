@@ -0,0 +1,269 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.BrandEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CategoryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.ProductEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JMH benchmark of mapping ProductEntity graphs (product, brand, category
+ * and their store) to domain objects: the MapStruct-generated ProductMapper
+ * against a reflection mapper in the style of ModelMapper or Dozer, which
+ * reads getters and calls the domain factory through java.lang.reflect,
+ * with every Method looked up once and cached (its best case).
+ *
+ * Each invocation maps the whole synthetic catalog, so the reported time
+ * is per mapped product. Add "-prof gc" for bytes allocated per product.
+ * Runs without a database.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=org.openjdk.jmh.Main \
+ *       -Dloadtest.args="MapperBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+@OperationsPerInvocation(MapperBenchmark.PRODUCTS)
+public class MapperBenchmark {
+
+    static final int PRODUCTS = 10_000;
+    private static final int BRANDS = 200;
+    private static final int CATEGORIES = 300;
+
+    private ProductEntity[] products;
+    private Function<ProductEntity, Product> reflective;
+
+    @Setup
+    public void setUp() {
+        products = synthesize(PRODUCTS, new SplittableRandom(42));
+        reflective = reflectiveProductMapper();
+
+        // Both mappers must build the same products before their cost is compared
+        for (int i = 0; i < Math.min(1_000, products.length); i++) {
+            requireSame(ProductMapper.INSTANCE.toDomain(products[i]), reflective.apply(products[i]));
+        }
+    }
+
+    @Benchmark
+    public void generated(Blackhole blackhole) {
+        for (ProductEntity product : products) {
+            blackhole.consume(ProductMapper.INSTANCE.toDomain(product));
+        }
+    }
+
+    @Benchmark
+    public void reflection(Blackhole blackhole) {
+        for (ProductEntity product : products) {
+            blackhole.consume(reflective.apply(product));
+        }
+    }
+
+    // ===== Data =====
+
+    // Entities as a query returns them: every product shares its store, brands and categories
+    private static ProductEntity[] synthesize(int count, SplittableRandom random) {
+        Instant now = Instant.now();
+        StoreEntity store = new StoreEntity(UUID.randomUUID(), "Benchmark store", null, true, null, now, now);
+        BrandEntity[] brands = new BrandEntity[BRANDS];
+        for (int i = 0; i < brands.length; i++) {
+            brands[i] = new BrandEntity(UUID.randomUUID(), "Brand " + i, true, null, now, now, store);
+        }
+        CategoryEntity[] categories = new CategoryEntity[CATEGORIES];
+        for (int i = 0; i < categories.length; i++) {
+            UUID id = UUID.randomUUID();
+            CategoryEntity parent = i < 10 ? null : categories[random.nextInt(10)];
+            String path = parent == null ? id.toString() : parent.getPath() + "/" + id;
+            categories[i] = new CategoryEntity(id, "Category " + i, path, true, now, now, null, store, parent);
+        }
+        ProductEntity[] products = new ProductEntity[count];
+        for (int i = 0; i < count; i++) {
+            products[i] = new ProductEntity(UUID.randomUUID(), "Product " + i, "Synthetic product",
+                    BigDecimal.valueOf(100 + random.nextInt(99_900), 2), "BRL", random.nextInt(1_000),
+                    brands[random.nextInt(brands.length)], random.nextInt(10) == 0 ? null : store,
+                    categories[random.nextInt(categories.length)], true, now, now, null);
+        }
+        return products;
+    }
+
+    private static void requireSame(Product expected, Product actual) {
+        boolean same = expected.getId().equals(actual.getId())
+                && expected.getStore().getId().equals(actual.getStore().getId())
+                && expected.getBrand().getId().equals(actual.getBrand().getId())
+                && expected.getCategory().getId().equals(actual.getCategory().getId())
+                && expected.getCategory().getPath().equals(actual.getCategory().getPath())
+                && expected.getPrice().getAmount().equals(actual.getPrice().getAmount())
+                && expected.getStock() == actual.getStock()
+                && expected.getName().equals(actual.getName());
+        if (!same) {
+            throw new IllegalStateException("Mappers disagree on product " + expected.getId());
+        }
+    }
+
+    // ===== Reflection mapper =====
+
+    // Same mapping as ProductMapper and the mappers it uses, declared as property paths
+    private static Function<ProductEntity, Product> reflectiveProductMapper() {
+        ReflectiveMapper store = new ReflectiveMapper(StoreEntity.class, Store.class,
+                "id", "name", "active", "deletedAt", "createdAt", "updatedAt");
+        ReflectiveMapper brand = new ReflectiveMapper(BrandEntity.class, Brand.class,
+                "id", "store", "name", "active", "deletedAt", "createdAt", "updatedAt");
+        ReflectiveMapper category = new ReflectiveMapper(CategoryEntity.class, Category.class,
+                "id", "store", "name", "parent.id", "path", "active", "deletedAt", "createdAt", "updatedAt");
+        ReflectiveMapper product = new ReflectiveMapper(ProductEntity.class, Product.class,
+                "id", "store|brand.store", "name", "description", "price:currency", "stock", "brand", "category",
+                "active", "deletedAt", "createdAt", "updatedAt");
+        Map<Class<?>, ReflectiveMapper> registry = Map.of(
+                StoreEntity.class, store,
+                BrandEntity.class, brand,
+                CategoryEntity.class, category,
+                ProductEntity.class, product);
+        registry.values().forEach(mapper -> mapper.resolve(registry));
+        return entity -> (Product) product.map(entity);
+    }
+
+    /**
+     * Maps one entity type by reading getters reflectively and passing the
+     * values, in order, to the target's static restore factory. A property is
+     * a getter path ("parent.id", null-safe), a fallback ("store|brand.store")
+     * or an amount and currency pair converted to Money ("price:currency").
+     * Values of another registered entity type are mapped recursively.
+     */
+    private static final class ReflectiveMapper {
+
+        private final Class<?> source;
+        private final String[] properties;
+        private final Method factory;
+        private final Method[][][] getters;
+        private Map<Class<?>, ReflectiveMapper> registry;
+        private Constructor<Money> moneyConstructor;
+
+        ReflectiveMapper(Class<?> source, Class<?> target, String... properties) {
+            this.source = source;
+            this.properties = properties;
+            this.factory = Arrays.stream(target.getMethods())
+                    .filter(method -> method.getName().equals("restore") && method.getParameterCount() == properties.length)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("No restore factory on " + target));
+            this.getters = new Method[properties.length][][];
+        }
+
+        void resolve(Map<Class<?>, ReflectiveMapper> registry) {
+            this.registry = registry;
+            try {
+                this.moneyConstructor = Money.class.getConstructor(BigDecimal.class, Currency.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            for (int p = 0; p < properties.length; p++) {
+                String[] alternatives = properties[p].split("[|:]");
+                getters[p] = new Method[alternatives.length][];
+                for (int a = 0; a < alternatives.length; a++) {
+                    getters[p][a] = path(source, alternatives[a].split("\\."));
+                }
+            }
+        }
+
+        Object map(Object entity) {
+            if (entity == null) {
+                return null;
+            }
+            Object[] arguments = new Object[properties.length];
+            for (int p = 0; p < properties.length; p++) {
+                Object value;
+                if (properties[p].indexOf(':') >= 0) {
+                    value = newMoney((BigDecimal) read(entity, getters[p][0]), (String) read(entity, getters[p][1]));
+                } else {
+                    value = null;
+                    for (int a = 0; a < getters[p].length && value == null; a++) {
+                        value = read(entity, getters[p][a]);
+                    }
+                }
+                ReflectiveMapper nested = value == null ? null : registry.get(value.getClass());
+                arguments[p] = nested == null ? value : nested.map(value);
+            }
+            try {
+                return factory.invoke(null, arguments);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Could not map " + source.getSimpleName(), e);
+            }
+        }
+
+        private Money newMoney(BigDecimal amount, String currency) {
+            try {
+                return moneyConstructor.newInstance(amount, Currency.getInstance(currency));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static Object read(Object entity, Method[] path) {
+            Object value = entity;
+            try {
+                for (Method getter : path) {
+                    if (value == null) {
+                        return null;
+                    }
+                    value = getter.invoke(value);
+                }
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException(e);
+            }
+            return value;
+        }
+
+        private static Method[] path(Class<?> type, String[] names) {
+            Method[] path = new Method[names.length];
+            for (int i = 0; i < names.length; i++) {
+                path[i] = getter(type, names[i]);
+                type = path[i].getReturnType();
+            }
+            return path;
+        }
+
+        private static Method getter(Class<?> type, String name) {
+            String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String prefix : new String[]{"get", "is"}) {
+                try {
+                    return type.getMethod(prefix + suffix);
+                } catch (NoSuchMethodException e) {
+                    // Try the next accessor style
+                }
+            }
+            throw new IllegalArgumentException("No getter for " + name + " on " + type);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator.
+ *
+ * Arrivals follow a Poisson process at the target rate and are scheduled
+ * independently of how fast the application answers: a slow response does
+ * not delay the next request, it just queues up behind it, as real users
+ * would. Every latency is measured from the request's intended arrival
+ * time, never from when a worker got around to sending it.
+ *
+ * Requests arriving during the warm-up run normally but are not recorded.
+ */
+final class OpenModelDriver {
+
+    /** How long to wait for queued requests once arrivals stop */
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    private final Workload workload;
+    private final LoadTestOptions options;
+
+    OpenModelDriver(Workload workload, LoadTestOptions options) {
+        this.workload = workload;
+        this.options = options;
+    }
+
+    RunResult run() throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        LinkedBlockingQueue<Runnable> backlog = new LinkedBlockingQueue<>();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(options.workers(), options.workers(),
+                0, TimeUnit.MILLISECONDS, backlog, r -> {
+                    Thread thread = new Thread(r, "loadtest-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        workers.prestartAllCoreThreads();
+
+        SplittableRandom arrivals = new SplittableRandom(options.seed());
+        double meanGapNanos = 1_000_000_000.0 / options.ratePerSecond();
+        long start = System.nanoTime();
+        Instant measuredFrom = Instant.now().plus(options.warmup());
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long intended = start;
+        long offered = 0;
+        int maxBacklog = 0;
+
+        while (true) {
+            intended += (long) (-Math.log(1.0 - arrivals.nextDouble()) * meanGapNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.pick(arrivals);
+            long due = intended;
+            boolean measured = due >= measureFrom;
+            workers.execute(() -> runOne(operation, due, measured ? stats.get(operation) : null));
+            if (measured) {
+                offered++;
+                maxBacklog = Math.max(maxBacklog, backlog.size());
+            }
+        }
+
+        shutdown(workers);
+        long drainedAt = System.nanoTime();
+        return new RunResult(stats, measuredFrom, options.duration(), offered, maxBacklog,
+                Duration.ofNanos(Math.max(0, drainedAt - end)));
+    }
+
+    private void runOne(Operation operation, long dueNanos, OperationStats stats) {
+        long startedAt = System.nanoTime();
+        try {
+            boolean executed = workload.execute(operation, ThreadLocalRandom.current());
+            long finishedAt = System.nanoTime();
+            if (stats == null) {
+                return;
+            }
+            if (executed) {
+                stats.recordSuccess(finishedAt - dueNanos, finishedAt - startedAt);
+            } else {
+                stats.recordSkipped();
+            }
+        } catch (RuntimeException e) {
+            long finishedAt = System.nanoTime();
+            if (stats != null) {
+                stats.recordFailure(finishedAt - dueNanos, finishedAt - startedAt, e);
+            }
+        }
+    }
+
+    private static void shutdown(ExecutorService workers) throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Everything measured by one run.
+     *
+     * @param measuredFrom wall-clock start of the measured period
+     * @param offered    requests that arrived during the measured period
+     * @param maxBacklog most requests seen waiting for a worker at once
+     * @param drainTime  time needed, after the last arrival, to finish queued work
+     */
+    record RunResult(Map<Operation, OperationStats> stats,
+                     Instant measuredFrom,
+                     Duration measured,
+                     long offered,
+                     int maxBacklog,
+                     Duration drainTime) { }
+}
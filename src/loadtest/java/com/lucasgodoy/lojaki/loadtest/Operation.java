@@ -0,0 +1,29 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+/**
+ * Kinds of request the workload mixes.
+ */
+enum Operation {
+    CATALOG_READ("catalog"),        // Reads a store item (price and product) by ID
+    CREATE_ORDER("order"),          // Places an order of one to four SKUs
+    STATUS_TRANSITION("status");    // Moves a previously placed order one step along its lifecycle
+
+    private final String optionName;
+
+    Operation(String optionName) {
+        this.optionName = optionName;
+    }
+
+    String optionName() {
+        return optionName;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.optionName.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in mix: " + name);
+    }
+}
@@ -0,0 +1,65 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and counters of one operation over the measured period.
+ *
+ * Response time runs from the moment the request was due to arrive, so
+ * time spent queued behind a saturated system is counted (coordinated
+ * omission correction). Service time runs from the moment a worker picked
+ * the request up, and shows how much of the response time is queueing.
+ */
+final class OperationStats {
+
+    /** Values are recorded in nanoseconds, with three significant digits */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Operation operation;
+    private final Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void recordSuccess(long responseNanos, long serviceNanos) {
+        responseTime.recordValue(responseNanos);
+        serviceTime.recordValue(serviceNanos);
+        completed.increment();
+    }
+
+    void recordFailure(long responseNanos, long serviceNanos, RuntimeException error) {
+        responseTime.recordValue(responseNanos);
+        serviceTime.recordValue(serviceNanos);
+        errors.increment();
+        errorTypes.computeIfAbsent(error.getClass().getSimpleName(), type -> new LongAdder()).increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    Operation operation() { return operation; }
+    Histogram responseTime() { return responseTime; }
+    Histogram serviceTime() { return serviceTime; }
+    long completed() { return completed.sum(); }
+    long skipped() { return skipped.sum(); }
+    long errors() { return errors.sum(); }
+
+    Map<String, Long> errorTypes() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorTypes.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,196 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.LojakiBackendApplication;
+import com.lucasgodoy.lojaki.application.service.OrderHistoryService;
+import com.lucasgodoy.lojaki.domain.order.model.OrderHistoryPage;
+import com.lucasgodoy.lojaki.domain.order.model.OrderSummary;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaOrderSummaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Latency of "my orders" keyset paging (OrderHistoryService) on page 1
+ * against a deep page (page 500 by default) of one user with a long
+ * history, with the same deep page read by LIMIT/OFFSET for contrast.
+ *
+ * order_summaries is filled with plain JDBC batches: the paged user's
+ * orders plus a background of other users' orders, so the per-user index
+ * is as large as a busy store's. Every third order shares its created_at
+ * with the next, so the order_id tie-break is exercised. Before timing,
+ * the paged user's history is walked to the deep page once and checked for
+ * repeated or skipped orders; each page depth is then read repeatedly in
+ * its own read-only transaction and the median, 99th percentile and
+ * maximum latency are reported.
+ *
+ * Without --jdbc-url the rows live in an in-memory H2 database; pass a
+ * PostgreSQL URL to measure the index-only scans of OrderHistoryIndexes.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.OrderHistoryBenchmark \
+ *       -Dloadtest.args="--jdbc-url=jdbc:postgresql://localhost:5432/lojaki --username=postgres --password= \
+ *       --background-orders=1000000 --page-size=20 --deep-page=500 --queries=500"
+ */
+public final class OrderHistoryBenchmark {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int BACKGROUND_USERS = 10_000;
+
+    private OrderHistoryBenchmark() { }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int backgroundOrders = Integer.parseInt(options.getOrDefault("background-orders", "1000000"));
+        int pageSize = Integer.parseInt(options.getOrDefault("page-size", "20"));
+        int deepPage = Integer.parseInt(options.getOrDefault("deep-page", "500"));
+        int queries = Integer.parseInt(options.getOrDefault("queries", "500"));
+        // Enough orders that the deep page is full and still has a next page
+        int userOrders = pageSize * (deepPage + 10);
+        List<String> runnerArgs = new ArrayList<>(List.of("--stores=1", "--users=1", "--products=1"));
+        for (String passed : List.of("jdbc-url", "username", "password")) {
+            if (options.containsKey(passed)) {
+                runnerArgs.add("--" + passed + "=" + options.get(passed));
+            }
+        }
+        LoadTestOptions loadTestOptions = LoadTestOptions.parse(runnerArgs.toArray(String[]::new));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = SpringApplication.run(LojakiBackendApplication.class,
+                loadTestOptions.springArguments());
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(context.getBean(DataSource.class));
+            OrderHistoryService service = new OrderHistoryService(new JpaOrderSummaryRepository(entityManager));
+
+            UUID userId = UUID.randomUUID();
+            UUID storeId = UUID.randomUUID();
+            long seedStart = System.nanoTime();
+            seed(jdbcTemplate, transactions, userId, storeId, userOrders, backgroundOrders);
+            if (!loadTestOptions.isH2()) {
+                jdbcTemplate.execute("VACUUM ANALYZE order_summaries");
+            }
+            System.out.printf("user orders=%,d background orders=%,d database=%s seeded in %,d s%n", userOrders,
+                    backgroundOrders, loadTestOptions.isH2() ? "H2" : "PostgreSQL",
+                    (System.nanoTime() - seedStart) / 1_000_000_000L);
+
+            // Walks to the deep page once, checking that no order is repeated or skipped on the way
+            String deepCursor = null;
+            Set<UUID> seen = new HashSet<>();
+            OrderSummary previous = null;
+            for (int page = 1; page < deepPage; page++) {
+                String cursor = deepCursor;
+                OrderHistoryPage result = readOnly.execute(status ->
+                        service.listUserOrders(userId, null, null, cursor, pageSize));
+                for (OrderSummary order : result.getOrders()) {
+                    if (!seen.add(order.getOrderId()) || (previous != null && !isAfter(previous, order))) {
+                        throw new IllegalStateException("Page " + page + " repeats or reorders " + order.getOrderId());
+                    }
+                    previous = order;
+                }
+                deepCursor = result.getNextCursor();
+            }
+            if (seen.size() != pageSize * (deepPage - 1)) {
+                throw new IllegalStateException("Walked " + seen.size() + " orders to page " + deepPage);
+            }
+            String cursor = deepCursor;
+
+            measure("page 1", queries, readOnly, () ->
+                    service.listUserOrders(userId, null, null, null, pageSize).getOrders().size());
+            measure("page " + deepPage, queries, readOnly, () ->
+                    service.listUserOrders(userId, null, null, cursor, pageSize).getOrders().size());
+            // The same deep page read by offset, which walks every earlier order to skip it
+            measure("offset " + deepPage, queries, readOnly, () -> jdbcTemplate.queryForList(
+                    "SELECT order_id FROM order_summaries WHERE user_id = ?"
+                            + " ORDER BY created_at DESC, order_id DESC LIMIT ? OFFSET ?",
+                    UUID.class, userId, pageSize, pageSize * (deepPage - 1)).size());
+        } finally {
+            context.close();
+        }
+    }
+
+    // Databases order UUIDs by their unsigned bytes, unlike UUID.compareTo
+    private static boolean isAfter(OrderSummary newer, OrderSummary older) {
+        int byTime = newer.getCreatedAt().compareTo(older.getCreatedAt());
+        if (byTime != 0) {
+            return byTime > 0;
+        }
+        UUID a = newer.getOrderId();
+        UUID b = older.getOrderId();
+        int byHigh = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return byHigh > 0 || (byHigh == 0 && Long.compareUnsigned(a.getLeastSignificantBits(),
+                b.getLeastSignificantBits()) > 0);
+    }
+
+    // ===== Data =====
+
+    // One order a minute going back from now; every third order shares its timestamp with the next
+    private static void seed(JdbcTemplate jdbcTemplate, TransactionTemplate transactions, UUID userId,
+                             UUID storeId, int userOrders, int backgroundOrders) {
+        Instant now = Instant.now();
+        int total = userOrders + backgroundOrders;
+        for (int from = 0; from < total; from += BATCH_SIZE) {
+            int to = Math.min(total, from + BATCH_SIZE);
+            List<Object[]> rows = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                boolean own = i < userOrders;
+                int n = own ? i : i - userOrders;
+                UUID owner = own ? userId : new UUID(4L, n % BACKGROUND_USERS);
+                Timestamp createdAt = Timestamp.from(now.minusSeconds(60L * (n - (n % 3 == 1 ? 1 : 0))));
+                rows.add(new Object[]{UUID.randomUUID(), owner, storeId, Status.DELIVERED.name(),
+                        new BigDecimal("99.9000"), 1 + n % 5, "BRL", createdAt, createdAt});
+            }
+            transactions.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "INSERT INTO order_summaries (order_id, user_id, store_id, status, total_amount, item_count,"
+                            + " currency, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows));
+        }
+    }
+
+    // ===== Measurement =====
+
+    private static void measure(String label, int queries, TransactionTemplate readOnly, IntSupplier read) {
+        // Warm-up: plan caches, connection and JIT
+        for (int q = 0; q < Math.min(queries, 100); q++) {
+            readOnly.execute(status -> read.getAsInt());
+        }
+        long[] micros = new long[queries];
+        long rows = 0;
+        for (int q = 0; q < queries; q++) {
+            long start = System.nanoTime();
+            Integer found = readOnly.execute(status -> read.getAsInt());
+            micros[q] = (System.nanoTime() - start) / 1_000;
+            rows += found;
+        }
+        Arrays.sort(micros);
+        System.out.printf("%-11s %,6d queries | p50 %,9d us | p99 %,9d us | max %,9d us | %.1f rows/query%n",
+                label + ":", queries, micros[queries / 2], micros[(int) Math.min(queries - 1, queries * 99L / 100)],
+                micros[queries - 1], (double) rows / queries);
+    }
+}
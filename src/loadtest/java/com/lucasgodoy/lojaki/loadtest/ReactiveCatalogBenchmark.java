@@ -0,0 +1,303 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.LojakiBackendApplication;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItemView;
+import com.lucasgodoy.lojaki.infrastructure.persistence.reactive.R2dbcCatalogReadRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaStoreItemRepository;
+import com.lucasgodoy.lojaki.loadtest.CatalogSeeder.SeededStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.reactivestreams.Subscription;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+
+import javax.management.ObjectName;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the blocking catalog read path (JPA on the JDBC pool, one thread
+ * per request) with the non-blocking one (R2DBC on its own small pool) on
+ * the same seeded database.
+ *
+ * Point reads: price and stock of random store items, with N requests in
+ * flight for a fixed time. Reports requests per second, and what each
+ * in-flight request holds while the load runs: heap (after GC), threads,
+ * and thread stacks when Native Memory Tracking is on
+ * (-XX:NativeMemoryTracking=summary in loadtest.jvmArgs).
+ *
+ * Listings: one full store listing, materialized by the blocking path and
+ * streamed by the non-blocking one; reports rows per second and the heap
+ * held while the consumer works through it (for the stream, measured with
+ * the consumer stalled half-way).
+ *
+ * Without --jdbc-url both paths read an in-memory H2 database, whose R2DBC
+ * driver runs queries on the calling thread: the numbers then show memory
+ * per request, not the effect of not waiting on I/O. Pass a PostgreSQL URL
+ * for that. With the database on the same host, throughput is bound by CPU
+ * and the non-blocking path is no faster; what it saves is the thread per
+ * in-flight request. Compare equal pools (--r2dbc-pool-size).
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.ReactiveCatalogBenchmark \
+ *       -Dloadtest.jvmArgs="-Xmx1g -XX:NativeMemoryTracking=summary" \
+ *       -Dloadtest.args="--products=20000 --concurrency=256 --duration=10s"
+ */
+public final class ReactiveCatalogBenchmark {
+
+    private static final Pattern NMT_THREAD = Pattern.compile("- +Thread \\(reserved=\\d+KB, committed=(\\d+)KB\\)");
+
+    /** Point reads run on each path before measuring */
+    private static final int WARMUP_READS = 5_000;
+
+    private ReactiveCatalogBenchmark() { }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "256"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "10s").toUpperCase());
+        List<String> runnerArgs = new ArrayList<>(List.of(
+                "--stores=1",
+                "--users=1",
+                "--products=" + options.getOrDefault("products", "20000"),
+                "--pool-size=" + options.getOrDefault("pool-size", "10")));
+        for (String passed : List.of("jdbc-url", "username", "password")) {
+            if (options.containsKey(passed)) {
+                runnerArgs.add("--" + passed + "=" + options.get(passed));
+            }
+        }
+        LoadTestOptions loadTestOptions = LoadTestOptions.parse(runnerArgs.toArray(String[]::new));
+        List<String> springArguments = new ArrayList<>(List.of(loadTestOptions.springArguments()));
+        springArguments.add("--lojaki.catalog.r2dbc.pool-size=" + options.getOrDefault("r2dbc-pool-size", "4"));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = SpringApplication.run(LojakiBackendApplication.class,
+                springArguments.toArray(String[]::new));
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            TransactionTemplate readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+            SeededStore store = new CatalogSeeder(entityManager, transactions, context.getBean(DataSource.class))
+                    .seed(loadTestOptions).get(0);
+            UUID storeId = store.store().getId();
+            UUID[] ids = new UUID[store.storeItems().length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = store.storeItems()[i].getId();
+            }
+            JpaStoreItemRepository blocking = new JpaStoreItemRepository(entityManager);
+            R2dbcCatalogReadRepository reactive = context.getBean(R2dbcCatalogReadRepository.class);
+
+            System.out.printf("store items=%,d concurrency=%d jdbc pool=%s r2dbc pool=%s database=%s%n", ids.length,
+                    concurrency, options.getOrDefault("pool-size", "10"), options.getOrDefault("r2dbc-pool-size", "4"),
+                    loadTestOptions.isH2() ? "H2" : "PostgreSQL");
+            for (int i = 0; i < WARMUP_READS; i++) {
+                UUID id = ids[i % ids.length];
+                readOnly.execute(status -> blocking.findById(id));
+                reactive.findStoreItem(id).block();
+            }
+
+            Sample idle = Sample.take();
+            pointReads("blocking", concurrency, duration, idle, running -> blockingReads(running, concurrency,
+                    () -> readOnly.execute(status -> blocking.findById(random(ids)))));
+            pointReads("reactive", concurrency, duration, idle, running -> reactiveReads(running, concurrency,
+                    reactive, ids));
+
+            blockingListing(readOnly, blocking, storeId);
+            reactiveListing(reactive, storeId);
+        } finally {
+            context.close();
+        }
+    }
+
+    // ===== Point Reads =====
+
+    private interface Load {
+        /** Starts the load; the returned counter grows until running is cleared, then the latch opens */
+        Running start(AtomicBoolean running);
+    }
+
+    private record Running(LongAdder completed, CountDownLatch stopped) { }
+
+    private static void pointReads(String label, int concurrency, Duration duration, Sample idle, Load load)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Running run = load.start(running);
+        Thread.sleep(1_000); // Ramp-up
+        long before = run.completed().sum();
+        long start = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        long completed = run.completed().sum() - before;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Sample loaded = Sample.take(); // Still under load: every request slot is in flight
+        running.set(false);
+        run.stopped().await();
+
+        System.out.printf("%-9s %,9.0f req/s | per in-flight request: %,7d heap bytes, %.2f threads%s%n",
+                label + ":", completed / seconds, (loaded.heapBytes - idle.heapBytes) / concurrency,
+                (double) (loaded.threads - idle.threads) / concurrency,
+                loaded.stackKb < 0 ? "" : String.format(", %,d stack bytes",
+                        (loaded.stackKb - idle.stackKb) * 1024 / concurrency));
+    }
+
+    // One thread per in-flight request, as a servlet container serves blocking code
+    private static Running blockingReads(AtomicBoolean running, int concurrency, Runnable read) {
+        LongAdder completed = new LongAdder();
+        CountDownLatch stopped = new CountDownLatch(concurrency);
+        for (int t = 0; t < concurrency; t++) {
+            Thread thread = new Thread(() -> {
+                while (running.get()) {
+                    read.run();
+                    completed.increment();
+                }
+                stopped.countDown();
+            }, "blocking-read-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        return new Running(completed, stopped);
+    }
+
+    // In-flight requests are subscriptions, most of them waiting for a pooled connection
+    private static Running reactiveReads(AtomicBoolean running, int concurrency, R2dbcCatalogReadRepository reactive,
+                                         UUID[] ids) {
+        LongAdder completed = new LongAdder();
+        CountDownLatch stopped = new CountDownLatch(1);
+        Flux.<UUID>generate(sink -> sink.next(random(ids)))
+                .takeWhile(id -> running.get())
+                .flatMap(reactive::findStoreItem, concurrency)
+                .doOnNext(view -> completed.increment())
+                .doFinally(signal -> stopped.countDown())
+                // Drivers that complete on the calling thread (H2) would otherwise run the whole load inline
+                .subscribeOn(Schedulers.single())
+                .subscribe();
+        return new Running(completed, stopped);
+    }
+
+    // ===== Listings =====
+
+    private static void blockingListing(TransactionTemplate readOnly, JpaStoreItemRepository blocking, UUID storeId)
+            throws InterruptedException {
+        long baseline = CatalogSnapshotBenchmark.usedHeapAfterGc();
+        long start = System.nanoTime();
+        List<StoreItem> items = readOnly.execute(status -> blocking.findCatalog(storeId));
+        long nanos = System.nanoTime() - start;
+        long held = CatalogSnapshotBenchmark.usedHeapAfterGc() - baseline;
+        System.out.printf("listing blocking: %,9.0f rows/s | %,d rows, %,d heap bytes held by the consumer%n",
+                items.size() / (nanos / 1e9), items.size(), held);
+    }
+
+    private static void reactiveListing(R2dbcCatalogReadRepository reactive, UUID storeId) throws InterruptedException {
+        int total = reactive.streamStoreItems(storeId).count().blockOptional().orElse(0L).intValue();
+        long baseline = CatalogSnapshotBenchmark.usedHeapAfterGc();
+        StallingSubscriber subscriber = new StallingSubscriber(total / 2);
+        long start = System.nanoTime();
+        reactive.streamStoreItems(storeId).limitRate(256).subscribe(subscriber);
+        subscriber.halfway.await();
+        long streamedNanos = System.nanoTime() - start;
+        long held = CatalogSnapshotBenchmark.usedHeapAfterGc() - baseline;
+        long resumed = System.nanoTime();
+        subscriber.resume();
+        subscriber.done.await();
+        long nanos = streamedNanos + System.nanoTime() - resumed;
+        System.out.printf("listing reactive: %,9.0f rows/s | %,d rows, %,d heap bytes held by the consumer%n",
+                subscriber.rows / (nanos / 1e9), subscriber.rows, held);
+    }
+
+    /** Requests rows one batch at a time and stops requesting half-way until resumed */
+    private static final class StallingSubscriber extends BaseSubscriber<StoreItemView> {
+
+        private static final int BATCH = 64;
+
+        private final int stallAt;
+        private final CountDownLatch halfway = new CountDownLatch(1);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile int rows;
+        private volatile boolean stalled;
+
+        StallingSubscriber(int stallAt) {
+            this.stallAt = stallAt;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            request(BATCH);
+        }
+
+        @Override
+        protected void hookOnNext(StoreItemView view) {
+            int seen = ++rows;
+            if (seen % BATCH != 0) {
+                return;
+            }
+            if (!stalled && seen >= stallAt) {
+                stalled = true;
+                halfway.countDown();
+                return;
+            }
+            request(BATCH);
+        }
+
+        void resume() {
+            request(BATCH);
+        }
+
+        @Override
+        protected void hookFinally(SignalType type) {
+            halfway.countDown();
+            done.countDown();
+        }
+    }
+
+    // ===== Measurements =====
+
+    private record Sample(long heapBytes, int threads, long stackKb) {
+
+        static Sample take() throws InterruptedException {
+            return new Sample(CatalogSnapshotBenchmark.usedHeapAfterGc(),
+                    ManagementFactory.getThreadMXBean().getThreadCount(), threadStackCommittedKb());
+        }
+    }
+
+    // Committed thread stacks per Native Memory Tracking; -1 when NMT is off
+    private static long threadStackCommittedKb() {
+        try {
+            String summary = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmNativeMemory",
+                    new Object[] {new String[] {"summary"}}, new String[] {String[].class.getName()});
+            Matcher matcher = NMT_THREAD.matcher(summary);
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static UUID random(UUID[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
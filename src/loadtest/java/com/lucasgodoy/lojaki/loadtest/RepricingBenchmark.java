@@ -0,0 +1,157 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.LojakiBackendApplication;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.application.pricing.RepricingReport;
+import com.lucasgodoy.lojaki.application.pricing.RepricingService;
+import com.lucasgodoy.lojaki.domain.store.model.PriceRule;
+import com.lucasgodoy.lojaki.domain.store.model.Promotion;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreItemEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JdbcPromotionRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JdbcRepricingRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaStoreItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cost of repricing one large store (200k items by default) through
+ * JdbcRepricingRepository: a permanent store-wide rule, then a promotion
+ * started and ended through RepricingService, as the scheduler runs them.
+ * Each is run once per chunk size, and for comparison the same rule is
+ * applied the JPA way: every item loaded, changed and flushed in one
+ * transaction. The JPA run writes no price history, so it flatters JPA.
+ *
+ * Reports wall time, items changed per second, the average time of one
+ * chunk (how long its row locks are held) and the bytes the JVM allocated
+ * for the run.
+ *
+ * The set-based statements are PostgreSQL-only, so --jdbc-url is required.
+ *
+ * Run with the "loadtest" Maven profile:
+ *   mvn -P loadtest compile exec:exec -Dloadtest.main=com.lucasgodoy.lojaki.loadtest.RepricingBenchmark \
+ *       -Dloadtest.args="--jdbc-url=jdbc:postgresql://localhost:5432/lojaki --username=postgres --password= \
+ *       --items=200000 --chunk-sizes=1000,5000,20000"
+ */
+public final class RepricingBenchmark {
+
+    private RepricingBenchmark() { }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        if (!options.containsKey("jdbc-url")) {
+            throw new IllegalArgumentException("Repricing runs on PostgreSQL only: pass --jdbc-url");
+        }
+        int items = Integer.parseInt(options.getOrDefault("items", "200000"));
+        List<Integer> chunkSizes = new ArrayList<>();
+        for (String size : options.getOrDefault("chunk-sizes", "1000,5000,20000").split(",")) {
+            chunkSizes.add(Integer.parseInt(size.trim()));
+        }
+        boolean jpaBaseline = Boolean.parseBoolean(options.getOrDefault("jpa", "true"));
+        List<String> runnerArgs = new ArrayList<>(List.of("--stores=1", "--users=1", "--products=" + items));
+        for (String passed : List.of("jdbc-url", "username", "password")) {
+            if (options.containsKey(passed)) {
+                runnerArgs.add("--" + passed + "=" + options.get(passed));
+            }
+        }
+        LoadTestOptions loadTestOptions = LoadTestOptions.parse(runnerArgs.toArray(String[]::new));
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = SpringApplication.run(LojakiBackendApplication.class,
+                loadTestOptions.springArguments());
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+            TransactionTemplate transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            DataSource dataSource = context.getBean(DataSource.class);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+            long seedStart = System.nanoTime();
+            UUID storeId = new CatalogSeeder(entityManager, transactions, dataSource)
+                    .seed(loadTestOptions).get(0).store().getId();
+            jdbcTemplate.execute("ANALYZE store_items");
+            System.out.printf("store items=%,d seeded in %,d s%n", items,
+                    (System.nanoTime() - seedStart) / 1_000_000_000L);
+
+            JdbcPromotionRepository promotions = new JdbcPromotionRepository(jdbcTemplate);
+            CatalogSnapshots snapshots = new CatalogSnapshots(new JpaStoreItemRepository(entityManager),
+                    Clock.systemUTC());
+            for (int chunkSize : chunkSizes) {
+                RepricingService service = new RepricingService(new JdbcRepricingRepository(jdbcTemplate, chunkSize),
+                        promotions, snapshots, AfterCommit.IMMEDIATE, Clock.systemUTC());
+                String label = String.format("chunk %,d", chunkSize);
+                run(label + " rule +5%:", items, chunkSize, () ->
+                        service.reprice(storeId, PriceRule.storeWide(new BigDecimal("5"))).changedItems());
+
+                Promotion promotion = service.schedulePromotion(storeId, PriceRule.storeWide(new BigDecimal("-15")),
+                        Instant.now(), Instant.now().plus(Duration.ofDays(1)));
+                run(label + " promo start:", items, chunkSize, () -> service.activateDuePromotions().stream()
+                        .mapToLong(RepricingReport::changedItems).sum());
+                // Ended by moving its end into the past, as the scheduler would find it once due
+                jdbcTemplate.update("UPDATE promotions SET ends_at = ? WHERE id = ?",
+                        Timestamp.from(Instant.now().minusSeconds(1)), promotion.getId());
+                run(label + " promo end:", items, chunkSize, () -> service.endDuePromotions().stream()
+                        .mapToLong(RepricingReport::changedItems).sum());
+            }
+
+            if (jpaBaseline) {
+                run("JPA rule +5%:", items, items, () -> transactions.execute(status -> {
+                    List<StoreItemEntity> loaded = entityManager.createQuery(
+                                    "SELECT si FROM StoreItemEntity si WHERE si.store.id = :storeId",
+                                    StoreItemEntity.class)
+                            .setParameter("storeId", storeId)
+                            .getResultList();
+                    BigDecimal factor = PriceRule.storeWide(new BigDecimal("5")).factor();
+                    for (StoreItemEntity item : loaded) {
+                        item.setPrice(item.getPrice().multiply(factor).setScale(2, RoundingMode.HALF_UP));
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                    return (long) loaded.size();
+                }));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void run(String label, int items, int chunkSize, Supplier<Long> repricing) {
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long changed = repricing.get();
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        int chunks = (items + chunkSize - 1) / chunkSize;
+        System.out.printf("%-26s %,9d changed in %,7d ms | %,9.0f items/s | %,7.1f ms/chunk | %,11d bytes allocated%n",
+                label, changed, elapsed / 1_000_000, changed / (elapsed / 1e9), elapsed / 1e6 / chunks, allocated);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,164 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogEntry;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.service.OrderService;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.loadtest.CatalogSeeder.SeededStore;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.random.RandomGenerator;
+
+/**
+ * What each operation of the mix actually does against the application.
+ *
+ * Calls go through the same services and repositories production uses,
+ * one transaction per operation. Stores are picked uniformly; SKUs inside
+ * a store follow the Zipf popularity of the seeded catalog, so hot store
+ * items see the contention they would see in production.
+ *
+ * Catalog reads go to the database, or to the catalog snapshots when the
+ * run was started with --catalog=snapshot.
+ */
+final class Workload {
+
+    private static final int MAX_LINES_PER_ORDER = 4;
+    private static final int MAX_QUANTITY = 3;
+    private static final double CANCEL_RATIO = 0.05;
+
+    private final List<SeededStore> stores;
+    private final ZipfSampler skuPopularity;
+    private final OrderService orderService;
+    private final StoreItemRepository storeItemRepository;
+    private final CatalogSnapshots catalogSnapshots;
+    private final TransactionTemplate transactions;
+    private final TransactionTemplate readOnlyTransactions;
+
+    /** Orders placed during the run that can still move to another status */
+    private final Queue<PlacedOrder> openOrders = new ConcurrentLinkedQueue<>();
+
+    /** Cumulative weights of the operation mix, in Operation order */
+    private final int[] cumulativeWeights;
+
+    Workload(List<SeededStore> stores,
+             double zipfExponent,
+             Map<Operation, Integer> mix,
+             OrderService orderService,
+             StoreItemRepository storeItemRepository,
+             CatalogSnapshots catalogSnapshots,
+             TransactionTemplate transactions,
+             TransactionTemplate readOnlyTransactions) {
+        this.stores = stores;
+        this.skuPopularity = new ZipfSampler(stores.get(0).products().length, zipfExponent);
+        this.orderService = orderService;
+        this.storeItemRepository = storeItemRepository;
+        this.catalogSnapshots = catalogSnapshots;
+        this.transactions = transactions;
+        this.readOnlyTransactions = readOnlyTransactions;
+        this.cumulativeWeights = new int[Operation.values().length];
+        int sum = 0;
+        for (Operation operation : Operation.values()) {
+            sum += mix.getOrDefault(operation, 0);
+            cumulativeWeights[operation.ordinal()] = sum;
+        }
+    }
+
+    /**
+     * Picks the next operation according to the configured mix.
+     */
+    Operation pick(RandomGenerator random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (Operation operation : Operation.values()) {
+            if (ticket < cumulativeWeights[operation.ordinal()]) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Operation mix is empty");
+    }
+
+    /**
+     * Runs one operation.
+     *
+     * @return false if there was nothing to do (no open order to transition)
+     */
+    boolean execute(Operation operation, RandomGenerator random) {
+        return switch (operation) {
+            case CATALOG_READ -> readCatalog(random);
+            case CREATE_ORDER -> createOrder(random);
+            case STATUS_TRANSITION -> transitionOrder(random);
+        };
+    }
+
+    // ===== Operations =====
+    private boolean readCatalog(RandomGenerator random) {
+        SeededStore store = store(random);
+        UUID storeItemId = store.storeItems()[skuPopularity.next(random)].getId();
+        if (catalogSnapshots != null) {
+            CatalogEntry entry = catalogSnapshots.snapshot(store.store().getId()).find(storeItemId);
+            if (entry == null) {
+                throw new IllegalStateException("Seeded store item " + storeItemId + " not in the catalog snapshot");
+            }
+            return true;
+        }
+        StoreItem storeItem = readOnlyTransactions.execute(status -> storeItemRepository.findById(storeItemId));
+        if (storeItem == null) {
+            throw new IllegalStateException("Seeded store item " + storeItemId + " not found");
+        }
+        return true;
+    }
+
+    private boolean createOrder(RandomGenerator random) {
+        SeededStore store = store(random);
+        int lines = 1 + random.nextInt(MAX_LINES_PER_ORDER);
+        Set<Integer> ranks = new HashSet<>();
+        List<OrderItem> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            int rank = skuPopularity.next(random);
+            if (ranks.add(rank)) {
+                StoreItem storeItem = store.storeItems()[rank];
+                items.add(OrderItem.create(store.products()[rank], 1 + random.nextInt(MAX_QUANTITY),
+                        storeItem.getPrice()));
+            }
+        }
+        Order order = Order.create(store.store(), store.users().get(random.nextInt(store.users().size())), items);
+        transactions.executeWithoutResult(status -> orderService.createOrder(order));
+        openOrders.add(new PlacedOrder(order.getId(), Status.PENDING));
+        return true;
+    }
+
+    private boolean transitionOrder(RandomGenerator random) {
+        PlacedOrder placed = openOrders.poll();
+        if (placed == null) {
+            return false;
+        }
+        Status next = switch (placed.status()) {
+            case PENDING -> random.nextDouble() < CANCEL_RATIO ? Status.CANCELLED : Status.PAID;
+            case PAID -> Status.SHIPPED;
+            case SHIPPED -> Status.DELIVERED;
+            case DELIVERED, CANCELLED -> throw new IllegalStateException("Final orders are never queued");
+        };
+        transactions.executeWithoutResult(status -> orderService.changeStatus(placed.id(), next));
+        if (!next.isFinal()) {
+            openOrders.add(new PlacedOrder(placed.id(), next));
+        }
+        return true;
+    }
+
+    private SeededStore store(RandomGenerator random) {
+        return stores.get(random.nextInt(stores.size()));
+    }
+
+    private record PlacedOrder(UUID id, Status status) { }
+}
@@ -0,0 +1,42 @@
+package com.lucasgodoy.lojaki.loadtest;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks 0..n-1 following a Zipf distribution: rank k is picked with
+ * probability proportional to 1 / (k + 1)^exponent, so a few SKUs get most
+ * of the traffic and the long tail is rarely touched.
+ *
+ * The cumulative distribution is precomputed once; each draw is a binary
+ * search, and the sampler is immutable, so it can be shared across threads.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one element");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+}
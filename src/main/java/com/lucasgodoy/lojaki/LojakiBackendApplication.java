@@ -2,8 +2,10 @@ package com.lucasgodoy.lojaki;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// R2DBC is wired by hand (ReactiveCatalogConfiguration): an auto-configured ConnectionFactory would disable the DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class LojakiBackendApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,47 @@
+package com.lucasgodoy.lojaki.api.controller;
+
+import com.lucasgodoy.lojaki.application.cart.CartCheckout;
+import com.lucasgodoy.lojaki.application.cart.CartView;
+import com.lucasgodoy.lojaki.application.service.CartService;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import java.util.UUID;
+
+// Controller for shopping carts
+public class CartController {
+
+    private final CartService cartService;
+
+    public CartController(CartService cartService) {
+        this.cartService = cartService;
+    }
+
+    // Finds a cart by ID
+    public CartView getCart(String cartId) {
+        return cartService.getCart(cartId);
+    }
+
+    // Adds units of a store item to a cart
+    public CartView addItem(String cartId, UUID storeId, UUID storeItemId, int quantity) {
+        return cartService.addItem(cartId, storeId, storeItemId, quantity);
+    }
+
+    // Sets the quantity of an item in a cart
+    public CartView setQuantity(String cartId, UUID storeItemId, int quantity) {
+        return cartService.setQuantity(cartId, storeItemId, quantity);
+    }
+
+    // Removes an item from a cart
+    public CartView removeItem(String cartId, UUID storeItemId) {
+        return cartService.removeItem(cartId, storeItemId);
+    }
+
+    // Empties a cart
+    public void clearCart(String cartId) {
+        cartService.clearCart(cartId);
+    }
+
+    // Places an order for a cart, safe to retry with the same idempotency key
+    public CartCheckout checkout(String cartId, User user, String idempotencyKey) {
+        return cartService.checkout(cartId, user, idempotencyKey);
+    }
+}
@@ -0,0 +1,46 @@
+package com.lucasgodoy.lojaki.api.controller;
+
+import com.lucasgodoy.lojaki.application.service.CatalogReadService;
+import com.lucasgodoy.lojaki.domain.product.model.CategoryView;
+import com.lucasgodoy.lojaki.domain.product.model.ProductView;
+import com.lucasgodoy.lojaki.domain.store.model.BrandView;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItemView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// Non-blocking controller for catalog reads; writes go through the other controllers
+public class CatalogReadController {
+
+    private final CatalogReadService catalogReadService;
+
+    public CatalogReadController(CatalogReadService catalogReadService) {
+        this.catalogReadService = catalogReadService;
+    }
+
+    // Streams a store's sellable items, as fast as the client reads them
+    public Flux<StoreItemView> streamStoreItems(UUID storeId) {
+        return catalogReadService.streamStoreItems(storeId);
+    }
+
+    // Finds the current price and stock of a store item
+    public Mono<StoreItemView> getStoreItem(UUID storeItemId) {
+        return catalogReadService.getStoreItem(storeItemId);
+    }
+
+    // Finds a product by ID
+    public Mono<ProductView> getProduct(UUID productId) {
+        return catalogReadService.getProduct(productId);
+    }
+
+    // Lists a store's categories
+    public Flux<CategoryView> listCategories(UUID storeId) {
+        return catalogReadService.listCategories(storeId);
+    }
+
+    // Lists a store's brands
+    public Flux<BrandView> listBrands(UUID storeId) {
+        return catalogReadService.listBrands(storeId);
+    }
+}
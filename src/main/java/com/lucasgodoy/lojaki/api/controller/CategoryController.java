@@ -1,5 +1,6 @@
 package com.lucasgodoy.lojaki.api.controller;
 
+import com.lucasgodoy.lojaki.application.category.CategoryTree;
 import com.lucasgodoy.lojaki.domain.product.model.Category;
 import com.lucasgodoy.lojaki.application.service.CategoryService;
 import java.util.List;
@@ -24,6 +25,11 @@ public class CategoryController {
         categoryService.updateCategory(category);
     }
 
+    // Moves a category and its subtree under another parent (null makes it a root)
+    public void moveCategory(Category category, Category newParent) {
+        categoryService.moveCategory(category, newParent);
+    }
+
     // Deletes a category
     public void deleteCategory(Category category) {
         categoryService.deleteCategory(category);
@@ -38,4 +44,14 @@ public class CategoryController {
     public List<Category> listAllCategories() {
         return categoryService.listAllCategories();
     }
+
+    // Category tree of a store
+    public CategoryTree getCategoryTree(UUID storeId) {
+        return categoryService.getCategoryTree(storeId);
+    }
+
+    // A category followed by all its descendants
+    public List<Category> getSubtree(UUID storeId, UUID categoryId) {
+        return categoryService.getSubtree(storeId, categoryId);
+    }
 }
@@ -1,7 +1,12 @@
 package com.lucasgodoy.lojaki.api.controller;
 
+import com.lucasgodoy.lojaki.application.service.OrderHistoryService;
+import com.lucasgodoy.lojaki.application.service.OrderTransitionReport;
 import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderHistoryPage;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
 import com.lucasgodoy.lojaki.application.service.OrderService;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,9 +14,11 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderHistoryService orderHistoryService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderHistoryService orderHistoryService) {
         this.orderService = orderService;
+        this.orderHistoryService = orderHistoryService;
     }
 
     // Creates a new order
@@ -19,11 +26,31 @@ public class OrderController {
         orderService.createOrder(order);
     }
 
+    // Creates a new order, safe to retry with the same idempotency key
+    public UUID createOrder(String idempotencyKey, Order order) {
+        return orderService.createOrder(idempotencyKey, order);
+    }
+
     // Updates an existing order
     public void updateOrder(Order order) {
         orderService.updateOrder(order);
     }
 
+    // Moves an order to a new status
+    public void changeStatus(UUID id, Status status) {
+        orderService.changeStatus(id, status);
+    }
+
+    // Cancels an order
+    public void cancelOrder(UUID id) {
+        orderService.cancelOrder(id);
+    }
+
+    // Moves many orders to a new status (e.g. a warehouse shipping file)
+    public OrderTransitionReport transitionStatus(Collection<UUID> ids, Status status) {
+        return orderService.transitionStatus(ids, status);
+    }
+
     // Deletes an order
     public void deleteOrder(Order order) {
         orderService.deleteOrder(order);
@@ -38,4 +65,9 @@ public class OrderController {
     public List<Order> listAllOrders() {
         return orderService.listAllOrders();
     }
+
+    // Lists a user's orders newest first, one page at a time; store and status are optional filters
+    public OrderHistoryPage listUserOrders(UUID userId, UUID storeId, Status status, String cursor, int pageSize) {
+        return orderHistoryService.listUserOrders(userId, storeId, status, cursor, pageSize);
+    }
 }
@@ -1,26 +1,37 @@
 package com.lucasgodoy.lojaki.api.controller;
 
+import com.lucasgodoy.lojaki.api.ratelimit.AdmissionControl;
+import com.lucasgodoy.lojaki.api.ratelimit.RequestKind;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.application.catalog.FacetFilter;
+import com.lucasgodoy.lojaki.application.catalog.FacetPanel;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
 import com.lucasgodoy.lojaki.domain.product.model.Product;
 import com.lucasgodoy.lojaki.application.service.ProductService;
 import java.util.List;
+import java.util.UUID;
 
 // Controller for Product entity
 public class ProductController {
 
     private final ProductService productService;
+    private final AdmissionControl admissionControl;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, AdmissionControl admissionControl) {
         this.productService = productService;
+        this.admissionControl = admissionControl;
     }
 
-    // Creates a new product
+    // Creates a new product, subject to the store's write budget
     public void createProduct(Product product) {
-        productService.createProduct(product);
+        admissionControl.admit(product.getStore().getId(), RequestKind.WRITE,
+                () -> productService.createProduct(product));
     }
 
-    // Updates an existing product
+    // Updates an existing product, subject to the store's write budget
     public void updateProduct(Product product) {
-        productService.updateProduct(product);
+        admissionControl.admit(product.getStore().getId(), RequestKind.WRITE,
+                () -> productService.updateProduct(product));
     }
 
     // Deletes a product
@@ -33,4 +44,20 @@ public class ProductController {
     public List<Product> listAllProducts() {
         return productService.listAllProducts();
     }
+
+    // Products of a category and all its descendants, subject to the store's read budget
+    public List<Product> listProductsInCategoryTree(Category category) {
+        return admissionControl.admit(category.getStore().getId(), RequestKind.READ,
+                () -> productService.listProductsInCategoryTree(category));
+    }
+
+    // Catalog of a store, subject to the store's read budget
+    public CatalogSnapshot getCatalog(UUID storeId) {
+        return admissionControl.admit(storeId, RequestKind.READ, () -> productService.getCatalog(storeId));
+    }
+
+    // Facet counts of a store listing, subject to the store's read budget
+    public FacetPanel getFacets(UUID storeId, FacetFilter filter) {
+        return admissionControl.admit(storeId, RequestKind.READ, () -> productService.getFacets(storeId, filter));
+    }
 }
@@ -0,0 +1,152 @@
+package com.lucasgodoy.lojaki.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient algorithm).
+ *
+ * Two moving averages of request latency are kept: a short one reacting to
+ * the current load and a long one approximating the latency of an
+ * uncongested server. Their ratio is the gradient:
+ *
+ *   gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+ *   newLimit = limit * gradient + sqrt(limit)
+ *
+ * While latency is at its baseline the limit grows by sqrt(limit) per
+ * sample; as queuing (e.g. waiting for a pooled connection) raises the
+ * short average, the limit shrinks, and requests beyond it are rejected
+ * immediately instead of piling up behind the pool.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** Short average: reacts within ~10 samples */
+    private static final double SHORT_SMOOTHING = 0.1;
+
+    /** Long average: baseline over ~600 samples */
+    private static final double LONG_SMOOTHING = 1.0 / 600;
+
+    /** Weight of the new limit against the previous one */
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    /** Latency increase tolerated before the limit shrinks (e.g. 1.5 = +50%) */
+    private final double tolerance;
+
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Guarded by this
+    private double shortRtt;
+    private double longRtt;
+    private double estimatedLimit;
+
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this(initialLimit, minLimit, maxLimit, tolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, LongSupplier nanoTime) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("Tolerance must be at least 1.0");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.nanoTime = nanoTime;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits one request if fewer than limit are in flight.
+     *
+     * @return a permit to release when the request ends, or null if rejected
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoTime.getAsLong());
+            }
+        }
+    }
+
+    private void release(long startNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (sample) {
+            onSample(nanoTime.getAsLong() - startNanos);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_SMOOTHING;
+        longRtt += (rttNanos - longRtt) * LONG_SMOOTHING;
+
+        // A long-lived overload drags the baseline up; pull it back down so
+        // the limit can recover once latency improves
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    // ===== Getters =====
+    public int getLimit() { return limit; }
+    public int getInFlight() { return inFlight.get(); }
+
+    /**
+     * Admission of one request; must be released exactly once.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** Releases the permit and feeds the latency into the limit */
+        public void release() {
+            release(true);
+        }
+
+        /**
+         * Releases the permit without sampling latency (e.g. the request
+         * failed fast for reasons unrelated to load).
+         */
+        public void releaseWithoutSample() {
+            release(false);
+        }
+
+        private void release(boolean sample) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(startNanos, sample);
+        }
+    }
+}
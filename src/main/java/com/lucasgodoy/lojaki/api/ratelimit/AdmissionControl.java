@@ -0,0 +1,89 @@
+package com.lucasgodoy.lojaki.api.ratelimit;
+
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Admission control in front of store-scoped endpoints.
+ *
+ * A request must first get a token from its store's budget (so one store
+ * cannot consume everyone's capacity) and then a slot from the shared
+ * adaptive concurrency limit (so the server sheds load before the
+ * connection pool saturates). A shed request gives its token back: it did
+ * no work, and the store should not lose budget to server overload. Either
+ * rejection surfaces as {@link RateLimitExceededException} (HTTP 429).
+ */
+public class AdmissionControl {
+
+    /** Retry hint returned when the request is shed for concurrency */
+    private static final Duration SHED_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final StoreRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public AdmissionControl(StoreRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    // ===== Business Methods =====
+
+    /**
+     * Runs the call if the store is within budget and the server has capacity.
+     *
+     * @throws RateLimitExceededException if the request is rejected
+     */
+    public <T> T admit(UUID storeId, RequestKind kind, Supplier<T> call) {
+        try {
+            rateLimiter.acquire(storeId, kind);
+        } catch (RateLimitExceededException e) {
+            rateLimited.increment();
+            throw e;
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire();
+        if (permit == null) {
+            rateLimiter.refund(storeId, kind);
+            shed.increment();
+            throw new RateLimitExceededException("Server is overloaded, request shed", SHED_RETRY_AFTER);
+        }
+        admitted.increment();
+        boolean sample = true;
+        try {
+            return call.get();
+        } catch (DomainException | IllegalArgumentException e) {
+            // Validation failures say nothing about load
+            sample = false;
+            throw e;
+        } finally {
+            if (sample) {
+                permit.release();
+            } else {
+                permit.releaseWithoutSample();
+            }
+        }
+    }
+
+    public void admit(UUID storeId, RequestKind kind, Runnable call) {
+        admit(storeId, kind, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // ===== Metrics =====
+    public long getAdmitted() { return admitted.sum(); }
+    public long getRateLimited() { return rateLimited.sum(); }
+    public long getShed() { return shed.sum(); }
+    public int getConcurrencyLimit() { return concurrencyLimiter.getLimit(); }
+    public int getInFlight() { return concurrencyLimiter.getInFlight(); }
+    public int getTrackedStores() { return rateLimiter.size(); }
+}
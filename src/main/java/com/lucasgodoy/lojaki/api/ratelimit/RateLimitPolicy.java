@@ -0,0 +1,13 @@
+package com.lucasgodoy.lojaki.api.ratelimit;
+
+/**
+ * Per-store budgets: sustained rate and burst size, for reads and for writes.
+ */
+public record RateLimitPolicy(double readsPerSecond, int readBurst, double writesPerSecond, int writeBurst) {
+
+    public RateLimitPolicy {
+        if (readsPerSecond <= 0 || writesPerSecond <= 0 || readBurst < 1 || writeBurst < 1) {
+            throw new IllegalArgumentException("Rates and bursts must be positive");
+        }
+    }
+}
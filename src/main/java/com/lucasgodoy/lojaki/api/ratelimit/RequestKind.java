@@ -0,0 +1,9 @@
+package com.lucasgodoy.lojaki.api.ratelimit;
+
+/**
+ * Kind of request, each with its own per-store budget.
+ */
+public enum RequestKind {
+    READ,
+    WRITE
+}
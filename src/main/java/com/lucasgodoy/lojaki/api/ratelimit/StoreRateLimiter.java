@@ -0,0 +1,114 @@
+package com.lucasgodoy.lojaki.api.ratelimit;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-store token buckets, one for reads and one for writes.
+ *
+ * Buckets are created on a store's first request and dropped once the
+ * store has been idle long enough for its buckets to refill, so memory is
+ * proportional to the number of recently active stores. Eviction is
+ * amortized over new buckets and can also be triggered explicitly.
+ */
+public class StoreRateLimiter {
+
+    /** Idle buckets are swept every this many new stores */
+    private static final int SWEEP_EVERY = 256;
+
+    private final RateLimitPolicy policy;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<UUID, StoreBuckets> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger createdSinceSweep = new AtomicInteger();
+
+    public StoreRateLimiter(RateLimitPolicy policy, Duration idleTimeout) {
+        this(policy, idleTimeout, System::nanoTime);
+    }
+
+    StoreRateLimiter(RateLimitPolicy policy, Duration idleTimeout, LongSupplier nanoTime) {
+        this.policy = policy;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Takes one token from the store's budget for the given kind.
+     *
+     * @throws RateLimitExceededException if the budget is exhausted
+     */
+    public void acquire(UUID storeId, RequestKind kind) {
+        long now = nanoTime.getAsLong();
+        StoreBuckets store = buckets.get(storeId);
+        if (store == null) {
+            store = buckets.computeIfAbsent(storeId, id -> new StoreBuckets(policy, now));
+            if (createdSinceSweep.incrementAndGet() >= SWEEP_EVERY) {
+                createdSinceSweep.set(0);
+                evictIdle();
+            }
+        }
+        store.lastUsed = now;
+
+        long wait = store.bucket(kind).tryAcquire(now);
+        if (wait > 0) {
+            throw new RateLimitExceededException("Rate limit exceeded for store " + storeId + " (" + kind + ")",
+                    Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Returns a token taken by {@link #acquire} for a request that was then
+     * rejected for another reason, so it does not count against the store.
+     */
+    public void refund(UUID storeId, RequestKind kind) {
+        StoreBuckets store = buckets.get(storeId);
+        if (store != null) {
+            store.bucket(kind).refund();
+        }
+    }
+
+    /**
+     * Drops the buckets of stores idle for longer than the idle timeout
+     * whose buckets are full again.
+     *
+     * @return number of stores evicted
+     */
+    public int evictIdle() {
+        long now = nanoTime.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(store -> now - store.lastUsed > idleTimeoutNanos && store.isFull(now));
+        return before - buckets.size();
+    }
+
+    /** Number of stores currently tracked */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Read and write buckets of one store.
+     */
+    private static final class StoreBuckets {
+        private final TokenBucket reads;
+        private final TokenBucket writes;
+        private volatile long lastUsed;
+
+        private StoreBuckets(RateLimitPolicy policy, long now) {
+            this.reads = new TokenBucket(policy.readsPerSecond(), policy.readBurst(), now);
+            this.writes = new TokenBucket(policy.writesPerSecond(), policy.writeBurst(), now);
+            this.lastUsed = now;
+        }
+
+        private TokenBucket bucket(RequestKind kind) {
+            return kind == RequestKind.READ ? reads : writes;
+        }
+
+        private boolean isFull(long now) {
+            return reads.isFull(now) && writes.isFull(now);
+        }
+    }
+}
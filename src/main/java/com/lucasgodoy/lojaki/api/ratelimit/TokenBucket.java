@@ -0,0 +1,70 @@
+package com.lucasgodoy.lojaki.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Implemented as a generic cell rate algorithm: the whole bucket state is a
+ * single "theoretical arrival time" (TAT) held in an AtomicLong. Taking a
+ * token advances the TAT by one emission interval; a request is allowed
+ * while the TAT stays within the burst window ahead of now. Refill is
+ * implicit in the passage of time, so there is no refill thread and no
+ * lock, only one CAS per acquisition.
+ */
+final class TokenBucket {
+
+    /** Nanoseconds between two tokens */
+    private final long emissionInterval;
+
+    /** How far ahead of now the TAT may run, i.e. (capacity - 1) tokens */
+    private final long burstTolerance;
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double tokensPerSecond, int capacity, long nowNanos) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.emissionInterval = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstTolerance = emissionInterval * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            long next = base + emissionInterval;
+            long wait = next - nowNanos - burstTolerance - emissionInterval;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire}, for a request that
+     * was rejected further on. A bucket that has refilled in the meantime
+     * is unaffected: the TAT never counts from before now.
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-emissionInterval);
+    }
+
+    /**
+     * Checks whether the bucket has refilled completely, i.e. dropping it
+     * and recreating it later would not give the store extra tokens.
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
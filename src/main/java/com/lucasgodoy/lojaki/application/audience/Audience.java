@@ -0,0 +1,83 @@
+package com.lucasgodoy.lojaki.application.audience;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable set of customers produced by a {@link StoreMembershipIndex} query.
+ *
+ * Audiences combine with each other (and, or, andNot) without touching the
+ * index again; customer IDs are only decoded when asked for.
+ */
+public final class Audience {
+
+    private final StoreMembershipIndex index;
+    private final ImmutableRoaringBitmap members;
+
+    Audience(StoreMembershipIndex index, ImmutableRoaringBitmap members) {
+        this.index = index;
+        this.members = members;
+    }
+
+    // ===== Set Algebra =====
+
+    /** Customers in both audiences */
+    public Audience and(Audience other) {
+        return new Audience(index, ImmutableRoaringBitmap.and(members, other.members));
+    }
+
+    /** Customers in either audience */
+    public Audience or(Audience other) {
+        return new Audience(index, ImmutableRoaringBitmap.or(members, other.members));
+    }
+
+    /** Customers in this audience but not in the other */
+    public Audience andNot(Audience other) {
+        return new Audience(index, ImmutableRoaringBitmap.andNot(members, other.members));
+    }
+
+    /** Size of the intersection, without building it */
+    public int andCardinality(Audience other) {
+        return ImmutableRoaringBitmap.andCardinality(members, other.members);
+    }
+
+    // ===== Queries =====
+
+    public int cardinality() {
+        return members.getCardinality();
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    public boolean contains(UUID customerId) {
+        int ordinal = index.ordinalOf(customerId);
+        return ordinal >= 0 && members.contains(ordinal);
+    }
+
+    /**
+     * Decodes up to limit customer IDs, in ordinal (first-seen) order.
+     */
+    public List<UUID> customerIds(int limit) {
+        int[] ordinals = new int[Math.min(limit, members.getCardinality())];
+        PeekableIntIterator it = members.getIntIterator();
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = it.next();
+        }
+        return index.customerIds(ordinals);
+    }
+
+    static ImmutableRoaringBitmap empty() {
+        return new MutableRoaringBitmap();
+    }
+
+    @Override
+    public String toString() {
+        return "Audience{customers=" + cardinality() + "}";
+    }
+}
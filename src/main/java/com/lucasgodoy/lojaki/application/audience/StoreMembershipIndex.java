@@ -0,0 +1,528 @@
+package com.lucasgodoy.lojaki.application.audience;
+
+import com.lucasgodoy.lojaki.domain.repository.CustomerStoreRepository;
+import org.roaringbitmap.buffer.BufferFastAggregation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of which customers belong to which stores.
+ *
+ * Every customer gets a dense int ordinal the first time it is linked to a
+ * store, and every store holds a compressed (Roaring) bitmap of the
+ * ordinals of its customers. Audience questions such as "customers of A
+ * who are also customers of B" or "customers of any of these 20 stores"
+ * become bitmap intersections and unions, answered in microseconds instead
+ * of multi-way joins over customer_store.
+ *
+ * The index is maintained incrementally as links are committed (see
+ * CustomerStoreService) and can be saved to a file. Loading maps the file
+ * into memory and reads bitmaps in place; a store's bitmap is only copied
+ * to the heap the first time it changes. When the file is missing or older
+ * than customer_store, the index is rebuilt from the table instead.
+ */
+public class StoreMembershipIndex {
+
+    private static final int MAGIC = 0x4C4A4D49; // "LJMI"
+    private static final int VERSION = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final List<UUID> customers = new ArrayList<>();
+    private final Map<UUID, ImmutableRoaringBitmap> stores = new HashMap<>();
+    private boolean dirty;
+
+    /** Changes made while a rebuild reads the table, replayed onto its result; null when not rebuilding */
+    private List<Change> changesDuringRebuild;
+
+    private ScheduledExecutorService snapshotExecutor;
+
+    // ===== Maintenance =====
+
+    /**
+     * Records that a customer belongs to a store.
+     *
+     * @return true if the link was new
+     */
+    public boolean add(UUID storeId, UUID customerId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(customerId);
+            if (ordinal == null) {
+                ordinal = customers.size();
+                ordinals.put(customerId, ordinal);
+                customers.add(customerId);
+            }
+            boolean added = mutable(storeId).checkedAdd(ordinal);
+            dirty |= added;
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(storeId, customerId, true));
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a customer from a store. The customer keeps its ordinal.
+     */
+    public void remove(UUID storeId, UUID customerId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(customerId);
+            if (ordinal != null && stores.containsKey(storeId)) {
+                mutable(storeId).remove(ordinal);
+                dirty = true;
+            }
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(storeId, customerId, false));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Copy-on-write: bitmaps loaded from a mapped file are read-only
+    private MutableRoaringBitmap mutable(UUID storeId) {
+        ImmutableRoaringBitmap bitmap = stores.get(storeId);
+        if (bitmap instanceof MutableRoaringBitmap mutable) {
+            return mutable;
+        }
+        MutableRoaringBitmap copy = bitmap == null ? new MutableRoaringBitmap() : bitmap.toMutableRoaringBitmap();
+        stores.put(storeId, copy);
+        return copy;
+    }
+
+    private record Change(UUID storeId, UUID customerId, boolean added) { }
+
+    /**
+     * Replaces the index with the given links, e.g. every row of
+     * customer_store. Queries keep answering from the previous content
+     * until the new one is complete; links added or removed meanwhile are
+     * applied to the result.
+     *
+     * @param links calls its argument once per (storeId, customerId) link
+     */
+    public synchronized void rebuild(Consumer<BiConsumer<UUID, UUID>> links) {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<UUID, Integer> builtOrdinals = new HashMap<>();
+        List<UUID> builtCustomers = new ArrayList<>();
+        Map<UUID, MutableRoaringBitmap> builtStores = new HashMap<>();
+        BiConsumer<UUID, UUID> link = (storeId, customerId) -> {
+            Integer ordinal = builtOrdinals.get(customerId);
+            if (ordinal == null) {
+                ordinal = builtCustomers.size();
+                builtOrdinals.put(customerId, ordinal);
+                builtCustomers.add(customerId);
+            }
+            builtStores.computeIfAbsent(storeId, id -> new MutableRoaringBitmap()).add(ordinal);
+        };
+        try {
+            links.accept(link);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Change change : changesDuringRebuild) {
+                if (change.added()) {
+                    link.accept(change.storeId(), change.customerId());
+                } else {
+                    Integer ordinal = builtOrdinals.get(change.customerId());
+                    MutableRoaringBitmap bitmap = builtStores.get(change.storeId());
+                    if (ordinal != null && bitmap != null) {
+                        bitmap.remove(ordinal);
+                    }
+                }
+            }
+            changesDuringRebuild = null;
+            builtStores.values().forEach(MutableRoaringBitmap::runOptimize);
+            ordinals.clear();
+            ordinals.putAll(builtOrdinals);
+            customers.clear();
+            customers.addAll(builtCustomers);
+            stores.clear();
+            stores.putAll(builtStores);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== Queries =====
+
+    /** Customers of one store */
+    public Audience members(UUID storeId) {
+        lock.readLock().lock();
+        try {
+            ImmutableRoaringBitmap bitmap = stores.get(storeId);
+            return new Audience(this, bitmap == null ? Audience.empty() : copyOf(bitmap));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Customers belonging to every one of the given stores */
+    public Audience allOf(Collection<UUID> storeIds) {
+        lock.readLock().lock();
+        try {
+            List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>(storeIds.size());
+            for (UUID storeId : storeIds) {
+                ImmutableRoaringBitmap bitmap = stores.get(storeId);
+                if (bitmap == null) {
+                    return new Audience(this, Audience.empty());
+                }
+                bitmaps.add(bitmap);
+            }
+            return new Audience(this, bitmaps.isEmpty()
+                    ? Audience.empty()
+                    : BufferFastAggregation.and(bitmaps.toArray(ImmutableRoaringBitmap[]::new)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Customers belonging to at least one of the given stores */
+    public Audience anyOf(Collection<UUID> storeIds) {
+        lock.readLock().lock();
+        try {
+            List<ImmutableRoaringBitmap> bitmaps = new ArrayList<>(storeIds.size());
+            for (UUID storeId : storeIds) {
+                ImmutableRoaringBitmap bitmap = stores.get(storeId);
+                if (bitmap != null) {
+                    bitmaps.add(bitmap);
+                }
+            }
+            return new Audience(this, BufferFastAggregation.or(bitmaps.toArray(ImmutableRoaringBitmap[]::new)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of customers of both stores, without building the intersection */
+    public int countCommon(UUID storeA, UUID storeB) {
+        lock.readLock().lock();
+        try {
+            ImmutableRoaringBitmap a = stores.get(storeA);
+            ImmutableRoaringBitmap b = stores.get(storeB);
+            return a == null || b == null ? 0 : ImmutableRoaringBitmap.andCardinality(a, b);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of customers of a store */
+    public int count(UUID storeId) {
+        lock.readLock().lock();
+        try {
+            ImmutableRoaringBitmap bitmap = stores.get(storeId);
+            return bitmap == null ? 0 : bitmap.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static ImmutableRoaringBitmap copyOf(ImmutableRoaringBitmap bitmap) {
+        return bitmap instanceof MutableRoaringBitmap ? bitmap.toMutableRoaringBitmap() : bitmap;
+    }
+
+    int ordinalOf(UUID customerId) {
+        lock.readLock().lock();
+        try {
+            return ordinals.getOrDefault(customerId, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<UUID> customerIds(int[] ordinalsToDecode) {
+        lock.readLock().lock();
+        try {
+            List<UUID> ids = new ArrayList<>(ordinalsToDecode.length);
+            for (int ordinal : ordinalsToDecode) {
+                ids.add(customers.get(ordinal));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== Persistence =====
+
+    /**
+     * Writes the index to a file, atomically replacing the previous one.
+     *
+     * Layout (big-endian header, bitmaps in the portable Roaring format):
+     * magic, version, customer count, customer UUIDs in ordinal order,
+     * store count, then per store: UUID, bitmap size, bitmap bytes.
+     */
+    public void save(Path file) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        lock.writeLock().lock();
+        try {
+            // Compaction rewrites containers in place, so no query may read a bitmap meanwhile
+            for (ImmutableRoaringBitmap bitmap : stores.values()) {
+                if (bitmap instanceof MutableRoaringBitmap mutable) {
+                    mutable.runOptimize();
+                }
+            }
+            // Changes from here on belong to the next snapshot
+            dirty = false;
+            // Downgrade: queries run again while the file is written, changes wait for it
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        boolean written = false;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(customers.size());
+            for (UUID customerId : customers) {
+                writeUuid(out, customerId);
+            }
+            out.writeInt(stores.size());
+            for (Map.Entry<UUID, ImmutableRoaringBitmap> entry : stores.entrySet()) {
+                ImmutableRoaringBitmap bitmap = entry.getValue();
+                writeUuid(out, entry.getKey());
+                out.writeInt(bitmap.serializedSizeInBytes());
+                writeBitmap(out, bitmap);
+            }
+            out.flush();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            written = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write membership index " + file, e);
+        } finally {
+            lock.readLock().unlock();
+            if (!written) {
+                markDirty();
+            }
+        }
+    }
+
+    private void markDirty() {
+        lock.writeLock().lock();
+        try {
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with the content of a file written by {@link #save(Path)}.
+     * Bitmaps are read in place from the memory-mapped file.
+     *
+     * @return false if the file does not exist or has an unknown format
+     */
+    public boolean load(Path file) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map membership index " + file, e);
+        }
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return false;
+        }
+
+        int customerCount = buffer.getInt();
+        Map<UUID, Integer> loadedOrdinals = new HashMap<>(customerCount * 4 / 3 + 1);
+        List<UUID> loadedCustomers = new ArrayList<>(customerCount);
+        for (int ordinal = 0; ordinal < customerCount; ordinal++) {
+            UUID customerId = readUuid(buffer);
+            loadedOrdinals.put(customerId, ordinal);
+            loadedCustomers.add(customerId);
+        }
+        int storeCount = buffer.getInt();
+        Map<UUID, ImmutableRoaringBitmap> loadedStores = new HashMap<>(storeCount * 4 / 3 + 1);
+        for (int i = 0; i < storeCount; i++) {
+            UUID storeId = readUuid(buffer);
+            int size = buffer.getInt();
+            ByteBuffer slice = buffer.slice(buffer.position(), size);
+            loadedStores.put(storeId, new ImmutableRoaringBitmap(slice));
+            buffer.position(buffer.position() + size);
+        }
+
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            ordinals.putAll(loadedOrdinals);
+            customers.clear();
+            customers.addAll(loadedCustomers);
+            stores.clear();
+            stores.putAll(loadedStores);
+            dirty = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Loads the file, or rebuilds the index from the links table when the
+     * file is missing, unreadable or stale, then saves to it periodically
+     * when something changed.
+     *
+     * The file is stale when it holds a different number of links than the
+     * table, or when a link changed after the file was written. Links are
+     * read on the calling thread, inside its transaction.
+     */
+    public synchronized void startSnapshotting(Path file, Duration interval, CustomerStoreRepository links) {
+        if (snapshotExecutor != null) {
+            return;
+        }
+        if (!load(file) || isStale(file, links)) {
+            rebuild(links::forEachLink);
+            save(file);
+        }
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "membership-index-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                if (isDirty()) {
+                    save(file);
+                }
+            } catch (UncheckedIOException e) {
+                // Keep the previous file; retry on the next tick
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic saves and writes a final snapshot.
+     */
+    public synchronized void stopSnapshotting(Path file) {
+        if (snapshotExecutor == null) {
+            return;
+        }
+        snapshotExecutor.shutdownNow();
+        snapshotExecutor = null;
+        save(file);
+    }
+
+    private boolean isStale(Path file, CustomerStoreRepository links) {
+        Instant savedAt;
+        try {
+            savedAt = Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return true;
+        }
+        Instant lastChangedAt = links.findLastChangedAt();
+        return getLinkCount() != links.countLinks() || lastChangedAt != null && lastChangedAt.isAfter(savedAt);
+    }
+
+    private boolean isDirty() {
+        lock.readLock().lock();
+        try {
+            return dirty;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== Stats =====
+
+    public int getCustomerCount() {
+        lock.readLock().lock();
+        try {
+            return customers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Customer-store links across all stores */
+    public long getLinkCount() {
+        lock.readLock().lock();
+        try {
+            long links = 0;
+            for (ImmutableRoaringBitmap bitmap : stores.values()) {
+                links += bitmap.getLongCardinality();
+            }
+            return links;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getStoreCount() {
+        lock.readLock().lock();
+        try {
+            return stores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bitmaps still read from a mapped file serialize through a channel that closes the stream, so copy them first
+    private static void writeBitmap(DataOutputStream out, ImmutableRoaringBitmap bitmap) throws IOException {
+        if (bitmap instanceof MutableRoaringBitmap) {
+            bitmap.serialize(out);
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(bitmap.serializedSizeInBytes());
+        bitmap.serialize(bytes);
+        out.write(bytes.array());
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
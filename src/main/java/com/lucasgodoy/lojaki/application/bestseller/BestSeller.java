@@ -0,0 +1,26 @@
+package com.lucasgodoy.lojaki.application.bestseller;
+
+import java.util.UUID;
+
+/**
+ * One entry of a best-seller ranking: a product and the units sold in the window.
+ */
+public final class BestSeller {
+
+    private final UUID productId;
+    private final long unitsSold;
+
+    public BestSeller(UUID productId, long unitsSold) {
+        this.productId = productId;
+        this.unitsSold = unitsSold;
+    }
+
+    // ===== Getters =====
+    public UUID getProductId() { return productId; }
+    public long getUnitsSold() { return unitsSold; }
+
+    @Override
+    public String toString() {
+        return productId + "=" + unitsSold;
+    }
+}
@@ -0,0 +1,338 @@
+package com.lucasgodoy.lojaki.application.bestseller;
+
+import com.lucasgodoy.lojaki.domain.order.event.OrderEventListener;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming "best sellers" per store and per store category.
+ *
+ * Fed by order lifecycle events: created orders and added items count as
+ * sales, cancellations take back exactly the units recorded for the order,
+ * each from the bucket it was recorded in. To do so the engine keeps a
+ * ledger of the sales of every order still inside the longest window;
+ * older orders are dropped from it, as their units have expired anyway.
+ * Rankings are answered from memory; nothing here touches the database.
+ *
+ * State (windows and ledger) can be snapshotted to a file periodically and
+ * restored on startup, so a restart does not empty the windows.
+ */
+public class BestSellerEngine implements OrderEventListener {
+
+    private static final int SNAPSHOT_VERSION = 2;
+
+    /** How long a sale can still be inside a window, hence be taken back */
+    private static final long LEDGER_MILLIS = BestSellerWindow.LAST_WEEK.getLength().toMillis();
+
+    /** Ledger sweeps happen at most this often */
+    private static final long PRUNE_INTERVAL_MILLIS = BestSellerWindow.LAST_HOUR.getBucketWidth().toMillis();
+
+    /** Maximum ranking size callers can ask for */
+    public static final int MAX_LIMIT = 100;
+
+    private final Clock clock;
+    private final Map<ScopeKey, Scope> scopes = new ConcurrentHashMap<>();
+    private final Map<UUID, List<Sale>> salesByOrder = new ConcurrentHashMap<>();
+    private final AtomicLong nextPruneAt = new AtomicLong();
+    private ScheduledExecutorService snapshotExecutor;
+
+    public BestSellerEngine(Clock clock) {
+        this.clock = clock;
+    }
+
+    // ===== Event Handling =====
+    @Override
+    public void onEvent(OrderLifecycleEvent event) {
+        long now = clock.millis();
+        switch (event.getType()) {
+            case CREATED, ITEM_ADDED -> record(event, now);
+            case CANCELLED -> takeBack(event, now);
+            default -> {
+                // Other status changes do not affect sales counts
+            }
+        }
+        pruneLedger(now);
+    }
+
+    private void record(OrderLifecycleEvent event, long now) {
+        long at = event.getOccurredAt().toEpochMilli();
+        List<Sale> sales = new ArrayList<>(event.getItems().size());
+        for (OrderItem item : event.getItems()) {
+            Category category = item.getProduct().getCategory();
+            Sale sale = new Sale(item.getProduct().getId(), category == null ? null : category.getId(),
+                    item.getQuantity(), at);
+            apply(event.getStoreId(), sale, sale.units(), now);
+            sales.add(sale);
+        }
+        salesByOrder.merge(event.getOrderId(), sales, BestSellerEngine::concat);
+    }
+
+    /**
+     * Removes what was recorded for the order, where it was recorded. Units
+     * are taken back as recorded, not as the event lists them now, so a
+     * quantity changed after recording cannot leave a phantom sale or take
+     * units from other orders.
+     */
+    private void takeBack(OrderLifecycleEvent event, long now) {
+        List<Sale> sales = salesByOrder.remove(event.getOrderId());
+        if (sales == null) {
+            return;
+        }
+        for (Sale sale : sales) {
+            apply(event.getStoreId(), sale, -sale.units(), now);
+        }
+    }
+
+    private void apply(UUID storeId, Sale sale, long units, long now) {
+        scope(new ScopeKey(storeId, null)).add(sale.productId(), units, sale.atMillis(), now);
+        if (sale.categoryId() != null) {
+            scope(new ScopeKey(storeId, sale.categoryId())).add(sale.productId(), units, sale.atMillis(), now);
+        }
+    }
+
+    /**
+     * Drops orders whose every sale is older than the longest window. Runs
+     * at most once per PRUNE_INTERVAL_MILLIS, from whichever event comes first.
+     */
+    private void pruneLedger(long now) {
+        long due = nextPruneAt.get();
+        if (now < due || !nextPruneAt.compareAndSet(due, now + PRUNE_INTERVAL_MILLIS)) {
+            return;
+        }
+        long cutoff = now - LEDGER_MILLIS;
+        salesByOrder.values().removeIf(sales -> sales.stream().allMatch(sale -> sale.atMillis() <= cutoff));
+    }
+
+    private static List<Sale> concat(List<Sale> recorded, List<Sale> added) {
+        List<Sale> all = new ArrayList<>(recorded.size() + added.size());
+        all.addAll(recorded);
+        all.addAll(added);
+        return all;
+    }
+
+    private Scope scope(ScopeKey key) {
+        return scopes.computeIfAbsent(key, k -> new Scope());
+    }
+
+    // ===== Queries =====
+
+    /**
+     * Returns the best sellers of a store, highest first.
+     *
+     * @param storeId    store to rank
+     * @param categoryId restricts the ranking to one category, or null for the whole store
+     * @param window     time window
+     * @param limit      number of products (1..MAX_LIMIT)
+     */
+    public List<BestSeller> topSellers(UUID storeId, UUID categoryId, BestSellerWindow window, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Scope scope = scopes.get(new ScopeKey(storeId, categoryId));
+        if (scope == null) {
+            return List.of();
+        }
+        return scope.top(window, limit, clock.millis());
+    }
+
+    // ===== Snapshots =====
+
+    /**
+     * Writes every window to a file, atomically replacing the previous snapshot.
+     */
+    public void snapshot(Path file) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(scopes.size());
+            for (Map.Entry<ScopeKey, Scope> entry : scopes.entrySet()) {
+                writeUuid(out, entry.getKey().storeId());
+                out.writeBoolean(entry.getKey().categoryId() != null);
+                if (entry.getKey().categoryId() != null) {
+                    writeUuid(out, entry.getKey().categoryId());
+                }
+                entry.getValue().writeTo(out);
+            }
+            Map<UUID, List<Sale>> ledger = Map.copyOf(salesByOrder);
+            out.writeInt(ledger.size());
+            for (Map.Entry<UUID, List<Sale>> entry : ledger.entrySet()) {
+                writeUuid(out, entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (Sale sale : entry.getValue()) {
+                    sale.writeTo(out);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write best-seller snapshot " + file, e);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish best-seller snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Loads a snapshot written by {@link #snapshot(Path)}, replacing current state.
+     * Does nothing if the file does not exist.
+     */
+    public void restore(Path file) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                return;
+            }
+            scopes.clear();
+            salesByOrder.clear();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID storeId = readUuid(in);
+                UUID categoryId = in.readBoolean() ? readUuid(in) : null;
+                Scope scope = new Scope();
+                scope.readFrom(in);
+                scopes.put(new ScopeKey(storeId, categoryId), scope);
+            }
+            int orders = in.readInt();
+            for (int i = 0; i < orders; i++) {
+                UUID orderId = readUuid(in);
+                int lines = in.readInt();
+                List<Sale> sales = new ArrayList<>(lines);
+                for (int j = 0; j < lines; j++) {
+                    sales.add(Sale.readFrom(in));
+                }
+                salesByOrder.put(orderId, sales);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read best-seller snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Restores from the file and then snapshots to it periodically.
+     */
+    public synchronized void startSnapshotting(Path file, Duration interval) {
+        if (snapshotExecutor != null) {
+            return;
+        }
+        restore(file);
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "best-seller-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot(file);
+            } catch (UncheckedIOException e) {
+                // Keep the previous snapshot; retry on the next tick
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic snapshots and writes a final one.
+     */
+    public synchronized void stopSnapshotting(Path file) {
+        if (snapshotExecutor == null) {
+            return;
+        }
+        snapshotExecutor.shutdownNow();
+        snapshotExecutor = null;
+        snapshot(file);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    // ===== Internals =====
+
+    /** Store-wide ranking when categoryId is null */
+    private record ScopeKey(UUID storeId, UUID categoryId) { }
+
+    /** Units of one product recorded for an order, and the time they were recorded at */
+    private record Sale(UUID productId, UUID categoryId, long units, long atMillis) {
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeUuid(out, productId);
+            out.writeBoolean(categoryId != null);
+            if (categoryId != null) {
+                writeUuid(out, categoryId);
+            }
+            out.writeLong(units);
+            out.writeLong(atMillis);
+        }
+
+        static Sale readFrom(DataInputStream in) throws IOException {
+            UUID productId = readUuid(in);
+            UUID categoryId = in.readBoolean() ? readUuid(in) : null;
+            return new Sale(productId, categoryId, in.readLong(), in.readLong());
+        }
+    }
+
+    /**
+     * Every window of one store or store category, guarded by the scope's monitor.
+     */
+    private static final class Scope {
+
+        private final Map<BestSellerWindow, WindowCounter> windows = new EnumMap<>(BestSellerWindow.class);
+
+        private Scope() {
+            for (BestSellerWindow window : BestSellerWindow.values()) {
+                windows.put(window, new WindowCounter(window));
+            }
+        }
+
+        synchronized void add(UUID productId, long units, long atMillis, long nowMillis) {
+            for (WindowCounter counter : windows.values()) {
+                counter.add(productId, units, atMillis, nowMillis);
+            }
+        }
+
+        synchronized List<BestSeller> top(BestSellerWindow window, int limit, long nowMillis) {
+            return windows.get(window).top(limit, nowMillis);
+        }
+
+        synchronized void writeTo(DataOutputStream out) throws IOException {
+            for (BestSellerWindow window : BestSellerWindow.values()) {
+                windows.get(window).writeTo(out);
+            }
+        }
+
+        void readFrom(DataInputStream in) throws IOException {
+            for (BestSellerWindow window : BestSellerWindow.values()) {
+                windows.get(window).readFrom(in);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.lucasgodoy.lojaki.application.bestseller;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows served by the best-seller engine.
+ *
+ * Each window is a ring of fixed-width buckets; the window slides one
+ * bucket at a time. Longer windows use coarser buckets to keep the ring
+ * (and its memory per store/category) small.
+ */
+public enum BestSellerWindow {
+    LAST_HOUR(Duration.ofMinutes(1), 60),     // 60 x 1 minute
+    LAST_DAY(Duration.ofMinutes(15), 96),     // 96 x 15 minutes
+    LAST_WEEK(Duration.ofHours(1), 168);      // 168 x 1 hour
+
+    private final Duration bucketWidth;
+    private final int bucketCount;
+
+    BestSellerWindow(Duration bucketWidth, int bucketCount) {
+        this.bucketWidth = bucketWidth;
+        this.bucketCount = bucketCount;
+    }
+
+    // ===== Getters =====
+    public Duration getBucketWidth() { return bucketWidth; }
+    public int getBucketCount() { return bucketCount; }
+    public Duration getLength() { return bucketWidth.multipliedBy(bucketCount); }
+}
@@ -0,0 +1,203 @@
+package com.lucasgodoy.lojaki.application.bestseller;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Units sold per product over one sliding window.
+ *
+ * A ring of time buckets holds the per-product counts of each bucket, and a
+ * running total per product covers the whole window. When the window
+ * slides, the expiring bucket is subtracted from the totals, so both
+ * recording and sliding cost O(products in the bucket), never a rescan.
+ *
+ * The top-K ranking is computed with a bounded min-heap and cached until
+ * the next change.
+ *
+ * Not thread-safe: callers synchronize.
+ */
+final class WindowCounter {
+
+    private static final Comparator<Map.Entry<UUID, long[]>> BY_UNITS =
+            Comparator.comparingLong(entry -> entry.getValue()[0]);
+
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    /** Per-product counts of each bucket, indexed by epoch % bucketCount */
+    private final List<Map<UUID, long[]>> buckets;
+
+    /** Bucket epoch (time / bucketMillis) currently held by each slot */
+    private final long[] slotEpochs;
+
+    /** Totals over the whole window */
+    private final Map<UUID, long[]> totals = new HashMap<>();
+
+    /** Most recent epoch the window has slid to */
+    private long headEpoch = Long.MIN_VALUE;
+
+    /** Cached ranking and the size it was computed for */
+    private List<BestSeller> cachedTop;
+    private int cachedLimit;
+
+    WindowCounter(BestSellerWindow window) {
+        this.bucketMillis = window.getBucketWidth().toMillis();
+        this.bucketCount = window.getBucketCount();
+        this.buckets = new ArrayList<>(Collections.nCopies(bucketCount, null));
+        this.slotEpochs = new long[bucketCount];
+    }
+
+    // ===== Recording =====
+
+    /**
+     * Adds (or, with a negative delta, removes) units sold at the given time.
+     * Events older than the window are ignored.
+     */
+    void add(UUID productId, long delta, long timeMillis, long nowMillis) {
+        slide(nowMillis);
+        long epoch = Math.floorDiv(timeMillis, bucketMillis);
+        if (epoch > headEpoch || epoch <= headEpoch - bucketCount) {
+            return;
+        }
+        int slot = slot(epoch);
+        Map<UUID, long[]> bucket = buckets.get(slot);
+        if (bucket == null || slotEpochs[slot] != epoch) {
+            if (delta < 0) {
+                return;
+            }
+            bucket = new HashMap<>();
+            buckets.set(slot, bucket);
+            slotEpochs[slot] = epoch;
+        }
+        long[] count = bucket.computeIfAbsent(productId, id -> new long[1]);
+        long applied = delta < 0 ? -Math.min(-delta, count[0]) : delta;
+        count[0] += applied;
+        if (count[0] == 0) {
+            bucket.remove(productId);
+        }
+        addToTotal(productId, applied);
+        cachedTop = null;
+    }
+
+    /**
+     * Moves the window forward to the bucket containing nowMillis,
+     * subtracting every bucket that falls out of it.
+     */
+    void slide(long nowMillis) {
+        long nowEpoch = Math.floorDiv(nowMillis, bucketMillis);
+        if (nowEpoch <= headEpoch) {
+            return;
+        }
+        long from = headEpoch == Long.MIN_VALUE ? nowEpoch : Math.max(headEpoch + 1, nowEpoch - bucketCount + 1);
+        for (long epoch = from; epoch <= nowEpoch; epoch++) {
+            int slot = slot(epoch);
+            Map<UUID, long[]> expired = buckets.get(slot);
+            if (expired != null && slotEpochs[slot] != epoch) {
+                expired.forEach((productId, count) -> addToTotal(productId, -count[0]));
+                buckets.set(slot, null);
+                cachedTop = null;
+            }
+        }
+        headEpoch = nowEpoch;
+    }
+
+    private void addToTotal(UUID productId, long delta) {
+        long[] total = totals.computeIfAbsent(productId, id -> new long[1]);
+        total[0] += delta;
+        if (total[0] <= 0) {
+            totals.remove(productId);
+        }
+    }
+
+    // ===== Query =====
+
+    /**
+     * Returns the best-selling products, highest first.
+     */
+    List<BestSeller> top(int limit, long nowMillis) {
+        slide(nowMillis);
+        if (cachedTop != null && cachedLimit >= limit) {
+            return cachedTop.size() > limit ? cachedTop.subList(0, limit) : cachedTop;
+        }
+
+        PriorityQueue<Map.Entry<UUID, long[]>> heap = new PriorityQueue<>(limit + 1, BY_UNITS);
+        for (Map.Entry<UUID, long[]> entry : totals.entrySet()) {
+            if (heap.size() < limit) {
+                heap.add(entry);
+            } else if (entry.getValue()[0] > heap.peek().getValue()[0]) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        BestSeller[] ranking = new BestSeller[heap.size()];
+        for (int i = ranking.length - 1; i >= 0; i--) {
+            Map.Entry<UUID, long[]> entry = heap.poll();
+            ranking[i] = new BestSeller(entry.getKey(), entry.getValue()[0]);
+        }
+        cachedTop = List.of(ranking);
+        cachedLimit = limit;
+        return cachedTop;
+    }
+
+    boolean isEmpty() {
+        return totals.isEmpty();
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) bucketCount);
+    }
+
+    // ===== Snapshot =====
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(headEpoch);
+        List<Integer> used = new ArrayList<>();
+        for (int slot = 0; slot < bucketCount; slot++) {
+            Map<UUID, long[]> bucket = buckets.get(slot);
+            if (bucket != null && !bucket.isEmpty()) {
+                used.add(slot);
+            }
+        }
+        out.writeInt(used.size());
+        for (int slot : used) {
+            out.writeLong(slotEpochs[slot]);
+            Map<UUID, long[]> bucket = buckets.get(slot);
+            out.writeInt(bucket.size());
+            for (Map.Entry<UUID, long[]> entry : bucket.entrySet()) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeLong(entry.getValue()[0]);
+            }
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        headEpoch = in.readLong();
+        int used = in.readInt();
+        for (int i = 0; i < used; i++) {
+            long epoch = in.readLong();
+            int slot = slot(epoch);
+            Map<UUID, long[]> bucket = new HashMap<>();
+            int entries = in.readInt();
+            for (int j = 0; j < entries; j++) {
+                UUID productId = new UUID(in.readLong(), in.readLong());
+                long count = in.readLong();
+                bucket.put(productId, new long[]{count});
+                addToTotal(productId, count);
+            }
+            buckets.set(slot, bucket);
+            slotEpochs[slot] = epoch;
+        }
+        cachedTop = null;
+    }
+}
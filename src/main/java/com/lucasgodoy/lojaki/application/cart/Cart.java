@@ -0,0 +1,262 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogEntry;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.domain.cart.model.SavedCart;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A shopping cart as held in memory.
+ *
+ * Lines are parallel primitive arrays (store item id as two longs, quantity,
+ * price in units of 1/10000, issue code), so a cart is a handful of arrays
+ * whatever its size, with no object per line. Not thread-safe: every access
+ * happens under the lock of the cart's shard (see {@link Carts}).
+ */
+final class Cart {
+
+    private static final int INITIAL_LINES = 4;
+
+    private static final byte NO_ISSUE = 0;
+    private static final CartIssue[] ISSUES = CartIssue.values();
+
+    final String id;
+    final UUID storeId;
+    private Currency currency;
+
+    private long[] itemBits = new long[INITIAL_LINES * 2];
+    private int[] quantities = new int[INITIAL_LINES];
+    private long[] priceUnits = new long[INITIAL_LINES];
+    private byte[] issues = new byte[INITIAL_LINES];
+    private int size;
+
+    /** Changes to the content, including prices updated by revalidation */
+    long version;
+    /** Catalog version the lines were last checked against; -1 forces a check */
+    private long catalogVersion = -1;
+    /** Idle expiry, in clock millis */
+    long expiresAt;
+    /** When the cart was last handed to the write-behind, in clock millis */
+    long scheduledAt;
+
+    Cart(String id, UUID storeId) {
+        this.id = id;
+        this.storeId = storeId;
+    }
+
+    static Cart restore(SavedCart saved) {
+        Cart cart = new Cart(saved.getCartId(), saved.getStoreId());
+        cart.currency = saved.getCurrency();
+        for (SavedCart.Line line : saved.getLines()) {
+            cart.append(line.getStoreItemId(), line.getQuantity(), CatalogEntry.toPriceUnits(line.getPrice()));
+        }
+        cart.version = saved.getVersion();
+        return cart;
+    }
+
+    // ===== Mutations =====
+
+    /**
+     * Adds units of a catalog item, at its current price. The new or grown
+     * line is checked at once; the others on the next revalidation.
+     */
+    void add(CatalogEntry entry, int quantity, int maxLines, int maxQuantity) {
+        if (currency != null && !currency.equals(entry.getCurrency())) {
+            throw new DomainException("All items of a cart must share one currency");
+        }
+        int index = indexOf(entry.getStoreItemId());
+        if (index < 0) {
+            if (size == maxLines) {
+                throw new DomainException("A cart holds at most " + maxLines + " items");
+            }
+            index = append(entry.getStoreItemId(), 0, entry.getPriceUnits());
+        }
+        if (quantities[index] + quantity > maxQuantity) {
+            throw new DomainException("At most " + maxQuantity + " units of an item per cart");
+        }
+        quantities[index] += quantity;
+        currency = entry.getCurrency();
+        version++;
+        check(index, true, entry.getPriceUnits(), entry.getStock());
+    }
+
+    /** Sets the quantity of a line already in the cart, checking it against its catalog entry (null if gone) */
+    void setQuantity(UUID storeItemId, int quantity, CatalogEntry entry) {
+        int index = indexOf(storeItemId);
+        if (index < 0) {
+            throw new DomainException("Item is not in the cart");
+        }
+        if (quantities[index] != quantity) {
+            quantities[index] = quantity;
+            version++;
+        }
+        if (entry == null) {
+            check(index, false, 0, 0);
+        } else {
+            check(index, true, entry.getPriceUnits(), entry.getStock());
+        }
+    }
+
+    /** Removes a line; false if the item was not in the cart */
+    boolean remove(UUID storeItemId) {
+        int index = indexOf(storeItemId);
+        if (index < 0) {
+            return false;
+        }
+        int tail = size - index - 1;
+        System.arraycopy(itemBits, (index + 1) * 2, itemBits, index * 2, tail * 2);
+        System.arraycopy(quantities, index + 1, quantities, index, tail);
+        System.arraycopy(priceUnits, index + 1, priceUnits, index, tail);
+        System.arraycopy(issues, index + 1, issues, index, tail);
+        size--;
+        if (size == 0) {
+            currency = null;
+        }
+        version++;
+        return true;
+    }
+
+    // ===== Revalidation =====
+
+    /**
+     * Checks every line against the store's catalog, unless the catalog did
+     * not change since the last check: a cart read in a quiet store costs
+     * no lookup at all.
+     */
+    void revalidate(CatalogSnapshot snapshot) {
+        if (snapshot.getVersion() == catalogVersion) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            CatalogEntry entry = snapshot.find(storeItemId(i));
+            if (entry == null) {
+                check(i, false, 0, 0);
+            } else {
+                check(i, true, entry.getPriceUnits(), entry.getStock());
+            }
+        }
+        catalogVersion = snapshot.getVersion();
+    }
+
+    /**
+     * Checks every line against store items read from the database; used at
+     * checkout, where the catalog snapshot is not authoritative.
+     */
+    void reconcile(Map<UUID, StoreItem> storeItems) {
+        for (int i = 0; i < size; i++) {
+            StoreItem item = storeItems.get(storeItemId(i));
+            if (item == null || !CatalogSnapshot.isVisible(item)) {
+                check(i, false, 0, 0);
+            } else {
+                check(i, true, CatalogEntry.toPriceUnits(item.getPrice()), item.getStock());
+            }
+        }
+        catalogVersion = -1; // Next read checks against the catalog again
+    }
+
+    // A price change is sticky until reported (see view); the other issues follow the current state
+    private void check(int index, boolean available, long currentPrice, int stock) {
+        byte issue;
+        if (!available) {
+            issue = code(CartIssue.UNAVAILABLE);
+        } else if (priceUnits[index] != currentPrice) {
+            priceUnits[index] = currentPrice;
+            version++;
+            issue = code(CartIssue.PRICE_CHANGED);
+        } else if (issues[index] == code(CartIssue.PRICE_CHANGED)) {
+            issue = issues[index];
+        } else {
+            issue = stock < quantities[index] ? code(CartIssue.INSUFFICIENT_STOCK) : NO_ISSUE;
+        }
+        issues[index] = issue;
+    }
+
+    // ===== Views =====
+
+    /**
+     * The cart as shown to the customer. Price changes are reported in this
+     * view only: the lines already carry the new prices.
+     */
+    CartView view(CatalogSnapshot snapshot) {
+        List<CartLine> lines = new ArrayList<>(size);
+        long totalUnits = 0;
+        int itemCount = 0;
+        for (int i = 0; i < size; i++) {
+            UUID storeItemId = storeItemId(i);
+            CatalogEntry entry = snapshot == null ? null : snapshot.find(storeItemId);
+            CartIssue issue = issues[i] == NO_ISSUE ? null : ISSUES[issues[i] - 1];
+            lines.add(new CartLine(storeItemId, entry == null ? null : entry.getProductId(),
+                    entry == null ? null : entry.getName(), quantities[i],
+                    BigDecimal.valueOf(priceUnits[i], CatalogEntry.PRICE_SCALE), currency, issue));
+            if (issue != CartIssue.UNAVAILABLE) {
+                totalUnits = Math.addExact(totalUnits, Math.multiplyExact(priceUnits[i], (long) quantities[i]));
+                itemCount += quantities[i];
+            }
+            if (issue == CartIssue.PRICE_CHANGED) {
+                issues[i] = NO_ISSUE;
+            }
+        }
+        return new CartView(id, storeId, version, catalogVersion, lines, itemCount,
+                BigDecimal.valueOf(totalUnits, CatalogEntry.PRICE_SCALE), currency);
+    }
+
+    SavedCart toSaved(Instant at, Instant expiresAt) {
+        List<SavedCart.Line> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add(new SavedCart.Line(storeItemId(i), quantities[i],
+                    BigDecimal.valueOf(priceUnits[i], CatalogEntry.PRICE_SCALE)));
+        }
+        return new SavedCart(id, storeId, currency, lines, version, at, expiresAt);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // ===== Helpers =====
+
+    private int indexOf(UUID storeItemId) {
+        long most = storeItemId.getMostSignificantBits();
+        long least = storeItemId.getLeastSignificantBits();
+        for (int i = 0; i < size; i++) {
+            if (itemBits[i * 2] == most && itemBits[i * 2 + 1] == least) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int append(UUID storeItemId, int quantity, long price) {
+        if (size == quantities.length) {
+            int capacity = size * 2;
+            itemBits = Arrays.copyOf(itemBits, capacity * 2);
+            quantities = Arrays.copyOf(quantities, capacity);
+            priceUnits = Arrays.copyOf(priceUnits, capacity);
+            issues = Arrays.copyOf(issues, capacity);
+        }
+        itemBits[size * 2] = storeItemId.getMostSignificantBits();
+        itemBits[size * 2 + 1] = storeItemId.getLeastSignificantBits();
+        quantities[size] = quantity;
+        priceUnits[size] = price;
+        issues[size] = NO_ISSUE;
+        return size++;
+    }
+
+    private UUID storeItemId(int index) {
+        return new UUID(itemBits[index * 2], itemBits[index * 2 + 1]);
+    }
+
+    private static byte code(CartIssue issue) {
+        return (byte) (issue.ordinal() + 1);
+    }
+}
@@ -0,0 +1,24 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import java.util.UUID;
+
+/**
+ * Outcome of checking out a cart.
+ *
+ * @param orderId null when the cart has issues to review; cart then shows them
+ * @param cart    the cart as it was ordered, or as it is after revalidation
+ */
+public record CartCheckout(UUID orderId, CartView cart) {
+
+    public static CartCheckout placed(UUID orderId, CartView cart) {
+        return new CartCheckout(orderId, cart);
+    }
+
+    public static CartCheckout rejected(CartView cart) {
+        return new CartCheckout(null, cart);
+    }
+
+    public boolean isPlaced() {
+        return orderId != null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+/**
+ * Why a cart line cannot be checked out as it is.
+ */
+public enum CartIssue {
+
+    /** The item is no longer sold by the store */
+    UNAVAILABLE,
+
+    /** The price changed since the line was added; reported once, the line now has the new price */
+    PRICE_CHANGED,
+
+    /** The store has fewer units than the line's quantity */
+    INSUFFICIENT_STOCK
+}
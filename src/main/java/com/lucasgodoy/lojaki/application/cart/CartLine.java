@@ -0,0 +1,20 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * One line of a cart as shown to the customer.
+ *
+ * @param productId null, as is name, when the item is no longer in the catalog
+ * @param price     unit price the line will be ordered at
+ * @param issue     null when the line can be checked out
+ */
+public record CartLine(UUID storeItemId, UUID productId, String name, int quantity, BigDecimal price,
+                       Currency currency, CartIssue issue) {
+
+    public BigDecimal total() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
@@ -0,0 +1,30 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A cart after revalidation against the store's catalog.
+ *
+ * @param version        changes made to the cart so far
+ * @param catalogVersion catalog snapshot version the lines were checked against
+ * @param total          sum of the lines that are still available
+ * @param currency       null for an empty cart
+ */
+public record CartView(String cartId, UUID storeId, long version, long catalogVersion, List<CartLine> lines,
+                       int itemCount, BigDecimal total, Currency currency) {
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public boolean hasIssues() {
+        return lines.stream().anyMatch(line -> line.issue() != null);
+    }
+
+    public List<UUID> storeItemIds() {
+        return lines.stream().map(CartLine::storeItemId).toList();
+    }
+}
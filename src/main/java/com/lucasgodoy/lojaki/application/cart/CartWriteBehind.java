@@ -0,0 +1,172 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import com.lucasgodoy.lojaki.domain.cart.model.SavedCart;
+import com.lucasgodoy.lojaki.domain.repository.CartRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes carts to the database behind the in-memory store.
+ *
+ * Changed carts are only recorded in a map, latest state per cart, so a
+ * cart changed many times between two flushes is written once. A daemon
+ * thread flushes the map every interval in batches: carts with lines are
+ * upserted, cleared carts deleted. A failed batch stays pending and is
+ * retried on the next flush; a cart changed meanwhile is written in its
+ * newer state instead.
+ *
+ * What is still pending when the node dies is lost: carts are a
+ * convenience, not a record of sale.
+ */
+public class CartWriteBehind {
+
+    /** Expired rows are purged every this many flushes */
+    private static final int PURGE_EVERY = 60;
+
+    private final CartRepository repository;
+    private final Duration interval;
+    private final int batchSize;
+    private final Clock clock;
+
+    private final Map<String, SavedCart> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong scheduled = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private long flushes;
+
+    private ScheduledExecutorService flusher;
+
+    public CartWriteBehind(CartRepository repository, Duration interval, int batchSize, Clock clock) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.repository = repository;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    // ===== Lifecycle =====
+
+    public synchronized void start() {
+        if (flusher != null) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cart-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops the flusher after writing what is pending */
+    public synchronized void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(interval.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        flushQuietly();
+    }
+
+    // ===== Business Methods =====
+
+    /** Records the latest state of a cart; never blocks on the database */
+    public void schedule(SavedCart cart) {
+        pending.put(cart.getCartId(), cart);
+        scheduled.incrementAndGet();
+    }
+
+    /** A cart's latest state: pending if not written yet, else from the database; null if none or cleared */
+    SavedCart load(String cartId) {
+        SavedCart cart = pending.get(cartId);
+        if (cart == null) {
+            cart = repository.find(cartId, clock.instant());
+        }
+        return cart == null || cart.isEmpty() ? null : cart;
+    }
+
+    /**
+     * Writes every pending cart.
+     *
+     * @return number of carts written or deleted
+     */
+    public synchronized int flush() {
+        int done = 0;
+        List<SavedCart> batch = new ArrayList<>(batchSize);
+        for (SavedCart cart : pending.values()) {
+            batch.add(cart);
+            if (batch.size() == batchSize) {
+                done += write(batch);
+                batch.clear();
+            }
+        }
+        done += write(batch);
+        if (++flushes % PURGE_EVERY == 0) {
+            purged.addAndGet(repository.deleteExpired(clock.instant()));
+        }
+        return done;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+        }
+    }
+
+    private int write(List<SavedCart> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<SavedCart> saves = new ArrayList<>(batch.size());
+        List<String> deletes = new ArrayList<>();
+        for (SavedCart cart : batch) {
+            if (cart.isEmpty()) {
+                deletes.add(cart.getCartId());
+            } else {
+                saves.add(cart);
+            }
+        }
+        try {
+            repository.saveAll(saves);
+            repository.deleteAll(deletes);
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            return 0;
+        }
+        written.addAndGet(saves.size());
+        deleted.addAndGet(deletes.size());
+        // Carts changed since they were read stay pending, in their newer state
+        batch.forEach(cart -> pending.remove(cart.getCartId(), cart));
+        return batch.size();
+    }
+
+    // ===== Stats =====
+    public int getPendingCount() { return pending.size(); }
+    public long getScheduledCount() { return scheduled.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getDeletedCount() { return deleted.get(); }
+    public long getPurgedCount() { return purged.get(); }
+    public long getFailedFlushCount() { return failedFlushes.get(); }
+}
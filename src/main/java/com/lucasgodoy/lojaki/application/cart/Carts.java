@@ -0,0 +1,402 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogEntry;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.domain.cart.model.SavedCart;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Shopping carts of every session, kept in memory.
+ *
+ * Carts are keyed by a caller-chosen id (a session or user key) and spread
+ * over a power-of-two number of shards, each a map in access order under
+ * its own lock, so unrelated carts never contend. A cart expires after
+ * being idle for the TTL; since access order is also expiry order, expired
+ * carts are always at the head of their shard and are dropped a few at a
+ * time on every access, and by a background sweep. Each shard also holds
+ * at most its share of maxCarts, evicting the least recently used cart.
+ *
+ * Every read revalidates the cart against the store's catalog snapshot,
+ * in memory; only when the snapshot changed since the last check (see
+ * {@link Cart#revalidate}). Snapshots are read before taking a shard's
+ * lock, as the first read of a store loads its catalog.
+ *
+ * With a {@link CartWriteBehind}, every change is also handed to it and a
+ * cart missing from memory (evicted, or after a restart) is loaded back.
+ *
+ * The in-memory cart is the cart of record, so checkout locks it here: a
+ * cart claimed by a checkout cannot be claimed again or changed until the
+ * claim is released or the cart cleared (see {@link #claimForCheckout}).
+ * Claims are kept apart from the shards, so a claimed cart that expires or
+ * is evicted and then loaded back from the write-behind store is still
+ * claimed.
+ */
+public class Carts {
+
+    public static final int MAX_LINES = 100;
+    public static final int MAX_QUANTITY = 999;
+
+    /** Expired carts dropped from the head of a shard on each access */
+    private static final int EXPIRE_ON_ACCESS = 2;
+
+    private final CatalogSnapshots catalogSnapshots;
+    private final CartWriteBehind writeBehind;
+    private final Shard[] shards;
+    /** Ids of the carts claimed by a checkout in progress */
+    private final Set<String> checkouts = ConcurrentHashMap.newKeySet();
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong mutations = new AtomicLong();
+    private final AtomicLong loaded = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    private ScheduledExecutorService sweeper;
+
+    /**
+     * @param writeBehind null to keep carts in memory only
+     * @param shardCount  power of two
+     * @param maxCarts    carts kept in memory, over all shards
+     */
+    public Carts(CatalogSnapshots catalogSnapshots, CartWriteBehind writeBehind, int shardCount, int maxCarts,
+                 Duration ttl, Clock clock) {
+        if (shardCount < 1 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a power of two");
+        }
+        if (maxCarts < shardCount) {
+            throw new IllegalArgumentException("Max carts must be at least the shard count");
+        }
+        this.catalogSnapshots = catalogSnapshots;
+        this.writeBehind = writeBehind;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(maxCarts / shardCount);
+        }
+    }
+
+    // ===== Lifecycle =====
+
+    /** Starts sweeping expired carts of idle shards in the background */
+    public synchronized void start() {
+        if (sweeper != null) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "cart-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, ttlMillis / 10);
+        sweeper.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (sweeper == null) {
+            return;
+        }
+        sweeper.shutdownNow();
+        sweeper = null;
+    }
+
+    // ===== Reads =====
+
+    /** A cart, revalidated; null if there is none */
+    public CartView get(String cartId) {
+        return access(cartId, null, null, (cart, snapshot) -> {
+            cart.revalidate(snapshot);
+            return cart.view(snapshot);
+        });
+    }
+
+    // ===== Mutations =====
+
+    /**
+     * Adds units of a store item, creating the cart on first use. A cart
+     * holds the items of a single store.
+     */
+    public CartView add(String cartId, UUID storeId, UUID storeItemId, int quantity) {
+        if (quantity < 1 || quantity > MAX_QUANTITY) {
+            throw new DomainException("Quantity must be between 1 and " + MAX_QUANTITY);
+        }
+        // Read before taking the shard lock: the first read of a store may load its catalog
+        CatalogSnapshot snapshot = catalogSnapshots.snapshot(storeId);
+        CatalogEntry entry = snapshot.find(storeItemId);
+        if (entry == null) {
+            throw new DomainException("Item is not sold by this store");
+        }
+        return access(cartId, storeId, snapshot, (cart, cartSnapshot) -> {
+            requireEditable(cart);
+            if (!cart.storeId.equals(storeId)) {
+                throw new DomainException("A cart holds the items of a single store");
+            }
+            cart.add(entry, quantity, MAX_LINES, MAX_QUANTITY);
+            cart.revalidate(snapshot);
+            return cart.view(snapshot);
+        });
+    }
+
+    /** Sets the quantity of an item already in the cart; 0 removes it */
+    public CartView setQuantity(String cartId, UUID storeItemId, int quantity) {
+        if (quantity < 0 || quantity > MAX_QUANTITY) {
+            throw new DomainException("Quantity must be between 0 and " + MAX_QUANTITY);
+        }
+        if (quantity == 0) {
+            return remove(cartId, storeItemId);
+        }
+        return access(cartId, null, null, (cart, snapshot) -> {
+            requireEditable(cart);
+            cart.setQuantity(storeItemId, quantity, snapshot.find(storeItemId));
+            cart.revalidate(snapshot);
+            return cart.view(snapshot);
+        });
+    }
+
+    /** Removes an item from the cart; removing an item that is not there is a no-op */
+    public CartView remove(String cartId, UUID storeItemId) {
+        return access(cartId, null, null, (cart, snapshot) -> {
+            requireEditable(cart);
+            cart.remove(storeItemId);
+            cart.revalidate(snapshot);
+            return cart.view(snapshot);
+        });
+    }
+
+    private void requireEditable(Cart cart) {
+        if (checkouts.contains(cart.id)) {
+            throw new DomainException("Cart is being checked out");
+        }
+    }
+
+    // ===== Checkout =====
+
+    /**
+     * Claims a cart for checkout and returns it, revalidated; null if there
+     * is none. Until the claim is released or the cart cleared, a second
+     * claim and every change but {@link #reconcile} are rejected, so two
+     * concurrent checkouts of one cart cannot place two orders, and nothing
+     * is added to a cart while its order is being placed.
+     */
+    public CartView claimForCheckout(String cartId) {
+        return access(cartId, null, null, (cart, snapshot) -> {
+            if (!checkouts.add(cartId)) {
+                throw new DomainException("Cart is already being checked out");
+            }
+            cart.revalidate(snapshot);
+            return cart.view(snapshot);
+        });
+    }
+
+    /** Releases a checkout claim */
+    public void releaseCheckout(String cartId) {
+        checkouts.remove(cartId);
+    }
+
+    /**
+     * Checks the cart against store items read from the database and returns
+     * it with any issue found; used at checkout, by the claim holder.
+     */
+    public CartView reconcile(String cartId, Collection<StoreItem> storeItems) {
+        Map<UUID, StoreItem> byId = storeItems.stream().collect(Collectors.toMap(StoreItem::getId, s -> s));
+        return access(cartId, null, null, (cart, snapshot) -> {
+            cart.reconcile(byId);
+            return cart.view(snapshot);
+        });
+    }
+
+    /** Empties and forgets a cart, releasing any checkout claim on it */
+    public void clear(String cartId) {
+        Shard shard = shard(cartId);
+        Cart cart;
+        synchronized (shard) {
+            cart = shard.remove(cartId);
+            checkouts.remove(cartId);
+        }
+        if (writeBehind != null) {
+            writeBehind.schedule(SavedCart.cleared(cartId, cart == null ? null : cart.storeId, clock.instant()));
+        }
+    }
+
+    /**
+     * Drops expired carts from every shard.
+     *
+     * @return number of carts dropped
+     */
+    public int sweep() {
+        long now = clock.millis();
+        int dropped = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                dropped += shard.expire(now, Integer.MAX_VALUE);
+            }
+        }
+        return dropped;
+    }
+
+    // ===== Shards =====
+
+    /**
+     * Runs an operation on a cart under its shard's lock, with the catalog
+     * snapshot of the cart's store. The snapshot is read outside the lock:
+     * the cart's store is looked up, its snapshot read, and the lookup done
+     * again under the lock, which only differs if the cart was cleared and
+     * created again for another store in between. A cart missing from
+     * memory is loaded from the write-behind store first, also outside the
+     * lock; if there is none, one is created for storeId, or null returned
+     * when storeId is null.
+     *
+     * @param snapshot snapshot of storeId's catalog if the caller already read it, otherwise null
+     */
+    private CartView access(String cartId, UUID storeId, CatalogSnapshot snapshot,
+                            BiFunction<Cart, CatalogSnapshot, CartView> operation) {
+        Shard shard = shard(cartId);
+        long now = clock.millis();
+        UUID snapshotStore = snapshot == null ? null : storeId;
+        SavedCart saved = null;
+        boolean lookedUp = writeBehind == null;
+        while (true) {
+            UUID cartStore = null;
+            synchronized (shard) {
+                Cart cart = shard.live(cartId, now);
+                if (cart == null && saved != null) {
+                    cart = Cart.restore(saved);
+                    // Live from now on, or the next pass of this loop would expire it and load it again
+                    cart.expiresAt = now + ttlMillis;
+                    shard.put(cartId, cart);
+                    loaded.incrementAndGet();
+                }
+                if (cart != null || lookedUp) {
+                    cartStore = cart != null ? cart.storeId : storeId;
+                    if (cartStore == null || cartStore.equals(snapshotStore)) {
+                        return run(shard, cartId, cart, storeId, now, snapshot, operation);
+                    }
+                }
+            }
+            if (cartStore == null) {
+                saved = writeBehind.load(cartId);
+                lookedUp = true;
+            } else {
+                snapshot = catalogSnapshots.snapshot(cartStore);
+                snapshotStore = cartStore;
+            }
+        }
+    }
+
+    // Called under the shard's lock
+    private CartView run(Shard shard, String cartId, Cart cart, UUID storeId, long now, CatalogSnapshot snapshot,
+                         BiFunction<Cart, CatalogSnapshot, CartView> operation) {
+        shard.expire(now, EXPIRE_ON_ACCESS);
+        if (cart == null) {
+            if (storeId == null) {
+                return null;
+            }
+            cart = new Cart(cartId, storeId);
+            shard.put(cartId, cart);
+            created.incrementAndGet();
+        }
+        cart.expiresAt = now + ttlMillis;
+        long version = cart.version;
+        CartView view = operation.apply(cart, snapshot);
+        if (cart.version != version) {
+            mutations.incrementAndGet();
+        }
+        // Unchanged carts are written again now and then only to push their expiry
+        if (writeBehind != null && (cart.version != version || now - cart.scheduledAt > ttlMillis / 4)) {
+            Instant at = Instant.ofEpochMilli(now);
+            writeBehind.schedule(cart.size() == 0
+                    ? SavedCart.cleared(cartId, cart.storeId, at)
+                    : cart.toSaved(at, at.plusMillis(ttlMillis)));
+            cart.scheduledAt = now;
+        }
+        return view;
+    }
+
+    private Shard shard(String cartId) {
+        int hash = cartId.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+    }
+
+    /** Carts of one shard, least recently used first; guarded by the shard itself */
+    private final class Shard extends LinkedHashMap<String, Cart> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        // A cart if present and not expired; an expired one is dropped
+        Cart live(String cartId, long now) {
+            Cart cart = get(cartId);
+            if (cart != null && cart.expiresAt <= now) {
+                remove(cartId);
+                expired.incrementAndGet();
+                return null;
+            }
+            return cart;
+        }
+
+        // Drops up to max expired carts from the head
+        int expire(long now, int max) {
+            int dropped = 0;
+            Iterator<Cart> carts = values().iterator();
+            while (dropped < max && carts.hasNext() && carts.next().expiresAt <= now) {
+                carts.remove();
+                dropped++;
+            }
+            expired.addAndGet(dropped);
+            return dropped;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cart> eldest) {
+            if (size() > capacity) {
+                evicted.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // ===== Stats =====
+    public int getCartCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                count += shard.size();
+            }
+        }
+        return count;
+    }
+
+    public long getCreatedCount() { return created.get(); }
+    public long getMutationCount() { return mutations.get(); }
+    public long getLoadedCount() { return loaded.get(); }
+    public long getExpiredCount() { return expired.get(); }
+    public long getEvictedCount() { return evicted.get(); }
+}
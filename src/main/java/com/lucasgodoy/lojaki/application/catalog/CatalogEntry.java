@@ -0,0 +1,65 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * One sellable item of a store catalog snapshot.
+ *
+ * Identifiers are kept as raw longs and brand/category as ordinals into the
+ * snapshot's dictionaries, so an entry is a single small object with no
+ * references besides the product name and the shared currency instance.
+ * Brand and category names are read through the snapshot the entry came from.
+ */
+public final class CatalogEntry {
+
+    /** Prices are kept as integer units of 1/10000, the scale of the price columns */
+    public static final int PRICE_SCALE = 4;
+
+    final long itemMostBits;
+    final long itemLeastBits;
+    final long productMostBits;
+    final long productLeastBits;
+    private final String name;
+    final int brand;
+    final int category;
+    final long priceUnits;
+    private final Currency currency;
+    private final int stock;
+
+    CatalogEntry(UUID storeItemId, UUID productId, String name, int brand, int category,
+                 long priceUnits, Currency currency, int stock) {
+        this.itemMostBits = storeItemId.getMostSignificantBits();
+        this.itemLeastBits = storeItemId.getLeastSignificantBits();
+        this.productMostBits = productId.getMostSignificantBits();
+        this.productLeastBits = productId.getLeastSignificantBits();
+        this.name = name;
+        this.brand = brand;
+        this.category = category;
+        this.priceUnits = priceUnits;
+        this.currency = currency;
+        this.stock = stock;
+    }
+
+    // Same item with new product details; identifiers, price and stock are kept
+    CatalogEntry withProduct(String name, int brand, int category, Currency currency) {
+        return new CatalogEntry(getStoreItemId(), getProductId(), name, brand, category, priceUnits, currency, stock);
+    }
+
+    /** Price in units of 1/10000, as kept by the snapshot */
+    public static long toPriceUnits(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // ===== Getters =====
+    public UUID getStoreItemId() { return new UUID(itemMostBits, itemLeastBits); }
+    public UUID getProductId() { return new UUID(productMostBits, productLeastBits); }
+    public String getName() { return name; }
+    public BigDecimal getPrice() { return BigDecimal.valueOf(priceUnits, PRICE_SCALE); }
+    public long getPriceUnits() { return priceUnits; }
+    public Currency getCurrency() { return currency; }
+    public int getStock() { return stock; }
+    public boolean isInStock() { return stock > 0; }
+}
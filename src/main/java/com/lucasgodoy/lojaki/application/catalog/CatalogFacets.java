@@ -0,0 +1,112 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Facet counts (category, brand, price bucket, stock) of store listings.
+ *
+ * Replaces one GROUP BY per facet and filter combination: each store keeps
+ * a bitmap per facet value (see {@link FacetIndex}) and a panel is a few
+ * bitmap intersections and cardinalities, answered from memory.
+ *
+ * The index of a store is built from its catalog snapshot on the first
+ * panel and then follows the snapshot as a {@link CatalogListener}:
+ * item changes move single bits, reloads rebuild the store's index.
+ */
+public class CatalogFacets implements CatalogListener {
+
+    /** Upper bounds of the price buckets used when none are configured; the last bucket is open */
+    public static final List<BigDecimal> DEFAULT_PRICE_BOUNDARIES = List.of(
+            new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"),
+            new BigDecimal("200"), new BigDecimal("500"));
+
+    private final CatalogSnapshots catalogSnapshots;
+
+    /** Bucket boundaries in catalog price units, ascending */
+    private final long[] boundaries;
+    private final List<String> bucketLabels;
+
+    private final Map<UUID, FacetIndex> stores = new ConcurrentHashMap<>();
+
+    public CatalogFacets(CatalogSnapshots catalogSnapshots, List<BigDecimal> priceBoundaries) {
+        this.catalogSnapshots = catalogSnapshots;
+        this.boundaries = new long[priceBoundaries.size()];
+        List<String> labels = new ArrayList<>(priceBoundaries.size() + 1);
+        String lower = "0";
+        for (int i = 0; i < boundaries.length; i++) {
+            BigDecimal boundary = priceBoundaries.get(i);
+            boundaries[i] = CatalogEntry.toPriceUnits(boundary);
+            if (boundaries[i] <= 0 || (i > 0 && boundaries[i] <= boundaries[i - 1])) {
+                throw new IllegalArgumentException("Price boundaries must be positive and ascending");
+            }
+            String upper = boundary.stripTrailingZeros().toPlainString();
+            labels.add(lower + "-" + upper);
+            lower = upper;
+        }
+        labels.add(lower + "+");
+        this.bucketLabels = List.copyOf(labels);
+    }
+
+    // ===== Queries =====
+
+    /**
+     * Facet counts of a store for a filter. The first call for a store
+     * loads its catalog snapshot if needed and builds its facet index.
+     */
+    public FacetPanel panel(UUID storeId, FacetFilter filter) {
+        CatalogSnapshot snapshot = catalogSnapshots.snapshot(storeId);
+        FacetIndex index = stores.computeIfAbsent(storeId, id -> new FacetIndex(bucketLabels.size()));
+        // Built from the snapshot current after the index was registered, so no change is missed
+        index.ensureBuilt(() -> latest(storeId, snapshot), this::bucketOf);
+        return index.panel(storeId, filter, latest(storeId, snapshot), bucketLabels);
+    }
+
+    /** Display names of the price buckets, by bucket index */
+    public List<String> getPriceBuckets() {
+        return bucketLabels;
+    }
+
+    /** Drops a store's facet index; it is rebuilt on the next panel */
+    public void evict(UUID storeId) {
+        stores.remove(storeId);
+    }
+
+    // ===== Catalog Changes =====
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        FacetIndex index = stores.get(snapshot.getStoreId());
+        if (index != null) {
+            index.rebuild(() -> latest(snapshot.getStoreId(), snapshot), this::bucketOf);
+        }
+    }
+
+    @Override
+    public void onItemsChanged(UUID storeId, Collection<UUID> storeItemIds) {
+        FacetIndex index = stores.get(storeId);
+        CatalogSnapshot snapshot = catalogSnapshots.peek(storeId);
+        if (index != null && snapshot != null) {
+            index.apply(() -> latest(storeId, snapshot), storeItemIds, this::bucketOf);
+        }
+    }
+
+    // ===== Helpers =====
+
+    // Index of the first boundary above the price; prices at a boundary go to the upper bucket
+    int bucketOf(CatalogEntry entry) {
+        int position = Arrays.binarySearch(boundaries, entry.priceUnits);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private CatalogSnapshot latest(UUID storeId, CatalogSnapshot fallback) {
+        CatalogSnapshot current = catalogSnapshots.peek(storeId);
+        return current != null ? current : fallback;
+    }
+}
@@ -0,0 +1,20 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Receives catalog changes after the new snapshot is published.
+ *
+ * Notifications carry ids, not state: listeners read the current state from
+ * the store's latest snapshot, so notifications delivered out of order or
+ * twice still converge.
+ */
+public interface CatalogListener {
+
+    // A store's snapshot was loaded or rebuilt from the database
+    void onCatalogLoaded(CatalogSnapshot snapshot);
+
+    // Items of a store were added, changed or removed
+    void onItemsChanged(UUID storeId, Collection<UUID> storeItemIds);
+}
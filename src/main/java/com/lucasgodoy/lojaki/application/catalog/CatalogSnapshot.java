@@ -0,0 +1,443 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable catalog of one store: its active items of active products.
+ *
+ * Entries are kept in one array sorted by store item id, with their ids
+ * also laid out in a flat long array so a lookup binary-searches primitives
+ * instead of chasing a reference per step, and a third array of entry
+ * indexes sorted by product id. Brand and
+ * category names live once per snapshot in small dictionaries and entries
+ * point to them by ordinal.
+ *
+ * Changes never modify a snapshot; the with* methods return a new one that
+ * shares everything the change did not touch (a category rename copies
+ * only the category dictionary, a price change one array of references).
+ * Reading a snapshot needs no locking and never touches the database.
+ */
+public final class CatalogSnapshot {
+
+    private static final Comparator<CatalogEntry> BY_ITEM =
+            (a, b) -> compare(a.itemMostBits, a.itemLeastBits, b.itemMostBits, b.itemLeastBits);
+
+    private final UUID storeId;
+    private final long version;
+    private final Instant builtAt;
+
+    /** Sorted by store item id */
+    private final CatalogEntry[] entries;
+
+    /** Store item id of entries[i] at [2i] (most significant bits) and [2i + 1] */
+    private final long[] itemIds;
+
+    /** Indexes into entries, sorted by product id */
+    private final int[] productOrder;
+
+    private final Dictionary brands;
+    private final Dictionary categories;
+
+    private CatalogSnapshot(UUID storeId, long version, Instant builtAt, CatalogEntry[] entries, long[] itemIds,
+                            int[] productOrder, Dictionary brands, Dictionary categories) {
+        this.storeId = storeId;
+        this.version = version;
+        this.builtAt = builtAt;
+        this.entries = entries;
+        this.itemIds = itemIds;
+        this.productOrder = productOrder;
+        this.brands = brands;
+        this.categories = categories;
+    }
+
+    // ===== Building =====
+
+    /**
+     * Builds a snapshot from a store's items. Items that are not visible
+     * (inactive or deleted item or product) are skipped.
+     */
+    static CatalogSnapshot build(UUID storeId, Collection<StoreItem> items, long version, Instant builtAt) {
+        Map<UUID, Integer> brandOrdinals = new HashMap<>();
+        List<UUID> brandIds = new ArrayList<>();
+        List<String> brandNames = new ArrayList<>();
+        Map<UUID, Integer> categoryOrdinals = new HashMap<>();
+        List<UUID> categoryIds = new ArrayList<>();
+        List<String> categoryNames = new ArrayList<>();
+
+        List<CatalogEntry> visible = new ArrayList<>(items.size());
+        for (StoreItem item : items) {
+            if (!isVisible(item)) {
+                continue;
+            }
+            Product product = item.getProduct();
+            int brand = brandOrdinals.computeIfAbsent(product.getBrand().getId(), id -> {
+                brandIds.add(id);
+                brandNames.add(product.getBrand().getName());
+                return brandIds.size() - 1;
+            });
+            int category = categoryOrdinals.computeIfAbsent(product.getCategory().getId(), id -> {
+                categoryIds.add(id);
+                categoryNames.add(product.getCategory().getName());
+                return categoryIds.size() - 1;
+            });
+            visible.add(entryOf(item, brand, category));
+        }
+
+        CatalogEntry[] sorted = visible.toArray(CatalogEntry[]::new);
+        Arrays.sort(sorted, BY_ITEM);
+        long[] itemIds = new long[sorted.length * 2];
+        for (int i = 0; i < sorted.length; i++) {
+            itemIds[2 * i] = sorted[i].itemMostBits;
+            itemIds[2 * i + 1] = sorted[i].itemLeastBits;
+        }
+        return new CatalogSnapshot(storeId, version, builtAt, sorted, itemIds, productOrderOf(sorted),
+                new Dictionary(brandIds.toArray(UUID[]::new), brandNames.toArray(String[]::new), brandOrdinals),
+                new Dictionary(categoryIds.toArray(UUID[]::new), categoryNames.toArray(String[]::new),
+                        categoryOrdinals));
+    }
+
+    // ===== Copy-on-write Updates =====
+
+    /** Same contents under another version */
+    CatalogSnapshot withVersion(long newVersion) {
+        return new CatalogSnapshot(storeId, newVersion, builtAt, entries, itemIds, productOrder, brands, categories);
+    }
+
+    /**
+     * Adds, replaces or removes (when no longer visible) one item.
+     */
+    CatalogSnapshot withItem(StoreItem item, Instant at) {
+        if (!isVisible(item)) {
+            return withoutItem(item.getId(), at);
+        }
+        Product product = item.getProduct();
+        Dictionary newBrands = brands.with(product.getBrand().getId(), product.getBrand().getName());
+        Dictionary newCategories = categories.with(product.getCategory().getId(), product.getCategory().getName());
+        CatalogEntry entry = entryOf(item, newBrands.ordinalOf(product.getBrand().getId()),
+                newCategories.ordinalOf(product.getCategory().getId()));
+
+        int index = indexOf(entry.itemMostBits, entry.itemLeastBits);
+        if (index >= 0) {
+            // Ids and the product of an item never change, so both orders still hold
+            CatalogEntry[] updated = entries.clone();
+            updated[index] = entry;
+            return new CatalogSnapshot(storeId, version + 1, at, updated, itemIds, productOrder,
+                    newBrands, newCategories);
+        }
+
+        int insertAt = -index - 1;
+        CatalogEntry[] updated = new CatalogEntry[entries.length + 1];
+        System.arraycopy(entries, 0, updated, 0, insertAt);
+        updated[insertAt] = entry;
+        System.arraycopy(entries, insertAt, updated, insertAt + 1, entries.length - insertAt);
+        long[] ids = new long[itemIds.length + 2];
+        System.arraycopy(itemIds, 0, ids, 0, 2 * insertAt);
+        ids[2 * insertAt] = entry.itemMostBits;
+        ids[2 * insertAt + 1] = entry.itemLeastBits;
+        System.arraycopy(itemIds, 2 * insertAt, ids, 2 * insertAt + 2, itemIds.length - 2 * insertAt);
+
+        int[] order = new int[productOrder.length + 1];
+        int orderAt = lowerBound(entry.productMostBits, entry.productLeastBits);
+        for (int i = 0, j = 0; i < order.length; i++) {
+            if (i == orderAt) {
+                order[i] = insertAt;
+            } else {
+                int shifted = productOrder[j++];
+                order[i] = shifted >= insertAt ? shifted + 1 : shifted;
+            }
+        }
+        return new CatalogSnapshot(storeId, version + 1, at, updated, ids, order, newBrands, newCategories);
+    }
+
+    /**
+     * Removes one item; returns this snapshot if it is not in the catalog.
+     */
+    CatalogSnapshot withoutItem(UUID storeItemId, Instant at) {
+        int index = indexOf(storeItemId.getMostSignificantBits(), storeItemId.getLeastSignificantBits());
+        if (index < 0) {
+            return this;
+        }
+        CatalogEntry[] updated = new CatalogEntry[entries.length - 1];
+        System.arraycopy(entries, 0, updated, 0, index);
+        System.arraycopy(entries, index + 1, updated, index, entries.length - index - 1);
+        long[] ids = new long[itemIds.length - 2];
+        System.arraycopy(itemIds, 0, ids, 0, 2 * index);
+        System.arraycopy(itemIds, 2 * index + 2, ids, 2 * index, itemIds.length - 2 * index - 2);
+
+        int[] order = new int[productOrder.length - 1];
+        int j = 0;
+        for (int position : productOrder) {
+            if (position != index) {
+                order[j++] = position > index ? position - 1 : position;
+            }
+        }
+        return new CatalogSnapshot(storeId, version + 1, at, updated, ids, order, brands, categories);
+    }
+
+    /**
+     * Applies new product details (name, brand, category) to the items of a
+     * product, or removes them when the product is no longer visible.
+     * Returns this snapshot if the store does not sell the product.
+     */
+    CatalogSnapshot withProduct(Product product, Instant at) {
+        int from = lowerBound(product.getId().getMostSignificantBits(), product.getId().getLeastSignificantBits());
+        int to = upperBound(product.getId().getMostSignificantBits(), product.getId().getLeastSignificantBits());
+        if (from == to) {
+            return this;
+        }
+        if (!product.isActive() || product.getDeletedAt() != null) {
+            return withoutProduct(product.getId(), at);
+        }
+        Dictionary newBrands = brands.with(product.getBrand().getId(), product.getBrand().getName());
+        Dictionary newCategories = categories.with(product.getCategory().getId(), product.getCategory().getName());
+        int brand = newBrands.ordinalOf(product.getBrand().getId());
+        int category = newCategories.ordinalOf(product.getCategory().getId());
+        CatalogEntry[] updated = entries.clone();
+        for (int i = from; i < to; i++) {
+            int index = productOrder[i];
+            updated[index] = entries[index].withProduct(product.getName(), brand, category,
+                    product.getPrice().getCurrency());
+        }
+        return new CatalogSnapshot(storeId, version + 1, at, updated, itemIds, productOrder,
+                newBrands, newCategories);
+    }
+
+    /**
+     * Removes every item of a product; returns this snapshot if there is none.
+     */
+    CatalogSnapshot withoutProduct(UUID productId, Instant at) {
+        int from = lowerBound(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+        int to = upperBound(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+        CatalogSnapshot result = this;
+        for (int i = from; i < to; i++) {
+            result = result.withoutItem(entries[productOrder[i]].getStoreItemId(), at);
+        }
+        return result;
+    }
+
+    /**
+     * Renames a category; entries are shared with this snapshot.
+     * Returns this snapshot if the category is not used or kept its name.
+     */
+    CatalogSnapshot withCategory(Category category, Instant at) {
+        Dictionary renamed = categories.renamed(category.getId(), category.getName());
+        return renamed == categories ? this
+                : new CatalogSnapshot(storeId, version + 1, at, entries, itemIds, productOrder, brands, renamed);
+    }
+
+    // True if the snapshot knows the product (sells at least one item of it)
+    boolean sells(UUID productId) {
+        return lowerBound(productId.getMostSignificantBits(), productId.getLeastSignificantBits())
+                != upperBound(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+    }
+
+    // ===== Queries =====
+
+    /** Item by store item id, or null if it is not in the catalog */
+    public CatalogEntry find(UUID storeItemId) {
+        int index = indexOf(storeItemId.getMostSignificantBits(), storeItemId.getLeastSignificantBits());
+        return index < 0 ? null : entries[index];
+    }
+
+    /** Items of a product (usually one) */
+    public List<CatalogEntry> findByProduct(UUID productId) {
+        int from = lowerBound(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+        int to = upperBound(productId.getMostSignificantBits(), productId.getLeastSignificantBits());
+        List<CatalogEntry> found = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            found.add(entries[productOrder[i]]);
+        }
+        return found;
+    }
+
+    /** Items of a category */
+    public List<CatalogEntry> inCategory(UUID categoryId) {
+        return matching(categories.ordinalOf(categoryId), false);
+    }
+
+    /** Items of a brand */
+    public List<CatalogEntry> ofBrand(UUID brandId) {
+        return matching(brands.ordinalOf(brandId), true);
+    }
+
+    private List<CatalogEntry> matching(int ordinal, boolean brand) {
+        if (ordinal < 0) {
+            return List.of();
+        }
+        List<CatalogEntry> found = new ArrayList<>();
+        for (CatalogEntry entry : entries) {
+            if ((brand ? entry.brand : entry.category) == ordinal) {
+                found.add(entry);
+            }
+        }
+        return found;
+    }
+
+    /** Every item, ordered by store item id; a read-only view, not a copy */
+    public List<CatalogEntry> entries() {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    /** Name of a brand sold in this store, or null */
+    public String brandName(UUID brandId) {
+        int ordinal = brands.ordinalOf(brandId);
+        return ordinal < 0 ? null : brands.names[ordinal];
+    }
+
+    /** Name of a category used in this store, or null */
+    public String categoryName(UUID categoryId) {
+        int ordinal = categories.ordinalOf(categoryId);
+        return ordinal < 0 ? null : categories.names[ordinal];
+    }
+
+    public UUID brandId(CatalogEntry entry) { return brands.ids[entry.brand]; }
+    public String brandName(CatalogEntry entry) { return brands.names[entry.brand]; }
+    public UUID categoryId(CatalogEntry entry) { return categories.ids[entry.category]; }
+    public String categoryName(CatalogEntry entry) { return categories.names[entry.category]; }
+
+    // ===== Getters =====
+    public UUID getStoreId() { return storeId; }
+    public long getVersion() { return version; }
+    public Instant getBuiltAt() { return builtAt; }
+    public int size() { return entries.length; }
+    public int getBrandCount() { return brands.ids.length; }
+    public int getCategoryCount() { return categories.ids.length; }
+
+    // ===== Helpers =====
+
+    /** Whether an item can be sold: it and its product are active and not deleted */
+    public static boolean isVisible(StoreItem item) {
+        Product product = item.getProduct();
+        return item.isActive() && item.getDeletedAt() == null
+                && product.isActive() && product.getDeletedAt() == null;
+    }
+
+    private static CatalogEntry entryOf(StoreItem item, int brand, int category) {
+        Product product = item.getProduct();
+        return new CatalogEntry(item.getId(), product.getId(), product.getName(), brand, category,
+                CatalogEntry.toPriceUnits(item.getPrice()), product.getPrice().getCurrency(), item.getStock());
+    }
+
+    private static int[] productOrderOf(CatalogEntry[] sorted) {
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(sorted[a].productMostBits, sorted[a].productLeastBits,
+                sorted[b].productMostBits, sorted[b].productLeastBits));
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    // Binary search by store item id; (-(insertion point) - 1) when absent, as Arrays.binarySearch
+    private int indexOf(long most, long least) {
+        int low = 0;
+        int high = entries.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(itemIds[2 * mid], itemIds[2 * mid + 1], most, least);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    // First position in productOrder whose product id is >= the given one
+    private int lowerBound(long most, long least) {
+        int low = 0;
+        int high = productOrder.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            CatalogEntry entry = entries[productOrder[mid]];
+            if (compare(entry.productMostBits, entry.productLeastBits, most, least) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position in productOrder whose product id is > the given one
+    private int upperBound(long most, long least) {
+        int low = 0;
+        int high = productOrder.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            CatalogEntry entry = entries[productOrder[mid]];
+            if (compare(entry.productMostBits, entry.productLeastBits, most, least) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long mostA, long leastA, long mostB, long leastB) {
+        int cmp = Long.compare(mostA, mostB);
+        return cmp != 0 ? cmp : Long.compare(leastA, leastB);
+    }
+
+    /**
+     * Id and name per ordinal. Never modified once published; with/renamed
+     * return a copy, or the same dictionary when nothing changes.
+     */
+    private static final class Dictionary {
+
+        final UUID[] ids;
+        final String[] names;
+        private final Map<UUID, Integer> ordinals;
+
+        Dictionary(UUID[] ids, String[] names, Map<UUID, Integer> ordinals) {
+            this.ids = ids;
+            this.names = names;
+            this.ordinals = ordinals;
+        }
+
+        int ordinalOf(UUID id) {
+            return ordinals.getOrDefault(id, -1);
+        }
+
+        // Adds the id if missing, renames it if its name changed
+        Dictionary with(UUID id, String name) {
+            if (ordinals.containsKey(id)) {
+                return renamed(id, name);
+            }
+            UUID[] newIds = Arrays.copyOf(ids, ids.length + 1);
+            String[] newNames = Arrays.copyOf(names, names.length + 1);
+            newIds[ids.length] = id;
+            newNames[names.length] = name;
+            Map<UUID, Integer> newOrdinals = new HashMap<>(ordinals);
+            newOrdinals.put(id, ids.length);
+            return new Dictionary(newIds, newNames, newOrdinals);
+        }
+
+        Dictionary renamed(UUID id, String name) {
+            int ordinal = ordinalOf(id);
+            if (ordinal < 0 || names[ordinal].equals(name)) {
+                return this;
+            }
+            String[] newNames = names.clone();
+            newNames[ordinal] = name;
+            return new Dictionary(ids, newNames, ordinals);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Current catalog snapshot of every store that has been read.
+ *
+ * Each store holds its snapshot in an atomic reference. Readers get the
+ * reference and keep using that snapshot, without locks and without the
+ * database; writers publish a new snapshot derived from the current one
+ * (compare-and-set, retried on conflict). A store is loaded from the
+ * database the first time it is read.
+ *
+ * Services report item, product and category changes after saving them;
+ * those are applied incrementally. Set-based changes the snapshot cannot
+ * follow (bulk repricing, promotions) invalidate the store instead, which
+ * rebuilds it in the background while readers keep the previous snapshot.
+ * Incremental changes reported during a rebuild are applied to the rebuilt
+ * snapshot too, so a rebuild loads the store once however busy it is.
+ *
+ * Listeners (see {@link CatalogListener}) are told about every published
+ * change, on the thread that published it.
+ */
+public class CatalogSnapshots {
+
+    private final StoreItemRepository storeItemRepository;
+    private final Clock clock;
+
+    private final Map<UUID, StoreCatalog> stores = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingRebuilds = ConcurrentHashMap.newKeySet();
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+    private final AtomicLong failedRebuilds = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+
+    private ExecutorService rebuildExecutor;
+
+    public CatalogSnapshots(StoreItemRepository storeItemRepository, Clock clock) {
+        this.storeItemRepository = storeItemRepository;
+        this.clock = clock;
+    }
+
+    // ===== Lifecycle =====
+
+    /**
+     * Starts the background rebuild thread. Until started, invalidations
+     * rebuild on the calling thread.
+     */
+    public synchronized void start() {
+        if (rebuildExecutor != null) {
+            return;
+        }
+        rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-snapshot-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized void stop() {
+        if (rebuildExecutor == null) {
+            return;
+        }
+        rebuildExecutor.shutdownNow();
+        rebuildExecutor = null;
+    }
+
+    // Registers a listener
+    public void subscribe(CatalogListener listener) {
+        listeners.add(listener);
+    }
+
+    // Removes a listener
+    public void unsubscribe(CatalogListener listener) {
+        listeners.remove(listener);
+    }
+
+    // ===== Reads =====
+
+    /**
+     * Current catalog of a store. Loads it on the first call for the store;
+     * every later call is a map lookup and a volatile read.
+     */
+    public CatalogSnapshot snapshot(UUID storeId) {
+        StoreCatalog catalog = stores.get(storeId);
+        if (catalog == null) {
+            catalog = stores.computeIfAbsent(storeId, StoreCatalog::new);
+        }
+        CatalogSnapshot snapshot = catalog.current.get();
+        return snapshot != null ? snapshot : catalog.loadIfAbsent();
+    }
+
+    /** Current catalog of a store, or null if it was never loaded */
+    public CatalogSnapshot peek(UUID storeId) {
+        StoreCatalog catalog = stores.get(storeId);
+        return catalog == null ? null : catalog.current.get();
+    }
+
+    // ===== Change Notifications =====
+
+    // A store item was saved: added, repriced, restocked, (de)activated
+    public void onStoreItemChanged(StoreItem storeItem) {
+        update(storeItem.getStore().getId(), snapshot -> snapshot.withItem(storeItem, clock.instant()),
+                List.of(storeItem.getId()));
+    }
+
+    // A store item was removed
+    public void onStoreItemDeleted(UUID storeId, UUID storeItemId) {
+        update(storeId, snapshot -> snapshot.withoutItem(storeItemId, clock.instant()), List.of(storeItemId));
+    }
+
+    /**
+     * A product was saved. Stores selling it get the new details, or drop
+     * its items if it is no longer visible. A visible product unknown to its
+     * own store's snapshot may have just been reactivated, so that store is
+     * rebuilt.
+     */
+    public void onProductChanged(Product product) {
+        for (StoreCatalog catalog : stores.values()) {
+            CatalogSnapshot snapshot = catalog.current.get();
+            if (snapshot == null) {
+                continue;
+            }
+            if (snapshot.sells(product.getId())) {
+                update(catalog.storeId, s -> s.withProduct(product, clock.instant()), itemIds(snapshot, product));
+            } else if (product.isActive() && product.getDeletedAt() == null
+                    && product.getStore() != null && product.getStore().getId().equals(catalog.storeId)) {
+                invalidate(catalog.storeId);
+            }
+        }
+    }
+
+    // A product was deleted; its items leave every catalog
+    public void onProductDeleted(Product product) {
+        for (StoreCatalog catalog : stores.values()) {
+            CatalogSnapshot snapshot = catalog.current.get();
+            if (snapshot != null && snapshot.sells(product.getId())) {
+                update(catalog.storeId, s -> s.withoutProduct(product.getId(), clock.instant()),
+                        itemIds(snapshot, product));
+            }
+        }
+    }
+
+    // A category was saved; only its name is part of the catalog, no item changes
+    public void onCategoryChanged(Category category) {
+        for (StoreCatalog catalog : stores.values()) {
+            if (catalog.current.get() != null) {
+                update(catalog.storeId, s -> s.withCategory(category, clock.instant()), List.of());
+            }
+        }
+    }
+
+    /**
+     * Rebuilds a store from the database, in the background once started.
+     * Invalidations arriving while a rebuild is queued are coalesced.
+     */
+    public void invalidate(UUID storeId) {
+        StoreCatalog catalog = stores.get(storeId);
+        if (catalog == null || catalog.current.get() == null) {
+            return; // Loaded fresh on first read
+        }
+        catalog.changes.incrementAndGet();
+        if (!pendingRebuilds.add(storeId)) {
+            return;
+        }
+        ExecutorService executor;
+        synchronized (this) {
+            executor = rebuildExecutor;
+        }
+        if (executor == null) {
+            rebuild(catalog);
+            return;
+        }
+        try {
+            executor.execute(() -> rebuild(catalog));
+        } catch (RejectedExecutionException e) {
+            pendingRebuilds.remove(storeId);
+        }
+    }
+
+    /** Drops a store's snapshot; it is loaded again on the next read */
+    public void evict(UUID storeId) {
+        stores.remove(storeId);
+    }
+
+    private void update(UUID storeId, UnaryOperator<CatalogSnapshot> change, Collection<UUID> storeItemIds) {
+        StoreCatalog catalog = stores.get(storeId);
+        if (catalog == null) {
+            return;
+        }
+        catalog.changes.incrementAndGet();
+        Queue<UnaryOperator<CatalogSnapshot>> rebuilding = catalog.changesDuringRebuild;
+        if (rebuilding != null) {
+            rebuilding.add(change);
+        }
+        CatalogSnapshot previous;
+        CatalogSnapshot next;
+        do {
+            previous = catalog.current.get();
+            if (previous == null) {
+                return; // Not loaded yet; the load will see the saved state
+            }
+            next = change.apply(previous);
+        } while (previous != next && !catalog.current.compareAndSet(previous, next));
+        if (previous != next) {
+            incrementalUpdates.incrementAndGet();
+            if (!storeItemIds.isEmpty()) {
+                notifyListeners(listener -> listener.onItemsChanged(storeId, storeItemIds));
+            }
+        }
+    }
+
+    private static List<UUID> itemIds(CatalogSnapshot snapshot, Product product) {
+        return snapshot.findByProduct(product.getId()).stream().map(CatalogEntry::getStoreItemId).toList();
+    }
+
+    // A failing listener does not fail the change nor the other listeners; failures are only counted
+    private void notifyListeners(Consumer<CatalogListener> notification) {
+        for (CatalogListener listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                listenerFailures.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Loads a store once and swaps the result in. Changes reported while the
+     * load runs still go to the current snapshot and are also recorded; they
+     * are applied to the loaded snapshot before the swap, so none is lost to
+     * it. The swap only retries when a change lands in between, and then
+     * applies just the changes recorded since, without loading again.
+     */
+    private void rebuild(StoreCatalog catalog) {
+        pendingRebuilds.remove(catalog.storeId);
+        synchronized (catalog) {
+            Queue<UnaryOperator<CatalogSnapshot>> recorded = new ConcurrentLinkedQueue<>();
+            catalog.changesDuringRebuild = recorded;
+            try {
+                CatalogSnapshot loaded = CatalogSnapshot.build(catalog.storeId,
+                        storeItemRepository.findCatalog(catalog.storeId), 1, clock.instant());
+                CatalogSnapshot previous;
+                CatalogSnapshot next;
+                do {
+                    previous = catalog.current.get();
+                    for (UnaryOperator<CatalogSnapshot> change; (change = recorded.poll()) != null; ) {
+                        loaded = change.apply(loaded);
+                    }
+                    // Versions keep growing across the swap, so a reader never sees an older number again
+                    next = loaded.withVersion(previous.getVersion() + 1);
+                } while (!catalog.current.compareAndSet(previous, next));
+                rebuilds.incrementAndGet();
+                CatalogSnapshot published = next;
+                notifyListeners(listener -> listener.onCatalogLoaded(published));
+            } catch (RuntimeException e) {
+                // Readers keep the previous snapshot; the next invalidation retries
+                failedRebuilds.incrementAndGet();
+            } finally {
+                catalog.changesDuringRebuild = null;
+            }
+        }
+    }
+
+    // ===== Stats =====
+    public int getLoadedStoreCount() {
+        return (int) stores.values().stream().filter(c -> c.current.get() != null).count();
+    }
+
+    public long getLoadCount() { return loads.get(); }
+    public long getRebuildCount() { return rebuilds.get(); }
+    public long getIncrementalUpdateCount() { return incrementalUpdates.get(); }
+    public long getFailedRebuildCount() { return failedRebuilds.get(); }
+    public long getListenerFailures() { return listenerFailures.get(); }
+
+    /**
+     * Snapshot holder of one store; changes counts notifications so a first
+     * load can tell whether one raced with it, and changesDuringRebuild
+     * collects the incremental changes reported while a rebuild loads.
+     * Rebuilds and first loads hold the holder's monitor.
+     */
+    private final class StoreCatalog {
+
+        final UUID storeId;
+        final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+        final AtomicLong changes = new AtomicLong();
+        volatile Queue<UnaryOperator<CatalogSnapshot>> changesDuringRebuild;
+
+        StoreCatalog(UUID storeId) {
+            this.storeId = storeId;
+        }
+
+        // Readers of a store that is still loading wait for that single load
+        synchronized CatalogSnapshot loadIfAbsent() {
+            CatalogSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                long seen = changes.get();
+                snapshot = CatalogSnapshot.build(storeId, storeItemRepository.findCatalog(storeId), 1, clock.instant());
+                current.set(snapshot);
+                loads.incrementAndGet();
+                CatalogSnapshot published = snapshot;
+                notifyListeners(listener -> listener.onCatalogLoaded(published));
+                if (changes.get() != seen) {
+                    invalidate(storeId); // A change was reported while loading
+                }
+            }
+            return snapshot;
+        }
+    }
+}
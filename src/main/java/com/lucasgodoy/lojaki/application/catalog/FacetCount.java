@@ -0,0 +1,11 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+/**
+ * Number of items with one facet value, given the filters on the other facets.
+ *
+ * @param key      category or brand id, price bucket index, or in-stock / out-of-stock
+ * @param label    display name
+ * @param count    matching items
+ * @param selected whether the value is part of the current filter
+ */
+public record FacetCount(String key, String label, int count, boolean selected) { }
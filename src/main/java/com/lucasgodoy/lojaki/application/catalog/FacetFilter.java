@@ -0,0 +1,31 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Selected facet values of a listing page.
+ *
+ * Values of the same facet are alternatives (OR); facets combine with AND.
+ * An empty set or a null inStock leaves that facet unfiltered.
+ *
+ * @param categoryIds  selected categories
+ * @param brandIds     selected brands
+ * @param priceBuckets selected price buckets, by index (see {@link CatalogFacets})
+ * @param inStock      true for items in stock only, false for out of stock only
+ */
+public record FacetFilter(Set<UUID> categoryIds,
+                          Set<UUID> brandIds,
+                          Set<Integer> priceBuckets,
+                          Boolean inStock) {
+
+    public FacetFilter {
+        categoryIds = categoryIds == null ? Set.of() : Set.copyOf(categoryIds);
+        brandIds = brandIds == null ? Set.of() : Set.copyOf(brandIds);
+        priceBuckets = priceBuckets == null ? Set.of() : Set.copyOf(priceBuckets);
+    }
+
+    public static FacetFilter none() {
+        return new FacetFilter(Set.of(), Set.of(), Set.of(), null);
+    }
+}
@@ -0,0 +1,401 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import org.roaringbitmap.BatchIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Facet bitmaps of one store.
+ *
+ * Every catalog item gets a stable int ordinal (reused after the item
+ * leaves the catalog) and every facet value a compressed bitmap of the
+ * ordinals having it. Unfiltered counts are the values' cardinalities; a
+ * filtered facet intersects the filters of the other facets and counts the
+ * result in a single pass through the ordinal columns, instead of one
+ * intersection per value.
+ */
+final class FacetIndex {
+
+    private static final String IN_STOCK = "in-stock";
+    private static final String OUT_OF_STOCK = "out-of-stock";
+    private static final int SCAN_BATCH = 256;
+
+    // Facets counted per value, indexing bases and counts in panel
+    private static final int CATEGORY = 0;
+    private static final int BRAND = 1;
+    private static final int BUCKET = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+
+    // Guarded by lock
+    private long catalogVersion;
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private int[] freeOrdinals = new int[16];
+    private int freeCount;
+    private int nextOrdinal;
+    private int[] categoryOf = new int[64];
+    private int[] brandOf = new int[64];
+    private int[] bucketOf = new int[64];
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap inStock = new RoaringBitmap();
+    private final Values categories = new Values();
+    private final Values brands = new Values();
+    private final RoaringBitmap[] buckets;
+
+    FacetIndex(int bucketCount) {
+        buckets = new RoaringBitmap[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new RoaringBitmap();
+        }
+    }
+
+    // ===== Maintenance =====
+
+    /*
+     * Maintenance takes the latest snapshot while holding the write lock, so
+     * a notification delivered late never applies state older than the index.
+     */
+
+    /** Builds the index from the latest snapshot unless it was already built */
+    void ensureBuilt(Supplier<CatalogSnapshot> latest, ToIntFunction<CatalogEntry> bucket) {
+        if (!built) {
+            lock.writeLock().lock();
+            try {
+                if (!built) {
+                    load(latest.get(), bucket);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Replaces the whole index with the content of the latest snapshot */
+    void rebuild(Supplier<CatalogSnapshot> latest, ToIntFunction<CatalogEntry> bucket) {
+        lock.writeLock().lock();
+        try {
+            load(latest.get(), bucket);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load(CatalogSnapshot snapshot, ToIntFunction<CatalogEntry> bucket) {
+        ordinals.clear();
+        freeCount = 0;
+        nextOrdinal = 0;
+        live.clear();
+        inStock.clear();
+        categories.clear();
+        brands.clear();
+        for (RoaringBitmap bitmap : buckets) {
+            bitmap.clear();
+        }
+        for (CatalogEntry entry : snapshot.entries()) {
+            upsert(snapshot, entry, bucket.applyAsInt(entry));
+        }
+        live.runOptimize();
+        catalogVersion = snapshot.getVersion();
+        built = true;
+    }
+
+    /**
+     * Brings the given items up to date with the latest snapshot: items
+     * found there are added or moved between values, the others are removed.
+     * Ignored until the index is built, since building reads the latest state.
+     */
+    void apply(Supplier<CatalogSnapshot> latest, Collection<UUID> storeItemIds, ToIntFunction<CatalogEntry> bucket) {
+        if (!built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            CatalogSnapshot snapshot = latest.get();
+            for (UUID storeItemId : storeItemIds) {
+                CatalogEntry entry = snapshot.find(storeItemId);
+                if (entry == null) {
+                    remove(storeItemId);
+                } else {
+                    upsert(snapshot, entry, bucket.applyAsInt(entry));
+                }
+            }
+            catalogVersion = Math.max(catalogVersion, snapshot.getVersion());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(CatalogSnapshot snapshot, CatalogEntry entry, int bucket) {
+        int category = categories.intern(snapshot.categoryId(entry));
+        int brand = brands.intern(snapshot.brandId(entry));
+        Integer existing = ordinals.get(entry.getStoreItemId());
+        int ordinal;
+        if (existing == null) {
+            ordinal = allocate();
+            ordinals.put(entry.getStoreItemId(), ordinal);
+            live.add(ordinal);
+        } else {
+            ordinal = existing;
+            if (categoryOf[ordinal] != category) {
+                categories.bitmaps.get(categoryOf[ordinal]).remove(ordinal);
+            }
+            if (brandOf[ordinal] != brand) {
+                brands.bitmaps.get(brandOf[ordinal]).remove(ordinal);
+            }
+            if (bucketOf[ordinal] != bucket) {
+                buckets[bucketOf[ordinal]].remove(ordinal);
+            }
+        }
+        categories.bitmaps.get(category).add(ordinal);
+        brands.bitmaps.get(brand).add(ordinal);
+        buckets[bucket].add(ordinal);
+        if (entry.isInStock()) {
+            inStock.add(ordinal);
+        } else {
+            inStock.remove(ordinal);
+        }
+        categoryOf[ordinal] = category;
+        brandOf[ordinal] = brand;
+        bucketOf[ordinal] = bucket;
+    }
+
+    private void remove(UUID storeItemId) {
+        Integer ordinal = ordinals.remove(storeItemId);
+        if (ordinal == null) {
+            return;
+        }
+        categories.bitmaps.get(categoryOf[ordinal]).remove(ordinal);
+        brands.bitmaps.get(brandOf[ordinal]).remove(ordinal);
+        buckets[bucketOf[ordinal]].remove(ordinal);
+        inStock.remove(ordinal);
+        live.remove(ordinal);
+        if (freeCount == freeOrdinals.length) {
+            freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+        }
+        freeOrdinals[freeCount++] = ordinal;
+    }
+
+    private int allocate() {
+        if (freeCount > 0) {
+            return freeOrdinals[--freeCount];
+        }
+        int ordinal = nextOrdinal++;
+        if (ordinal == categoryOf.length) {
+            int size = categoryOf.length * 2;
+            categoryOf = Arrays.copyOf(categoryOf, size);
+            brandOf = Arrays.copyOf(brandOf, size);
+            bucketOf = Arrays.copyOf(bucketOf, size);
+        }
+        return ordinal;
+    }
+
+    // ===== Queries =====
+
+    /**
+     * Counts every facet value for a filter.
+     *
+     * @param names        snapshot used for category and brand names
+     * @param bucketLabels display names of the price buckets
+     */
+    FacetPanel panel(UUID storeId, FacetFilter filter, CatalogSnapshot names, List<String> bucketLabels) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap categoryFilter = union(categories, filter.categoryIds());
+            RoaringBitmap brandFilter = union(brands, filter.brandIds());
+            RoaringBitmap bucketFilter = bucketUnion(filter.priceBuckets());
+            RoaringBitmap stockFilter = filter.inStock() == null ? null
+                    : filter.inStock() ? inStock : RoaringBitmap.andNot(live, inStock);
+
+            RoaringBitmap matching = intersect(categoryFilter, brandFilter, bucketFilter, stockFilter);
+
+            // A facet without a filter of its own counts over the matching items
+            RoaringBitmap[] bases = {
+                    categoryFilter == null ? matching : intersect(null, brandFilter, bucketFilter, stockFilter),
+                    brandFilter == null ? matching : intersect(categoryFilter, null, bucketFilter, stockFilter),
+                    bucketFilter == null ? matching : intersect(categoryFilter, brandFilter, null, stockFilter)};
+            int[][] counts = new int[bases.length][];
+            for (int facet = 0; facet < bases.length; facet++) {
+                if (counts[facet] == null) {
+                    countBy(bases, facet, counts);
+                }
+            }
+
+            List<FacetCount> categoryCounts = valueCounts(categories, filter.categoryIds(), counts[CATEGORY],
+                    names::categoryName);
+            List<FacetCount> brandCounts = valueCounts(brands, filter.brandIds(), counts[BRAND], names::brandName);
+            List<FacetCount> bucketCounts = new ArrayList<>(buckets.length);
+            for (int i = 0; i < buckets.length; i++) {
+                bucketCounts.add(new FacetCount(String.valueOf(i), bucketLabels.get(i), counts[BUCKET][i],
+                        filter.priceBuckets().contains(i)));
+            }
+
+            RoaringBitmap stockBase = intersect(categoryFilter, brandFilter, bucketFilter, null);
+            int available = stockBase == live ? inStock.getCardinality()
+                    : RoaringBitmap.andCardinality(inStock, stockBase);
+            List<FacetCount> stockCounts = List.of(
+                    new FacetCount(IN_STOCK, IN_STOCK, available, Boolean.TRUE.equals(filter.inStock())),
+                    new FacetCount(OUT_OF_STOCK, OUT_OF_STOCK, stockBase.getCardinality() - available,
+                            Boolean.FALSE.equals(filter.inStock())));
+
+            return new FacetPanel(storeId, catalogVersion, matching.getCardinality(),
+                    categoryCounts, brandCounts, bucketCounts, stockCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<FacetCount> valueCounts(Values values, Set<UUID> selected, int[] perValue,
+                                         Function<UUID, String> name) {
+        List<FacetCount> counts = new ArrayList<>();
+        for (int ordinal = 0; ordinal < values.ids.size(); ordinal++) {
+            UUID id = values.ids.get(ordinal);
+            int count = perValue[ordinal];
+            boolean isSelected = selected.contains(id);
+            if (count > 0 || isSelected) {
+                String label = name.apply(id);
+                counts.add(new FacetCount(id.toString(), label == null ? id.toString() : label, count, isSelected));
+            }
+        }
+        counts.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::label));
+        return counts;
+    }
+
+    /**
+     * Counts per value of the given facet and of every other facet sharing
+     * its base, in one pass. Values never hold removed ordinals, so unfiltered
+     * counts are the values' cardinalities. A base holding most items is
+     * counted through its complement, subtracted from those cardinalities.
+     */
+    private void countBy(RoaringBitmap[] bases, int facet, int[][] counts) {
+        RoaringBitmap base = bases[facet];
+        int[][] columns = new int[bases.length][];
+        int[][] shared = new int[bases.length][];
+        int sharing = 0;
+        for (int other = facet; other < bases.length; other++) {
+            if (bases[other] == base) {
+                counts[other] = new int[values(other).size()];
+                columns[sharing] = column(other);
+                shared[sharing++] = counts[other];
+            }
+        }
+        boolean complement = base != live && base.getCardinality() > live.getCardinality() / 2;
+        if (base == live || complement) {
+            for (int other = facet; other < bases.length; other++) {
+                if (bases[other] == base) {
+                    List<RoaringBitmap> values = values(other);
+                    for (int value = 0; value < counts[other].length; value++) {
+                        counts[other][value] = values.get(value).getCardinality();
+                    }
+                }
+            }
+            if (base == live) {
+                return;
+            }
+        }
+        RoaringBitmap scanned = complement ? RoaringBitmap.andNot(live, base) : base;
+        int step = complement ? -1 : 1;
+        int[] batch = new int[SCAN_BATCH];
+        BatchIterator ordinals = scanned.getBatchIterator();
+        while (ordinals.hasNext()) {
+            int n = ordinals.nextBatch(batch);
+            for (int c = 0; c < sharing; c++) {
+                int[] column = columns[c];
+                int[] tally = shared[c];
+                for (int i = 0; i < n; i++) {
+                    tally[column[batch[i]]] += step;
+                }
+            }
+        }
+    }
+
+    private int[] column(int facet) {
+        return facet == CATEGORY ? categoryOf : facet == BRAND ? brandOf : bucketOf;
+    }
+
+    private List<RoaringBitmap> values(int facet) {
+        return facet == CATEGORY ? categories.bitmaps : facet == BRAND ? brands.bitmaps : Arrays.asList(buckets);
+    }
+
+    // Items matching every non-null filter; live itself (not a copy) when there is none
+    private RoaringBitmap intersect(RoaringBitmap... filters) {
+        RoaringBitmap result = live;
+        for (RoaringBitmap filter : filters) {
+            if (filter != null) {
+                result = RoaringBitmap.and(result, filter);
+            }
+        }
+        return result;
+    }
+
+    // Null when nothing is selected (no filter); empty when only unknown values are
+    private static RoaringBitmap union(Values values, Set<UUID> selected) {
+        if (selected.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        for (UUID id : selected) {
+            int ordinal = values.ordinalOf(id);
+            if (ordinal >= 0) {
+                union.or(values.bitmaps.get(ordinal));
+            }
+        }
+        return union;
+    }
+
+    private RoaringBitmap bucketUnion(Set<Integer> selected) {
+        if (selected.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap union = new RoaringBitmap();
+        for (int bucket : selected) {
+            if (bucket >= 0 && bucket < buckets.length) {
+                union.or(buckets[bucket]);
+            }
+        }
+        return union;
+    }
+
+    /** Facet values seen in the store, by ordinal; kept until the next rebuild */
+    private static final class Values {
+
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        final List<UUID> ids = new ArrayList<>();
+        final List<RoaringBitmap> bitmaps = new ArrayList<>();
+
+        int ordinalOf(UUID id) {
+            return ordinals.getOrDefault(id, -1);
+        }
+
+        int intern(UUID id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                return ordinal;
+            }
+            ordinals.put(id, ids.size());
+            ids.add(id);
+            bitmaps.add(new RoaringBitmap());
+            return ids.size() - 1;
+        }
+
+        void clear() {
+            ordinals.clear();
+            ids.clear();
+            bitmaps.clear();
+        }
+    }
+}
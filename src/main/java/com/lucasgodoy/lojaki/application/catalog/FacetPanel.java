@@ -0,0 +1,24 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Facet counts of a store listing for one filter.
+ *
+ * Counts of a facet apply the filters of every other facet but not its own,
+ * so selecting a brand still shows how many items the other brands have.
+ * Categories and brands are ordered by count and omit values with no item
+ * unless selected; price buckets and stock always list every value.
+ *
+ * @param storeId        store of the listing
+ * @param catalogVersion version of the catalog snapshot the counts reflect
+ * @param matching       items matching the whole filter
+ */
+public record FacetPanel(UUID storeId,
+                         long catalogVersion,
+                         int matching,
+                         List<FacetCount> categories,
+                         List<FacetCount> brands,
+                         List<FacetCount> priceBuckets,
+                         List<FacetCount> stock) { }
@@ -0,0 +1,134 @@
+package com.lucasgodoy.lojaki.application.category;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable category tree of one store.
+ *
+ * Categories are kept sorted by materialized path, the order the database
+ * index uses, so the subtree of a category is the contiguous range from
+ * its position to the first path past {@link Category#getPathUpperBound()}:
+ * a binary search, with no walk through parents and children.
+ */
+public final class CategoryTree {
+
+    private final UUID storeId;
+    private final Category[] byPath;
+    private final Map<UUID, Integer> positions;
+
+    private CategoryTree(UUID storeId, Category[] byPath) {
+        this.storeId = storeId;
+        this.byPath = byPath;
+        this.positions = new HashMap<>(byPath.length * 2);
+        for (int i = 0; i < byPath.length; i++) {
+            positions.put(byPath[i].getId(), i);
+        }
+    }
+
+    /** Tree of the given categories of a store, in any order */
+    public static CategoryTree of(UUID storeId, Collection<Category> categories) {
+        Category[] byPath = categories.toArray(new Category[0]);
+        Arrays.sort(byPath, Comparator.comparing(Category::getPath));
+        return new CategoryTree(storeId, byPath);
+    }
+
+    // ===== Queries =====
+
+    /** Category by id, or null if the store has none with that id */
+    public Category find(UUID categoryId) {
+        Integer position = positions.get(categoryId);
+        return position == null ? null : byPath[position];
+    }
+
+    /** The category followed by all its descendants, parents before children; empty if unknown */
+    public List<Category> subtree(UUID categoryId) {
+        Integer start = positions.get(categoryId);
+        if (start == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(byPath).subList(start, subtreeEnd(start)));
+    }
+
+    /** Ids of the category and all its descendants; empty if unknown */
+    public List<UUID> subtreeIds(UUID categoryId) {
+        return subtree(categoryId).stream().map(Category::getId).toList();
+    }
+
+    /** Direct children of a category, by path */
+    public List<Category> children(UUID categoryId) {
+        Integer start = positions.get(categoryId);
+        if (start == null) {
+            return List.of();
+        }
+        int depth = byPath[start].getDepth() + 1;
+        List<Category> children = new ArrayList<>();
+        for (int i = start + 1, end = subtreeEnd(start); i < end; i++) {
+            if (byPath[i].getDepth() == depth) {
+                children.add(byPath[i]);
+            }
+        }
+        return children;
+    }
+
+    /** Ancestors of a category, root first; empty for a root or an unknown category */
+    public List<Category> ancestors(UUID categoryId) {
+        List<Category> ancestors = new ArrayList<>();
+        Category category = find(categoryId);
+        while (category != null && category.getParentId() != null) {
+            category = find(category.getParentId());
+            if (category != null) {
+                ancestors.add(0, category);
+            }
+        }
+        return ancestors;
+    }
+
+    /** Root categories, by path */
+    public List<Category> roots() {
+        return Arrays.stream(byPath).filter(c -> c.getParentId() == null).toList();
+    }
+
+    /** Number of levels below a category; 0 for a leaf or an unknown category */
+    public int height(UUID categoryId) {
+        Integer start = positions.get(categoryId);
+        if (start == null) {
+            return 0;
+        }
+        int depth = byPath[start].getDepth();
+        int deepest = depth;
+        for (int i = start + 1, end = subtreeEnd(start); i < end; i++) {
+            deepest = Math.max(deepest, byPath[i].getDepth());
+        }
+        return deepest - depth;
+    }
+
+    // First position past the subtree starting at start
+    private int subtreeEnd(int start) {
+        String upperBound = byPath[start].getPathUpperBound();
+        int low = start + 1;
+        int high = byPath.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (byPath[mid].getPath().compareTo(upperBound) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // ===== Getters =====
+    public UUID getStoreId() { return storeId; }
+    public int size() { return byPath.length; }
+}
@@ -0,0 +1,60 @@
+package com.lucasgodoy.lojaki.application.category;
+
+import com.lucasgodoy.lojaki.domain.repository.CategoryRepository;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Category tree of every store that has been read.
+ *
+ * A store's tree is loaded with one query the first time it is needed and
+ * then answers subtree, children and ancestor lookups from memory. Services
+ * invalidate a store after saving any change to its categories; the next
+ * read loads it again.
+ */
+public class CategoryTrees {
+
+    private final CategoryRepository categoryRepository;
+
+    private final Map<UUID, CategoryTree> trees = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public CategoryTrees(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+    }
+
+    /** Current category tree of a store, loaded on first use */
+    public CategoryTree tree(UUID storeId) {
+        CategoryTree tree = trees.get(storeId);
+        if (tree != null) {
+            hits.incrementAndGet();
+            return tree;
+        }
+        long seen = invalidations.get();
+        tree = CategoryTree.of(storeId, categoryRepository.findByStore(storeId));
+        loads.incrementAndGet();
+        trees.put(storeId, tree);
+        if (invalidations.get() != seen) {
+            trees.remove(storeId, tree); // An invalidation raced with the load; do not keep what it read
+        }
+        return tree;
+    }
+
+    /** Drops a store's tree after one of its categories changed */
+    public void invalidate(UUID storeId) {
+        invalidations.incrementAndGet();
+        trees.remove(storeId);
+    }
+
+    // ===== Stats =====
+    public int getCachedStoreCount() { return trees.size(); }
+    public long getHitCount() { return hits.get(); }
+    public long getLoadCount() { return loads.get(); }
+    public long getInvalidationCount() { return invalidations.get(); }
+}
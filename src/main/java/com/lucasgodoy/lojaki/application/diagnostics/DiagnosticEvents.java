@@ -0,0 +1,20 @@
+package com.lucasgodoy.lojaki.application.diagnostics;
+
+import jdk.jfr.Event;
+
+import java.util.List;
+
+/**
+ * Every Lojaki Flight Recorder event type, for recordings that enable them.
+ */
+public final class DiagnosticEvents {
+
+    public static final List<Class<? extends Event>> ALL = List.of(
+            OrderCreateEvent.class,
+            StockChangeEvent.class,
+            RepositoryCallEvent.class,
+            MappingEvent.class
+    );
+
+    private DiagnosticEvents() { }
+}
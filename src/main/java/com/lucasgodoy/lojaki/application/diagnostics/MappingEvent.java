@@ -0,0 +1,48 @@
+package com.lucasgodoy.lojaki.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Mapping of an order aggregate between its entity and domain form.
+ *
+ * Disabled by default since it fires per order in listings; the
+ * on-demand recording turns it on.
+ */
+@Name("lojaki.Mapping")
+@Label("Entity Mapping")
+@Category({"Lojaki", "Persistence"})
+@Description("Entity <-> domain mapping of an aggregate, including lazy loads it triggers")
+@Enabled(false)
+public class MappingEvent extends OperationEvent {
+
+    @Label("Mapper")
+    public String mapper;
+
+    /** "toDomain" or "toEntity" */
+    @Label("Direction")
+    public String direction;
+
+    @Label("Item Count")
+    public int itemCount;
+
+    /** Creates and begins an event for one mapping */
+    public static MappingEvent begin(String mapper, String direction) {
+        MappingEvent event = new MappingEvent();
+        event.mapper = mapper;
+        event.direction = direction;
+        event.begin();
+        return event;
+    }
+
+    /** Ends the mapping, committing the event if it is enabled and above its threshold */
+    public void end(int itemCount) {
+        if (shouldCommit()) {
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lucasgodoy.lojaki.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Flight Recorder events emitted around business and
+ * persistence operations.
+ *
+ * Usage, so a disabled event costs a flag check and nothing else:
+ * <pre>
+ *   SomeEvent event = new SomeEvent();
+ *   event.begin();
+ *   try { ...; event.succeeded(); }
+ *   catch (RuntimeException e) { event.failed(e); throw e; }
+ *   finally { if (event.shouldCommit()) { event.field = ...; event.commit(); } }
+ * </pre>
+ * Fields are only filled inside shouldCommit(), so the values are not even
+ * computed unless the event is enabled and above its threshold. Stack
+ * traces are off by default: the event name already says where it comes from.
+ */
+@Category({"Lojaki"})
+@StackTrace(false)
+public abstract class OperationEvent extends jdk.jfr.Event {
+
+    public static final String OK = "ok";
+
+    @Label("Outcome")
+    protected String outcome = "unfinished";
+
+    public void succeeded() {
+        this.outcome = OK;
+    }
+
+    public void failed(Throwable error) {
+        this.outcome = error.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,25 @@
+package com.lucasgodoy.lojaki.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Order creation, from the service call to the events being published.
+ */
+@Name("lojaki.OrderCreate")
+@Label("Order Create")
+@Category({"Lojaki", "Orders"})
+@Description("OrderService.createOrder, including persistence and event publication")
+public class OrderCreateEvent extends OperationEvent {
+
+    @Label("Store Id")
+    public String storeId;
+
+    @Label("Item Count")
+    public int itemCount;
+
+    @Label("Idempotency Key Used")
+    public boolean idempotent;
+}
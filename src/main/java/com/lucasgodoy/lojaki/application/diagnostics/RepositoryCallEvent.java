@@ -0,0 +1,49 @@
+package com.lucasgodoy.lojaki.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.UUID;
+
+/**
+ * One repository call, including the mapping it does.
+ */
+@Name("lojaki.RepositoryCall")
+@Label("Repository Call")
+@Category({"Lojaki", "Persistence"})
+@Description("Repository method call; hibernate/JDBC work shows up nested inside it")
+public class RepositoryCallEvent extends OperationEvent {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Store Id")
+    public String storeId;
+
+    /** Domain objects returned or written */
+    @Label("Rows")
+    public int rows;
+
+    /** Creates and begins an event for one call */
+    public static RepositoryCallEvent begin(String repository, String operation) {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.repository = repository;
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    /** Ends the call, committing the event if it is enabled and above its threshold */
+    public void end(int rows, UUID storeId) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.storeId = storeId == null ? null : storeId.toString();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lucasgodoy.lojaki.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Stock change of a product or store item, including its save.
+ */
+@Name("lojaki.StockChange")
+@Label("Stock Change")
+@Category({"Lojaki", "Inventory"})
+@Description("Product.decreaseStock / StoreItem.adjustStock and the save that follows")
+public class StockChangeEvent extends OperationEvent {
+
+    /** "Product" or "StoreItem" */
+    @Label("Target")
+    public String target;
+
+    @Label("Store Id")
+    public String storeId;
+
+    @Label("Target Id")
+    public String targetId;
+
+    @Label("Delta")
+    public int delta;
+
+    @Label("Resulting Stock")
+    public int resultingStock;
+}
@@ -0,0 +1,27 @@
+package com.lucasgodoy.lojaki.application.event;
+
+/**
+ * Defers work until the current transaction commits.
+ *
+ * Used for side effects outside the database (in-memory indexes and
+ * snapshots) that must never show a change a rollback would undo. The
+ * work is dropped if the transaction rolls back, and runs immediately
+ * when there is no transaction.
+ */
+@FunctionalInterface
+public interface AfterCommit {
+
+    /** Runs work immediately, for callers that never run inside a transaction */
+    AfterCommit IMMEDIATE = Runnable::run;
+
+    void run(Runnable work);
+
+    /**
+     * Runs onCommit once the current transaction commits, or onRollback if it
+     * does not. Without a transaction there is nothing to roll back, so
+     * onCommit runs immediately.
+     */
+    default void run(Runnable onCommit, Runnable onRollback) {
+        run(onCommit);
+    }
+}
@@ -0,0 +1,49 @@
+package com.lucasgodoy.lojaki.application.event;
+
+import com.lucasgodoy.lojaki.domain.order.event.OrderEventListener;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers order lifecycle events to registered listeners.
+ *
+ * Delivery is synchronous, on the caller's thread; OrderService publishes
+ * once the change has committed. A failing listener does not prevent delivery to the others and
+ * does not fail the business operation; failures are only counted.
+ */
+public class OrderEventPublisher {
+
+    private final List<OrderEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong listenerFailures = new AtomicLong();
+
+    // Registers a listener
+    public void subscribe(OrderEventListener listener) {
+        listeners.add(listener);
+    }
+
+    // Removes a listener
+    public void unsubscribe(OrderEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Publishes a batch of events to every listener
+    public void publish(List<OrderLifecycleEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (OrderEventListener listener : listeners) {
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                listenerFailures.incrementAndGet();
+            }
+        }
+    }
+
+    public long getListenerFailures() {
+        return listenerFailures.get();
+    }
+}
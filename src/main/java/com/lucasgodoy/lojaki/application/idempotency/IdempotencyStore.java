@@ -0,0 +1,263 @@
+package com.lucasgodoy.lojaki.application.idempotency;
+
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.repository.IdempotencyKeyRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remembers the result of requests carrying a client idempotency key.
+ *
+ * Keys are scoped: the caller names who the request acts for (for orders,
+ * the user and the store), and the same key in two scopes is two keys.
+ *
+ * Two tiers:
+ * - an in-memory map (O(1) lookup) holding one future per key, shared by
+ *   the first request and every concurrent or later duplicate
+ * - a persistent table, so duplicates still resolve after a restart or
+ *   when they reach another node
+ *
+ * A retry that hits memory never touches the database. The first request
+ * pays a single write: the key row, inserted with the id of the resource
+ * the action is about to create, in the caller's transaction. A duplicate
+ * on another node is detected by the (scope, key) primary key: its insert
+ * waits for the transaction holding the key, then finds the row and
+ * returns the stored id without running its action. The table is only read
+ * in that case.
+ *
+ * When the action runs inside a transaction, the key is held until it
+ * completes: duplicates are given the result only once it has committed,
+ * and a rollback, which also undoes the key row, frees the key.
+ *
+ * Entries expire after a TTL in both tiers: an expired row is never
+ * returned and is taken over by the next reservation of its key. Once
+ * started, a background task purges expired rows periodically.
+ */
+public class IdempotencyStore {
+
+    /** Maximum accepted key and scope length (matches the table columns) */
+    public static final int MAX_KEY_LENGTH = 100;
+
+    /** Local expired entries are swept every this many new keys */
+    private static final int SWEEP_EVERY = 1024;
+
+    private final IdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Clock clock;
+    private final AfterCommit afterCommit;
+
+    private final ConcurrentHashMap<ScopedKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger insertsSinceSweep = new AtomicInteger();
+
+    private ScheduledExecutorService purger;
+
+    public IdempotencyStore(IdempotencyKeyRepository repository, Duration ttl, Duration waitTimeout, Clock clock,
+                            AfterCommit afterCommit) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.clock = clock;
+        this.afterCommit = afterCommit;
+    }
+
+    // ===== Lifecycle =====
+
+    /** Starts purging expired keys in the background, every tenth of the TTL (at least a minute apart) */
+    public synchronized void start() {
+        if (purger != null) {
+            return;
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "idempotency-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(60_000, ttl.toMillis() / 10);
+        purger.scheduleWithFixedDelay(this::purgeQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (purger == null) {
+            return;
+        }
+        purger.shutdownNow();
+        purger = null;
+    }
+
+    // A failure must not cancel the schedule; the next run retries
+    private void purgeQuietly() {
+        try {
+            purgeExpired();
+        } catch (RuntimeException e) {
+            // Expired rows are never read, so a late purge only costs space
+        }
+    }
+
+    // ===== Business Methods =====
+
+    /**
+     * Runs the action once per key and returns the id of the resource it
+     * created to every caller.
+     *
+     * Concurrent duplicates wait for the in-flight execution instead of
+     * running the action again. If the first execution fails, or its
+     * transaction rolls back, the key is released so the client can retry.
+     *
+     * @param scope      who the request acts for, e.g. "order:&lt;userId&gt;:&lt;storeId&gt;"
+     * @param key        client-provided idempotency key
+     * @param resourceId id of the resource the action creates
+     * @param action     creates the resource
+     * @return id of the resource created by the first successful execution
+     */
+    public UUID execute(String scope, String key, UUID resourceId, Runnable action) {
+        validate(scope, key);
+        long now = clock.millis();
+        ScopedKey scoped = new ScopedKey(scope, key);
+
+        Entry fresh = new Entry(now + ttl.toMillis());
+        Entry current = entries.compute(scoped, (k, existing) ->
+                existing == null || existing.isExpired(now) ? fresh : existing);
+
+        if (current != fresh) {
+            return await(current);
+        }
+        if (insertsSinceSweep.incrementAndGet() >= SWEEP_EVERY) {
+            insertsSinceSweep.set(0);
+            evictExpired();
+        }
+        return runFirst(scoped, fresh, resourceId, action);
+    }
+
+    private UUID runFirst(ScopedKey scoped, Entry entry, UUID resourceId, Runnable action) {
+        boolean inserted = false;
+        try {
+            Instant now = clock.instant();
+            inserted = repository.insert(scoped.scope, scoped.key, resourceId, now,
+                    Instant.ofEpochMilli(entry.expiresAt));
+            if (!inserted) {
+                // Taken by another node or before a restart, and committed
+                UUID stored = repository.findResult(scoped.scope, scoped.key, now)
+                        .orElseThrow(() -> new DomainException(
+                                "A request with this idempotency key is still in progress"));
+                entry.result.complete(stored);
+                return stored;
+            }
+            action.run();
+        } catch (RuntimeException e) {
+            // Nothing was created: the key is free for a retry
+            entries.remove(scoped, entry);
+            entry.result.completeExceptionally(e);
+            if (inserted) {
+                releaseQuietly(scoped, resourceId, e);
+            }
+            throw e;
+        }
+
+        // The resource exists once the transaction commits; a rollback removes it and the key row
+        afterCommit.run(() -> entry.result.complete(resourceId), () -> {
+            entries.remove(scoped, entry);
+            entry.result.completeExceptionally(
+                    new DomainException("Request with this idempotency key was rolled back"));
+        });
+        return resourceId;
+    }
+
+    private UUID await(Entry entry) {
+        try {
+            return entry.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new DomainException("Request with this idempotency key failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new DomainException("A request with this idempotency key is still in progress", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DomainException("Interrupted while waiting for idempotent request", e);
+        }
+    }
+
+    // Within a transaction the rollback undoes the row anyway; without one this is what frees the key
+    private void releaseQuietly(ScopedKey scoped, UUID resourceId, RuntimeException failure) {
+        try {
+            repository.release(scoped.scope, scoped.key, resourceId);
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // ===== Eviction =====
+
+    /**
+     * Drops expired entries from memory.
+     *
+     * @return number of entries removed
+     */
+    public int evictExpired() {
+        long now = clock.millis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpired(now) && entry.result.isDone());
+        return before - entries.size();
+    }
+
+    /**
+     * Drops expired entries from memory and from the persistent table.
+     *
+     * Called periodically once started; off the request path.
+     */
+    public int purgeExpired() {
+        evictExpired();
+        return repository.deleteExpired(Instant.now(clock));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ===== Validation =====
+    private void validate(String scope, String key) {
+        if (scope == null || scope.isBlank() || scope.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency scope must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        if (key == null || key.isBlank()) {
+            throw new DomainException("Idempotency key is required");
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new DomainException("Idempotency key must have at most " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /** Key of the in-memory map */
+    private record ScopedKey(String scope, String key) { }
+
+    /**
+     * In-memory record of a key: result future plus expiry in epoch millis.
+     */
+    private static final class Entry {
+        private final CompletableFuture<UUID> result = new CompletableFuture<>();
+        private final long expiresAt;
+
+        private Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
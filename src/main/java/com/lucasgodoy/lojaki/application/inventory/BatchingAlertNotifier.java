@@ -0,0 +1,118 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers low-stock alerts asynchronously, in batches.
+ *
+ * Producers only offer to a bounded queue (never block); a single daemon
+ * thread drains it and hands batches of up to {@code batchSize} alerts to
+ * the sink, waiting at most {@code linger} for a batch to fill.
+ *
+ * If the queue is full the alert is dropped and counted: losing an alert
+ * is preferable to slowing down checkout.
+ */
+public class BatchingAlertNotifier {
+
+    private final BlockingQueue<LowStockAlert> queue;
+    private final LowStockAlertSink sink;
+    private final int batchSize;
+    private final Duration linger;
+    private final Thread worker;
+
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public BatchingAlertNotifier(LowStockAlertSink sink, int capacity, int batchSize, Duration linger) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.worker = new Thread(this::drainLoop, "low-stock-notifier");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues an alert for delivery. Never blocks.
+     *
+     * @return false if the queue was full and the alert was dropped
+     */
+    public boolean notify(LowStockAlert alert) {
+        if (queue.offer(alert)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Stops the worker after delivering what is already queued.
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(linger.toMillis() + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<LowStockAlert> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LowStockAlert first = queue.poll(linger.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + linger.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    LowStockAlert next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<LowStockAlert> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sink.deliver(List.copyOf(batch));
+            delivered.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+        } finally {
+            batch.clear();
+        }
+    }
+
+    // ===== Metrics =====
+    public long getDelivered() { return delivered.get(); }
+    public long getDropped() { return dropped.get(); }
+    public long getFailedBatches() { return failedBatches.get(); }
+    public int getQueued() { return queue.size(); }
+}
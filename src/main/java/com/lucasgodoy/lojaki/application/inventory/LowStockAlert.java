@@ -0,0 +1,40 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Raised once when an item's stock falls to or below its store's threshold.
+ */
+public final class LowStockAlert {
+
+    private final UUID storeId;
+    private final UUID itemId;
+    private final UUID productId;
+    private final int stock;
+    private final int threshold;
+    private final Instant raisedAt;
+
+    public LowStockAlert(UUID storeId, UUID itemId, UUID productId, int stock, int threshold, Instant raisedAt) {
+        this.storeId = storeId;
+        this.itemId = itemId;
+        this.productId = productId;
+        this.stock = stock;
+        this.threshold = threshold;
+        this.raisedAt = raisedAt;
+    }
+
+    // ===== Getters =====
+    public UUID getStoreId() { return storeId; }
+    public UUID getItemId() { return itemId; }
+    public UUID getProductId() { return productId; }
+    public int getStock() { return stock; }
+    public int getThreshold() { return threshold; }
+    public Instant getRaisedAt() { return raisedAt; }
+    public boolean isOutOfStock() { return stock == 0; }
+
+    @Override
+    public String toString() {
+        return "LowStockAlert{store=" + storeId + ", item=" + itemId + ", stock=" + stock + "/" + threshold + "}";
+    }
+}
@@ -0,0 +1,13 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+import java.util.List;
+
+/**
+ * Final destination of low-stock alerts (e-mail, webhook, dashboard...).
+ * Called from the notifier's background thread, never from checkout.
+ */
+public interface LowStockAlertSink {
+
+    // Delivers a batch of alerts
+    void deliver(List<LowStockAlert> alerts);
+}
@@ -0,0 +1,86 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detects low-stock crossings as stock changes happen.
+ *
+ * Each change is evaluated in O(1): one threshold lookup and at most one
+ * set update. An item alerts once when it becomes low and stays silent
+ * until it recovers past the hysteresis band (see {@link LowStockThreshold}).
+ * Only items currently in the alerted state are kept in memory.
+ */
+public class LowStockMonitor {
+
+    private final BatchingAlertNotifier notifier;
+    private final Clock clock;
+
+    /** Threshold used by stores without their own configuration */
+    private volatile LowStockThreshold defaultThreshold;
+
+    private final Map<UUID, LowStockThreshold> storeThresholds = new ConcurrentHashMap<>();
+
+    /** Items that already alerted and have not recovered yet */
+    private final Set<UUID> alertedItems = ConcurrentHashMap.newKeySet();
+
+    public LowStockMonitor(BatchingAlertNotifier notifier, LowStockThreshold defaultThreshold, Clock clock) {
+        this.notifier = notifier;
+        this.defaultThreshold = defaultThreshold;
+        this.clock = clock;
+    }
+
+    // ===== Configuration =====
+
+    // Sets the threshold of a store
+    public void configure(UUID storeId, LowStockThreshold threshold) {
+        storeThresholds.put(storeId, threshold);
+    }
+
+    // Removes a store's threshold, falling back to the default
+    public void reset(UUID storeId) {
+        storeThresholds.remove(storeId);
+    }
+
+    public void setDefaultThreshold(LowStockThreshold defaultThreshold) {
+        this.defaultThreshold = defaultThreshold;
+    }
+
+    public LowStockThreshold thresholdOf(UUID storeId) {
+        return storeThresholds.getOrDefault(storeId, defaultThreshold);
+    }
+
+    // ===== Evaluation =====
+
+    /**
+     * Evaluates one stock change.
+     *
+     * @param storeId   store owning the item
+     * @param itemId    changed item (StoreItem or Product ID)
+     * @param productId product of the item
+     * @param newStock  stock after the change
+     */
+    public void onStockChanged(UUID storeId, UUID itemId, UUID productId, int newStock) {
+        LowStockThreshold threshold = thresholdOf(storeId);
+        if (threshold.isLow(newStock)) {
+            if (alertedItems.add(itemId)) {
+                notifier.notify(new LowStockAlert(storeId, itemId, productId, newStock,
+                        threshold.getLevel(), clock.instant()));
+            }
+        } else if (threshold.isRecovered(newStock)) {
+            alertedItems.remove(itemId);
+        }
+    }
+
+    // Forgets an item (e.g. deleted), so it can alert again if re-created
+    public void forget(UUID itemId) {
+        alertedItems.remove(itemId);
+    }
+
+    public int getAlertedItemCount() {
+        return alertedItems.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+/**
+ * Low-stock configuration of a store.
+ *
+ * An alert fires when stock drops to {@code level} or below, and the item
+ * is re-armed only once stock climbs back to {@code level + hysteresis},
+ * so stock bouncing around the level does not produce a stream of alerts.
+ */
+public final class LowStockThreshold {
+
+    private final int level;
+    private final int hysteresis;
+
+    public LowStockThreshold(int level, int hysteresis) {
+        if (level < 0) {
+            throw new IllegalArgumentException("Threshold level must be >= 0");
+        }
+        if (hysteresis < 1) {
+            throw new IllegalArgumentException("Hysteresis must be at least 1");
+        }
+        this.level = level;
+        this.hysteresis = hysteresis;
+    }
+
+    // Checks whether the stock is at or below the alert level
+    public boolean isLow(int stock) {
+        return stock <= level;
+    }
+
+    // Checks whether the stock recovered enough to re-arm the alert
+    public boolean isRecovered(int stock) {
+        return stock >= level + hysteresis;
+    }
+
+    // ===== Getters =====
+    public int getLevel() { return level; }
+    public int getHysteresis() { return hysteresis; }
+}
@@ -0,0 +1,72 @@
+package com.lucasgodoy.lojaki.application.pricing;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Starts and ends due promotions periodically in the background.
+ *
+ * Each tick ends expired promotions before starting new ones, so a
+ * promotion that replaces another on the same items sees the original
+ * prices. Failed ticks are counted and retried on the next tick.
+ */
+public class PromotionScheduler {
+
+    private final RepricingService repricingService;
+    private final Duration interval;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "promotion-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // ===== Metrics =====
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong ended = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+
+    public PromotionScheduler(RepricingService repricingService, Duration interval) {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.repricingService = repricingService;
+        this.interval = interval;
+    }
+
+    // ===== Lifecycle =====
+
+    /** Starts periodic promotion checks */
+    public void start() {
+        executor.scheduleWithFixedDelay(this::runSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops periodic promotion checks */
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // ===== Operations =====
+
+    /** Ends and starts due promotions immediately on the caller's thread */
+    public void runNow() {
+        ended.addAndGet(repricingService.endDuePromotions().size());
+        started.addAndGet(repricingService.activateDuePromotions().size());
+    }
+
+    private void runSafely() {
+        try {
+            runNow();
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+        }
+    }
+
+    // ===== Getters =====
+    public long getStarted() { return started.get(); }
+    public long getEnded() { return ended.get(); }
+    public long getFailedRuns() { return failedRuns.get(); }
+}
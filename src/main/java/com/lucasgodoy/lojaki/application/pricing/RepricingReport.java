@@ -0,0 +1,13 @@
+package com.lucasgodoy.lojaki.application.pricing;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Outcome of one repricing run or promotion transition.
+ *
+ * @param changeId     ID recorded on the price history rows of the run
+ * @param changedItems number of store item prices changed
+ * @param duration     wall-clock time of the run
+ */
+public record RepricingReport(UUID changeId, long changedItems, Duration duration) { }
@@ -0,0 +1,105 @@
+package com.lucasgodoy.lojaki.application.pricing;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.repository.PromotionRepository;
+import com.lucasgodoy.lojaki.domain.repository.RepricingRepository;
+import com.lucasgodoy.lojaki.domain.store.model.PriceChangeReason;
+import com.lucasgodoy.lojaki.domain.store.model.PriceRule;
+import com.lucasgodoy.lojaki.domain.store.model.Promotion;
+import com.lucasgodoy.lojaki.domain.store.model.PromotionStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+// Service layer for bulk repricing and scheduled promotions
+public class RepricingService {
+
+    private final RepricingRepository repricingRepository;
+    private final PromotionRepository promotionRepository;
+    private final CatalogSnapshots catalogSnapshots;
+    private final AfterCommit afterCommit;
+    private final Clock clock;
+
+    public RepricingService(RepricingRepository repricingRepository,
+                            PromotionRepository promotionRepository,
+                            CatalogSnapshots catalogSnapshots,
+                            AfterCommit afterCommit,
+                            Clock clock) {
+        this.repricingRepository = repricingRepository;
+        this.promotionRepository = promotionRepository;
+        this.catalogSnapshots = catalogSnapshots;
+        this.afterCommit = afterCommit;
+        this.clock = clock;
+    }
+
+    // Permanently applies a rule to the matching items of a store
+    public RepricingReport reprice(UUID storeId, PriceRule rule) {
+        return run(storeId, UUID.randomUUID(), () -> repricingRepository.applyRule(
+                storeId, rule, null, PriceChangeReason.RULE, Instant.now(clock)));
+    }
+
+    // Schedules a promotion; it is applied and reverted by activateDuePromotions/endDuePromotions
+    public Promotion schedulePromotion(UUID storeId, PriceRule rule, Instant startsAt, Instant endsAt) {
+        if (!endsAt.isAfter(Instant.now(clock))) {
+            throw new DomainException("Promotion must end in the future");
+        }
+        Promotion promotion = Promotion.schedule(storeId, rule, startsAt, endsAt);
+        promotionRepository.save(promotion);
+        return promotion;
+    }
+
+    // Cancels a promotion that has not started yet
+    public boolean cancelPromotion(Promotion promotion) {
+        promotion.cancel();
+        return promotionRepository.transition(promotion, PromotionStatus.SCHEDULED, PromotionStatus.CANCELLED);
+    }
+
+    // Applies every promotion whose start is due. A promotion is claimed before its prices are
+    // written, so concurrent runs never apply it twice; if applying fails half-way, ending it
+    // still reverts the chunks that were written.
+    public List<RepricingReport> activateDuePromotions() {
+        Instant now = Instant.now(clock);
+        List<RepricingReport> reports = new ArrayList<>();
+        for (Promotion promotion : promotionRepository.findDueToStart(now)) {
+            if (!promotionRepository.transition(promotion, PromotionStatus.SCHEDULED, PromotionStatus.ACTIVE)) {
+                continue;
+            }
+            reports.add(run(promotion.getStoreId(), promotion.getId(), () -> repricingRepository.applyRule(
+                    promotion.getStoreId(), promotion.getRule(), promotion.getId(),
+                    PriceChangeReason.PROMOTION_START, now)));
+        }
+        return reports;
+    }
+
+    // Reverts every promotion whose end is due
+    public List<RepricingReport> endDuePromotions() {
+        Instant now = Instant.now(clock);
+        List<RepricingReport> reports = new ArrayList<>();
+        for (Promotion promotion : promotionRepository.findDueToEnd(now)) {
+            if (!promotionRepository.transition(promotion, PromotionStatus.ACTIVE, PromotionStatus.ENDED)) {
+                continue;
+            }
+            reports.add(run(promotion.getStoreId(), promotion.getId(), () -> repricingRepository.revertChange(
+                    promotion.getId(), PriceChangeReason.PROMOTION_START, PriceChangeReason.PROMOTION_END, now)));
+        }
+        return reports;
+    }
+
+    // Set-based price changes cannot be applied to the catalog snapshot item by item; the store is rebuilt,
+    // after the caller's transaction commits when the chunks ran inside one
+    private RepricingReport run(UUID storeId, UUID changeId, LongSupplier work) {
+        long started = System.nanoTime();
+        long changed = work.getAsLong();
+        if (changed > 0) {
+            afterCommit.run(() -> catalogSnapshots.invalidate(storeId));
+        }
+        return new RepricingReport(changeId, changed, Duration.ofNanos(System.nanoTime() - started));
+    }
+}
@@ -0,0 +1,127 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.application.cart.CartCheckout;
+import com.lucasgodoy.lojaki.application.cart.CartLine;
+import com.lucasgodoy.lojaki.application.cart.CartView;
+import com.lucasgodoy.lojaki.application.cart.Carts;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Service layer for shopping carts; carts live in memory, checkout turns one into an order
+public class CartService {
+
+    private final Carts carts;
+    private final StoreItemRepository storeItemRepository;
+    private final OrderService orderService;
+    private final AfterCommit afterCommit;
+
+    public CartService(Carts carts, StoreItemRepository storeItemRepository, OrderService orderService,
+                       AfterCommit afterCommit) {
+        this.carts = carts;
+        this.storeItemRepository = storeItemRepository;
+        this.orderService = orderService;
+        this.afterCommit = afterCommit;
+    }
+
+    // Finds a cart, revalidated against the store's catalog; null if there is none
+    public CartView getCart(String cartId) {
+        return carts.get(cartId);
+    }
+
+    // Adds units of a store item, creating the cart on first use
+    public CartView addItem(String cartId, UUID storeId, UUID storeItemId, int quantity) {
+        return carts.add(cartId, storeId, storeItemId, quantity);
+    }
+
+    // Sets the quantity of an item in the cart; 0 removes it
+    public CartView setQuantity(String cartId, UUID storeItemId, int quantity) {
+        return carts.setQuantity(cartId, storeItemId, quantity);
+    }
+
+    // Removes an item from the cart
+    public CartView removeItem(String cartId, UUID storeItemId) {
+        return carts.remove(cartId, storeItemId);
+    }
+
+    // Empties a cart
+    public void clearCart(String cartId) {
+        carts.clear(cartId);
+    }
+
+    /*
+     * Places an order for a cart. The cart is checked against the catalog,
+     * then against the store items in the database; any issue (price change,
+     * missing item or stock) rejects the checkout and returns the cart with
+     * its issues, already repriced, for the customer to review. A placed cart
+     * is cleared once the order commits. With an idempotency key, retries
+     * return the first order. The cart is claimed for the whole checkout, so
+     * a concurrent checkout of the same cart is rejected instead of placing a
+     * second order.
+     */
+    public CartCheckout checkout(String cartId, User user, String idempotencyKey) {
+        CartView cart = carts.claimForCheckout(cartId);
+        if (cart == null) {
+            throw new DomainException("Cart is empty");
+        }
+        boolean placed = false;
+        try {
+            CartCheckout checkout = placeOrder(cartId, cart, user, idempotencyKey);
+            placed = checkout.isPlaced();
+            return checkout;
+        } finally {
+            // A rejected cart can be changed and checked out again; a placed one stays claimed until its order ends
+            if (!placed) {
+                carts.releaseCheckout(cartId);
+            }
+        }
+    }
+
+    private CartCheckout placeOrder(String cartId, CartView cart, User user, String idempotencyKey) {
+        if (cart.isEmpty()) {
+            throw new DomainException("Cart is empty");
+        }
+        if (cart.hasIssues()) {
+            return CartCheckout.rejected(cart);
+        }
+        // Order validation reuses the items read here: one store item query for the whole checkout
+        StoreItemLookup lookup = new StoreItemLookup(storeItemRepository, cart.storeId());
+        List<StoreItem> storeItems = lookup.loadByIds(cart.storeItemIds());
+        cart = carts.reconcile(cartId, storeItems);
+        if (cart == null || cart.isEmpty()) {
+            throw new DomainException("Cart is empty");
+        }
+        if (cart.hasIssues()) {
+            return CartCheckout.rejected(cart);
+        }
+
+        Map<UUID, StoreItem> byId = storeItems.stream()
+                .collect(Collectors.toMap(StoreItem::getId, Function.identity()));
+        List<OrderItem> items = new ArrayList<>(cart.lines().size());
+        for (CartLine line : cart.lines()) {
+            StoreItem storeItem = byId.get(line.storeItemId());
+            items.add(OrderItem.create(storeItem.getProduct(), line.quantity(), storeItem.getPrice()));
+        }
+        Order order = Order.create(byId.get(cart.lines().get(0).storeItemId()).getStore(), user, items);
+        UUID orderId;
+        if (idempotencyKey == null) {
+            orderService.createOrder(order, lookup);
+            orderId = order.getId();
+        } else {
+            orderId = orderService.createOrder(idempotencyKey, order, lookup);
+        }
+        // Cleared once the order is committed; if it rolls back, the cart is kept and can be checked out again
+        afterCommit.run(() -> carts.clear(cartId), () -> carts.releaseCheckout(cartId));
+        return CartCheckout.placed(orderId, cart);
+    }
+}
@@ -0,0 +1,53 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.domain.product.model.CategoryView;
+import com.lucasgodoy.lojaki.domain.product.model.ProductView;
+import com.lucasgodoy.lojaki.domain.repository.CatalogReadRepository;
+import com.lucasgodoy.lojaki.domain.store.model.BrandView;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItemView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// Service layer for non-blocking catalog reads; runs beside the blocking services and never writes
+public class CatalogReadService {
+
+    /** Rows requested from the repository at a time when streaming a listing */
+    private static final int STREAM_BATCH = 256;
+
+    private final CatalogReadRepository catalogReadRepository;
+
+    public CatalogReadService(CatalogReadRepository catalogReadRepository) {
+        this.catalogReadRepository = catalogReadRepository;
+    }
+
+    /*
+     * Streams a store's sellable items. Demand is passed upstream in batches
+     * whatever the subscriber asks for, so a slow client holds at most a
+     * batch or two of rows in memory, and the query pauses while it catches up.
+     */
+    public Flux<StoreItemView> streamStoreItems(UUID storeId) {
+        return catalogReadRepository.streamStoreItems(storeId).limitRate(STREAM_BATCH);
+    }
+
+    // Finds the current price and stock of a store item
+    public Mono<StoreItemView> getStoreItem(UUID storeItemId) {
+        return catalogReadRepository.findStoreItem(storeItemId);
+    }
+
+    // Finds a product by ID
+    public Mono<ProductView> getProduct(UUID productId) {
+        return catalogReadRepository.findProduct(productId);
+    }
+
+    // Lists a store's categories, parents first
+    public Flux<CategoryView> listCategories(UUID storeId) {
+        return catalogReadRepository.findCategories(storeId);
+    }
+
+    // Lists a store's brands
+    public Flux<BrandView> listBrands(UUID storeId) {
+        return catalogReadRepository.findBrands(storeId);
+    }
+}
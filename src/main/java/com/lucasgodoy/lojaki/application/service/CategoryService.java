@@ -1,32 +1,86 @@
 package com.lucasgodoy.lojaki.application.service;
 
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.category.CategoryTree;
+import com.lucasgodoy.lojaki.application.category.CategoryTrees;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
 import com.lucasgodoy.lojaki.domain.product.model.Category;
 import com.lucasgodoy.lojaki.domain.repository.CategoryRepository;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 // Service layer for Category entity
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CatalogSnapshots catalogSnapshots;
+    private final CategoryTrees categoryTrees;
+    private final AfterCommit afterCommit;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, CatalogSnapshots catalogSnapshots,
+                           CategoryTrees categoryTrees, AfterCommit afterCommit) {
         this.categoryRepository = categoryRepository;
+        this.catalogSnapshots = catalogSnapshots;
+        this.categoryTrees = categoryTrees;
+        this.afterCommit = afterCommit;
     }
 
     // Creates a new category
     public void createCategory(Category category) {
         categoryRepository.save(category);
+        afterCommit.run(() -> categoryTrees.invalidate(category.getStore().getId()));
     }
 
     // Updates an existing category
     public void updateCategory(Category category) {
         categoryRepository.save(category);
+        // In-memory views change only once the category is committed, so a rollback never shows
+        afterCommit.run(() -> {
+            catalogSnapshots.onCategoryChanged(category);
+            categoryTrees.invalidate(category.getStore().getId());
+        });
+    }
+
+    // Moves a category, with its whole subtree, under another parent (null makes it a root) and returns it
+    // as moved. The category and the new parent's path are locked and re-read first, so the cycle and depth
+    // checks see committed paths that no concurrent move can change until this one commits.
+    public Category moveCategory(Category category, Category newParent) {
+        UUID storeId = category.getStore().getId();
+        Set<UUID> lockedIds = new HashSet<>();
+        lockedIds.add(category.getId());
+        Category moved;
+        Category parent;
+        do {
+            if (newParent != null) {
+                lockedIds.addAll(newParent.getPathIds());
+            }
+            Map<UUID, Category> locked = new HashMap<>();
+            categoryRepository.lockAll(lockedIds).forEach(c -> locked.put(c.getId(), c));
+            moved = locked.get(category.getId());
+            parent = newParent == null ? null : locked.get(newParent.getId());
+            if (moved == null || (newParent != null && parent == null)) {
+                throw new DomainException("Category not found");
+            }
+            // The parent was moved since it was read: lock its current path as well
+            newParent = parent;
+        } while (parent != null && !lockedIds.containsAll(parent.getPathIds()));
+
+        String oldPath = moved.getPath();
+        moved.moveTo(parent, categoryRepository.subtreeHeight(moved));
+        categoryRepository.moveSubtree(moved, oldPath);
+        afterCommit.run(() -> categoryTrees.invalidate(storeId));
+        return moved;
     }
 
     // Deletes a category
     public void deleteCategory(Category category) {
         categoryRepository.delete(category);
+        afterCommit.run(() -> categoryTrees.invalidate(category.getStore().getId()));
     }
 
     // Finds a category by ID
@@ -38,4 +92,14 @@ public class CategoryService {
     public List<Category> listAllCategories() {
         return categoryRepository.findAll();
     }
+
+    // Category tree of a store, served from memory once loaded
+    public CategoryTree getCategoryTree(UUID storeId) {
+        return categoryTrees.tree(storeId);
+    }
+
+    // A category followed by all its descendants, served from memory once loaded
+    public List<Category> getSubtree(UUID storeId, UUID categoryId) {
+        return categoryTrees.tree(storeId).subtree(categoryId);
+    }
 }
@@ -0,0 +1,32 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.application.audience.StoreMembershipIndex;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.customer.model.Customer;
+import com.lucasgodoy.lojaki.domain.customer.model.CustomerStore;
+import com.lucasgodoy.lojaki.domain.repository.CustomerStoreRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+
+// Service layer for CustomerStore associations
+public class CustomerStoreService {
+
+    private final CustomerStoreRepository customerStoreRepository;
+    private final StoreMembershipIndex membershipIndex;
+    private final AfterCommit afterCommit;
+
+    public CustomerStoreService(CustomerStoreRepository customerStoreRepository,
+                                StoreMembershipIndex membershipIndex,
+                                AfterCommit afterCommit) {
+        this.customerStoreRepository = customerStoreRepository;
+        this.membershipIndex = membershipIndex;
+        this.afterCommit = afterCommit;
+    }
+
+    // Links a customer to a store; the audience index only sees the link once it is committed
+    public CustomerStore linkCustomer(Customer customer, Store store) {
+        CustomerStore customerStore = CustomerStore.create(customer, store);
+        customerStoreRepository.save(customerStore);
+        afterCommit.run(() -> membershipIndex.add(store.getId(), customer.getId()));
+        return customerStore;
+    }
+}
@@ -0,0 +1,94 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.diagnostics.StockChangeEvent;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.application.inventory.LowStockMonitor;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.repository.ProductRepository;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.util.UUID;
+
+// Service layer for stock changes; feeds low-stock detection and the catalog snapshots
+public class InventoryService {
+
+    private final StoreItemRepository storeItemRepository;
+    private final ProductRepository productRepository;
+    private final LowStockMonitor lowStockMonitor;
+    private final CatalogSnapshots catalogSnapshots;
+    private final AfterCommit afterCommit;
+
+    public InventoryService(StoreItemRepository storeItemRepository,
+                            ProductRepository productRepository,
+                            LowStockMonitor lowStockMonitor,
+                            CatalogSnapshots catalogSnapshots,
+                            AfterCommit afterCommit) {
+        this.storeItemRepository = storeItemRepository;
+        this.productRepository = productRepository;
+        this.lowStockMonitor = lowStockMonitor;
+        this.catalogSnapshots = catalogSnapshots;
+        this.afterCommit = afterCommit;
+    }
+
+    // Adjusts the stock of a store item by a positive or negative delta
+    public void adjustStock(StoreItem storeItem, int delta) {
+        StockChangeEvent event = new StockChangeEvent();
+        event.begin();
+        try {
+            storeItem.adjustStock(delta);
+            storeItemRepository.save(storeItem);
+            event.succeeded();
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.target = "StoreItem";
+                event.storeId = storeItem.getStore().getId().toString();
+                event.targetId = storeItem.getId().toString();
+                event.delta = delta;
+                event.resultingStock = storeItem.getStock();
+                event.commit();
+            }
+        }
+        // Alerts and snapshot readers see the new stock only once it is committed
+        UUID storeId = storeItem.getStore().getId();
+        int stock = storeItem.getStock();
+        afterCommit.run(() -> {
+            lowStockMonitor.onStockChanged(storeId, storeItem.getId(), storeItem.getProduct().getId(), stock);
+            catalogSnapshots.onStoreItemChanged(storeItem);
+        });
+    }
+
+    // Decreases the stock of a product after a sale
+    public void decreaseStock(Product product, int quantity) {
+        StockChangeEvent event = new StockChangeEvent();
+        event.begin();
+        try {
+            product.decreaseStock(quantity);
+            productRepository.save(product);
+            event.succeeded();
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            if (event.shouldCommit()) {
+                event.target = "Product";
+                event.storeId = product.getStore() == null ? null : product.getStore().getId().toString();
+                event.targetId = product.getId().toString();
+                event.delta = -quantity;
+                event.resultingStock = product.getStock();
+                event.commit();
+            }
+        }
+        // Stock is watched per store; a product outside any store has no threshold to cross
+        if (product.getStore() == null) {
+            return;
+        }
+        UUID storeId = product.getStore().getId();
+        int stock = product.getStock();
+        afterCommit.run(() -> lowStockMonitor.onStockChanged(storeId, product.getId(), product.getId(), stock));
+    }
+}
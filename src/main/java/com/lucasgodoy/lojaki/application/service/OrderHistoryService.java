@@ -0,0 +1,41 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.domain.order.model.OrderHistoryCursor;
+import com.lucasgodoy.lojaki.domain.order.model.OrderHistoryPage;
+import com.lucasgodoy.lojaki.domain.order.model.OrderSummary;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.domain.repository.OrderSummaryRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+// Service layer for a user's order history ("my orders"), paged with keyset cursors
+public class OrderHistoryService {
+
+    /** Largest page a client can ask for */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderSummaryRepository orderSummaryRepository;
+
+    public OrderHistoryService(OrderSummaryRepository orderSummaryRepository) {
+        this.orderSummaryRepository = orderSummaryRepository;
+    }
+
+    // Returns one page of a user's orders, newest first; pass the previous page's nextCursor to continue
+    public OrderHistoryPage listUserOrders(UUID userId, UUID storeId, Status status, String cursor, int pageSize) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User is required");
+        }
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // One extra row tells whether another page exists without a count query
+        List<OrderSummary> rows = orderSummaryRepository.findUserHistory(
+                userId, storeId, status, OrderHistoryCursor.decode(cursor), pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new OrderHistoryPage(rows, null);
+        }
+        List<OrderSummary> page = rows.subList(0, pageSize);
+        return new OrderHistoryPage(page, OrderHistoryCursor.after(page.get(pageSize - 1)).encode());
+    }
+}
@@ -0,0 +1,57 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of validating every line of an order against the store's items.
+ */
+public class OrderLineReport {
+
+    /**
+     * What is wrong with one line.
+     */
+    public enum Problem {
+        NOT_SOLD,           // The store has no item for the product
+        UNAVAILABLE,        // The item or its product is inactive or deleted
+        PRICE_CHANGED,      // The line's price differs from the item's current price
+        INSUFFICIENT_STOCK  // Lines of the product ask for more than the stock
+    }
+
+    /**
+     * An invalid line; a line with several problems appears once per problem.
+     *
+     * @param index        position of the line in the order
+     * @param currentPrice the item's price, null if NOT_SOLD
+     * @param stock        the item's stock, 0 if NOT_SOLD
+     */
+    public record InvalidLine(int index, UUID productId, Problem problem, int quantity, BigDecimal price,
+                              BigDecimal currentPrice, int stock) { }
+
+    private final int lineCount;
+    private final List<InvalidLine> invalidLines = new ArrayList<>();
+
+    public OrderLineReport(int lineCount) {
+        this.lineCount = lineCount;
+    }
+
+    void record(InvalidLine line) {
+        invalidLines.add(line);
+    }
+
+    public boolean isValid() {
+        return invalidLines.isEmpty();
+    }
+
+    /** Lines with at least one problem */
+    public int getInvalidLineCount() {
+        return (int) invalidLines.stream().mapToInt(InvalidLine::index).distinct().count();
+    }
+
+    // ===== Getters =====
+    public int getLineCount() { return lineCount; }
+    public List<InvalidLine> getInvalidLines() { return Collections.unmodifiableList(invalidLines); }
+}
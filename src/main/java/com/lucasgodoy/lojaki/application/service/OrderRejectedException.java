@@ -0,0 +1,22 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+
+/**
+ * Thrown when an order has invalid lines; the report lists all of them.
+ */
+public class OrderRejectedException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient OrderLineReport report;
+
+    public OrderRejectedException(OrderLineReport report) {
+        super(report.getInvalidLineCount() + " of " + report.getLineCount() + " order lines are invalid");
+        this.report = report;
+    }
+
+    public OrderLineReport getReport() {
+        return report;
+    }
+}
@@ -1,27 +1,193 @@
 package com.lucasgodoy.lojaki.application.service;
 
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.application.diagnostics.OrderCreateEvent;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.application.event.OrderEventPublisher;
+import com.lucasgodoy.lojaki.application.idempotency.IdempotencyStore;
+import com.lucasgodoy.lojaki.application.service.OrderLineReport.InvalidLine;
+import com.lucasgodoy.lojaki.application.service.OrderLineReport.Problem;
+import com.lucasgodoy.lojaki.application.service.OrderTransitionReport.Outcome;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
 import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.order.model.OrderStatusView;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
 import com.lucasgodoy.lojaki.domain.repository.OrderRepository;
+import com.lucasgodoy.lojaki.domain.repository.OrderStatusRepository;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 // Service layer for Order entity
 public class OrderService {
 
     private final OrderRepository orderRepository;
+    private final OrderStatusRepository orderStatusRepository;
+    private final IdempotencyStore idempotencyStore;
+    private final OrderEventPublisher eventPublisher;
+    private final StoreItemRepository storeItemRepository;
+    private final AfterCommit afterCommit;
 
-    public OrderService(OrderRepository orderRepository) {
+    public OrderService(OrderRepository orderRepository,
+                        OrderStatusRepository orderStatusRepository,
+                        IdempotencyStore idempotencyStore,
+                        OrderEventPublisher eventPublisher,
+                        StoreItemRepository storeItemRepository,
+                        AfterCommit afterCommit) {
         this.orderRepository = orderRepository;
+        this.orderStatusRepository = orderStatusRepository;
+        this.idempotencyStore = idempotencyStore;
+        this.eventPublisher = eventPublisher;
+        this.storeItemRepository = storeItemRepository;
+        this.afterCommit = afterCommit;
     }
 
-    // Creates a new order
+    // Creates a new order; throws OrderRejectedException listing every invalid line
     public void createOrder(Order order) {
-        orderRepository.save(order);
+        createOrder(order, new StoreItemLookup(storeItemRepository, order.getStore().getId()));
+    }
+
+    // Creates a new order, validated against store items already read for this request
+    void createOrder(Order order, StoreItemLookup lookup) {
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+        try {
+            requireValid(order, lookup);
+            save(order);
+            event.succeeded();
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            commit(event, order, false);
+        }
+    }
+
+    // Creates a new order once per idempotency key; retries get the first order's ID
+    public UUID createOrder(String idempotencyKey, Order order) {
+        return createOrder(idempotencyKey, order, new StoreItemLookup(storeItemRepository, order.getStore().getId()));
+    }
+
+    // Same, validated against store items already read for this request
+    UUID createOrder(String idempotencyKey, Order order, StoreItemLookup lookup) {
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+        try {
+            UUID id = idempotencyStore.execute(idempotencyScope(order), idempotencyKey, order.getId(), () -> {
+                requireValid(order, lookup);
+                save(order);
+            });
+            event.succeeded();
+            return id;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            commit(event, order, true);
+        }
+    }
+
+    // Keys are per user and store: the same key sent by two clients is two requests
+    private static String idempotencyScope(Order order) {
+        return "order:" + order.getUser().getId() + ":" + order.getStore().getId();
+    }
+
+    /**
+     * Checks every line of an order against the store's items: the store
+     * must sell the product, the item must be sellable, the line's price
+     * must be the current one and the stock must cover the quantity (summed
+     * over lines of the same product). All items are read in one batched
+     * lookup, whatever the number of lines, and every problem of every line
+     * is reported.
+     */
+    public OrderLineReport validateOrder(Order order) {
+        return validate(order, new StoreItemLookup(storeItemRepository, order.getStore().getId()));
     }
 
     // Updates an existing order
     public void updateOrder(Order order) {
-        orderRepository.save(order);
+        save(order);
+    }
+
+    // Moves an order to a new status, following the transition table
+    public void changeStatus(UUID id, Status status) {
+        Order order = getOrderById(id);
+        order.setStatus(status);
+        save(order);
+    }
+
+    // Cancels an order
+    public void cancelOrder(UUID id) {
+        Order order = getOrderById(id);
+        order.cancel();
+        save(order);
+    }
+
+    /**
+     * Moves many orders to the target status at once.
+     *
+     * Current statuses are read in one query, every transition is validated
+     * against the table in Status, then one UPDATE per source status applies
+     * the change (guarded by the source status, so concurrent changes are
+     * detected instead of overwritten). Cancellation is not supported here:
+     * Order.cancel() also clears the active flag, which this UPDATE does not
+     * touch, so cancelling must go through cancelOrder.
+     */
+    public OrderTransitionReport transitionStatus(Collection<UUID> ids, Status target) {
+        if (target == null) {
+            throw new DomainException("Target status is required");
+        }
+        if (target == Status.CANCELLED) {
+            throw new DomainException("Orders must be cancelled one by one");
+        }
+
+        Set<UUID> orderIds = new LinkedHashSet<>(ids);
+        OrderTransitionReport report = new OrderTransitionReport(target);
+        Map<UUID, OrderStatusView> current = orderStatusRepository.findStatuses(orderIds);
+        Map<Status, List<UUID>> bySource = new EnumMap<>(Status.class);
+
+        for (UUID id : orderIds) {
+            OrderStatusView view = current.get(id);
+            if (view == null) {
+                report.record(id, Outcome.NOT_FOUND);
+            } else if (view.getStatus() == target) {
+                report.record(id, Outcome.UNCHANGED);
+            } else if (!view.getStatus().canTransitionTo(target)) {
+                report.record(id, Outcome.INVALID_TRANSITION);
+            } else {
+                bySource.computeIfAbsent(view.getStatus(), s -> new ArrayList<>()).add(id);
+            }
+        }
+
+        Instant now = Instant.now();
+        List<OrderLifecycleEvent> events = new ArrayList<>();
+        bySource.forEach((source, sourceIds) -> {
+            Set<UUID> updated = orderStatusRepository.updateStatus(sourceIds, source, target, now);
+            for (UUID id : sourceIds) {
+                if (updated.contains(id)) {
+                    OrderStatusView view = current.get(id);
+                    report.record(id, Outcome.TRANSITIONED);
+                    events.add(OrderLifecycleEvent.statusChanged(
+                            id, view.getStoreId(), view.getUserId(), source, target, now));
+                } else {
+                    report.record(id, Outcome.CONCURRENTLY_MODIFIED);
+                }
+            }
+        });
+
+        publishAfterCommit(events);
+        return report;
     }
 
     // Deletes an order
@@ -38,4 +204,73 @@ public class OrderService {
     public List<Order> listAllOrders() {
         return orderRepository.findAll();
     }
+
+    private static void commit(OrderCreateEvent event, Order order, boolean idempotent) {
+        if (event.shouldCommit()) {
+            event.storeId = order.getStore().getId().toString();
+            event.itemCount = order.getItemCount();
+            event.idempotent = idempotent;
+            event.commit();
+        }
+    }
+
+    private static void requireValid(Order order, StoreItemLookup lookup) {
+        OrderLineReport report = validate(order, lookup);
+        if (!report.isValid()) {
+            throw new OrderRejectedException(report);
+        }
+    }
+
+    private static OrderLineReport validate(Order order, StoreItemLookup lookup) {
+        if (!order.getStore().getId().equals(lookup.getStoreId())) {
+            throw new IllegalArgumentException("Lookup is for another store");
+        }
+        List<OrderItem> items = order.getItems();
+        Map<UUID, Integer> requested = new HashMap<>();
+        for (OrderItem item : items) {
+            requested.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        lookup.loadByProducts(requested.keySet());
+
+        OrderLineReport report = new OrderLineReport(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = items.get(i);
+            UUID productId = item.getProduct().getId();
+            StoreItem storeItem = lookup.findByProduct(productId);
+            if (storeItem == null) {
+                report.record(new InvalidLine(i, productId, Problem.NOT_SOLD, item.getQuantity(), item.getPrice(),
+                        null, 0));
+                continue;
+            }
+            if (!CatalogSnapshot.isVisible(storeItem)) {
+                report.record(invalidLine(i, item, Problem.UNAVAILABLE, storeItem));
+                continue;
+            }
+            if (item.getPrice().compareTo(storeItem.getPrice()) != 0) {
+                report.record(invalidLine(i, item, Problem.PRICE_CHANGED, storeItem));
+            }
+            if (requested.get(productId) > storeItem.getStock()) {
+                report.record(invalidLine(i, item, Problem.INSUFFICIENT_STOCK, storeItem));
+            }
+        }
+        return report;
+    }
+
+    private static InvalidLine invalidLine(int index, OrderItem item, Problem problem, StoreItem storeItem) {
+        return new InvalidLine(index, item.getProduct().getId(), problem, item.getQuantity(), item.getPrice(),
+                storeItem.getPrice(), storeItem.getStock());
+    }
+
+    // Saves an order and publishes the events it recorded
+    private void save(Order order) {
+        orderRepository.save(order);
+        publishAfterCommit(order.pullEvents());
+    }
+
+    // Listeners (the journal among them) must never see a change a rollback undoes
+    private void publishAfterCommit(List<OrderLifecycleEvent> events) {
+        if (!events.isEmpty()) {
+            afterCommit.run(() -> eventPublisher.publish(events));
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-order outcome of a bulk status transition.
+ */
+public class OrderTransitionReport {
+
+    /**
+     * What happened to one order of the batch.
+     */
+    public enum Outcome {
+        TRANSITIONED,        // Status changed to the target
+        UNCHANGED,           // Order was already in the target status
+        NOT_FOUND,           // No order with this ID
+        INVALID_TRANSITION,  // Transition table forbids it from the current status
+        CONCURRENTLY_MODIFIED // Status changed between validation and update
+    }
+
+    private final Status target;
+    private final Map<UUID, Outcome> outcomes = new LinkedHashMap<>();
+
+    public OrderTransitionReport(Status target) {
+        this.target = target;
+    }
+
+    void record(UUID orderId, Outcome outcome) {
+        outcomes.put(orderId, outcome);
+    }
+
+    // ===== Getters =====
+    public Status getTarget() { return target; }
+    public Map<UUID, Outcome> getOutcomes() { return Collections.unmodifiableMap(outcomes); }
+
+    public Outcome getOutcome(UUID orderId) {
+        return outcomes.get(orderId);
+    }
+
+    // Counts orders per outcome
+    public Map<Outcome, Integer> summary() {
+        Map<Outcome, Integer> summary = new EnumMap<>(Outcome.class);
+        outcomes.values().forEach(outcome -> summary.merge(outcome, 1, Integer::sum));
+        return summary;
+    }
+}
@@ -1,16 +1,33 @@
 package com.lucasgodoy.lojaki.application.service;
 
+import com.lucasgodoy.lojaki.application.catalog.CatalogFacets;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.catalog.FacetFilter;
+import com.lucasgodoy.lojaki.application.catalog.FacetPanel;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
 import com.lucasgodoy.lojaki.domain.product.model.Product;
 import com.lucasgodoy.lojaki.domain.repository.ProductRepository;
 import java.util.List;
+import java.util.UUID;
 
 // Service layer for Product entity
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final CatalogSnapshots catalogSnapshots;
+    private final CatalogFacets catalogFacets;
+    private final AfterCommit afterCommit;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository,
+                          CatalogSnapshots catalogSnapshots,
+                          CatalogFacets catalogFacets,
+                          AfterCommit afterCommit) {
         this.productRepository = productRepository;
+        this.catalogSnapshots = catalogSnapshots;
+        this.catalogFacets = catalogFacets;
+        this.afterCommit = afterCommit;
     }
 
     // Creates a new product
@@ -21,11 +38,14 @@ public class ProductService {
     // Updates an existing product
     public void updateProduct(Product product) {
         productRepository.save(product);
+        // The snapshot only shows committed products, so a rollback never reaches readers
+        afterCommit.run(() -> catalogSnapshots.onProductChanged(product));
     }
 
     // Deletes a product
     public void deleteProduct(Product product) {
         productRepository.delete(product);
+        afterCommit.run(() -> catalogSnapshots.onProductDeleted(product));
     }
 
 
@@ -33,4 +53,19 @@ public class ProductService {
     public List<Product> listAllProducts() {
         return productRepository.findAll();
     }
+
+    // Lists the products of a category and all its descendants, in one query
+    public List<Product> listProductsInCategoryTree(Category category) {
+        return productRepository.findByCategoryTree(category);
+    }
+
+    // Catalog of a store, served from memory
+    public CatalogSnapshot getCatalog(UUID storeId) {
+        return catalogSnapshots.snapshot(storeId);
+    }
+
+    // Facet counts of a store listing for the selected filters, served from memory
+    public FacetPanel getFacets(UUID storeId, FacetFilter filter) {
+        return catalogFacets.panel(storeId, filter);
+    }
 }
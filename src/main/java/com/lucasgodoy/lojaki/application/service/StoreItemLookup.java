@@ -0,0 +1,96 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshot;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Store items of one store read during one request, by ID and by product.
+ *
+ * An identity map: each item is read from the database once per request,
+ * and every step of the request (cart reconciliation, line validation)
+ * sees the same instance. Lookups are batched: load asks the repository,
+ * in one call, only for what was never asked before; IDs or products the
+ * store does not have are remembered as misses. Not thread-safe and not
+ * meant to outlive the request, since it never sees later changes.
+ */
+public class StoreItemLookup {
+
+    private final StoreItemRepository storeItemRepository;
+    private final UUID storeId;
+
+    private final Map<UUID, StoreItem> byId = new HashMap<>();
+    private final Map<UUID, StoreItem> byProduct = new HashMap<>();
+    private final Set<UUID> requestedIds = new HashSet<>();
+    private final Set<UUID> requestedProducts = new HashSet<>();
+    private int queries;
+
+    public StoreItemLookup(StoreItemRepository storeItemRepository, UUID storeId) {
+        this.storeItemRepository = storeItemRepository;
+        this.storeId = storeId;
+    }
+
+    // Loads the store items with the given IDs not loaded yet; returns all of them that exist in this store
+    public List<StoreItem> loadByIds(Collection<UUID> ids) {
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            if (requestedIds.add(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            storeItemRepository.findByIds(missing).forEach(this::register);
+            queries++;
+        }
+        List<StoreItem> found = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            StoreItem storeItem = byId.get(id);
+            if (storeItem != null) {
+                found.add(storeItem);
+            }
+        }
+        return found;
+    }
+
+    // Loads the store items of the given products not loaded yet
+    public void loadByProducts(Collection<UUID> productIds) {
+        List<UUID> missing = new ArrayList<>();
+        for (UUID productId : productIds) {
+            if (!byProduct.containsKey(productId) && requestedProducts.add(productId)) {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            storeItemRepository.findByStoreAndProducts(storeId, missing).forEach(this::register);
+            queries++;
+        }
+    }
+
+    // The store item of a product, among those loaded; null if the store does not sell it
+    public StoreItem findByProduct(UUID productId) {
+        return byProduct.get(productId);
+    }
+
+    // Items of another store are ignored; of two items for one product, a sellable one wins
+    private void register(StoreItem storeItem) {
+        if (!storeItem.getStore().getId().equals(storeId)) {
+            return;
+        }
+        byId.putIfAbsent(storeItem.getId(), storeItem);
+        byProduct.merge(storeItem.getProduct().getId(), storeItem,
+                (current, other) -> CatalogSnapshot.isVisible(current) ? current : other);
+    }
+
+    // ===== Getters =====
+    public UUID getStoreId() { return storeId; }
+    public int getQueryCount() { return queries; }
+}
@@ -0,0 +1,77 @@
+package com.lucasgodoy.lojaki.domain.cart.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persisted state of a shopping cart.
+ *
+ * Carts live in memory (see the application's cart store); this is the copy
+ * written behind them, so a cart survives a restart or an eviction. A saved
+ * cart without lines stands for a cart that was cleared or checked out.
+ */
+public final class SavedCart {
+
+    private final String cartId;
+    private final UUID storeId;
+    private final Currency currency;
+    private final List<Line> lines;
+    private final long version;
+    private final Instant updatedAt;
+    private final Instant expiresAt;
+
+    public SavedCart(String cartId, UUID storeId, Currency currency, List<Line> lines, long version,
+                     Instant updatedAt, Instant expiresAt) {
+        this.cartId = cartId;
+        this.storeId = storeId;
+        this.currency = currency;
+        this.lines = List.copyOf(lines);
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Creates the saved state of a cleared cart.
+     */
+    public static SavedCart cleared(String cartId, UUID storeId, Instant at) {
+        return new SavedCart(cartId, storeId, null, List.of(), 0, at, at);
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    // ===== Getters =====
+    public String getCartId() { return cartId; }
+    public UUID getStoreId() { return storeId; }
+    public Currency getCurrency() { return currency; }
+    public List<Line> getLines() { return lines; }
+    public long getVersion() { return version; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+
+    /**
+     * One cart line: the store item, its quantity and the price the customer saw.
+     */
+    public static final class Line {
+
+        private final UUID storeItemId;
+        private final int quantity;
+        private final BigDecimal price;
+
+        public Line(UUID storeItemId, int quantity, BigDecimal price) {
+            this.storeItemId = storeItemId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        // ===== Getters =====
+        public UUID getStoreItemId() { return storeItemId; }
+        public int getQuantity() { return quantity; }
+        public BigDecimal getPrice() { return price; }
+    }
+}
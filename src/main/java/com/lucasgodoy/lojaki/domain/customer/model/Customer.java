@@ -56,14 +56,18 @@ public class Customer {
      */
     private String document;
 
-    // ===== Private Constructor =====
-    private Customer(UUID id,
-                     Store store,
-                     User user,
-                     String firstName,
-                     String lastName,
-                     String phone,
-                     String document) {
+    // ===== Constructor =====
+    /**
+     * Builds a Customer from its full state. Public for the generated persistence
+     * mappers; everything else goes through create() or restore().
+     */
+    public Customer(UUID id,
+                    Store store,
+                    User user,
+                    String firstName,
+                    String lastName,
+                    String phone,
+                    String document) {
 
         validate(store, user, firstName, lastName, phone);
 
@@ -104,6 +108,20 @@ public class Customer {
         );
     }
 
+    /**
+     * Rebuilds a Customer from persisted state. Used by the persistence layer only.
+     */
+    public static Customer restore(UUID id,
+                                   Store store,
+                                   User user,
+                                   String firstName,
+                                   String lastName,
+                                   String phone,
+                                   String document) {
+
+        return new Customer(id, store, user, firstName, lastName, phone, document);
+    }
+
     // ===== Business Methods =====
     /**
      * Updates the customer's profile.
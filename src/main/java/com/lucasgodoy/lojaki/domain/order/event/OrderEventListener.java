@@ -0,0 +1,22 @@
+package com.lucasgodoy.lojaki.domain.order.event;
+
+import java.util.List;
+
+/**
+ * Receives order lifecycle events after they are persisted.
+ *
+ * Listeners that can process several events more cheaply than one by one
+ * (for example with a single set-based statement) override {@link #onEvents}.
+ */
+public interface OrderEventListener {
+
+    // Handles one event
+    void onEvent(OrderLifecycleEvent event);
+
+    // Handles a batch of events, in order
+    default void onEvents(List<OrderLifecycleEvent> events) {
+        for (OrderLifecycleEvent event : events) {
+            onEvent(event);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.lucasgodoy.lojaki.domain.order.event;
+
+/**
+ * Kind of change recorded by an {@link OrderLifecycleEvent}.
+ */
+public enum OrderEventType {
+    CREATED,         // Order placed with its initial items
+    ITEM_ADDED,      // Item appended to an existing order
+    STATUS_CHANGED,  // Status moved along the transition table
+    CANCELLED,       // Order cancelled (items released)
+    COMPLETED        // Order delivered
+}
@@ -0,0 +1,98 @@
+package com.lucasgodoy.lojaki.domain.order.event;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable record of a change to an Order.
+ *
+ * Raised by the Order aggregate itself (see Order#pullEvents) or by
+ * set-based operations that change many orders without loading them.
+ *
+ * - items holds the lines affected by the change: all lines for CREATED
+ *   and CANCELLED, the new line for ITEM_ADDED, empty otherwise
+ * - previousStatus is null for CREATED and ITEM_ADDED
+ * - orderCreatedAt is null for events raised without loading the order
+ */
+public final class OrderLifecycleEvent {
+
+    private final OrderEventType type;
+    private final UUID orderId;
+    private final UUID storeId;
+    private final UUID userId;
+    private final Status previousStatus;
+    private final Status status;
+    private final List<OrderItem> items;
+    private final Instant orderCreatedAt;
+    private final Instant occurredAt;
+
+    private OrderLifecycleEvent(OrderEventType type, UUID orderId, UUID storeId, UUID userId,
+                                Status previousStatus, Status status, List<OrderItem> items,
+                                Instant orderCreatedAt, Instant occurredAt) {
+        this.type = type;
+        this.orderId = orderId;
+        this.storeId = storeId;
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.items = List.copyOf(items);
+        this.orderCreatedAt = orderCreatedAt;
+        this.occurredAt = occurredAt;
+    }
+
+    // ===== Factory Methods =====
+    public static OrderLifecycleEvent created(Order order) {
+        return of(OrderEventType.CREATED, order, null, order.getItems(), order.getCreatedAt());
+    }
+
+    public static OrderLifecycleEvent itemAdded(Order order, OrderItem item) {
+        return of(OrderEventType.ITEM_ADDED, order, null, List.of(item), order.getUpdatedAt());
+    }
+
+    public static OrderLifecycleEvent statusChanged(Order order, Status previousStatus) {
+        OrderEventType type = switch (order.getStatus()) {
+            case CANCELLED -> OrderEventType.CANCELLED;
+            case DELIVERED -> OrderEventType.COMPLETED;
+            default -> OrderEventType.STATUS_CHANGED;
+        };
+        List<OrderItem> items = type == OrderEventType.CANCELLED ? order.getItems() : List.of();
+        return of(type, order, previousStatus, items, order.getUpdatedAt());
+    }
+
+    /**
+     * Creates a status change event for an order that was not loaded
+     * (bulk transitions). Carries no items.
+     */
+    public static OrderLifecycleEvent statusChanged(UUID orderId, UUID storeId, UUID userId,
+                                                    Status previousStatus, Status status, Instant occurredAt) {
+        OrderEventType type = status == Status.DELIVERED ? OrderEventType.COMPLETED : OrderEventType.STATUS_CHANGED;
+        return new OrderLifecycleEvent(type, orderId, storeId, userId, previousStatus, status, List.of(), null, occurredAt);
+    }
+
+    private static OrderLifecycleEvent of(OrderEventType type, Order order, Status previousStatus,
+                                          List<OrderItem> items, Instant occurredAt) {
+        return new OrderLifecycleEvent(type, order.getId(), order.getStore().getId(), order.getUser().getId(),
+                previousStatus, order.getStatus(), items, order.getCreatedAt(), occurredAt);
+    }
+
+    // ===== Getters =====
+    public OrderEventType getType() { return type; }
+    public UUID getOrderId() { return orderId; }
+    public UUID getStoreId() { return storeId; }
+    public UUID getUserId() { return userId; }
+    public Status getPreviousStatus() { return previousStatus; }
+    public Status getStatus() { return status; }
+    public List<OrderItem> getItems() { return items; }
+    public Instant getOrderCreatedAt() { return orderCreatedAt; }
+    public Instant getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return "OrderLifecycleEvent{" + type + ", order=" + orderId + ", " + previousStatus + " -> " + status + "}";
+    }
+}
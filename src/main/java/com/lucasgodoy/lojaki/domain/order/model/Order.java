@@ -1,10 +1,14 @@
 package com.lucasgodoy.lojaki.domain.order.model;
 
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
 import com.lucasgodoy.lojaki.domain.store.model.Store;
 import com.lucasgodoy.lojaki.domain.user.model.User;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -16,6 +20,10 @@ import java.util.UUID;
  * - Order belongs to ONE Store
  * - Order references ONE User (customer)
  * - Order has N OrderItems
+ * - Status changes follow the transition table in {@link Status}
+ * - Every change records an {@link OrderLifecycleEvent}, collected with {@link #pullEvents()}
+ * - Total, unit count and currency are computed when items are added and
+ *   stored with the order, so reading them never needs the items
  */
 public class Order {
 
@@ -39,6 +47,21 @@ public class Order {
      */
     private final List<OrderItem> items;
 
+    /**
+     * Sum of the item totals (price * quantity).
+     */
+    private BigDecimal totalAmount;
+
+    /**
+     * Sum of the item quantities.
+     */
+    private int itemCount;
+
+    /**
+     * Currency shared by every item, taken from the item products.
+     */
+    private Currency currency;
+
     /**
      * Current status of the order.
      */
@@ -59,45 +82,124 @@ public class Order {
      */
     private Instant updatedAt;
 
-    // ===== Private Constructor =====
+    /**
+     * Events recorded since the last call to pullEvents().
+     */
+    private final List<OrderLifecycleEvent> pendingEvents = new ArrayList<>();
+
+    // ===== Constructors =====
     private Order(UUID id, Store store, User user, List<OrderItem> items) {
         validate(store, user, items);
         this.id = id;
         this.store = store;
         this.user = user;
         this.items = new ArrayList<>(items);
+        this.totalAmount = BigDecimal.ZERO;
+        for (OrderItem item : items) {
+            addToTotals(item);
+        }
         this.status = Status.PENDING;
         this.active = true;
         this.createdAt = Instant.now();
         this.updatedAt = Instant.now();
     }
 
-    // ===== Factory Method =====
+    private Order(UUID id, Store store, User user, List<OrderItem> items, BigDecimal totalAmount, int itemCount,
+                 Currency currency, Status status, boolean active, Instant createdAt, Instant updatedAt) {
+        if (store == null) throw new IllegalArgumentException("Store is required");
+        if (user == null) throw new IllegalArgumentException("User is required");
+        if (items == null) throw new IllegalArgumentException("Items are required");
+        if (totalAmount == null) throw new IllegalArgumentException("Total amount is required");
+        if (status == null) throw new IllegalArgumentException("Status is required");
+        this.id = id;
+        this.store = store;
+        this.user = user;
+        this.items = items;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+        this.currency = currency;
+        this.status = status;
+        this.active = active;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // ===== Factory Methods =====
     public static Order create(Store store, User user, List<OrderItem> items) {
-        return new Order(UUID.randomUUID(), store, user, items);
+        Order order = new Order(UUID.randomUUID(), store, user, items);
+        order.pendingEvents.add(OrderLifecycleEvent.created(order));
+        return order;
+    }
+
+    /**
+     * Rebuilds an Order from persisted state. Used by the persistence layer only.
+     *
+     * The items list is used as given (not copied), so the persistence layer
+     * can pass a list that loads lines only when first accessed. Totals are
+     * taken as stored and not recomputed, for the same reason.
+     */
+    public static Order restore(UUID id, Store store, User user, List<OrderItem> items, BigDecimal totalAmount,
+                                int itemCount, Currency currency, Status status, boolean active,
+                                Instant createdAt, Instant updatedAt) {
+        return new Order(id, store, user, items, totalAmount, itemCount, currency, status, active,
+                createdAt, updatedAt);
     }
 
     // ===== Business Methods =====
     public void cancel() {
+        transitionTo(Status.CANCELLED);
         this.active = false;
-        this.status = Status.CANCELLED;
-        this.updatedAt = Instant.now();
     }
 
     public void complete() {
-        this.status = Status.DELIVERED;
-        this.updatedAt = Instant.now();
+        transitionTo(Status.DELIVERED);
     }
 
+    // Cancelling also deactivates the order, so it always goes through cancel()
     public void setStatus(Status status) {
-        this.status = status;
-        this.updatedAt = Instant.now();
+        if (status == Status.CANCELLED) {
+            cancel();
+            return;
+        }
+        transitionTo(status);
     }
 
     public void addItem(OrderItem item) {
         if (item == null) throw new IllegalArgumentException("OrderItem cannot be null");
+        addToTotals(item);
         this.items.add(item);
         this.updatedAt = Instant.now();
+        pendingEvents.add(OrderLifecycleEvent.itemAdded(this, item));
+    }
+
+    /**
+     * Returns the events recorded since the last call and clears them.
+     * Called by the application layer after the order is saved.
+     */
+    public List<OrderLifecycleEvent> pullEvents() {
+        List<OrderLifecycleEvent> events = List.copyOf(pendingEvents);
+        pendingEvents.clear();
+        return events;
+    }
+
+    private void addToTotals(OrderItem item) {
+        Currency itemCurrency = item.getProduct().getPrice().getCurrency();
+        if (currency != null && !currency.equals(itemCurrency)) {
+            throw new DomainException("Order items must share one currency: " + currency + " != " + itemCurrency);
+        }
+        this.currency = itemCurrency;
+        this.totalAmount = totalAmount.add(item.total());
+        this.itemCount += item.getQuantity();
+    }
+
+    private void transitionTo(Status target) {
+        if (!status.canTransitionTo(target)) {
+            throw new DomainException("Order cannot move from " + status + " to " + target);
+        }
+        Status previous = this.status;
+        this.status = target;
+        this.updatedAt = Instant.now();
+        pendingEvents.add(OrderLifecycleEvent.statusChanged(this, previous));
     }
 
     // ===== Validation =====
@@ -112,6 +214,9 @@ public class Order {
     public Store getStore() { return store; }
     public User getUser() { return user; }
     public List<OrderItem> getItems() { return items; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public int getItemCount() { return itemCount; }
+    public Currency getCurrency() { return currency; }
     public Status getStatus() { return status; }
     public boolean isActive() { return active; }
     public Instant getCreatedAt() { return createdAt; }
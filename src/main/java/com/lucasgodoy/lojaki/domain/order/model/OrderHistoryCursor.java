@@ -0,0 +1,71 @@
+package com.lucasgodoy.lojaki.domain.order.model;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Position in a newest-first order listing: the (createdAt, orderId) of
+ * the last order of the previous page.
+ *
+ * Clients get it as an opaque URL-safe token and send it back unchanged;
+ * the next page starts strictly after it, so paging deep costs the same
+ * as the first page and never skips or repeats orders when new ones
+ * arrive in between.
+ */
+public final class OrderHistoryCursor {
+
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    private final Instant createdAt;
+    private final UUID orderId;
+
+    public OrderHistoryCursor(Instant createdAt, UUID orderId) {
+        this.createdAt = Objects.requireNonNull(createdAt, "createdAt");
+        this.orderId = Objects.requireNonNull(orderId, "orderId");
+    }
+
+    public static OrderHistoryCursor after(OrderSummary summary) {
+        return new OrderHistoryCursor(summary.getCreatedAt(), summary.getOrderId());
+    }
+
+    // ===== Token =====
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(orderId.getMostSignificantBits())
+                .putLong(orderId.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @return the cursor, or null for a null or blank token (first page)
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static OrderHistoryCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        Instant createdAt = Instant.ofEpochSecond(buffer.getLong(), buffer.getInt());
+        return new OrderHistoryCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+    // ===== Getters =====
+    public Instant getCreatedAt() { return createdAt; }
+    public UUID getOrderId() { return orderId; }
+}
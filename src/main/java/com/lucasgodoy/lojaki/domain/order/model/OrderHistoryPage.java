@@ -0,0 +1,24 @@
+package com.lucasgodoy.lojaki.domain.order.model;
+
+import java.util.List;
+
+/**
+ * One page of a newest-first order listing.
+ *
+ * nextCursor is null on the last page.
+ */
+public final class OrderHistoryPage {
+
+    private final List<OrderSummary> orders;
+    private final String nextCursor;
+
+    public OrderHistoryPage(List<OrderSummary> orders, String nextCursor) {
+        this.orders = List.copyOf(orders);
+        this.nextCursor = nextCursor;
+    }
+
+    // ===== Getters =====
+    public List<OrderSummary> getOrders() { return orders; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return nextCursor != null; }
+}
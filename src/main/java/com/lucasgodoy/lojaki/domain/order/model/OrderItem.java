@@ -40,8 +40,12 @@ public class OrderItem {
      */
     private BigDecimal price;
 
-    // ===== Private Constructor =====
-    private OrderItem(UUID id, Product product, int quantity, BigDecimal price) {
+    // ===== Constructor =====
+    /**
+     * Builds an OrderItem from its full state. Public for the generated persistence
+     * mappers; everything else goes through create() or restore().
+     */
+    public OrderItem(UUID id, Product product, int quantity, BigDecimal price) {
         validate(product, quantity, price);
         this.id = id;
         this.product = product;
@@ -62,6 +66,13 @@ public class OrderItem {
         return new OrderItem(UUID.randomUUID(), product, quantity, price);
     }
 
+    /**
+     * Rebuilds an OrderItem from persisted state. Used by the persistence layer only.
+     */
+    public static OrderItem restore(UUID id, Product product, int quantity, BigDecimal price) {
+        return new OrderItem(id, product, quantity, price);
+    }
+
     // ===== Business Methods =====
     /**
      * Calculates the total price of this item (price * quantity)
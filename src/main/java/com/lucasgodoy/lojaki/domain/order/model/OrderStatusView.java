@@ -0,0 +1,28 @@
+package com.lucasgodoy.lojaki.domain.order.model;
+
+import java.util.UUID;
+
+/**
+ * Minimal read of an order used by set-based status operations:
+ * identifiers plus current status, without items or associations.
+ */
+public final class OrderStatusView {
+
+    private final UUID orderId;
+    private final UUID storeId;
+    private final UUID userId;
+    private final Status status;
+
+    public OrderStatusView(UUID orderId, UUID storeId, UUID userId, Status status) {
+        this.orderId = orderId;
+        this.storeId = storeId;
+        this.userId = userId;
+        this.status = status;
+    }
+
+    // ===== Getters =====
+    public UUID getOrderId() { return orderId; }
+    public UUID getStoreId() { return storeId; }
+    public UUID getUserId() { return userId; }
+    public Status getStatus() { return status; }
+}
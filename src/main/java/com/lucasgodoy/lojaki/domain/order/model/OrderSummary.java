@@ -0,0 +1,47 @@
+package com.lucasgodoy.lojaki.domain.order.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Read model of an order for listings: identifiers, status and stored
+ * totals, without items or associations.
+ */
+public final class OrderSummary {
+
+    private final UUID orderId;
+    private final UUID userId;
+    private final UUID storeId;
+    private final Status status;
+    private final BigDecimal totalAmount;
+    private final int itemCount;
+    private final Currency currency;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+
+    public OrderSummary(UUID orderId, UUID userId, UUID storeId, Status status, BigDecimal totalAmount,
+                        int itemCount, Currency currency, Instant createdAt, Instant updatedAt) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.storeId = storeId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+        this.currency = currency;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // ===== Getters =====
+    public UUID getOrderId() { return orderId; }
+    public UUID getUserId() { return userId; }
+    public UUID getStoreId() { return storeId; }
+    public Status getStatus() { return status; }
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public int getItemCount() { return itemCount; }
+    public Currency getCurrency() { return currency; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+}
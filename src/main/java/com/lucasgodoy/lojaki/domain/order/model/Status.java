@@ -1,12 +1,58 @@
 package com.lucasgodoy.lojaki.domain.order.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Represents the status of an order.
+ *
+ * Allowed transitions:
+ * - PENDING   -> PAID, CANCELLED
+ * - PAID      -> SHIPPED, CANCELLED
+ * - SHIPPED   -> DELIVERED
+ * - DELIVERED and CANCELLED are final
  */
 public enum Status {
     PENDING,    // Order created but not yet paid
     PAID,       // Payment received
     SHIPPED,    // Order shipped to customer
     DELIVERED,  // Order delivered successfully
-    CANCELLED   // Order cancelled
-}
\ No newline at end of file
+    CANCELLED;  // Order cancelled
+
+    private static final Map<Status, Set<Status>> TRANSITIONS = new EnumMap<>(Status.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(PAID, CANCELLED));
+        TRANSITIONS.put(PAID, EnumSet.of(SHIPPED, CANCELLED));
+        TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(Status.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(Status.class));
+    }
+
+    /**
+     * Checks whether an order in this status may move to the target status.
+     *
+     * @param target desired status
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(Status target) {
+        return target != null && TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Returns the statuses reachable from this one in a single step.
+     */
+    public Set<Status> allowedTransitions() {
+        return Collections.unmodifiableSet(TRANSITIONS.get(this));
+    }
+
+    /**
+     * Checks whether no further transition is possible.
+     */
+    public boolean isFinal() {
+        return TRANSITIONS.get(this).isEmpty();
+    }
+}
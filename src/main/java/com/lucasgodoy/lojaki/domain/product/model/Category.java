@@ -4,6 +4,8 @@ import com.lucasgodoy.lojaki.domain.store.model.Store;
 import com.lucasgodoy.lojaki.domain.exception.DomainException;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -15,9 +17,23 @@ import java.util.UUID;
  *
  * - Category belongs to ONE Store
  * - Products can reference a Category
+ * - A Category may have a parent Category of the same Store
+ *
+ * Every category keeps its materialized path: the ids of its ancestors and
+ * its own, root first, as "/<id>/<id>/" with ids in 32-digit hex. A
+ * subtree is then every category whose path starts with the root's path,
+ * which is one range of paths in ascending order.
  */
 public class Category {
 
+    /** Maximum number of levels, roots included */
+    public static final int MAX_DEPTH = 10;
+
+    private static final int SEGMENT_LENGTH = 33;
+
+    /** Length of the path of a category at the maximum depth */
+    public static final int MAX_PATH_LENGTH = 1 + MAX_DEPTH * SEGMENT_LENGTH;
+
     /**
      * Unique identifier of the category.
      */
@@ -33,6 +49,16 @@ public class Category {
      */
     private String name;
 
+    /**
+     * Parent category. Null for a root category.
+     */
+    private UUID parentId;
+
+    /**
+     * Materialized path, from the root down to this category.
+     */
+    private String path;
+
     /**
      * Indicates whether the category is active. Defaults to true.
      */
@@ -53,16 +79,33 @@ public class Category {
      */
     private Instant updatedAt;
 
-    // ===== Private constructor =====
-    private Category(UUID id, Store store, String name) {
+    // ===== Constructors =====
+    private Category(UUID id, Store store, String name, Category parent) {
+        this(id, store, name, null, null, true, null, Instant.now(), Instant.now());
+        if (parent != null) {
+            validateParent(parent, 0);
+        }
+        this.parentId = parent == null ? null : parent.getId();
+        this.path = pathUnder(parent);
+    }
+
+    /**
+     * Rebuilds a Category from persisted state, same as restore(). Public for the
+     * generated persistence mappers, which construct through it.
+     */
+    public Category(UUID id, Store store, String name, UUID parentId, String path, boolean active,
+                    Instant deletedAt, Instant createdAt, Instant updatedAt) {
         validate(store, name);
         this.id = id;
         this.store = store;
         this.name = name;
-        this.active = true;
-        this.deletedAt = null;
-        this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
+        this.parentId = parentId;
+        // Rows written before paths existed are all roots
+        this.path = path == null && parentId == null ? pathUnder(null) : path;
+        this.active = active;
+        this.deletedAt = deletedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     // ===== Factory Method =====
@@ -74,7 +117,27 @@ public class Category {
      * @return New Category instance
      */
     public static Category create(Store store, String name) {
-        return new Category(UUID.randomUUID(), store, name);
+        return new Category(UUID.randomUUID(), store, name, null);
+    }
+
+    /**
+     * Creates a new Category under a parent category.
+     *
+     * @param store  Store that owns the category
+     * @param name   Category name (2-100 characters)
+     * @param parent Parent category of the same store, below the maximum depth
+     * @return New Category instance
+     */
+    public static Category create(Store store, String name, Category parent) {
+        return new Category(UUID.randomUUID(), store, name, parent);
+    }
+
+    /**
+     * Rebuilds a Category from persisted state. Used by the persistence layer only.
+     */
+    public static Category restore(UUID id, Store store, String name, UUID parentId, String path, boolean active,
+                                   Instant deletedAt, Instant createdAt, Instant updatedAt) {
+        return new Category(id, store, name, parentId, path, active, deletedAt, createdAt, updatedAt);
     }
 
     // ===== Business Methods =====
@@ -89,6 +152,28 @@ public class Category {
         this.updatedAt = Instant.now();
     }
 
+    /**
+     * Moves the category under another parent. Only this category's path
+     * changes here; the paths of its descendants are rewritten by the
+     * repository in the same unit of work.
+     *
+     * @param parent        New parent category, or null to make it a root
+     * @param subtreeHeight Number of levels below this category
+     */
+    public void moveTo(Category parent, int subtreeHeight) {
+        if (parent != null) {
+            if (parent.getPath().startsWith(this.path)) {
+                throw new DomainException("Category cannot be moved under itself or one of its descendants");
+            }
+            validateParent(parent, subtreeHeight);
+        } else if (subtreeHeight >= MAX_DEPTH) {
+            throw new DomainException("Category tree cannot be deeper than " + MAX_DEPTH + " levels");
+        }
+        this.parentId = parent == null ? null : parent.getId();
+        this.path = pathUnder(parent);
+        this.updatedAt = Instant.now();
+    }
+
     /**
      * Marks the category as active.
      */
@@ -114,6 +199,61 @@ public class Category {
         this.updatedAt = Instant.now();
     }
 
+    // ===== Path =====
+    /**
+     * Depth of the category; 0 for a root.
+     */
+    public int getDepth() {
+        return depthOf(path);
+    }
+
+    /**
+     * Depth of the category with the given path; 0 for a root.
+     */
+    public static int depthOf(String path) {
+        return (path.length() - 1) / SEGMENT_LENGTH - 1;
+    }
+
+    /**
+     * Ids on the path, root first and this category's own last.
+     */
+    public List<UUID> getPathIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int start = 1; start < path.length(); start += SEGMENT_LENGTH) {
+            ids.add(new UUID(Long.parseUnsignedLong(path, start, start + 16, 16),
+                    Long.parseUnsignedLong(path, start + 16, start + 32, 16)));
+        }
+        return ids;
+    }
+
+    /**
+     * Whether the category is this one or one of its descendants.
+     */
+    public boolean contains(Category category) {
+        return category.getPath().startsWith(path);
+    }
+
+    /**
+     * Smallest path greater than every path of this category's subtree, so
+     * the subtree is the paths in [path, pathUpperBound) in binary order.
+     */
+    public String getPathUpperBound() {
+        return upperBound(path);
+    }
+
+    /**
+     * Smallest path greater than every path starting with the given one.
+     */
+    public static String upperBound(String path) {
+        // Paths end with '/', and '0' is the next character after it
+        return path.substring(0, path.length() - 1) + '0';
+    }
+
+    private String pathUnder(Category parent) {
+        String segment = id.toString().replace("-", "") + "/";
+        return parent == null ? "/" + segment : parent.getPath() + segment;
+    }
+
     // ===== Validation =====
     private void validate(Store store, String name) {
         if (store == null) {
@@ -124,10 +264,24 @@ public class Category {
         }
     }
 
+    private void validateParent(Category parent, int subtreeHeight) {
+        if (!parent.getStore().getId().equals(store.getId())) {
+            throw new DomainException("Parent category must belong to the same store");
+        }
+        if (parent.getDeletedAt() != null) {
+            throw new DomainException("Parent category is deleted");
+        }
+        if (parent.getDepth() + 2 + subtreeHeight > MAX_DEPTH) {
+            throw new DomainException("Category tree cannot be deeper than " + MAX_DEPTH + " levels");
+        }
+    }
+
     // ===== Getters =====
     public UUID getId() { return id; }
     public Store getStore() { return store; }
     public String getName() { return name; }
+    public UUID getParentId() { return parentId; }
+    public String getPath() { return path; }
     public boolean isActive() { return active; }
     public Instant getDeletedAt() { return deletedAt; }
     public Instant getCreatedAt() { return createdAt; }
@@ -0,0 +1,31 @@
+package com.lucasgodoy.lojaki.domain.product.model;
+
+import java.util.UUID;
+
+/**
+ * Read-only view of an active category: its place in the tree (parent
+ * and materialized path, see {@link Category}) without associations.
+ */
+public final class CategoryView {
+
+    private final UUID categoryId;
+    private final UUID storeId;
+    private final String name;
+    private final UUID parentId;
+    private final String path;
+
+    public CategoryView(UUID categoryId, UUID storeId, String name, UUID parentId, String path) {
+        this.categoryId = categoryId;
+        this.storeId = storeId;
+        this.name = name;
+        this.parentId = parentId;
+        this.path = path;
+    }
+
+    // ===== Getters =====
+    public UUID getCategoryId() { return categoryId; }
+    public UUID getStoreId() { return storeId; }
+    public String getName() { return name; }
+    public UUID getParentId() { return parentId; }
+    public String getPath() { return path; }
+}
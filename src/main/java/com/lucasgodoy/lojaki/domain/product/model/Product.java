@@ -59,15 +59,23 @@ public class Product {
     /** Timestamp of last update */
     private Instant updatedAt;
 
-    // ===== Private Constructor =====
-    private Product(UUID id,
-                    Store store,
-                    String name,
-                    String description,
-                    Money price,
-                    int stock,
-                    Brand brand,
-                    Category category) {
+    // ===== Constructor =====
+    /**
+     * Builds a Product from its full state. Public for the generated persistence
+     * mappers; everything else goes through create() or restore().
+     */
+    public Product(UUID id,
+                   Store store,
+                   String name,
+                   String description,
+                   Money price,
+                   int stock,
+                   Brand brand,
+                   Category category,
+                   boolean active,
+                   Instant deletedAt,
+                   Instant createdAt,
+                   Instant updatedAt) {
 
         validate(store, name, price, stock, brand, category);
 
@@ -79,10 +87,10 @@ public class Product {
         this.stock = stock;
         this.brand = brand;
         this.category = category;
-        this.active = true;
-        this.deletedAt = null;
-        this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
+        this.active = active;
+        this.deletedAt = deletedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     // ===== Factory Method =====
@@ -105,10 +113,34 @@ public class Product {
                 price,
                 stock,
                 brand,
-                category
+                category,
+                true,
+                null,
+                Instant.now(),
+                Instant.now()
         );
     }
 
+    /**
+     * Rebuilds a Product from persisted state. Used by the persistence layer only.
+     */
+    public static Product restore(UUID id,
+                                  Store store,
+                                  String name,
+                                  String description,
+                                  Money price,
+                                  int stock,
+                                  Brand brand,
+                                  Category category,
+                                  boolean active,
+                                  Instant deletedAt,
+                                  Instant createdAt,
+                                  Instant updatedAt) {
+
+        return new Product(id, store, name, description, price, stock, brand, category,
+                active, deletedAt, createdAt, updatedAt);
+    }
+
     // ===== Business Methods =====
 
     /**
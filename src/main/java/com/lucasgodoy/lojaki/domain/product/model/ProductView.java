@@ -0,0 +1,43 @@
+package com.lucasgodoy.lojaki.domain.product.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Read-only view of an active product, with the identifiers of its brand
+ * and category instead of the objects.
+ */
+public final class ProductView {
+
+    private final UUID productId;
+    private final UUID storeId;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final Currency currency;
+    private final UUID brandId;
+    private final UUID categoryId;
+
+    public ProductView(UUID productId, UUID storeId, String name, String description, BigDecimal price,
+                       Currency currency, UUID brandId, UUID categoryId) {
+        this.productId = productId;
+        this.storeId = storeId;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.currency = currency;
+        this.brandId = brandId;
+        this.categoryId = categoryId;
+    }
+
+    // ===== Getters =====
+    public UUID getProductId() { return productId; }
+    public UUID getStoreId() { return storeId; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public BigDecimal getPrice() { return price; }
+    public Currency getCurrency() { return currency; }
+    public UUID getBrandId() { return brandId; }
+    public UUID getCategoryId() { return categoryId; }
+}
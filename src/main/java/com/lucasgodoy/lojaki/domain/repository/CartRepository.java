@@ -0,0 +1,23 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.cart.model.SavedCart;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+// Repository interface for carts written behind the in-memory cart store
+public interface CartRepository {
+
+    // Returns a cart that has not expired at the given instant, or null
+    SavedCart find(String cartId, Instant now);
+
+    // Inserts or replaces the given carts
+    void saveAll(List<SavedCart> carts);
+
+    // Deletes the given carts
+    void deleteAll(Collection<String> cartIds);
+
+    // Deletes carts that expired before the given instant, returns the count
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,29 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.product.model.CategoryView;
+import com.lucasgodoy.lojaki.domain.product.model.ProductView;
+import com.lucasgodoy.lojaki.domain.store.model.BrandView;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItemView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+// Non-blocking, read-only repository for catalog views; writes stay on the JPA repositories
+public interface CatalogReadRepository {
+
+    // Sellable items of a store ordered by ID, emitted as the subscriber requests them
+    Flux<StoreItemView> streamStoreItems(UUID storeId);
+
+    // Price and stock of a store item; empty if it does not exist or cannot be sold
+    Mono<StoreItemView> findStoreItem(UUID storeItemId);
+
+    // An active product; empty if none
+    Mono<ProductView> findProduct(UUID productId);
+
+    // Active categories of a store, ordered by path (parents before children)
+    Flux<CategoryView> findCategories(UUID storeId);
+
+    // Active brands of a store, ordered by name
+    Flux<BrandView> findBrands(UUID storeId);
+}
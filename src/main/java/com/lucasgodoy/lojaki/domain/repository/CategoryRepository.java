@@ -1,6 +1,7 @@
 package com.lucasgodoy.lojaki.domain.repository;
 
 import com.lucasgodoy.lojaki.domain.product.model.Category;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
 
@@ -28,4 +29,34 @@ public interface CategoryRepository {
      * Returns all categories.
      */
     List<Category> findAll();
+
+    /**
+     * Returns every category of a store, ordered by path (parents before
+     * their children).
+     */
+    List<Category> findByStore(UUID storeId);
+
+    /**
+     * Locks the categories with the given ids until the transaction ends
+     * (SELECT ... FOR UPDATE, in id order so concurrent callers cannot
+     * deadlock) and returns them as committed, ignoring any copy already
+     * loaded in the transaction.
+     */
+    List<Category> lockAll(Collection<UUID> ids);
+
+    /**
+     * Number of levels below a category, read from the database; 0 for a
+     * leaf.
+     */
+    int subtreeHeight(Category category);
+
+    /**
+     * Saves a category that was moved under another parent and rewrites the
+     * paths of its descendants, which still start with the old path.
+     *
+     * @param category Moved category, already holding its new path
+     * @param oldPath  Path the category had before the move
+     * @return number of descendants whose path was rewritten
+     */
+    int moveSubtree(Category category, String oldPath);
 }
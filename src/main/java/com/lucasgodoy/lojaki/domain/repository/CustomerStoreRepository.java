@@ -0,0 +1,23 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.customer.model.CustomerStore;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+// Repository interface for CustomerStore associations
+public interface CustomerStoreRepository {
+
+    // Saves a new customer-store association
+    void save(CustomerStore customerStore);
+
+    // Number of distinct (store, customer) pairs
+    long countLinks();
+
+    // Most recent creation or update of an association, or null if there are none
+    Instant findLastChangedAt();
+
+    // Streams every association as (storeId, customerId), without loading them all at once
+    void forEachLink(BiConsumer<UUID, UUID> action);
+}
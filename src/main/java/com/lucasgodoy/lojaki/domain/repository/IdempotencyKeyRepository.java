@@ -0,0 +1,21 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+// Repository interface for client idempotency keys, unique per scope
+public interface IdempotencyKeyRepository {
+
+    // Inserts a key with its order, taking over an expired one; returns false if a live key already exists
+    boolean insert(String scope, String key, UUID orderId, Instant now, Instant expiresAt);
+
+    // Returns the order created for a key, empty if unknown or expired
+    Optional<UUID> findResult(String scope, String key, Instant now);
+
+    // Removes a key inserted with the given order, after a failed execution
+    void release(String scope, String key, UUID orderId);
+
+    // Deletes keys that expired before the given instant, returns the count
+    int deleteExpired(Instant now);
+}
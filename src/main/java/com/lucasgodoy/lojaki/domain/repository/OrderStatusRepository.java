@@ -0,0 +1,20 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.order.model.OrderStatusView;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Repository interface for set-based order status operations
+public interface OrderStatusRepository {
+
+    // Loads the current status of the given orders; unknown IDs are absent from the result
+    Map<UUID, OrderStatusView> findStatuses(Collection<UUID> orderIds);
+
+    // Moves the given orders from one status to another in one statement; returns the IDs actually updated
+    Set<UUID> updateStatus(Collection<UUID> orderIds, Status from, Status to, Instant updatedAt);
+}
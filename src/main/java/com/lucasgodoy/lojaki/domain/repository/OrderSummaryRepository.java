@@ -0,0 +1,22 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.order.model.OrderHistoryCursor;
+import com.lucasgodoy.lojaki.domain.order.model.OrderSummary;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.util.List;
+import java.util.UUID;
+
+// Repository interface for the order listing read model; written together with orders
+public interface OrderSummaryRepository {
+
+    // Returns the most recent orders of a user, newest first
+    List<OrderSummary> findRecentByUser(UUID userId, int limit);
+
+    // Returns a user's orders strictly older than the cursor (null for the first page), newest first,
+    // optionally restricted to one store and/or status
+    List<OrderSummary> findUserHistory(UUID userId, UUID storeId, Status status, OrderHistoryCursor after, int limit);
+
+    // Returns the most recent orders of a store, newest first, optionally restricted to one status
+    List<OrderSummary> findRecentByStore(UUID storeId, Status status, int limit);
+}
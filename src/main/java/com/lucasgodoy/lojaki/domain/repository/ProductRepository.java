@@ -1,12 +1,26 @@
 package com.lucasgodoy.lojaki.domain.repository;
 
+import com.lucasgodoy.lojaki.domain.product.model.Category;
 import com.lucasgodoy.lojaki.domain.product.model.Product;
-import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.UUID;
 
 // Repository interface for Product entity
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository {
 
+    // Finds a product by ID
+    Product findById(UUID id);
 
+    // Saves or updates a product
+    void save(Product product);
+
+    // Deletes a product
+    void delete(Product product);
+
+    // Returns all products
+    List<Product> findAll();
+
+    // Returns the products, not deleted, of a category and all its descendants
+    List<Product> findByCategoryTree(Category category);
 }
@@ -0,0 +1,23 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.store.model.Promotion;
+import com.lucasgodoy.lojaki.domain.store.model.PromotionStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+// Repository interface for Promotion entity
+public interface PromotionRepository {
+
+    // Saves a new promotion or updates an existing one
+    void save(Promotion promotion);
+
+    // Returns scheduled promotions whose start is due
+    List<Promotion> findDueToStart(Instant now);
+
+    // Returns active promotions whose end is due
+    List<Promotion> findDueToEnd(Instant now);
+
+    // Moves a promotion between statuses if it is still in the expected one; false if another run got there first
+    boolean transition(Promotion promotion, PromotionStatus from, PromotionStatus to);
+}
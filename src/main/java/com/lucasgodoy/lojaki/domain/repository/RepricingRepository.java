@@ -0,0 +1,19 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.store.model.PriceChangeReason;
+import com.lucasgodoy.lojaki.domain.store.model.PriceRule;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Repository interface for set-based store item price changes and their history
+public interface RepricingRepository {
+
+    // Applies a rule to every matching store item of a store, recording one history row per changed price;
+    // returns the number of prices changed
+    long applyRule(UUID storeId, PriceRule rule, UUID changeId, PriceChangeReason reason, Instant at);
+
+    // Reverts a promotion (its rows with the given reason): each item gets its pre-promotion price, or the
+    // price of the promotions still active on it; items repriced since are skipped. Returns the prices changed
+    long revertChange(UUID changeId, PriceChangeReason appliedReason, PriceChangeReason revertReason, Instant at);
+}
@@ -0,0 +1,25 @@
+package com.lucasgodoy.lojaki.domain.repository;
+
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Repository interface for StoreItem entity
+public interface StoreItemRepository {
+
+    // Finds a store item by ID
+    StoreItem findById(UUID id);
+
+    // Saves or updates a store item
+    void save(StoreItem storeItem);
+
+    // Active items of active products of a store, with product, brand and category loaded
+    List<StoreItem> findCatalog(UUID storeId);
+
+    // Store items by ID, in any order, with product, brand and category loaded; unknown IDs are skipped
+    List<StoreItem> findByIds(Collection<UUID> ids);
+
+    // Store items of a store for the given products, loaded as findByIds does; products without one are skipped
+    List<StoreItem> findByStoreAndProducts(UUID storeId, Collection<UUID> productIds);
+}
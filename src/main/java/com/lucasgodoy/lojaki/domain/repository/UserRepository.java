@@ -10,6 +10,9 @@ public interface UserRepository {
     // Finds a user by ID
     User findById(UUID id);
 
+    // Finds a user by email
+    User findByEmail(String email);
+
     // Saves or updates a user
     void save(User user);
 
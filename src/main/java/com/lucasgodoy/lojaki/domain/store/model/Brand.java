@@ -51,16 +51,25 @@ public class Brand {
      */
     private Instant updatedAt;
 
-    // ===== Private Constructor =====
+    // ===== Constructors =====
     private Brand(UUID id, Store store, String name) {
+        this(id, store, name, true, null, Instant.now(), Instant.now());
+    }
+
+    /**
+     * Rebuilds a Brand from persisted state, same as restore(). Public for the
+     * generated persistence mappers, which construct through it.
+     */
+    public Brand(UUID id, Store store, String name, boolean active, Instant deletedAt,
+                 Instant createdAt, Instant updatedAt) {
         validate(store, name);
         this.id = id;
         this.store = store;
         this.name = name;
-        this.active = true;
-        this.deletedAt = null;
-        this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
+        this.active = active;
+        this.deletedAt = deletedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     // ===== Factory Method =====
@@ -75,6 +84,14 @@ public class Brand {
         return new Brand(UUID.randomUUID(), store, name);
     }
 
+    /**
+     * Rebuilds a Brand from persisted state. Used by the persistence layer only.
+     */
+    public static Brand restore(UUID id, Store store, String name, boolean active, Instant deletedAt,
+                                Instant createdAt, Instant updatedAt) {
+        return new Brand(id, store, name, active, deletedAt, createdAt, updatedAt);
+    }
+
     // ===== Business Methods =====
     /**
      * Updates the brand name.
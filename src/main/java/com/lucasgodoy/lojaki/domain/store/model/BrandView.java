@@ -0,0 +1,24 @@
+package com.lucasgodoy.lojaki.domain.store.model;
+
+import java.util.UUID;
+
+/**
+ * Read-only view of an active brand, without its store or products.
+ */
+public final class BrandView {
+
+    private final UUID brandId;
+    private final UUID storeId;
+    private final String name;
+
+    public BrandView(UUID brandId, UUID storeId, String name) {
+        this.brandId = brandId;
+        this.storeId = storeId;
+        this.name = name;
+    }
+
+    // ===== Getters =====
+    public UUID getBrandId() { return brandId; }
+    public UUID getStoreId() { return storeId; }
+    public String getName() { return name; }
+}
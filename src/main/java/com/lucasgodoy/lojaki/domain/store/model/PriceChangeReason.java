@@ -0,0 +1,11 @@
+package com.lucasgodoy.lojaki.domain.store.model;
+
+/**
+ * Why a store item price changed, as recorded in the price history.
+ */
+public enum PriceChangeReason {
+    MANUAL,           // StoreItem#updatePrice
+    RULE,             // Permanent repricing rule
+    PROMOTION_START,  // Promotion price applied
+    PROMOTION_END     // Promotion price reverted
+}
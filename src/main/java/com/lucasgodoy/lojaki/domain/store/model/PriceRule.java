@@ -0,0 +1,103 @@
+package com.lucasgodoy.lojaki.domain.store.model;
+
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Percentage price change applied to a set of store items.
+ *
+ * The set is the whole store, one category or one brand. Percent is signed:
+ * -15 means 15% off, 10 means a 10% increase.
+ */
+public final class PriceRule {
+
+    public enum Scope {
+        STORE,
+        CATEGORY,
+        BRAND
+    }
+
+    private static final BigDecimal MIN_PERCENT = new BigDecimal("-99");
+    private static final BigDecimal MAX_PERCENT = new BigDecimal("1000");
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private final Scope scope;
+    private final UUID targetId;        // Category or brand ID, null for STORE
+    private final BigDecimal percent;
+
+    // ===== Private Constructor =====
+    private PriceRule(Scope scope, UUID targetId, BigDecimal percent) {
+        validate(scope, targetId, percent);
+        this.scope = scope;
+        this.targetId = targetId;
+        this.percent = percent;
+    }
+
+    // ===== Factory Methods =====
+    public static PriceRule storeWide(BigDecimal percent) {
+        return new PriceRule(Scope.STORE, null, percent);
+    }
+
+    public static PriceRule forCategory(UUID categoryId, BigDecimal percent) {
+        return new PriceRule(Scope.CATEGORY, categoryId, percent);
+    }
+
+    public static PriceRule forBrand(UUID brandId, BigDecimal percent) {
+        return new PriceRule(Scope.BRAND, brandId, percent);
+    }
+
+    public static PriceRule of(Scope scope, UUID targetId, BigDecimal percent) {
+        return new PriceRule(scope, targetId, percent);
+    }
+
+    // ===== Business Methods =====
+
+    /** Multiplier applied to current prices, e.g. 0.85 for -15% */
+    public BigDecimal factor() {
+        return BigDecimal.ONE.add(percent.divide(HUNDRED, 6, RoundingMode.HALF_UP));
+    }
+
+    // ===== Validation =====
+    private void validate(Scope scope, UUID targetId, BigDecimal percent) {
+        if (scope == null) {
+            throw new DomainException("Rule scope is required");
+        }
+        if ((scope == Scope.STORE) != (targetId == null)) {
+            throw new DomainException("Category and brand rules need a target, store-wide rules must not have one");
+        }
+        if (percent == null || percent.compareTo(MIN_PERCENT) < 0 || percent.compareTo(MAX_PERCENT) > 0) {
+            throw new DomainException("Percent must be between " + MIN_PERCENT + " and " + MAX_PERCENT);
+        }
+        if (percent.signum() == 0) {
+            throw new DomainException("Percent must not be zero");
+        }
+    }
+
+    // ===== Getters =====
+    public Scope getScope() { return scope; }
+    public UUID getTargetId() { return targetId; }
+    public BigDecimal getPercent() { return percent; }
+
+    // ===== Equals and HashCode =====
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PriceRule)) return false;
+        PriceRule that = (PriceRule) o;
+        return scope == that.scope && Objects.equals(targetId, that.targetId) && percent.compareTo(that.percent) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(scope, targetId, percent.stripTrailingZeros());
+    }
+
+    @Override
+    public String toString() {
+        return "PriceRule{" + scope + (targetId == null ? "" : " " + targetId) + ", " + percent + "%}";
+    }
+}
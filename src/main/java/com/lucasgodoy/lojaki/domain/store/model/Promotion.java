@@ -0,0 +1,99 @@
+package com.lucasgodoy.lojaki.domain.store.model;
+
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Temporary price rule applied to a store between two instants.
+ *
+ * The promotion ID doubles as the change ID of the price history rows it
+ * writes, which is how its prices are found and reverted when it ends.
+ * The store is referenced by ID so promotions can be scheduled and run
+ * without loading the store.
+ */
+public class Promotion {
+
+    private final UUID id;
+    private final UUID storeId;
+    private final PriceRule rule;
+    private final Instant startsAt;
+    private final Instant endsAt;
+    private PromotionStatus status;
+
+    // ===== Private Constructor =====
+    private Promotion(UUID id, UUID storeId, PriceRule rule, Instant startsAt, Instant endsAt,
+                      PromotionStatus status) {
+        validate(storeId, rule, startsAt, endsAt);
+        this.id = id;
+        this.storeId = storeId;
+        this.rule = rule;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.status = status;
+    }
+
+    // ===== Factory Methods =====
+    public static Promotion schedule(UUID storeId, PriceRule rule, Instant startsAt, Instant endsAt) {
+        return new Promotion(UUID.randomUUID(), storeId, rule, startsAt, endsAt, PromotionStatus.SCHEDULED);
+    }
+
+    // Rebuilds a Promotion from persisted state. Used by the persistence layer only.
+    public static Promotion restore(UUID id, UUID storeId, PriceRule rule, Instant startsAt, Instant endsAt,
+                                    PromotionStatus status) {
+        return new Promotion(id, storeId, rule, startsAt, endsAt, status);
+    }
+
+    // ===== Business Methods =====
+    public void cancel() {
+        if (status != PromotionStatus.SCHEDULED) {
+            throw new DomainException("Only scheduled promotions can be cancelled");
+        }
+        this.status = PromotionStatus.CANCELLED;
+    }
+
+    public boolean isDueToStart(Instant now) {
+        return status == PromotionStatus.SCHEDULED && !now.isBefore(startsAt);
+    }
+
+    public boolean isDueToEnd(Instant now) {
+        return status == PromotionStatus.ACTIVE && !now.isBefore(endsAt);
+    }
+
+    // ===== Validation =====
+    private void validate(UUID storeId, PriceRule rule, Instant startsAt, Instant endsAt) {
+        if (storeId == null) {
+            throw new DomainException("Store is required");
+        }
+        if (rule == null) {
+            throw new DomainException("Price rule is required");
+        }
+        if (startsAt == null || endsAt == null || !endsAt.isAfter(startsAt)) {
+            throw new DomainException("Promotion must end after it starts");
+        }
+    }
+
+    // ===== Getters =====
+    public UUID getId() { return id; }
+    public UUID getStoreId() { return storeId; }
+    public PriceRule getRule() { return rule; }
+    public Instant getStartsAt() { return startsAt; }
+    public Instant getEndsAt() { return endsAt; }
+    public PromotionStatus getStatus() { return status; }
+
+    // ===== Equals and HashCode =====
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Promotion)) return false;
+        Promotion that = (Promotion) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.lucasgodoy.lojaki.domain.store.model;
+
+/**
+ * Lifecycle of a promotion: SCHEDULED -> ACTIVE -> ENDED, or CANCELLED before it starts.
+ */
+public enum PromotionStatus {
+    SCHEDULED,
+    ACTIVE,
+    ENDED,
+    CANCELLED
+}
@@ -48,15 +48,23 @@ public class Store {
      */
     private Instant updatedAt;
 
-    // ===== Private Constructor =====
+    // ===== Constructors =====
     private Store(UUID id, String name) {
+        this(id, name, true, null, Instant.now(), Instant.now());
+    }
+
+    /**
+     * Rebuilds a Store from persisted state, same as restore(). Public for the
+     * generated persistence mappers, which construct through it.
+     */
+    public Store(UUID id, String name, boolean active, Instant deletedAt, Instant createdAt, Instant updatedAt) {
         validate(name);
         this.id = id;
         this.name = name;
-        this.active = true;
-        this.deletedAt = null;
-        this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
+        this.active = active;
+        this.deletedAt = deletedAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
     }
 
     // ===== Factory Method =====
@@ -70,6 +78,14 @@ public class Store {
         return new Store(UUID.randomUUID(), name);
     }
 
+    /**
+     * Rebuilds a Store from persisted state. Used by the persistence layer only.
+     */
+    public static Store restore(UUID id, String name, boolean active, Instant deletedAt,
+                                Instant createdAt, Instant updatedAt) {
+        return new Store(id, name, active, deletedAt, createdAt, updatedAt);
+    }
+
     // ===== Business Methods =====
     /**
      * Updates the store name.
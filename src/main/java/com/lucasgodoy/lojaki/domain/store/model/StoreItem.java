@@ -28,21 +28,32 @@ public class StoreItem {
     private boolean active;
     private Instant deletedAt;
 
-    // ===== Private Constructor =====
-    private StoreItem(UUID id, Store store, Product product, BigDecimal price, int stock) {
+    // ===== Constructor =====
+    /**
+     * Builds a StoreItem from its full state. Public for the generated persistence
+     * mappers; everything else goes through create() or restore().
+     */
+    public StoreItem(UUID id, Store store, Product product, BigDecimal price, int stock,
+                     boolean active, Instant deletedAt) {
         validate(store, product, price, stock);
         this.id = id;
         this.store = store;
         this.product = product;
         this.price = price;
         this.stock = stock;
-        this.active = true;
-        this.deletedAt = null;
+        this.active = active;
+        this.deletedAt = deletedAt;
     }
 
-    // ===== Factory Method =====
+    // ===== Factory Methods =====
     public static StoreItem create(Store store, Product product, BigDecimal price, int stock) {
-        return new StoreItem(UUID.randomUUID(), store, product, price, stock);
+        return new StoreItem(UUID.randomUUID(), store, product, price, stock, true, null);
+    }
+
+    // Rebuilds a StoreItem from persisted state. Used by the persistence layer only.
+    public static StoreItem restore(UUID id, Store store, Product product, BigDecimal price, int stock,
+                                    boolean active, Instant deletedAt) {
+        return new StoreItem(id, store, product, price, stock, active, deletedAt);
     }
 
     // ===== Business Methods =====
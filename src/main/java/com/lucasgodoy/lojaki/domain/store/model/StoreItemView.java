@@ -0,0 +1,47 @@
+package com.lucasgodoy.lojaki.domain.store.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Read-only row of a store's listing: a sellable store item with its
+ * current price and stock and the identifiers of its product, brand and
+ * category, without the associated objects.
+ */
+public final class StoreItemView {
+
+    private final UUID storeItemId;
+    private final UUID storeId;
+    private final UUID productId;
+    private final String name;
+    private final UUID brandId;
+    private final UUID categoryId;
+    private final BigDecimal price;
+    private final Currency currency;
+    private final int stock;
+
+    public StoreItemView(UUID storeItemId, UUID storeId, UUID productId, String name, UUID brandId,
+                         UUID categoryId, BigDecimal price, Currency currency, int stock) {
+        this.storeItemId = storeItemId;
+        this.storeId = storeId;
+        this.productId = productId;
+        this.name = name;
+        this.brandId = brandId;
+        this.categoryId = categoryId;
+        this.price = price;
+        this.currency = currency;
+        this.stock = stock;
+    }
+
+    // ===== Getters =====
+    public UUID getStoreItemId() { return storeItemId; }
+    public UUID getStoreId() { return storeId; }
+    public UUID getProductId() { return productId; }
+    public String getName() { return name; }
+    public UUID getBrandId() { return brandId; }
+    public UUID getCategoryId() { return categoryId; }
+    public BigDecimal getPrice() { return price; }
+    public Currency getCurrency() { return currency; }
+    public int getStock() { return stock; }
+}
@@ -0,0 +1,138 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import com.lucasgodoy.lojaki.domain.order.event.OrderEventType;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary encoding of order events.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   byte   type ordinal
+ *   byte   status ordinal
+ *   byte   flags: 1 = previous status, 2 = store, 4 = order creation time
+ *   byte   previous status ordinal (0 if absent)
+ *   16     order ID
+ *   16     store ID          (if flag 2)
+ *   16     user ID
+ *   12     occurredAt        (epoch seconds, nanos)
+ *   12     orderCreatedAt    (if flag 4)
+ *   short  line count, then per line:
+ *          16 item ID, 16 product ID, int quantity,
+ *          byte price scale, byte unscaled length, unscaled bytes
+ * </pre>
+ * A status-only event is 58 bytes; enum ordinals are stable because the
+ * enums are append-only.
+ */
+final class JournalCodec {
+
+    private static final int FLAG_PREVIOUS_STATUS = 1;
+    private static final int FLAG_STORE = 2;
+    private static final int FLAG_ORDER_CREATED_AT = 4;
+
+    private static final OrderEventType[] TYPES = OrderEventType.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private JournalCodec() { }
+
+    /** Upper bound of the encoded size, used to size the scratch buffer */
+    static int maxSize(OrderLifecycleEvent event) {
+        return 4 + 16 * 3 + 12 * 2 + 2 + event.getItems().size() * (16 * 2 + 4 + 2 + 64);
+    }
+
+    static void encode(OrderLifecycleEvent event, ByteBuffer out) {
+        int flags = (event.getPreviousStatus() != null ? FLAG_PREVIOUS_STATUS : 0)
+                | (event.getStoreId() != null ? FLAG_STORE : 0)
+                | (event.getOrderCreatedAt() != null ? FLAG_ORDER_CREATED_AT : 0);
+        out.put((byte) event.getType().ordinal());
+        out.put((byte) event.getStatus().ordinal());
+        out.put((byte) flags);
+        out.put((byte) (event.getPreviousStatus() != null ? event.getPreviousStatus().ordinal() : 0));
+        putUuid(out, event.getOrderId());
+        if (event.getStoreId() != null) {
+            putUuid(out, event.getStoreId());
+        }
+        putUuid(out, event.getUserId());
+        putInstant(out, event.getOccurredAt());
+        if (event.getOrderCreatedAt() != null) {
+            putInstant(out, event.getOrderCreatedAt());
+        }
+        List<OrderItem> items = event.getItems();
+        if (items.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many lines in one event: " + items.size());
+        }
+        out.putShort((short) items.size());
+        for (OrderItem item : items) {
+            putUuid(out, item.getId());
+            putUuid(out, item.getProduct().getId());
+            out.putInt(item.getQuantity());
+            putDecimal(out, item.getPrice());
+        }
+    }
+
+    static JournalEntry decode(long sequence, ByteBuffer in) {
+        OrderEventType type = TYPES[in.get()];
+        Status status = STATUSES[in.get()];
+        int flags = in.get();
+        int previous = in.get();
+        UUID orderId = getUuid(in);
+        UUID storeId = (flags & FLAG_STORE) != 0 ? getUuid(in) : null;
+        UUID userId = getUuid(in);
+        Instant occurredAt = getInstant(in);
+        Instant orderCreatedAt = (flags & FLAG_ORDER_CREATED_AT) != 0 ? getInstant(in) : null;
+        int lineCount = in.getShort();
+        List<JournalEntry.Line> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new JournalEntry.Line(getUuid(in), getUuid(in), in.getInt(), getDecimal(in)));
+        }
+        return new JournalEntry(sequence, type, orderId, storeId, userId,
+                (flags & FLAG_PREVIOUS_STATUS) != 0 ? STATUSES[previous] : null,
+                status, List.copyOf(lines), orderCreatedAt, occurredAt);
+    }
+
+    // ===== Primitives =====
+    private static void putUuid(ByteBuffer out, UUID id) {
+        out.putLong(id.getMostSignificantBits());
+        out.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void putInstant(ByteBuffer out, Instant instant) {
+        out.putLong(instant.getEpochSecond());
+        out.putInt(instant.getNano());
+    }
+
+    private static Instant getInstant(ByteBuffer in) {
+        return Instant.ofEpochSecond(in.getLong(), in.getInt());
+    }
+
+    private static void putDecimal(ByteBuffer out, BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        if (value.scale() < Byte.MIN_VALUE || value.scale() > Byte.MAX_VALUE || unscaled.length > 64) {
+            throw new IllegalArgumentException("Price out of journal range: " + value);
+        }
+        out.put((byte) value.scale());
+        out.put((byte) unscaled.length);
+        out.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer in) {
+        int scale = in.get();
+        byte[] unscaled = new byte[in.get()];
+        in.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,70 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import com.lucasgodoy.lojaki.domain.order.event.OrderEventType;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One order lifecycle event as read back from the journal.
+ *
+ * Mirrors OrderLifecycleEvent, except that item lines carry the product
+ * ID instead of the Product: the journal stores what happened to the
+ * order, not a copy of the catalog.
+ */
+public final class JournalEntry {
+
+    /** Item line affected by the event */
+    public record Line(UUID itemId, UUID productId, int quantity, BigDecimal price) {
+
+        public BigDecimal total() {
+            return price.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+
+    private final long sequence;
+    private final OrderEventType type;
+    private final UUID orderId;
+    private final UUID storeId;
+    private final UUID userId;
+    private final Status previousStatus;
+    private final Status status;
+    private final List<Line> lines;
+    private final Instant orderCreatedAt;
+    private final Instant occurredAt;
+
+    JournalEntry(long sequence, OrderEventType type, UUID orderId, UUID storeId, UUID userId,
+                 Status previousStatus, Status status, List<Line> lines, Instant orderCreatedAt,
+                 Instant occurredAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.orderId = orderId;
+        this.storeId = storeId;
+        this.userId = userId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.lines = lines;
+        this.orderCreatedAt = orderCreatedAt;
+        this.occurredAt = occurredAt;
+    }
+
+    // ===== Getters =====
+    public long getSequence() { return sequence; }
+    public OrderEventType getType() { return type; }
+    public UUID getOrderId() { return orderId; }
+    public UUID getStoreId() { return storeId; }
+    public UUID getUserId() { return userId; }
+    public Status getPreviousStatus() { return previousStatus; }
+    public Status getStatus() { return status; }
+    public List<Line> getLines() { return lines; }
+    public Instant getOrderCreatedAt() { return orderCreatedAt; }
+    public Instant getOccurredAt() { return occurredAt; }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{#" + sequence + " " + type + ", order=" + orderId + ", " + previousStatus + " -> " + status + "}";
+    }
+}
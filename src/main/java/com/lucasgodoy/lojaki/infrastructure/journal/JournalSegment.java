@@ -0,0 +1,330 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped journal file.
+ *
+ * Record framing:
+ * <pre>
+ *   int  payload length (written last; 0 marks the end of data)
+ *   int  CRC32C of sequence + payload
+ *   long sequence
+ *   ...  payload
+ * </pre>
+ * The length is written after the rest of the record, so a record is only
+ * visible once complete, and every record is followed by a zero length
+ * that ends the data. After a crash the tail is scanned and stops at the
+ * first record whose length, sequence or CRC does not check out;
+ * everything from there to the end of the file is zeroed, so bytes left
+ * behind by the dropped records can never pass for later appends.
+ *
+ * Every INDEX_INTERVAL-th record's (sequence, position) is kept in a
+ * sparse index, written to a side file when the segment is sealed, so a
+ * replay can start near any sequence instead of at the segment start.
+ *
+ * Appends are serialized by the journal; reads may run concurrently and
+ * only see records up to the published write position. The index is
+ * guarded by the segment's monitor, touched once every INDEX_INTERVAL
+ * appends.
+ */
+final class JournalSegment {
+
+    static final int RECORD_HEADER = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int INDEX_INTERVAL = 64;
+    private static final byte[] ZEROES = new byte[8192];
+
+    private final Path file;
+    private final long baseSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer sequenceBytes = ByteBuffer.allocate(Long.BYTES);
+    private final Object forceLock = new Object();
+
+    /** Bytes of complete records; published to readers */
+    private volatile int writePosition;
+    private long nextSequence;
+    private int forcedPosition;
+
+    // ===== Sparse Index =====
+    private long[] indexSequences = new long[16];
+    private int[] indexPositions = new int[16];
+    private int indexSize;
+
+    private JournalSegment(Path file, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.baseSequence = baseSequence;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.nextSequence = baseSequence;
+    }
+
+    // ===== Lifecycle =====
+
+    /** Creates an empty, writable segment */
+    static JournalSegment create(Path directory, long baseSequence, int size) throws IOException {
+        Path file = directory.resolve(fileName(baseSequence));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(file, baseSequence, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * Opens an existing segment. The last segment is opened writable and its
+     * torn tail, if any, is dropped; sealed segments are read-only and must
+     * be intact.
+     */
+    static JournalSegment open(Path file, boolean writable) throws IOException {
+        long baseSequence = parseBaseSequence(file);
+        FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                0, channel.size());
+        JournalSegment segment = new JournalSegment(file, baseSequence, channel, buffer);
+        if (writable || !segment.loadIndex()) {
+            segment.recover(writable);
+        }
+        segment.forcedPosition = segment.writePosition;
+        return segment;
+    }
+
+    /** Forces everything written and persists the index; the segment takes no more appends */
+    void seal() throws IOException {
+        force();
+        Path indexFile = indexFile();
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeLong(nextSequence);
+            out.writeInt(writePosition);
+            out.writeInt(indexSize);
+            for (int i = 0; i < indexSize; i++) {
+                out.writeLong(indexSequences[i]);
+                out.writeInt(indexPositions[i]);
+            }
+        }
+        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    // ===== Writing =====
+
+    /**
+     * Appends one record.
+     *
+     * @return false if the record does not fit; the caller rolls to a new segment
+     */
+    boolean append(long sequence, ByteBuffer payload) {
+        int length = payload.remaining();
+        int position = writePosition;
+        if ((long) position + RECORD_HEADER + length + Integer.BYTES > buffer.capacity()) {
+            return false;
+        }
+        crc.reset();
+        crc.update(sequenceBytes(sequence));
+        crc.update(payload.duplicate());
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putLong(position + 2 * Integer.BYTES, sequence);
+        buffer.put(position + RECORD_HEADER, payload, payload.position(), length);
+        buffer.putInt(position + RECORD_HEADER + length, 0);
+        buffer.putInt(position, length);
+
+        if ((sequence - baseSequence) % INDEX_INTERVAL == 0) {
+            addIndexEntry(sequence, position);
+        }
+        nextSequence = sequence + 1;
+        writePosition = position + RECORD_HEADER + length;
+        return true;
+    }
+
+    /** Flushes the bytes written since the last force to the storage device */
+    void force() {
+        synchronized (forceLock) {
+            int to = writePosition;
+            if (to > forcedPosition) {
+                buffer.force(forcedPosition, to - forcedPosition);
+                forcedPosition = to;
+            }
+        }
+    }
+
+    // ===== Reading =====
+
+    /**
+     * Decodes every record with sequence >= fromSequence, in order.
+     *
+     * @return the sequence after the last record read
+     */
+    long read(long fromSequence, Consumer<JournalEntry> consumer) {
+        int end = writePosition;
+        ByteBuffer view = buffer.duplicate();
+        int position = floorIndexPosition(fromSequence);
+        long sequence = baseSequence;
+        while (position < end) {
+            int length = view.getInt(position);
+            sequence = view.getLong(position + 2 * Integer.BYTES);
+            if (sequence >= fromSequence) {
+                ByteBuffer payload = view.slice(position + RECORD_HEADER, length);
+                consumer.accept(JournalCodec.decode(sequence, payload));
+            }
+            position += RECORD_HEADER + length;
+            sequence++;
+        }
+        return Math.max(sequence, fromSequence);
+    }
+
+    // ===== Recovery =====
+
+    private void recover(boolean writable) {
+        int position = 0;
+        long expected = baseSequence;
+        indexSize = 0;
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || (long) position + RECORD_HEADER + length > buffer.capacity()) {
+                break;
+            }
+            long sequence = buffer.getLong(position + 2 * Integer.BYTES);
+            crc.reset();
+            crc.update(sequenceBytes(sequence));
+            crc.update(buffer.slice(position + RECORD_HEADER, length));
+            if (sequence != expected || (int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                if (!writable) {
+                    throw new UncheckedIOException(new IOException(
+                            "Corrupt journal record at " + file + ":" + position));
+                }
+                break;
+            }
+            if ((sequence - baseSequence) % INDEX_INTERVAL == 0) {
+                addIndexEntry(sequence, position);
+            }
+            position += RECORD_HEADER + length;
+            expected++;
+        }
+        if (writable) {
+            zeroFrom(position);
+        }
+        writePosition = position;
+        nextSequence = expected;
+    }
+
+    /**
+     * Clears the rest of the segment after the last valid record. Zeroing
+     * only the first bad length would leave the records behind it in place:
+     * appends of the same sizes would line up with them again, and the next
+     * recovery would take them for valid records with the expected sequence.
+     */
+    private void zeroFrom(int position) {
+        int end = buffer.capacity();
+        boolean written = false;
+        for (int at = position; at < end; at += ZEROES.length) {
+            int length = Math.min(ZEROES.length, end - at);
+            // Pages that are already clear are only read, so they stay clean
+            if (!isZero(at, length)) {
+                buffer.put(at, ZEROES, 0, length);
+                written = true;
+            }
+        }
+        if (written) {
+            buffer.force(position, end - position);
+        }
+    }
+
+    private boolean isZero(int from, int length) {
+        int end = from + length;
+        int at = from;
+        for (; at + Long.BYTES <= end; at += Long.BYTES) {
+            if (buffer.getLong(at) != 0) {
+                return false;
+            }
+        }
+        for (; at < end; at++) {
+            if (buffer.get(at) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean loadIndex() throws IOException {
+        Path indexFile = indexFile();
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            nextSequence = in.readLong();
+            writePosition = in.readInt();
+            indexSize = in.readInt();
+            indexSequences = new long[Math.max(indexSize, 1)];
+            indexPositions = new int[Math.max(indexSize, 1)];
+            for (int i = 0; i < indexSize; i++) {
+                indexSequences[i] = in.readLong();
+                indexPositions[i] = in.readInt();
+            }
+        }
+        return true;
+    }
+
+    private synchronized void addIndexEntry(long sequence, int position) {
+        if (indexSize == indexSequences.length) {
+            indexSequences = Arrays.copyOf(indexSequences, indexSize * 2);
+            indexPositions = Arrays.copyOf(indexPositions, indexSize * 2);
+        }
+        indexSequences[indexSize] = sequence;
+        indexPositions[indexSize] = position;
+        indexSize++;
+    }
+
+    /** Position of the last indexed record at or before the sequence, or 0 */
+    private synchronized int floorIndexPosition(long sequence) {
+        int slot = Arrays.binarySearch(indexSequences, 0, indexSize, sequence);
+        slot = slot >= 0 ? slot : -slot - 2;
+        return slot < 0 ? 0 : indexPositions[slot];
+    }
+
+    // ===== Names =====
+    static String fileName(long baseSequence) {
+        return String.format("%020d.journal", baseSequence);
+    }
+
+    static boolean isSegmentFile(Path file) {
+        return file.getFileName().toString().matches("\\d{20}\\.journal");
+    }
+
+    private static long parseBaseSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('.')));
+    }
+
+    private Path indexFile() {
+        return file.resolveSibling(file.getFileName() + ".index");
+    }
+
+    private ByteBuffer sequenceBytes(long sequence) {
+        return sequenceBytes.clear().putLong(sequence).flip();
+    }
+
+    // ===== Getters =====
+    long getBaseSequence() { return baseSequence; }
+    long getNextSequence() { return nextSequence; }
+    int getWritePosition() { return writePosition; }
+}
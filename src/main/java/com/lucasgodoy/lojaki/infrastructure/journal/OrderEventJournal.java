@@ -0,0 +1,351 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import com.lucasgodoy.lojaki.domain.order.event.OrderEventListener;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of order lifecycle events.
+ *
+ * Events are encoded by {@link JournalCodec} and appended to memory-mapped
+ * segment files ({@link JournalSegment}), each named after the sequence of
+ * its first record; a full segment is sealed and a new one is started.
+ * An append is a copy into mapped memory, with no system call.
+ *
+ * Durability is group-committed: a background thread forces dirty pages
+ * every flush interval, or as soon as a caller waits in {@link #sync(long)},
+ * and one force covers every record appended before it. With
+ * syncOnPublish set, events received as a listener are only acknowledged
+ * once durable; otherwise up to one flush interval can be lost on a
+ * machine crash (a process crash loses nothing, the pages are in the OS).
+ *
+ * Replay reads from any sequence through the per-segment sparse index,
+ * and can run while events are being appended.
+ */
+public class OrderEventJournal implements OrderEventListener, AutoCloseable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration flushInterval;
+    private final boolean syncOnPublish;
+
+    private final NavigableMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final Object appendLock = new Object();
+    private final Object flushMonitor = new Object();
+    private final Thread flusher;
+
+    private JournalSegment active;
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+
+    /** Sequence the next append gets */
+    private volatile long nextSequence;
+
+    /** Every sequence below this one is on disk */
+    private long durableSequence;
+    private boolean syncRequested;
+
+    /** Failed forces so far, and the last failure, for waiting callers */
+    private long failedForces;
+    private UncheckedIOException lastForceFailure;
+    private volatile boolean closed;
+
+    // ===== Metrics =====
+    private final AtomicLong appendedRecords = new AtomicLong();
+    private final AtomicLong appendedBytes = new AtomicLong();
+    private final AtomicLong appendNanos = new AtomicLong();
+    private final AtomicLong forces = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+
+    private OrderEventJournal(Path directory, int segmentSize, Duration flushInterval, boolean syncOnPublish) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushInterval = flushInterval;
+        this.syncOnPublish = syncOnPublish;
+        this.flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Opens (or creates) the journal in a directory, recovering the tail of
+     * the last segment, and starts the flusher.
+     *
+     * @param segmentSize   bytes per segment file
+     * @param flushInterval maximum time between forces when nobody waits
+     * @param syncOnPublish whether listener calls wait for durability
+     */
+    public static OrderEventJournal open(Path directory, int segmentSize, Duration flushInterval,
+                                         boolean syncOnPublish) {
+        if (segmentSize < 64 * 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 64 KiB");
+        }
+        if (flushInterval == null || flushInterval.isZero() || flushInterval.isNegative()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        OrderEventJournal journal = new OrderEventJournal(directory, segmentSize, flushInterval, syncOnPublish);
+        try {
+            journal.load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order journal " + directory, e);
+        }
+        journal.flusher.start();
+        return journal;
+    }
+
+    private void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(JournalSegment::isSegmentFile).sorted().toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            JournalSegment segment = JournalSegment.open(files.get(i), i == files.size() - 1);
+            segments.put(segment.getBaseSequence(), segment);
+        }
+        if (segments.isEmpty()) {
+            active = JournalSegment.create(directory, 0, segmentSize);
+            segments.put(0L, active);
+        } else {
+            active = segments.lastEntry().getValue();
+        }
+        nextSequence = active.getNextSequence();
+        durableSequence = nextSequence;
+    }
+
+    // ===== Listener =====
+    @Override
+    public void onEvent(OrderLifecycleEvent event) {
+        onEvents(List.of(event));
+    }
+
+    @Override
+    public void onEvents(List<OrderLifecycleEvent> events) {
+        long last = appendAll(events);
+        if (syncOnPublish) {
+            sync(last);
+        }
+    }
+
+    // ===== Appending =====
+
+    /**
+     * Appends one event.
+     *
+     * @return its sequence
+     */
+    public long append(OrderLifecycleEvent event) {
+        return appendAll(List.of(event));
+    }
+
+    /**
+     * Appends events in order under one lock acquisition.
+     *
+     * @return the sequence of the last event, or the last sequence written if the list is empty
+     */
+    public long appendAll(List<OrderLifecycleEvent> events) {
+        if (closed) {
+            throw new IllegalStateException("Order journal is closed");
+        }
+        synchronized (appendLock) {
+            long started = System.nanoTime();
+            for (OrderLifecycleEvent event : events) {
+                appendLocked(event);
+            }
+            appendNanos.addAndGet(System.nanoTime() - started);
+            return nextSequence - 1;
+        }
+    }
+
+    private void appendLocked(OrderLifecycleEvent event) {
+        int maxSize = JournalCodec.maxSize(event);
+        if (maxSize + JournalSegment.RECORD_HEADER + Integer.BYTES > segmentSize) {
+            throw new IllegalArgumentException("Event too large for a journal segment: " + event);
+        }
+        if (scratch.capacity() < maxSize) {
+            scratch = ByteBuffer.allocate(Integer.highestOneBit(maxSize) << 1);
+        }
+        scratch.clear();
+        JournalCodec.encode(event, scratch);
+        scratch.flip();
+
+        long sequence = nextSequence;
+        if (!active.append(sequence, scratch)) {
+            roll(sequence);
+            active.append(sequence, scratch);
+        }
+        nextSequence = sequence + 1;
+        appendedRecords.incrementAndGet();
+        appendedBytes.addAndGet(JournalSegment.RECORD_HEADER + scratch.remaining());
+    }
+
+    private void roll(long baseSequence) {
+        try {
+            active.seal();
+            active = JournalSegment.create(directory, baseSequence, segmentSize);
+            segments.put(baseSequence, active);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll order journal segment", e);
+        }
+    }
+
+    // ===== Durability =====
+
+    /**
+     * Blocks until every record up to and including the sequence is on disk.
+     * Concurrent callers share the same force.
+     *
+     * @throws UncheckedIOException  if a force fails while waiting; a later call retries
+     * @throws IllegalStateException if interrupted while waiting (the interrupt flag is kept)
+     */
+    public void sync(long sequence) {
+        synchronized (flushMonitor) {
+            long failuresBefore = failedForces;
+            while (durableSequence <= sequence && !closed) {
+                if (failedForces != failuresBefore) {
+                    throw new UncheckedIOException("Could not force order journal " + directory,
+                            lastForceFailure.getCause());
+                }
+                syncRequested = true;
+                flushMonitor.notifyAll();
+                try {
+                    flushMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the order journal to sync", e);
+                }
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            synchronized (flushMonitor) {
+                if (!syncRequested) {
+                    try {
+                        flushMonitor.wait(flushInterval.toMillis());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                syncRequested = false;
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        long target;
+        JournalSegment segment;
+        synchronized (appendLock) {
+            target = nextSequence;
+            segment = active;
+        }
+        try {
+            // Sealed segments were forced when they were rolled
+            segment.force();
+            forces.incrementAndGet();
+        } catch (UncheckedIOException e) {
+            flushFailures.incrementAndGet();
+            synchronized (flushMonitor) {
+                failedForces++;
+                lastForceFailure = e;
+                flushMonitor.notifyAll();
+            }
+            return;
+        }
+        synchronized (flushMonitor) {
+            durableSequence = Math.max(durableSequence, target);
+            flushMonitor.notifyAll();
+        }
+    }
+
+    // ===== Replay =====
+
+    /**
+     * Delivers every entry with sequence >= fromSequence, in order, up to
+     * the last complete append at the time each segment is read.
+     *
+     * @return the sequence to resume from next time
+     */
+    public long replay(long fromSequence, Consumer<JournalEntry> consumer) {
+        Long start = segments.floorKey(fromSequence);
+        long next = fromSequence;
+        for (JournalSegment segment : segments.tailMap(start == null ? 0L : start, true).values()) {
+            next = segment.read(next, consumer);
+        }
+        return next;
+    }
+
+    /**
+     * Rebuilds the state of one order from every event journaled for it.
+     *
+     * @return the state, or null if the journal has no events for the order
+     */
+    public OrderState rebuild(UUID orderId) {
+        OrderStateProjection projection = new OrderStateProjection();
+        replay(0, entry -> {
+            if (entry.getOrderId().equals(orderId)) {
+                projection.accept(entry);
+            }
+        });
+        return projection.get(orderId);
+    }
+
+    // ===== Lifecycle =====
+
+    /** Stops the flusher, forces everything and closes the segments */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        flusher.interrupt();
+        synchronized (appendLock) {
+            active.force();
+            synchronized (flushMonitor) {
+                durableSequence = nextSequence;
+                flushMonitor.notifyAll();
+            }
+            List<IOException> failures = new ArrayList<>();
+            for (Map.Entry<Long, JournalSegment> entry : segments.entrySet()) {
+                try {
+                    entry.getValue().close();
+                } catch (IOException e) {
+                    failures.add(e);
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new UncheckedIOException("Could not close order journal " + directory, failures.get(0));
+            }
+        }
+    }
+
+    // ===== Getters =====
+    public long getNextSequence() { return nextSequence; }
+    public int getSegmentCount() { return segments.size(); }
+    public long getAppendedRecords() { return appendedRecords.get(); }
+    public long getAppendedBytes() { return appendedBytes.get(); }
+    public long getForces() { return forces.get(); }
+    public long getFlushFailures() { return flushFailures.get(); }
+
+    /** Mean time spent appending per record since open, in nanoseconds */
+    public long getMeanAppendNanos() {
+        long records = appendedRecords.get();
+        return records == 0 ? 0 : appendNanos.get() / records;
+    }
+}
@@ -0,0 +1,67 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * State of one order as rebuilt from its journaled events.
+ *
+ * Holds what the events carry (identifiers, status, lines, timestamps)
+ * plus the sequence of the last event applied, so an auditor can see
+ * exactly which journal position the state reflects.
+ */
+public final class OrderState {
+
+    private final UUID orderId;
+    private final UUID storeId;
+    private final UUID userId;
+    private final Instant createdAt;
+    private final List<JournalEntry.Line> lines = new ArrayList<>();
+    private Status status;
+    private Instant updatedAt;
+    private long lastSequence;
+
+    OrderState(JournalEntry created) {
+        this.orderId = created.getOrderId();
+        this.storeId = created.getStoreId();
+        this.userId = created.getUserId();
+        this.createdAt = created.getOrderCreatedAt() != null ? created.getOrderCreatedAt() : created.getOccurredAt();
+        apply(created);
+    }
+
+    void apply(JournalEntry entry) {
+        switch (entry.getType()) {
+            case CREATED, ITEM_ADDED -> lines.addAll(entry.getLines());
+            default -> {
+                // Status changes carry no new lines
+            }
+        }
+        this.status = entry.getStatus();
+        this.updatedAt = entry.getOccurredAt();
+        this.lastSequence = entry.getSequence();
+    }
+
+    public BigDecimal getTotalAmount() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (JournalEntry.Line line : lines) {
+            total = total.add(line.total());
+        }
+        return total;
+    }
+
+    // ===== Getters =====
+    public UUID getOrderId() { return orderId; }
+    public UUID getStoreId() { return storeId; }
+    public UUID getUserId() { return userId; }
+    public Status getStatus() { return status; }
+    public List<JournalEntry.Line> getLines() { return Collections.unmodifiableList(lines); }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public long getLastSequence() { return lastSequence; }
+}
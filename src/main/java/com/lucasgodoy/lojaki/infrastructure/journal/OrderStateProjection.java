@@ -0,0 +1,47 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Folds journal entries into per-order state.
+ *
+ * Feed it from {@link OrderEventJournal#replay}; it remembers the next
+ * sequence to replay from, so it can be caught up incrementally.
+ * Entries for orders whose creation is not in the replayed range (for
+ * example when replaying from the middle of the journal) are ignored.
+ *
+ * Not thread-safe: replay delivers on the caller's thread.
+ */
+public class OrderStateProjection implements Consumer<JournalEntry> {
+
+    private final Map<UUID, OrderState> orders = new HashMap<>();
+    private long nextSequence;
+
+    @Override
+    public void accept(JournalEntry entry) {
+        switch (entry.getType()) {
+            case CREATED -> orders.put(entry.getOrderId(), new OrderState(entry));
+            default -> {
+                OrderState state = orders.get(entry.getOrderId());
+                if (state != null) {
+                    state.apply(entry);
+                }
+            }
+        }
+        nextSequence = entry.getSequence() + 1;
+    }
+
+    /** Replays everything the journal has past the last entry applied */
+    public void catchUp(OrderEventJournal journal) {
+        journal.replay(nextSequence, this);
+    }
+
+    // ===== Getters =====
+    public OrderState get(UUID orderId) { return orders.get(orderId); }
+    public Map<UUID, OrderState> getOrders() { return Collections.unmodifiableMap(orders); }
+    public long getNextSequence() { return nextSequence; }
+}
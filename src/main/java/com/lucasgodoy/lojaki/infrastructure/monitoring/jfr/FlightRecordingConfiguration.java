@@ -0,0 +1,31 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Wires the on-demand Flight Recorder endpoint.
+ *
+ * Settings (application.properties):
+ * - lojaki.jfr.dump-directory: where dumps are written
+ * - lojaki.jfr.max-age: history kept by a recording started without maxAgeSeconds
+ */
+@Configuration(proxyBeanMethods = false)
+public class FlightRecordingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public OnDemandRecorder onDemandRecorder(
+            @Value("${lojaki.jfr.dump-directory:${java.io.tmpdir}/lojaki-jfr}") Path dumpDirectory,
+            @Value("${lojaki.jfr.max-age:10m}") Duration maxAge) {
+        return new OnDemandRecorder(dumpDirectory, maxAge);
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(OnDemandRecorder recorder) {
+        return new FlightRecordingEndpoint(recorder);
+    }
+}
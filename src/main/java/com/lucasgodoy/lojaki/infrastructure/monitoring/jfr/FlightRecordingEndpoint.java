@@ -0,0 +1,54 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.jfr;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Actuator endpoint (/actuator/flightrecording) controlling the on-demand recording.
+ *
+ * - GET                      status
+ * - POST /start              start (optional "maxAgeSeconds" in the body)
+ * - POST /dump               dump what the running recording holds
+ * - DELETE                   stop and dump
+ */
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private final OnDemandRecorder recorder;
+
+    public FlightRecordingEndpoint(OnDemandRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public RecordingStatus status() {
+        return recorder.status();
+    }
+
+    @WriteOperation
+    public RecordingStatus control(@Selector String action, @Nullable Long maxAgeSeconds) {
+        return switch (action) {
+            case "start" -> recorder.start(maxAgeSeconds == null ? null : Duration.ofSeconds(maxAgeSeconds));
+            case "dump" -> {
+                recorder.dump();
+                yield recorder.status();
+            }
+            default -> throw new IllegalArgumentException("Unknown action: " + action);
+        };
+    }
+
+    @DeleteOperation
+    public RecordingStatus stop() {
+        Path file = recorder.stop();
+        RecordingStatus status = recorder.status();
+        return file == null ? status : new RecordingStatus(status.state(), status.startedAt(), status.maxAge(),
+                file.toString());
+    }
+}
@@ -0,0 +1,134 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.jfr;
+
+import com.lucasgodoy.lojaki.application.diagnostics.DiagnosticEvents;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts, stops and dumps one Flight Recording on request.
+ *
+ * The recording uses the JDK "default" settings (low overhead, safe in
+ * production) with every Lojaki event enabled at a zero threshold, so a
+ * dump shows each slow business operation above the Hibernate and JDBC
+ * frames it caused. It keeps a rolling window (maxAge) in memory and disk
+ * buffers until dumped.
+ */
+public class OnDemandRecorder {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Path dumpDirectory;
+    private final Duration defaultMaxAge;
+
+    private Recording recording;
+    private Path lastDump;
+
+    public OnDemandRecorder(Path dumpDirectory, Duration defaultMaxAge) {
+        this.dumpDirectory = dumpDirectory;
+        this.defaultMaxAge = defaultMaxAge;
+    }
+
+    /**
+     * Starts a recording, unless one is already running.
+     *
+     * @param maxAge history to keep, or null for the configured default
+     */
+    public synchronized RecordingStatus start(Duration maxAge) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("Flight Recorder is not available in this JVM");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load the default JFR configuration", e);
+        }
+        started.setName("lojaki-on-demand");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge != null ? maxAge : defaultMaxAge);
+        for (Class<? extends Event> eventType : DiagnosticEvents.ALL) {
+            started.enable(eventType).withThreshold(Duration.ZERO);
+        }
+        started.start();
+        recording = started;
+        return status();
+    }
+
+    /**
+     * Writes what the running recording holds to a new file; recording continues.
+     *
+     * @return the file written
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        return dumpTo(recording);
+    }
+
+    /**
+     * Stops the recording and dumps it.
+     *
+     * @return the file written, or null if nothing was running
+     */
+    public synchronized Path stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        recording.stop();
+        Path file = dumpTo(recording);
+        closeRecording();
+        return file;
+    }
+
+    public synchronized RecordingStatus status() {
+        String dump = lastDump == null ? null : lastDump.toString();
+        if (recording == null) {
+            return new RecordingStatus("NONE", null, defaultMaxAge, dump);
+        }
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(),
+                recording.getMaxAge(), dump);
+    }
+
+    /** Stops and discards the recording without dumping (application shutdown) */
+    public synchronized void close() {
+        closeRecording();
+    }
+
+    private Path dumpTo(Recording source) {
+        try {
+            Files.createDirectories(dumpDirectory);
+            Path file = dumpDirectory.resolve("lojaki-" + FILE_TIME.format(Instant.now()) + ".jfr");
+            source.dump(file);
+            lastDump = file;
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump the recording to " + dumpDirectory, e);
+        }
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
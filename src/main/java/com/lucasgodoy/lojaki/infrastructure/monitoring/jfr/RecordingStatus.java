@@ -0,0 +1,14 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.jfr;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of the on-demand recording, as reported by /actuator/flightrecording.
+ *
+ * @param state     NEW, RUNNING, STOPPED or CLOSED, or NONE if no recording was started
+ * @param startedAt when the current recording started, or null
+ * @param maxAge    how much history the recording keeps
+ * @param lastDump  file written by the last dump, or null
+ */
+public record RecordingStatus(String state, Instant startedAt, Duration maxAge, String lastDump) { }
@@ -0,0 +1,27 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import java.util.List;
+
+/**
+ * A connection currently checked out of the pool.
+ */
+final class ConnectionLease {
+
+    final String caller;
+    final long acquiredNanos;
+
+    /** Name of the thread that acquired it */
+    final String threadName;
+
+    /** Stack at checkout, or null when stacks were not being captured */
+    final List<StackWalker.StackFrame> stack;
+
+    volatile boolean reportedAsLeak;
+
+    ConnectionLease(String caller, long acquiredNanos, String threadName, List<StackWalker.StackFrame> stack) {
+        this.caller = caller;
+        this.acquiredNanos = acquiredNanos;
+        this.threadName = threadName;
+        this.stack = stack;
+    }
+}
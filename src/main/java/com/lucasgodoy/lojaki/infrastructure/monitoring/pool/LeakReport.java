@@ -0,0 +1,16 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A connection held longer than the leak threshold.
+ *
+ * @param caller     application method that acquired it
+ * @param detectedAt when the detector noticed it
+ * @param heldFor    how long it had been held at detection
+ * @param thread     name of the acquiring thread
+ * @param stack      stack at checkout when stack capture is on, else the caller frame alone
+ */
+public record LeakReport(String caller, Instant detectedAt, Duration heldFor, String thread, List<String> stack) { }
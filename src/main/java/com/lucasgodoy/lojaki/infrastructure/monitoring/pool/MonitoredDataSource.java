@@ -0,0 +1,161 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import com.lucasgodoy.lojaki.infrastructure.monitoring.sql.SqlTelemetry;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * DataSource wrapper that reports every checkout to {@link PoolTelemetry}.
+ *
+ * Connections are handed out behind a dynamic proxy that notices close(),
+ * so hold time is measured without touching the pool itself. unwrap()
+ * reaches the underlying pool, so Spring Boot's own pool metrics keep
+ * working.
+ *
+ * When a {@link SqlTelemetry} is given, the statements the connection
+ * creates are wrapped as well, so every execution is timed.
+ *
+ * Closing it closes the wrapped pool, so the container's inferred destroy
+ * method still shuts the pool down once the bean is replaced by this wrapper.
+ */
+public class MonitoredDataSource implements DataSource, AutoCloseable {
+
+    private final DataSource target;
+    private final PoolTelemetry telemetry;
+    private final SqlTelemetry sqlTelemetry;
+
+    public MonitoredDataSource(DataSource target, PoolTelemetry telemetry) {
+        this(target, telemetry, null);
+    }
+
+    public MonitoredDataSource(DataSource target, PoolTelemetry telemetry, SqlTelemetry sqlTelemetry) {
+        this.target = target;
+        this.telemetry = telemetry;
+        this.sqlTelemetry = sqlTelemetry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        return track(target.getConnection(), start);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        return track(target.getConnection(username, password), start);
+    }
+
+    private Connection track(Connection connection, long requestedNanos) {
+        long acquired = System.nanoTime();
+        ConnectionLease lease = telemetry.onAcquired(acquired, acquired - requestedNanos);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new LeaseHandler(connection, lease));
+    }
+
+    public DataSource getTarget() {
+        return target;
+    }
+
+    // Closes the wrapped pool, if it can be closed; a close() that may throw InterruptedException trips -Xlint:try
+    @Override
+    public void close() {
+        if (!(target instanceof AutoCloseable closeable)) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while closing the connection pool", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not close the connection pool", e);
+        }
+    }
+
+    // ===== Delegation =====
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException { return target.getLogWriter(); }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException { target.setLogWriter(out); }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException { target.setLoginTimeout(seconds); }
+
+    @Override
+    public int getLoginTimeout() throws SQLException { return target.getLoginTimeout(); }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException { return target.getParentLogger(); }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+    /**
+     * Forwards every call to the pooled connection and ends the lease on close().
+     * Statements it creates are handed to SqlTelemetry when one is configured.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private final ConnectionLease lease;
+
+        private LeaseHandler(Connection connection, ConnectionLease lease) {
+            this.connection = connection;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> telemetry.onReleased(lease, System.nanoTime());
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Monitored[" + connection + "]";
+                }
+                default -> { }
+            }
+            Object result;
+            try {
+                result = method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (sqlTelemetry != null && result instanceof Statement statement) {
+                return switch (method.getName()) {
+                    case "createStatement" -> sqlTelemetry.monitor(statement, method.getReturnType(), null);
+                    case "prepareStatement", "prepareCall" ->
+                            sqlTelemetry.monitor(statement, method.getReturnType(), (String) args[0]);
+                    default -> result;
+                };
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import java.util.List;
+
+/**
+ * Pool sizing recommendation derived from the observed workload.
+ *
+ * @param currentMaximumPoolSize configured maximum, or -1 if unknown
+ * @param acquisitionsPerSecond  connection checkouts per second (arrival rate)
+ * @param meanHoldMillis         mean time a connection is held (time in the database)
+ * @param meanWaitMillis         mean time spent waiting for a connection
+ * @param littleConcurrency      arrival rate x mean hold time (Little's law)
+ * @param p99Demand              99th percentile of sampled active + pending connections
+ * @param recommendedPoolSize    suggested maximum pool size
+ * @param verdict                short human-readable explanation
+ * @param recentLeaks            latest leak reports, newest first
+ */
+public record PoolAdvice(int currentMaximumPoolSize,
+                         double acquisitionsPerSecond,
+                         double meanHoldMillis,
+                         double meanWaitMillis,
+                         double littleConcurrency,
+                         int p99Demand,
+                         int recommendedPoolSize,
+                         String verdict,
+                         List<LeakReport> recentLeaks) { }
@@ -0,0 +1,23 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Actuator endpoint (/actuator/pooladvisor) exposing the pool sizing
+ * recommendation and recent connection leaks.
+ */
+@Endpoint(id = "pooladvisor")
+public class PoolAdvisorEndpoint {
+
+    private final PoolTelemetry telemetry;
+
+    public PoolAdvisorEndpoint(PoolTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    @ReadOperation
+    public PoolAdvice advice() {
+        return telemetry.advise();
+    }
+}
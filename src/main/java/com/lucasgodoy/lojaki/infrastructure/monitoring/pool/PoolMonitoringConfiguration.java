@@ -0,0 +1,61 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import com.lucasgodoy.lojaki.infrastructure.monitoring.sql.SqlTelemetry;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wires pool telemetry around the application DataSource.
+ *
+ * Settings (application.properties):
+ * - lojaki.pool.monitoring.leak-threshold: hold time reported as a leak (0 disables leak reports)
+ * - lojaki.pool.monitoring.window-seconds: sliding window used by the advisor
+ * - lojaki.pool.monitoring.capture-stacks: record each checkout's stack for leak reports (off by default)
+ */
+@Configuration(proxyBeanMethods = false)
+public class PoolMonitoringConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public PoolTelemetry poolTelemetry(MeterRegistry registry,
+                                       @Value("${lojaki.pool.monitoring.leak-threshold:30s}") Duration leakThreshold,
+                                       @Value("${lojaki.pool.monitoring.window-seconds:300}") int windowSeconds,
+                                       @Value("${lojaki.pool.monitoring.capture-stacks:false}") boolean captureStacks) {
+        return new PoolTelemetry(registry, leakThreshold, windowSeconds, captureStacks);
+    }
+
+    @Bean
+    public PoolAdvisorEndpoint poolAdvisorEndpoint(PoolTelemetry telemetry) {
+        return new PoolAdvisorEndpoint(telemetry);
+    }
+
+    // Static so the post-processor does not force early creation of this configuration
+    @Bean
+    public static BeanPostProcessor monitoredDataSourcePostProcessor(ObjectProvider<PoolTelemetry> telemetry,
+                                                                     ObjectProvider<SqlTelemetry> sqlTelemetry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof MonitoredDataSource) {
+                    return bean;
+                }
+                PoolTelemetry poolTelemetry = telemetry.getObject();
+                if (dataSource instanceof HikariDataSource hikari) {
+                    poolTelemetry.attach(hikari);
+                }
+                SqlTelemetry statements = sqlTelemetry.getIfAvailable();
+                if (statements != null) {
+                    statements.attach(dataSource);
+                }
+                return new MonitoredDataSource(dataSource, poolTelemetry, statements);
+            }
+        };
+    }
+}
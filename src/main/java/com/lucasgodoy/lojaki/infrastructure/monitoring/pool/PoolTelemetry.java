@@ -0,0 +1,320 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Connection pool telemetry: who takes connections, how long they wait
+ * for them and how long they keep them.
+ *
+ * Fed by {@link MonitoredDataSource}. Records, per calling application
+ * method:
+ * - lojaki.db.connection.wait: time spent in getConnection()
+ * - lojaki.db.connection.hold: time from getConnection() to close()
+ *
+ * A sampler thread reads the Hikari pool once per second into the
+ * lojaki.db.pool.active/idle/pending distributions, keeps a sliding
+ * window for the sizing advisor and reports connections held longer than
+ * the leak threshold.
+ *
+ * A checkout only walks its stack up to the first application frame, to
+ * name the caller. Only while stack capture is on does it also record its
+ * full stack, which the leak report then shows: the place the connection
+ * was taken, not wherever the holding thread happens to be when the leak
+ * is noticed. With capture off, a leak report carries the caller frame
+ * alone.
+ */
+public class PoolTelemetry {
+
+    private static final String BASE_PACKAGE = "com.lucasgodoy.lojaki.";
+    private static final String APPLICATION_PACKAGE = BASE_PACKAGE + "application.";
+    private static final String OWN_PACKAGE = PoolTelemetry.class.getPackageName();
+
+    /** Frames kept per leak report */
+    private static final int MAX_FRAMES = 64;
+
+    /** Leak reports kept for the advisor endpoint */
+    private static final int MAX_LEAK_REPORTS = 20;
+
+    /** Headroom applied to the Little's law estimate */
+    private static final double HEADROOM = 1.25;
+
+    private final MeterRegistry registry;
+    private final Duration leakThreshold;
+    private final boolean captureStacks;
+    private final StackWalker stackWalker = StackWalker.getInstance();
+
+    private final Map<String, Timer> waitTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> holdTimers = new ConcurrentHashMap<>();
+    private final Set<ConnectionLease> leases = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder holdNanos = new LongAdder();
+
+    private final DistributionSummary activeSummary;
+    private final DistributionSummary idleSummary;
+    private final DistributionSummary pendingSummary;
+
+    private volatile HikariDataSource hikari;
+
+    // Sliding window, one slot per sample; guarded by this
+    private final long[] windowNanos;
+    private final long[] windowAcquisitions;
+    private final long[] windowWaitNanos;
+    private final long[] windowHoldNanos;
+    private final int[] windowDemand;
+    private int samples;
+
+    private final Deque<LeakReport> recentLeaks = new ArrayDeque<>();
+    private ScheduledExecutorService sampler;
+
+    public PoolTelemetry(MeterRegistry registry, Duration leakThreshold, int windowSeconds, boolean captureStacks) {
+        if (windowSeconds < 2) {
+            throw new IllegalArgumentException("Window must cover at least 2 seconds");
+        }
+        this.registry = registry;
+        this.leakThreshold = leakThreshold;
+        this.captureStacks = captureStacks;
+        this.windowNanos = new long[windowSeconds];
+        this.windowAcquisitions = new long[windowSeconds];
+        this.windowWaitNanos = new long[windowSeconds];
+        this.windowHoldNanos = new long[windowSeconds];
+        this.windowDemand = new int[windowSeconds];
+        this.activeSummary = poolSummary("lojaki.db.pool.active", "Connections in use");
+        this.idleSummary = poolSummary("lojaki.db.pool.idle", "Idle connections");
+        this.pendingSummary = poolSummary("lojaki.db.pool.pending", "Threads waiting for a connection");
+    }
+
+    private DistributionSummary poolSummary(String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * Gives the sampler access to the Hikari pool behind the monitored data source.
+     */
+    void attach(HikariDataSource dataSource) {
+        this.hikari = dataSource;
+    }
+
+    // ===== Recording =====
+
+    ConnectionLease onAcquired(long acquiredNanos, long waitedNanos) {
+        String caller = stackWalker.walk(PoolTelemetry::resolveCaller);
+
+        acquisitions.increment();
+        waitNanos.add(waitedNanos);
+        waitTimers.computeIfAbsent(caller, c -> timer("lojaki.db.connection.wait", c,
+                "Time spent waiting for a pooled connection")).record(waitedNanos, TimeUnit.NANOSECONDS);
+
+        List<StackWalker.StackFrame> stack = captureStacks ? stackWalker.walk(PoolTelemetry::checkoutStack) : null;
+        ConnectionLease lease = new ConnectionLease(caller, acquiredNanos, Thread.currentThread().getName(), stack);
+        leases.add(lease);
+        return lease;
+    }
+
+    void onReleased(ConnectionLease lease, long releasedNanos) {
+        if (!leases.remove(lease)) {
+            return;
+        }
+        long held = releasedNanos - lease.acquiredNanos;
+        holdNanos.add(held);
+        holdTimers.computeIfAbsent(lease.caller, c -> timer("lojaki.db.connection.hold", c,
+                "Time a connection is held before being returned")).record(held, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String caller, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("caller", caller)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Picks the application method responsible for a checkout: the first
+     * application-layer frame, else the first frame of our own code. Stops
+     * walking at the first application frame.
+     */
+    private static String resolveCaller(Stream<StackWalker.StackFrame> frames) {
+        StackWalker.StackFrame fallback = null;
+        for (Iterator<StackWalker.StackFrame> it = frames.iterator(); it.hasNext(); ) {
+            StackWalker.StackFrame frame = it.next();
+            String className = frame.getClassName();
+            if (!className.startsWith(BASE_PACKAGE) || className.startsWith(OWN_PACKAGE)) {
+                continue;
+            }
+            if (className.startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+            if (fallback == null) {
+                fallback = frame;
+            }
+        }
+        return fallback == null ? "other" : describe(fallback);
+    }
+
+    // The checkout stack without the telemetry frames on top of it
+    private static List<StackWalker.StackFrame> checkoutStack(Stream<StackWalker.StackFrame> frames) {
+        return frames.dropWhile(frame -> frame.getClassName().startsWith(OWN_PACKAGE))
+                .limit(MAX_FRAMES)
+                .toList();
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        int proxySuffix = className.indexOf("$$");
+        if (proxySuffix > 0) {
+            className = className.substring(0, proxySuffix);
+        }
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    // ===== Sampling =====
+
+    public synchronized void start() {
+        if (sampler != null) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "pool-telemetry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                // Never let a failed sample stop the sampler
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+    }
+
+    synchronized void sample() {
+        long now = System.nanoTime();
+        int demand = leases.size();
+        HikariPoolMXBean pool = hikari == null ? null : hikari.getHikariPoolMXBean();
+        if (pool != null) {
+            activeSummary.record(pool.getActiveConnections());
+            idleSummary.record(pool.getIdleConnections());
+            pendingSummary.record(pool.getThreadsAwaitingConnection());
+            demand = pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+
+        int slot = samples % windowNanos.length;
+        windowNanos[slot] = now;
+        windowAcquisitions[slot] = acquisitions.sum();
+        windowWaitNanos[slot] = waitNanos.sum();
+        windowHoldNanos[slot] = holdNanos.sum();
+        windowDemand[slot] = demand;
+        samples++;
+
+        detectLeaks(now);
+    }
+
+    private void detectLeaks(long now) {
+        if (leakThreshold.isZero()) {
+            return;
+        }
+        long threshold = leakThreshold.toNanos();
+        for (ConnectionLease lease : leases) {
+            if (!lease.reportedAsLeak && now - lease.acquiredNanos > threshold) {
+                lease.reportedAsLeak = true;
+                List<String> stack = lease.stack == null
+                        ? List.of(lease.caller)
+                        : lease.stack.stream().map(frame -> frame.toStackTraceElement().toString()).toList();
+                recentLeaks.addFirst(new LeakReport(lease.caller, Instant.now(),
+                        Duration.ofNanos(now - lease.acquiredNanos), lease.threadName, stack));
+                if (recentLeaks.size() > MAX_LEAK_REPORTS) {
+                    recentLeaks.removeLast();
+                }
+                registry.counter("lojaki.db.connection.leaks", "caller", lease.caller).increment();
+            }
+        }
+    }
+
+    // ===== Advice =====
+
+    /**
+     * Recommends a maximum pool size from the sampled window.
+     *
+     * The steady-state number of connections in use is arrival rate times
+     * mean hold time (Little's law); the recommendation adds headroom to
+     * that and never goes below the 99th percentile of observed demand.
+     */
+    public synchronized PoolAdvice advise() {
+        int maxPoolSize = hikari == null ? -1 : hikari.getMaximumPoolSize();
+        List<LeakReport> leaks = List.copyOf(recentLeaks);
+        int count = Math.min(samples, windowNanos.length);
+        if (count < 2) {
+            return new PoolAdvice(maxPoolSize, 0, 0, 0, 0, 0, maxPoolSize,
+                    "Not enough samples yet", leaks);
+        }
+
+        int newest = (samples - 1) % windowNanos.length;
+        int oldest = samples > windowNanos.length ? samples % windowNanos.length : 0;
+        double seconds = (windowNanos[newest] - windowNanos[oldest]) / 1e9;
+        long acquired = windowAcquisitions[newest] - windowAcquisitions[oldest];
+        if (acquired == 0 || seconds <= 0) {
+            return new PoolAdvice(maxPoolSize, 0, 0, 0, 0, 0, maxPoolSize,
+                    "No connections acquired in the window; keep the current size", leaks);
+        }
+
+        double rate = acquired / seconds;
+        double meanHoldMillis = (windowHoldNanos[newest] - windowHoldNanos[oldest]) / 1e6 / acquired;
+        double meanWaitMillis = (windowWaitNanos[newest] - windowWaitNanos[oldest]) / 1e6 / acquired;
+        double concurrency = rate * meanHoldMillis / 1000.0;
+
+        int[] demand = Arrays.copyOf(windowDemand, count);
+        Arrays.sort(demand);
+        int p99Demand = demand[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+        int recommended = Math.max(2, Math.max((int) Math.ceil(concurrency * HEADROOM), p99Demand));
+
+        String verdict;
+        if (maxPoolSize > 0 && meanWaitMillis >= 1.0 && p99Demand > maxPoolSize) {
+            verdict = "Saturated: requests queue for connections (mean wait " + Math.round(meanWaitMillis)
+                    + " ms). Raise the pool to " + recommended + " unless the database itself is the bottleneck"
+                    + " (hold time rising with load).";
+        } else if (maxPoolSize > 0 && recommended < maxPoolSize / 2) {
+            verdict = "Oversized: the load needs about " + recommended + " connections out of " + maxPoolSize + ".";
+        } else {
+            verdict = "Pool size fits the observed load.";
+        }
+        return new PoolAdvice(maxPoolSize, rate, meanHoldMillis, meanWaitMillis, concurrency, p99Demand,
+                recommended, verdict, leaks);
+    }
+
+    /** Connections currently checked out through the monitored data source */
+    public int getLeasedConnections() {
+        return leases.size();
+    }
+}
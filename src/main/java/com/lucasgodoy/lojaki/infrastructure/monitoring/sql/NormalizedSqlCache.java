@@ -0,0 +1,76 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Normalized form (see {@link SqlNormalizer}) of recently executed SQL
+ * strings, so each distinct string is normalized once.
+ *
+ * Bounded, least recently used first out: the strings are split over a
+ * power-of-two number of shards, each a map in access order under its own
+ * lock, and a full shard drops its eldest entry when a new string arrives.
+ * Statements run all the time keep their entry however many one-off
+ * strings pass through.
+ */
+final class NormalizedSqlCache {
+
+    private static final int SHARDS = 16;
+
+    private final Shard[] shards = new Shard[SHARDS];
+
+    NormalizedSqlCache(int capacity) {
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(Math.max(1, capacity / SHARDS));
+        }
+    }
+
+    /** Normalized form of the SQL, computed outside the shard's lock on a miss */
+    String normalize(String sql) {
+        Shard shard = shard(sql);
+        synchronized (shard) {
+            String cached = shard.get(sql);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String normalized = SqlNormalizer.normalize(sql);
+        synchronized (shard) {
+            shard.put(sql, normalized);
+        }
+        return normalized;
+    }
+
+    int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.size();
+            }
+        }
+        return size;
+    }
+
+    private Shard shard(String sql) {
+        int hash = sql.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+
+    /** Strings of one shard, least recently used first; guarded by the shard itself */
+    private static final class Shard extends LinkedHashMap<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import com.lucasgodoy.lojaki.infrastructure.persistence.DatabaseDialect;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures PostgreSQL execution plans of slow statements.
+ *
+ * Runs plain EXPLAIN (never ANALYZE, so nothing is executed twice) for the
+ * generic plan of the statement: it is prepared with $n placeholders and
+ * explained under plan_cache_mode = force_generic_plan, with NULL
+ * arguments the planner never looks at. The values of the slow execution
+ * are never captured, so no customer data reaches the report; string
+ * literals written into the SQL itself are masked in the plan text. The
+ * generic plan is the one a prepared statement settles on after a few
+ * executions, so it is what repeated executions run; a value-specific
+ * custom plan is not captured.
+ *
+ * Runs on a single background thread and a connection taken straight from
+ * the pool, outside the monitored data source. Collection is rate-limited
+ * twice: at most one plan per statement per interval, and at most
+ * plansPerMinute plans overall. Requests beyond that, or while the queue is
+ * full, are dropped.
+ *
+ * Does nothing on databases other than PostgreSQL.
+ */
+public class PlanCollector {
+
+    private static final Set<String> EXPLAINABLE = Set.of("select", "with", "insert", "update", "delete");
+    private static final int QUEUE_CAPACITY = 16;
+    private static final int QUERY_TIMEOUT_SECONDS = 5;
+    private static final String STATEMENT_NAME = "lojaki_plan_collector";
+
+    private final int plansPerMinute;
+    private final long planIntervalNanos;
+    private final Clock clock;
+    private final AtomicLong captured = new AtomicLong();
+
+    private volatile DataSource dataSource;
+    private volatile Boolean postgres;
+
+    // Global rate limit: plans started in the current minute; guarded by this
+    private long minuteStartNanos;
+    private int plansThisMinute;
+
+    private ThreadPoolExecutor executor;
+
+    public PlanCollector(int plansPerMinute, Duration planInterval, Clock clock) {
+        this.plansPerMinute = plansPerMinute;
+        this.planIntervalNanos = planInterval.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * Gives the collector the pool to explain on. Must be the raw pool, not
+     * the monitored wrapper, so EXPLAIN runs are not measured themselves.
+     */
+    void attach(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "sql-plan-collector");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Asks for the plan of a slow execution. Returns immediately; the plan is
+     * attached to the statement's statistics once captured.
+     */
+    void request(StatementStats stats, String sql) {
+        ThreadPoolExecutor target = executor;
+        if (target == null || dataSource == null || Boolean.FALSE.equals(postgres) || !EXPLAINABLE.contains(stats.kind)) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = stats.lastPlanRequest.get();
+        if ((last != 0 && now - last < planIntervalNanos) || !stats.lastPlanRequest.compareAndSet(last, now)) {
+            return;
+        }
+        if (!tryAcquire(now)) {
+            stats.lastPlanRequest.compareAndSet(now, last);
+            return;
+        }
+        try {
+            target.execute(() -> explain(stats, sql));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private synchronized boolean tryAcquire(long now) {
+        if (now - minuteStartNanos >= TimeUnit.MINUTES.toNanos(1)) {
+            minuteStartNanos = now;
+            plansThisMinute = 0;
+        }
+        if (plansThisMinute >= plansPerMinute) {
+            return false;
+        }
+        plansThisMinute++;
+        return true;
+    }
+
+    private void explain(StatementStats stats, String sql) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (postgres == null) {
+                postgres = DatabaseDialect.isPostgres(connection);
+            }
+            if (!postgres) {
+                return;
+            }
+            StringBuilder plan = new StringBuilder();
+            boolean autoCommit = connection.getAutoCommit();
+            boolean prepared = false;
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+                try {
+                    // Transaction-local, so the pooled connection goes back with its usual plan caching
+                    statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                    StringBuilder arguments = new StringBuilder();
+                    statement.execute("PREPARE " + STATEMENT_NAME + " AS " + numberPlaceholders(sql, arguments));
+                    prepared = true;
+                    try (ResultSet rows = statement.executeQuery(
+                            "EXPLAIN (VERBOSE, COSTS) EXECUTE " + STATEMENT_NAME + arguments)) {
+                        while (rows.next()) {
+                            plan.append(maskLiterals(rows.getString(1))).append('\n');
+                        }
+                    }
+                } finally {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                    // Prepared statements outlive the transaction
+                    if (prepared) {
+                        statement.execute("DEALLOCATE " + STATEMENT_NAME);
+                    }
+                }
+            }
+            stats.attachPlan(plan.toString(), clock.instant());
+            captured.incrementAndGet();
+        } catch (SQLException | RuntimeException e) {
+            stats.attachPlan("Plan unavailable: " + e.getMessage(), clock.instant());
+        }
+    }
+
+    /**
+     * Rewrites JDBC "?" placeholders as $1, $2... for PREPARE, leaving quoted
+     * text and comments alone, and fills arguments with the matching
+     * "(NULL, ...)" list for EXECUTE. "??" is the JDBC escape for the "?"
+     * operator and becomes a single "?".
+     */
+    static String numberPlaceholders(String sql, StringBuilder arguments) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int length = sql.length();
+        int next = 1;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            int end = i + 1;
+            if (c == '\'' || c == '"') {
+                end = skipQuoted(sql, i, c);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int newline = sql.indexOf('\n', i);
+                end = newline < 0 ? length : newline;
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int close = sql.indexOf("*/", i + 2);
+                end = close < 0 ? length : close + 2;
+            } else if (c == '?') {
+                if (i + 1 < length && sql.charAt(i + 1) == '?') {
+                    out.append('?');
+                    i += 2;
+                } else {
+                    out.append('$').append(next++);
+                    i++;
+                }
+                continue;
+            }
+            out.append(sql, i, end);
+            i = end;
+        }
+        if (next > 1) {
+            arguments.append('(').append(String.join(", ", Collections.nCopies(next - 1, "NULL"))).append(')');
+        }
+        return out.toString();
+    }
+
+    /** Replaces the content of every '...' literal in a plan line with "?" */
+    static String maskLiterals(String line) {
+        if (line == null || line.indexOf('\'') < 0) {
+            return line;
+        }
+        StringBuilder out = new StringBuilder(line.length());
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(line, i, c);
+                out.append("'?'");
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static int skipQuoted(String text, int start, char quote) {
+        int i = start + 1;
+        while (i < text.length()) {
+            if (text.charAt(i) == quote) {
+                if (i + 1 < text.length() && text.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return text.length();
+    }
+
+    long getCaptured() {
+        return captured.get();
+    }
+
+    void resetCaptured() {
+        captured.set(0);
+    }
+}
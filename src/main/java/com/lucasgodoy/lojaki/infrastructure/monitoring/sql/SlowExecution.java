@@ -0,0 +1,16 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.time.Instant;
+
+/**
+ * One execution that took longer than the slow threshold.
+ *
+ * @param sql        normalized SQL
+ * @param caller     calling method(s), outermost first
+ * @param millis     execution time
+ * @param batchSize  rows in the batch, 1 for a single statement
+ * @param failed     whether the execution threw
+ * @param executedAt when it finished
+ */
+public record SlowExecution(String sql, String caller, double millis, int batchSize, boolean failed,
+                            Instant executedAt) { }
@@ -0,0 +1,37 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint (/actuator/slowqueries) listing the most expensive
+ * statements, with callers, percentiles and captured plans.
+ *
+ * - GET ?order=total|mean|p99|max|count&limit=20   top statements
+ * - DELETE                                           reset the statistics
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 200;
+
+    private final SqlTelemetry telemetry;
+
+    public SlowQueryEndpoint(SqlTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    @ReadOperation
+    public SqlReport report(@Nullable String order, @Nullable Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(1, limit), MAX_LIMIT);
+        return telemetry.report(order, size);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        telemetry.reset();
+    }
+}
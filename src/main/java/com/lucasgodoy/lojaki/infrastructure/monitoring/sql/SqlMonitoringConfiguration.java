@@ -0,0 +1,42 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Wires statement telemetry; the monitored data source picks it up.
+ *
+ * Settings (application.properties):
+ * - lojaki.sql.monitoring.slow-threshold: executions at or above this are slow
+ * - lojaki.sql.monitoring.max-statements: distinct normalized statements tracked
+ * - lojaki.sql.monitoring.plans-per-minute: EXPLAIN runs allowed per minute (PostgreSQL only)
+ * - lojaki.sql.monitoring.plan-interval: minimum time between two plans of the same statement
+ */
+@Configuration(proxyBeanMethods = false)
+public class SqlMonitoringConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public PlanCollector planCollector(
+            @Value("${lojaki.sql.monitoring.plans-per-minute:6}") int plansPerMinute,
+            @Value("${lojaki.sql.monitoring.plan-interval:10m}") Duration planInterval) {
+        return new PlanCollector(plansPerMinute, planInterval, Clock.systemUTC());
+    }
+
+    @Bean
+    public SqlTelemetry sqlTelemetry(MeterRegistry registry,
+                                     PlanCollector planCollector,
+                                     @Value("${lojaki.sql.monitoring.slow-threshold:200ms}") Duration slowThreshold,
+                                     @Value("${lojaki.sql.monitoring.max-statements:500}") int maxStatements) {
+        return new SqlTelemetry(registry, slowThreshold, maxStatements, planCollector, Clock.systemUTC());
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SqlTelemetry telemetry) {
+        return new SlowQueryEndpoint(telemetry);
+    }
+}
@@ -0,0 +1,104 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to a shape shared by every execution of the same statement.
+ *
+ * Literals and positional parameters become "?", comments are dropped,
+ * whitespace is collapsed and lists of placeholders (IN lists, padded IN
+ * lists, multi-row VALUES) collapse to a single "(?...)", so statements
+ * that only differ in their values are counted together.
+ */
+final class SqlNormalizer {
+
+    /** Longer statements are cut; the prefix is enough to recognize them */
+    static final int MAX_LENGTH = 4000;
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern TUPLE_LIST = Pattern.compile("\\(\\?\\.\\.\\.\\)(\\s*,\\s*\\(\\?(\\.\\.\\.)?\\))+");
+
+    private SqlNormalizer() { }
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), MAX_LENGTH));
+        int length = sql.length();
+        int i = 0;
+        while (i < length && out.length() < MAX_LENGTH) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                out.append('?');
+            } else if (c == '"') {
+                int end = skipQuoted(sql, i, '"');
+                out.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (Character.isWhitespace(c)) {
+                while (i < length && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else if ((Character.isDigit(c) || (c == '$' && i + 1 < length && Character.isDigit(sql.charAt(i + 1))))
+                    && !continuesIdentifier(out)) {
+                i++;
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        String normalized = out.toString().strip();
+        if (normalized.indexOf('?') < 0) {
+            return normalized;
+        }
+        normalized = PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?...)");
+        return TUPLE_LIST.matcher(normalized).replaceAll("(?...)");
+    }
+
+    /**
+     * First keyword of the statement, lower case (select, insert, update,
+     * delete, with...), used to tag metrics.
+     */
+    static String kind(String normalized) {
+        int end = 0;
+        while (end < normalized.length() && Character.isLetter(normalized.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "other" : normalized.substring(0, end).toLowerCase();
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    private static boolean continuesIdentifier(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '.';
+    }
+}
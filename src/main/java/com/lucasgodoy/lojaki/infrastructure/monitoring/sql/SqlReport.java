@@ -0,0 +1,23 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Snapshot served by /actuator/slowqueries.
+ *
+ * @param since               when statistics were last reset
+ * @param slowThresholdMillis executions at or above this are reported as slow
+ * @param trackedStatements   distinct normalized statements currently tracked
+ * @param evictedStatements   statements dropped to keep the table bounded
+ * @param plansCaptured       execution plans captured since the last reset
+ * @param statements          top statements, in the requested order
+ * @param recentSlow          latest slow executions, newest first
+ */
+public record SqlReport(Instant since,
+                        double slowThresholdMillis,
+                        int trackedStatements,
+                        long evictedStatements,
+                        long plansCaptured,
+                        List<StatementReport> statements,
+                        List<SlowExecution> recentSlow) { }
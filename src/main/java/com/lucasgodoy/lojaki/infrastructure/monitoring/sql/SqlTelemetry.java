@@ -0,0 +1,241 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-statement SQL telemetry: which statements are slow and who runs them.
+ *
+ * Fed by the statement proxies handed out by the monitored data source.
+ * Every execution is timed and attributed to the calling service and
+ * repository methods (found by walking the stack, as PoolTelemetry does
+ * for connection checkouts), then accumulated under its normalized SQL.
+ * At most maxStatements distinct statements are kept; when a new one
+ * arrives in a full table, the one with the least total time is evicted,
+ * so the expensive statements stay.
+ *
+ * Executions at or above the slow threshold are kept in a short recent
+ * list and, on PostgreSQL, handed to the {@link PlanCollector}.
+ *
+ * Metrics:
+ * - lojaki.db.statement: execution time per caller and statement kind
+ * - lojaki.db.statement.slow: slow executions per caller
+ * - lojaki.db.statement.tracked: distinct statements currently tracked
+ */
+public class SqlTelemetry {
+
+    private static final String BASE_PACKAGE = "com.lucasgodoy.lojaki.";
+    private static final String APPLICATION_PACKAGE = BASE_PACKAGE + "application.";
+    private static final String PERSISTENCE_PACKAGE = BASE_PACKAGE + "infrastructure.persistence.";
+    private static final String MONITORING_PACKAGE = BASE_PACKAGE + "infrastructure.monitoring.";
+
+    /** Slow executions kept for the endpoint */
+    private static final int MAX_RECENT_SLOW = 50;
+
+    /** Raw SQL strings whose normalized form is cached */
+    private static final int MAX_NORMALIZED_CACHE = 4096;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final int maxStatements;
+    private final PlanCollector planCollector;
+    private final Clock clock;
+    private final StackWalker stackWalker = StackWalker.getInstance();
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final NormalizedSqlCache normalized = new NormalizedSqlCache(MAX_NORMALIZED_CACHE);
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowCounters = new ConcurrentHashMap<>();
+    private final AtomicLong evicted = new AtomicLong();
+
+    // Newest first; guarded by itself
+    private final Deque<SlowExecution> recentSlow = new ArrayDeque<>();
+    private volatile Instant since;
+
+    public SqlTelemetry(MeterRegistry registry, Duration slowThreshold, int maxStatements,
+                        PlanCollector planCollector, Clock clock) {
+        if (maxStatements < 1) {
+            throw new IllegalArgumentException("At least one statement must be tracked");
+        }
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxStatements = maxStatements;
+        this.planCollector = planCollector;
+        this.clock = clock;
+        this.since = clock.instant();
+        registry.gauge("lojaki.db.statement.tracked", statements, Map::size);
+    }
+
+    /**
+     * Gives plan collection access to the raw pool behind the monitored data source.
+     */
+    public void attach(DataSource dataSource) {
+        planCollector.attach(dataSource);
+    }
+
+    /**
+     * Wraps a statement so its executions are reported here.
+     *
+     * @param type        JDBC interface to expose (Statement, PreparedStatement, CallableStatement)
+     * @param preparedSql SQL the statement was prepared with, or null for a plain Statement
+     */
+    public Object monitor(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new StatementHandler(statement, this, preparedSql));
+    }
+
+    // ===== Recording =====
+
+    void onExecuted(String sql, long nanos, int batchSize, boolean failed) {
+        if (sql == null) {
+            return;
+        }
+        String key = normalized.normalize(sql);
+        String caller = resolveCaller();
+        StatementStats tracked = statements.get(key);
+        StatementStats stats = tracked != null ? tracked : track(key);
+        stats.record(nanos, batchSize, failed, caller);
+
+        timers.computeIfAbsent(caller + '|' + stats.kind, k -> Timer.builder("lojaki.db.statement")
+                        .description("Time spent executing SQL statements")
+                        .tag("caller", caller)
+                        .tag("kind", stats.kind)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (nanos >= slowThresholdNanos) {
+            slowCounters.computeIfAbsent(caller, c -> Counter.builder("lojaki.db.statement.slow")
+                    .description("Statement executions over the slow threshold")
+                    .tag("caller", c)
+                    .register(registry)).increment();
+            synchronized (recentSlow) {
+                recentSlow.addFirst(new SlowExecution(key, caller, nanos / NANOS_PER_MILLI, batchSize, failed,
+                        clock.instant()));
+                if (recentSlow.size() > MAX_RECENT_SLOW) {
+                    recentSlow.removeLast();
+                }
+            }
+            planCollector.request(stats, sql);
+        }
+    }
+
+    private StatementStats track(String key) {
+        if (statements.size() >= maxStatements) {
+            statements.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().totalNanos()))
+                    .ifPresent(cheapest -> {
+                        if (statements.remove(cheapest.getKey(), cheapest.getValue())) {
+                            evicted.incrementAndGet();
+                        }
+                    });
+        }
+        return statements.computeIfAbsent(key, StatementStats::new);
+    }
+
+    /**
+     * Names the code responsible for a statement: the application service
+     * method and the outermost persistence method below it, as
+     * "Service.method > Repository.method". Statements flushed at commit
+     * have no persistence frame and are attributed to the service alone;
+     * calls from outside the application layer fall back to the nearest
+     * frame of our own code.
+     */
+    private String resolveCaller() {
+        return stackWalker.walk(frames -> {
+            StackWalker.StackFrame persistence = null;
+            StackWalker.StackFrame nearest = null;
+            StackWalker.StackFrame application = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String className = frame.getClassName();
+                if (!className.startsWith(BASE_PACKAGE) || className.startsWith(MONITORING_PACKAGE)) {
+                    continue;
+                }
+                if (className.startsWith(APPLICATION_PACKAGE)) {
+                    application = frame;
+                    break;
+                }
+                if (className.startsWith(PERSISTENCE_PACKAGE)) {
+                    persistence = frame;
+                } else if (nearest == null) {
+                    nearest = frame;
+                }
+            }
+            StackWalker.StackFrame inner = persistence != null ? persistence : nearest;
+            if (application == null) {
+                return inner == null ? "other" : describe(inner);
+            }
+            return persistence == null ? describe(application) : describe(application) + " > " + describe(persistence);
+        });
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        int proxySuffix = className.indexOf("$$");
+        if (proxySuffix > 0) {
+            className = className.substring(0, proxySuffix);
+        }
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    // ===== Reporting =====
+
+    /**
+     * Returns the top statements.
+     *
+     * @param order "total" (default), "mean", "p99", "max" or "count"
+     * @param limit statements to return
+     */
+    public SqlReport report(String order, int limit) {
+        Comparator<StatementStats> comparator = switch (order == null ? "total" : order) {
+            case "total" -> Comparator.comparingLong(StatementStats::totalNanos);
+            case "mean" -> Comparator.comparingDouble(s -> s.totalNanos() / (double) Math.max(1, s.executions()));
+            case "p99" -> Comparator.comparingLong(s -> s.percentileNanos(99));
+            case "max" -> Comparator.comparingLong(StatementStats::maxNanos);
+            case "count" -> Comparator.comparingLong(StatementStats::executions);
+            default -> throw new IllegalArgumentException("Unknown order: " + order);
+        };
+        List<StatementReport> top = statements.values().stream()
+                .sorted(comparator.reversed())
+                .limit(Math.max(1, limit))
+                .map(StatementStats::toReport)
+                .toList();
+        List<SlowExecution> slow;
+        synchronized (recentSlow) {
+            slow = List.copyOf(recentSlow);
+        }
+        return new SqlReport(since, slowThresholdNanos / NANOS_PER_MILLI, statements.size(), evicted.get(),
+                planCollector.getCaptured(), top, slow);
+    }
+
+    /**
+     * Forgets every statement and slow execution. Metrics keep accumulating.
+     */
+    public void reset() {
+        statements.clear();
+        evicted.set(0);
+        planCollector.resetCaptured();
+        synchronized (recentSlow) {
+            recentSlow.clear();
+        }
+        since = clock.instant();
+    }
+}
@@ -0,0 +1,88 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Statement;
+
+/**
+ * Forwards every call to a JDBC statement and reports each execution to
+ * {@link SqlTelemetry}.
+ *
+ * Bound parameter values are never looked at: slow statements are explained
+ * as generic plans, so no customer data ends up in the telemetry. Statements
+ * are used by one thread at a time, so no synchronization is needed.
+ */
+final class StatementHandler implements InvocationHandler {
+
+    private final Statement statement;
+    private final SqlTelemetry telemetry;
+
+    /** SQL of a prepared statement, or null for a plain Statement */
+    private final String preparedSql;
+
+    private int batchSize;
+    private String batchSql;
+
+    StatementHandler(Statement statement, SqlTelemetry telemetry, String preparedSql) {
+        this.statement = statement;
+        this.telemetry = telemetry;
+        this.preparedSql = preparedSql;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            return execute(method, args, name.endsWith("Batch"));
+        }
+        switch (name) {
+            case "addBatch" -> {
+                batchSize++;
+                if (args != null && args.length == 1 && args[0] instanceof String sql) {
+                    batchSql = sql;
+                }
+            }
+            case "clearBatch" -> batchSize = 0;
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                return "Monitored[" + statement + "]";
+            }
+        }
+        return invokeTarget(method, args);
+    }
+
+    private Object execute(Method method, Object[] args, boolean batch) throws Throwable {
+        String sql = preparedSql;
+        if (sql == null) {
+            sql = args != null && args.length > 0 && args[0] instanceof String text ? text : batchSql;
+        }
+        int rows = batch ? batchSize : 1;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invokeTarget(method, args);
+            failed = false;
+            return result;
+        } finally {
+            telemetry.onExecuted(sql, System.nanoTime() - start, rows, failed);
+            if (batch) {
+                batchSize = 0;
+                batchSql = null;
+            }
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
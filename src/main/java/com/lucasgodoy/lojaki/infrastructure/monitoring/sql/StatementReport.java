@@ -0,0 +1,39 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Execution statistics of one normalized statement.
+ *
+ * Percentiles are bucketed, accurate to about 12.5%.
+ *
+ * @param sql            normalized SQL
+ * @param kind           first keyword (select, insert, update, delete...)
+ * @param executions     times executed (a batch counts once)
+ * @param errors         executions that threw
+ * @param rows           statements sent, counting every row of a batch
+ * @param totalMillis    time spent executing, all executions together
+ * @param meanMillis     mean execution time
+ * @param p50Millis      median execution time
+ * @param p95Millis      95th percentile
+ * @param p99Millis      99th percentile
+ * @param maxMillis      slowest execution
+ * @param callers        busiest calling methods with their execution counts
+ * @param plan           last captured execution plan, or null
+ * @param planCapturedAt when the plan was captured, or null
+ */
+public record StatementReport(String sql,
+                              String kind,
+                              long executions,
+                              long errors,
+                              long rows,
+                              double totalMillis,
+                              double meanMillis,
+                              double p50Millis,
+                              double p95Millis,
+                              double p99Millis,
+                              double maxMillis,
+                              Map<String, Long> callers,
+                              String plan,
+                              Instant planCapturedAt) { }
@@ -0,0 +1,97 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulated executions of one normalized statement.
+ */
+final class StatementStats {
+
+    /** Distinct callers tracked per statement; the rest are counted as "other" */
+    private static final int MAX_CALLERS = 16;
+
+    /** Callers listed in a report */
+    private static final int REPORTED_CALLERS = 5;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    final String sql;
+    final String kind;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder batchedRows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Map<String, LongAdder> callers = new ConcurrentHashMap<>();
+
+    /** Nanotime of the last plan request; 0 until the first one */
+    final AtomicLong lastPlanRequest = new AtomicLong();
+    private volatile String plan;
+    private volatile Instant planCapturedAt;
+
+    StatementStats(String sql) {
+        this.sql = sql;
+        this.kind = SqlNormalizer.kind(sql);
+    }
+
+    void record(long nanos, int batchSize, boolean failed, String caller) {
+        executions.increment();
+        batchedRows.add(batchSize);
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        histogram.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        String key = callers.size() >= MAX_CALLERS && !callers.containsKey(caller) ? "other" : caller;
+        callers.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    void attachPlan(String plan, Instant capturedAt) {
+        this.plan = plan;
+        this.planCapturedAt = capturedAt;
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    long executions() {
+        return executions.sum();
+    }
+
+    long maxNanos() {
+        return maxNanos.get();
+    }
+
+    long percentileNanos(double percentile) {
+        return histogram.percentile(percentile);
+    }
+
+    StatementReport toReport() {
+        long count = executions.sum();
+        long total = totalNanos.sum();
+        long max = maxNanos.get();
+        Map<String, Long> topCallers = new LinkedHashMap<>();
+        callers.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(REPORTED_CALLERS)
+                .forEach(e -> topCallers.put(e.getKey(), e.getValue().sum()));
+        return new StatementReport(sql, kind, count, errors.sum(), batchedRows.sum(),
+                total / NANOS_PER_MILLI,
+                count == 0 ? 0 : total / NANOS_PER_MILLI / count,
+                Math.min(histogram.percentile(50), max) / NANOS_PER_MILLI,
+                Math.min(histogram.percentile(95), max) / NANOS_PER_MILLI,
+                Math.min(histogram.percentile(99), max) / NANOS_PER_MILLI,
+                max / NANOS_PER_MILLI,
+                topCallers, plan, planCapturedAt);
+    }
+}
@@ -0,0 +1,35 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Detects the database behind a connection, for the few places that use
+ * PostgreSQL-only SQL (COPY, INCLUDE indexes, collations, EXPLAIN) and
+ * fall back to portable SQL elsewhere (e.g. H2).
+ */
+public final class DatabaseDialect {
+
+    private static final String POSTGRES_PRODUCT_NAME = "PostgreSQL";
+
+    private DatabaseDialect() { }
+
+    public static boolean isPostgres(Connection connection) throws SQLException {
+        return POSTGRES_PRODUCT_NAME.equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    public static boolean isPostgres(JdbcTemplate jdbcTemplate) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> isPostgres(connection)));
+    }
+
+    public static boolean isPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return isPostgres(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not detect database type", e);
+        }
+    }
+}
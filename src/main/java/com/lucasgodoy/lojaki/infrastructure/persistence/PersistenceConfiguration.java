@@ -0,0 +1,49 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence;
+
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.CategoryPathBackfill;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.CategoryPathIndexes;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.CustomerSearchIndexes;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.OrderHistoryIndexes;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.OrderSummaryBackfill;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Schema objects and data fixes that JPA annotations cannot express, prepared at startup.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PersistenceConfiguration {
+
+    // Depends on the EntityManagerFactory so it runs after Hibernate updated the schema
+    @Bean(initMethod = "ensure")
+    public CustomerSearchIndexes customerSearchIndexes(JdbcTemplate jdbcTemplate,
+                                                       EntityManagerFactory entityManagerFactory) {
+        return new CustomerSearchIndexes(jdbcTemplate);
+    }
+
+    @Bean(initMethod = "ensure")
+    public OrderSummaryBackfill orderSummaryBackfill(JdbcTemplate jdbcTemplate,
+                                                     EntityManagerFactory entityManagerFactory) {
+        return new OrderSummaryBackfill(jdbcTemplate);
+    }
+
+    @Bean(initMethod = "ensure")
+    public OrderHistoryIndexes orderHistoryIndexes(JdbcTemplate jdbcTemplate,
+                                                   EntityManagerFactory entityManagerFactory) {
+        return new OrderHistoryIndexes(jdbcTemplate);
+    }
+
+    @Bean(initMethod = "ensure")
+    public CategoryPathBackfill categoryPathBackfill(JdbcTemplate jdbcTemplate,
+                                                     EntityManagerFactory entityManagerFactory) {
+        return new CategoryPathBackfill(jdbcTemplate);
+    }
+
+    @Bean(initMethod = "ensure")
+    public CategoryPathIndexes categoryPathIndexes(JdbcTemplate jdbcTemplate,
+                                                   EntityManagerFactory entityManagerFactory) {
+        return new CategoryPathIndexes(jdbcTemplate);
+    }
+}
@@ -0,0 +1,46 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence;
+
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link AfterCommit} on Spring-managed transactions: work is registered as
+ * a TransactionSynchronization of the transaction bound to the calling
+ * thread and runs once it has committed.
+ */
+public class SpringAfterCommit implements AfterCommit {
+
+    @Override
+    public void run(Runnable work) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            work.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                work.run();
+            }
+        });
+    }
+
+    // An unknown outcome is treated as a rollback: the work is never shown for a change that may not exist
+    @Override
+    public void run(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+}
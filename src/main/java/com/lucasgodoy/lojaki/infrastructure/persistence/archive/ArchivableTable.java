@@ -0,0 +1,51 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.archive;
+
+/**
+ * Tables whose soft-deleted rows can be moved to an archive table.
+ *
+ * Declared in archival order: children before parents, so a run can
+ * archive a tombstoned product and then the category it belonged to.
+ *
+ * Each table carries a guard predicate over alias "t" that keeps rows
+ * still referenced by live data out of the archive (foreign keys would
+ * reject the delete anyway; the guard just avoids failing a whole chunk).
+ */
+public enum ArchivableTable {
+
+    STORE_ITEMS("store_items", "TRUE"),
+
+    PRODUCTS("products",
+            "NOT EXISTS (SELECT 1 FROM order_items r WHERE r.product_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM store_items r WHERE r.product_id = t.id)"),
+
+    CATEGORIES("categories",
+            "NOT EXISTS (SELECT 1 FROM products r WHERE r.category_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM categories r WHERE r.parent_id = t.id)"),
+
+    BRANDS("brands",
+            "NOT EXISTS (SELECT 1 FROM products r WHERE r.brand_id = t.id)"),
+
+    STORES("stores",
+            "NOT EXISTS (SELECT 1 FROM store_items r WHERE r.store_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM brands r WHERE r.store_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM categories r WHERE r.store_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM products r WHERE r.store_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM orders r WHERE r.store_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM customer_store r WHERE r.store_id = t.id)");
+
+    /** Live table name */
+    private final String tableName;
+
+    /** SQL predicate over alias "t" that must hold for a row to be archived */
+    private final String guard;
+
+    ArchivableTable(String tableName, String guard) {
+        this.tableName = tableName;
+        this.guard = guard;
+    }
+
+    // ===== Getters =====
+    public String getTableName() { return tableName; }
+    public String getArchiveTableName() { return tableName + "_archive"; }
+    public String getGuard() { return guard; }
+}
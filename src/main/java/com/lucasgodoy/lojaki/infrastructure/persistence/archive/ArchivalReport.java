@@ -0,0 +1,79 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.archive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of one archival run.
+ *
+ * Holds the number of rows moved per table and the number of chunks
+ * executed, so each run can be logged and exported as metrics.
+ */
+public class ArchivalReport {
+
+    /** Rows soft-deleted before this instant were eligible */
+    private final Instant cutoff;
+
+    /** When the run started */
+    private final Instant startedAt;
+
+    /** When the run finished */
+    private Instant finishedAt;
+
+    /** Rows archived per table */
+    private final Map<ArchivableTable, Long> archivedRows = new EnumMap<>(ArchivableTable.class);
+
+    /** Chunks (statements) executed over the whole run */
+    private long chunks;
+
+    /** Whether the run was stopped before every table was done */
+    private boolean stopped;
+
+    public ArchivalReport(Instant cutoff, Instant startedAt) {
+        this.cutoff = cutoff;
+        this.startedAt = startedAt;
+    }
+
+    // ===== Recording =====
+    void recordChunk(ArchivableTable table, int rows) {
+        archivedRows.merge(table, (long) rows, Long::sum);
+        chunks++;
+    }
+
+    void markStopped() {
+        this.stopped = true;
+    }
+
+    void finish(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    // ===== Getters =====
+    public Instant getCutoff() { return cutoff; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public long getChunks() { return chunks; }
+    public boolean isStopped() { return stopped; }
+    public Map<ArchivableTable, Long> getArchivedRows() { return Collections.unmodifiableMap(archivedRows); }
+
+    public long getArchivedRows(ArchivableTable table) {
+        return archivedRows.getOrDefault(table, 0L);
+    }
+
+    public long getTotalArchivedRows() {
+        return archivedRows.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public Duration getDuration() {
+        return finishedAt == null ? Duration.ZERO : Duration.between(startedAt, finishedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivalReport{cutoff=" + cutoff + ", rows=" + archivedRows
+                + ", chunks=" + chunks + ", stopped=" + stopped + ", duration=" + getDuration() + "}";
+    }
+}
@@ -0,0 +1,183 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the soft-delete archival periodically in the background.
+ *
+ * Rows soft-deleted longer than the retention period are archived.
+ * Only one run executes at a time; a run that is still in progress
+ * when the next one is due simply causes that tick to be skipped.
+ *
+ * Keeps the last report and cumulative per-table counters, and publishes
+ * them to the meter registry:
+ * - lojaki.archival.rows (counter, tag table): rows archived
+ * - lojaki.archival.runs (counter, tag outcome): completed, stopped, failed
+ * - lojaki.archival.duration (timer): duration of each run
+ * - lojaki.archival.running (gauge): 1 while a run is in progress
+ * - lojaki.archival.last.rows (gauge): rows archived by the last run
+ */
+public class ArchivalScheduler {
+
+    private final SoftDeleteArchiver archiver;
+
+    /** How long a row stays soft-deleted before it is archived */
+    private final Duration retention;
+
+    /** Delay between the end of a run and the start of the next */
+    private final Duration interval;
+
+    private final Clock clock;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "soft-delete-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /** Set by stop(); polled by the archiver before every chunk */
+    private volatile boolean stopRequested;
+
+    // ===== Metrics =====
+    private final AtomicReference<ArchivalReport> lastReport = new AtomicReference<>();
+    private final Map<ArchivableTable, AtomicLong> totalArchived = new EnumMap<>(ArchivableTable.class);
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+
+    private final Map<ArchivableTable, Counter> rowCounters = new EnumMap<>(ArchivableTable.class);
+    private final Counter completedCounter;
+    private final Counter stoppedCounter;
+    private final Counter failedCounter;
+    private final Timer durationTimer;
+
+    public ArchivalScheduler(SoftDeleteArchiver archiver, Duration retention, Duration interval, Clock clock,
+                             MeterRegistry registry) {
+        if (retention == null || retention.isNegative()) {
+            throw new IllegalArgumentException("Retention must be non-negative");
+        }
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.archiver = archiver;
+        this.retention = retention;
+        this.interval = interval;
+        this.clock = clock;
+        for (ArchivableTable table : ArchivableTable.values()) {
+            totalArchived.put(table, new AtomicLong());
+            rowCounters.put(table, Counter.builder("lojaki.archival.rows")
+                    .description("Soft-deleted rows moved to the archive")
+                    .tag("table", table.getTableName())
+                    .register(registry));
+        }
+        this.completedCounter = runCounter(registry, "completed");
+        this.stoppedCounter = runCounter(registry, "stopped");
+        this.failedCounter = runCounter(registry, "failed");
+        this.durationTimer = Timer.builder("lojaki.archival.duration")
+                .description("Duration of archival runs")
+                .register(registry);
+        Gauge.builder("lojaki.archival.running", running, r -> r.get() ? 1 : 0)
+                .description("Whether an archival run is in progress")
+                .register(registry);
+        Gauge.builder("lojaki.archival.last.rows", lastReport,
+                        r -> r.get() == null ? 0 : r.get().getTotalArchivedRows())
+                .description("Rows archived by the last run")
+                .register(registry);
+    }
+
+    private static Counter runCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("lojaki.archival.runs")
+                .description("Archival runs by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // ===== Lifecycle =====
+
+    /** Starts periodic archival */
+    public void start() {
+        executor.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops periodic archival. A run in progress, on the scheduler's thread
+     * or a caller's, stops at its next chunk boundary.
+     */
+    public void stop() {
+        stopRequested = true;
+        executor.shutdownNow();
+    }
+
+    // ===== Operations =====
+
+    /**
+     * Runs an archival pass immediately on the caller's thread.
+     *
+     * @return the report, or null if another run is in progress or the scheduler was stopped
+     */
+    public ArchivalReport runNow() {
+        if (stopRequested || !running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            ArchivalReport report = archiver.archive(Instant.now(clock).minus(retention), () -> stopRequested);
+            report.getArchivedRows().forEach((table, rows) -> {
+                totalArchived.get(table).addAndGet(rows);
+                rowCounters.get(table).increment(rows);
+            });
+            lastReport.set(report);
+            runs.incrementAndGet();
+            (report.isStopped() ? stoppedCounter : completedCounter).increment();
+            durationTimer.record(report.getDuration());
+            return report;
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            failedCounter.increment();
+            throw e;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Restores one archived row into its live table.
+     */
+    public boolean restore(ArchivableTable table, UUID id) {
+        return archiver.restore(table, id);
+    }
+
+    private void runSafely() {
+        try {
+            runNow();
+        } catch (RuntimeException e) {
+            // Counted in failedRuns; the next tick retries from scratch
+        }
+    }
+
+    // ===== Getters =====
+    public ArchivalReport getLastReport() { return lastReport.get(); }
+    public long getRuns() { return runs.get(); }
+    public long getFailedRuns() { return failedRuns.get(); }
+    public boolean isRunning() { return running.get(); }
+
+    public long getTotalArchived(ArchivableTable table) {
+        return totalArchived.get(table).get();
+    }
+}
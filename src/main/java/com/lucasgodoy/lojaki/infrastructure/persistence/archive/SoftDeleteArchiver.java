@@ -0,0 +1,213 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.archive;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Moves soft-deleted rows into "&lt;table&gt;_archive" tables and back.
+ *
+ * PostgreSQL only. Every chunk is a single statement (select, delete and
+ * insert chained through CTEs), so it runs in its own short transaction and
+ * never holds row locks longer than one chunk. Chunks are driven by a
+ * keyset cursor on the primary key and use SKIP LOCKED so rows being
+ * edited by the application are simply picked up by a later run.
+ *
+ * Archive tables mirror the live table columns plus "archived_at". They are
+ * created on demand and new live columns are added before each run, so
+ * schema changes made by Hibernate do not break archival or restore.
+ */
+public class SoftDeleteArchiver {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Maximum rows moved per statement */
+    private final int chunkSize;
+
+    /** Pause between two chunks of the same run */
+    private final Duration pauseBetweenChunks;
+
+    public SoftDeleteArchiver(JdbcTemplate jdbcTemplate, int chunkSize, Duration pauseBetweenChunks) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+        this.pauseBetweenChunks = pauseBetweenChunks;
+    }
+
+    // ===== Archival =====
+
+    /**
+     * Archives every row of every table soft-deleted before the cutoff.
+     *
+     * @param cutoff rows with deleted_at before this instant are archived
+     * @return per-table counts for the run
+     */
+    public ArchivalReport archive(Instant cutoff) {
+        return archive(cutoff, () -> false);
+    }
+
+    /**
+     * Archives like {@link #archive(Instant)}, stopping at the next chunk
+     * boundary once stop is requested or the calling thread is interrupted.
+     * Chunks already moved stay archived; the report is marked as stopped.
+     *
+     * @param stopRequested polled before every chunk
+     */
+    public ArchivalReport archive(Instant cutoff, BooleanSupplier stopRequested) {
+        ArchivalReport report = new ArchivalReport(cutoff, Instant.now());
+        for (ArchivableTable table : ArchivableTable.values()) {
+            if (!archiveTable(table, cutoff, report, stopRequested)) {
+                report.markStopped();
+                break;
+            }
+        }
+        report.finish(Instant.now());
+        return report;
+    }
+
+    // Returns false if the run was stopped before the table was done
+    private boolean archiveTable(ArchivableTable table, Instant cutoff, ArchivalReport report,
+                                 BooleanSupplier stopRequested) {
+        if (isStopped(stopRequested)) {
+            return false;
+        }
+        String columns = String.join(", ", syncArchiveTable(table));
+        UUID cursor = null;
+
+        while (true) {
+            if (isStopped(stopRequested)) {
+                return false;
+            }
+            List<UUID> moved = cursor == null
+                    ? jdbcTemplate.queryForList(archiveChunkSql(table, columns, false), UUID.class,
+                            Timestamp.from(cutoff), chunkSize)
+                    : jdbcTemplate.queryForList(archiveChunkSql(table, columns, true), UUID.class,
+                            Timestamp.from(cutoff), cursor, chunkSize);
+
+            if (moved.isEmpty()) {
+                return true;
+            }
+            report.recordChunk(table, moved.size());
+            if (moved.size() < chunkSize) {
+                return true;
+            }
+            cursor = moved.get(moved.size() - 1);
+            pause();
+        }
+    }
+
+    private String archiveChunkSql(ArchivableTable table, String columns, boolean withCursor) {
+        return "WITH chunk AS ("
+                + " SELECT t.id FROM " + table.getTableName() + " t"
+                + " WHERE t.deleted_at < ?" + (withCursor ? " AND t.id > ?" : "")
+                + " AND " + table.getGuard()
+                + " ORDER BY t.id LIMIT ? FOR UPDATE SKIP LOCKED"
+                + "), moved AS ("
+                + " DELETE FROM " + table.getTableName() + " t USING chunk c WHERE t.id = c.id"
+                + " RETURNING " + prefixed("t", columns)
+                + "), archived AS ("
+                + " INSERT INTO " + table.getArchiveTableName() + " (" + columns + ", archived_at)"
+                + " SELECT " + columns + ", now() FROM moved RETURNING id"
+                + ") SELECT id FROM archived ORDER BY id";
+    }
+
+    // ===== Restore =====
+
+    /**
+     * Moves an archived row back into its live table.
+     *
+     * The row comes back with deleted_at cleared, or the next run would
+     * archive it again, but keeps its active flag: reactivating it is a
+     * business decision left to the domain. Parents must be restored before
+     * children.
+     *
+     * @return true if the row was found in the archive
+     */
+    public boolean restore(ArchivableTable table, UUID id) {
+        List<String> liveColumns = syncArchiveTable(table);
+        String columns = String.join(", ", liveColumns);
+        String values = liveColumns.stream()
+                .map(column -> column.equals("deleted_at") ? "NULL" : column)
+                .collect(Collectors.joining(", "));
+        List<UUID> restored = jdbcTemplate.queryForList(
+                "WITH moved AS ("
+                        + " DELETE FROM " + table.getArchiveTableName() + " WHERE id = ?"
+                        + " RETURNING " + columns
+                        + ") INSERT INTO " + table.getTableName() + " (" + columns + ")"
+                        + " SELECT " + values + " FROM moved RETURNING id",
+                UUID.class, id);
+        return !restored.isEmpty();
+    }
+
+    // ===== Archive table maintenance =====
+
+    /**
+     * Creates the archive table if missing and adds any live column it lacks.
+     *
+     * @return live table columns in ordinal order
+     */
+    private List<String> syncArchiveTable(ArchivableTable table) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.getArchiveTableName()
+                + " (LIKE " + table.getTableName() + ")");
+        jdbcTemplate.execute("ALTER TABLE " + table.getArchiveTableName()
+                + " ADD COLUMN IF NOT EXISTS archived_at timestamptz NOT NULL DEFAULT now()");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + table.getArchiveTableName() + "_id_idx"
+                + " ON " + table.getArchiveTableName() + " (id)");
+
+        Map<String, String> live = columnTypes(table.getTableName());
+        Map<String, String> archived = columnTypes(table.getArchiveTableName());
+        live.forEach((column, type) -> {
+            if (!archived.containsKey(column)) {
+                jdbcTemplate.execute("ALTER TABLE " + table.getArchiveTableName()
+                        + " ADD COLUMN " + column + " " + type);
+            }
+        });
+        return List.copyOf(live.keySet());
+    }
+
+    private Map<String, String> columnTypes(String tableName) {
+        return jdbcTemplate.queryForList(
+                        "SELECT a.attname AS name, format_type(a.atttypid, a.atttypmod) AS type"
+                                + " FROM pg_attribute a"
+                                + " WHERE a.attrelid = to_regclass(?) AND a.attnum > 0 AND NOT a.attisdropped"
+                                + " ORDER BY a.attnum",
+                        tableName)
+                .stream()
+                .collect(Collectors.toMap(
+                        row -> (String) row.get("name"),
+                        row -> (String) row.get("type"),
+                        (a, b) -> a,
+                        LinkedHashMap::new));
+    }
+
+    // ===== Helpers =====
+    private static String prefixed(String alias, String columns) {
+        return alias + "." + columns.replace(", ", ", " + alias + ".");
+    }
+
+    private static boolean isStopped(BooleanSupplier stopRequested) {
+        return stopRequested.getAsBoolean() || Thread.currentThread().isInterrupted();
+    }
+
+    // An interrupt ends the pause early; the loop sees it before the next chunk
+    private void pause() {
+        if (pauseBetweenChunks.isZero() || pauseBetweenChunks.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseBetweenChunks.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Portable bulk loader using batched INSERTs.
+ *
+ * Used on databases without COPY (H2 in tests). Same contract as the
+ * PostgreSQL loader: existing primary keys are looked up per chunk and
+ * skipped, and items and summaries of a skipped order are skipped with it.
+ */
+public class BatchInsertBulkLoader extends ChunkedBulkLoader {
+
+    /** Maximum ids in one "IN (...)" lookup */
+    private static final int LOOKUP_SIZE = 500;
+
+    public BatchInsertBulkLoader(DataSource dataSource, int chunkSize) {
+        super(dataSource, chunkSize);
+    }
+
+    @Override
+    protected void writeOrders(Connection connection, List<Order> orders, BulkLoadReport report) throws SQLException {
+        Set<UUID> seen = existingIds(connection, BulkTable.ORDERS, orders.stream().map(Order::getId).toList());
+        List<Object[]> orderRows = new ArrayList<>(orders.size());
+        List<Object[]> itemRows = new ArrayList<>();
+        List<Object[]> summaryRows = new ArrayList<>(orders.size());
+        long itemsRead = 0;
+        for (Order order : orders) {
+            itemsRead += order.getItems().size();
+            if (!seen.add(order.getId())) {
+                continue;
+            }
+            orderRows.add(BulkRows.order(order));
+            summaryRows.add(BulkRows.orderSummary(order));
+            for (OrderItem item : order.getItems()) {
+                itemRows.add(BulkRows.orderItem(order, item));
+            }
+        }
+        report.recordRead(BulkTable.ORDERS, orders.size());
+        report.recordRead(BulkTable.ORDER_ITEMS, itemsRead);
+        report.recordRead(BulkTable.ORDER_SUMMARIES, orders.size());
+        report.recordInserted(BulkTable.ORDERS, insert(connection, BulkTable.ORDERS, orderRows));
+        report.recordInserted(BulkTable.ORDER_ITEMS, insert(connection, BulkTable.ORDER_ITEMS, itemRows));
+        report.recordInserted(BulkTable.ORDER_SUMMARIES, insert(connection, BulkTable.ORDER_SUMMARIES, summaryRows));
+    }
+
+    @Override
+    protected void writeStoreItems(Connection connection, List<StoreItem> storeItems, Instant loadedAt,
+                                   BulkLoadReport report) throws SQLException {
+        Set<UUID> seen = existingIds(connection, BulkTable.STORE_ITEMS,
+                storeItems.stream().map(StoreItem::getId).toList());
+        List<Object[]> rows = new ArrayList<>(storeItems.size());
+        for (StoreItem storeItem : storeItems) {
+            if (seen.add(storeItem.getId())) {
+                rows.add(BulkRows.storeItem(storeItem, loadedAt));
+            }
+        }
+        report.recordRead(BulkTable.STORE_ITEMS, storeItems.size());
+        report.recordInserted(BulkTable.STORE_ITEMS, insert(connection, BulkTable.STORE_ITEMS, rows));
+    }
+
+    // ===== Internals =====
+
+    private static Set<UUID> existingIds(Connection connection, BulkTable table, List<UUID> ids) throws SQLException {
+        Set<UUID> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_SIZE) {
+            List<UUID> slice = ids.subList(from, Math.min(ids.size(), from + LOOKUP_SIZE));
+            String sql = "SELECT id FROM " + table.getTableName()
+                    + " WHERE id IN (" + String.join(", ", Collections.nCopies(slice.size(), "?")) + ")";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < slice.size(); i++) {
+                    statement.setObject(i + 1, slice.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        existing.add(rs.getObject(1, UUID.class));
+                    }
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static long insert(Connection connection, BulkTable table, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO " + table.getTableName() + " (" + table.columnList(null) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(table.getColumns().size(), "?")) + ")";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) {
+                    Object value = row[i] instanceof Instant instant ? Timestamp.from(instant) : row[i];
+                    statement.setObject(i + 1, value);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return rows.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Writes rows in the binary format of PostgreSQL's COPY ... (FORMAT binary).
+ *
+ * Values are sent in the server's internal representation, so the server
+ * does no text parsing; the Java type of each value picks its encoding:
+ * UUID as uuid, String as text/varchar, Boolean as boolean, Integer as
+ * integer, BigDecimal as numeric and Instant as timestamptz. The target
+ * columns must have exactly these types (a mismatch fails the COPY).
+ */
+final class BinaryCopyWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    /** 2000-01-01T00:00:00Z, the PostgreSQL timestamp epoch, in Unix seconds */
+    private static final long POSTGRES_EPOCH_SECONDS = 946_684_800L;
+
+    private static final short NUMERIC_POSITIVE = 0x0000;
+    private static final short NUMERIC_NEGATIVE = 0x4000;
+
+    private final DataOutputStream out;
+    private long rows;
+
+    BinaryCopyWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        this.out.write(SIGNATURE);
+        this.out.writeInt(0); // flags
+        this.out.writeInt(0); // header extension length
+    }
+
+    void row(Object[] values) throws IOException {
+        out.writeShort(values.length);
+        for (Object value : values) {
+            writeValue(value);
+        }
+        rows++;
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else if (value instanceof UUID uuid) {
+            out.writeInt(16);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof Boolean flag) {
+            out.writeInt(1);
+            out.writeByte(flag ? 1 : 0);
+        } else if (value instanceof Integer number) {
+            out.writeInt(4);
+            out.writeInt(number);
+        } else if (value instanceof BigDecimal number) {
+            writeNumeric(number);
+        } else if (value instanceof Instant instant) {
+            out.writeInt(8);
+            out.writeLong((instant.getEpochSecond() - POSTGRES_EPOCH_SECONDS) * 1_000_000L
+                    + instant.getNano() / 1_000);
+        } else {
+            throw new IllegalArgumentException("No binary COPY encoding for " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * numeric is sent as base-10000 digits: ndigits, weight (of the first
+     * digit), sign and display scale, then the digits. The unscaled value is
+     * padded with zeros so the decimal point falls between two digits.
+     */
+    private void writeNumeric(BigDecimal number) throws IOException {
+        BigDecimal value = number.scale() < 0 ? number.setScale(0) : number;
+        int scale = value.scale();
+        int padding = (4 - scale % 4) % 4;
+        String decimal = value.unscaledValue().abs().multiply(BigInteger.TEN.pow(padding)).toString();
+        if (decimal.equals("0")) {
+            out.writeInt(8);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(NUMERIC_POSITIVE);
+            out.writeShort(scale);
+            return;
+        }
+        int leading = (4 - decimal.length() % 4) % 4;
+        int groups = (decimal.length() + leading) / 4;
+        short[] digits = new short[groups];
+        int position = -leading;
+        for (int i = 0; i < groups; i++, position += 4) {
+            int digit = 0;
+            for (int j = position; j < position + 4; j++) {
+                digit = digit * 10 + (j < 0 ? 0 : decimal.charAt(j) - '0');
+            }
+            digits[i] = (short) digit;
+        }
+        // Trailing zero digits are implied by the display scale
+        int count = groups;
+        while (digits[count - 1] == 0) {
+            count--;
+        }
+        int weight = groups - 1 - (scale + padding) / 4;
+        out.writeInt(8 + 2 * count);
+        out.writeShort(count);
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? NUMERIC_NEGATIVE : NUMERIC_POSITIVE);
+        out.writeShort(scale);
+        for (int i = 0; i < count; i++) {
+            out.writeShort(digits[i]);
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    // Writes the trailer that ends the COPY data, then completes the COPY
+    @Override
+    public void close() throws IOException {
+        out.writeShort(-1);
+        out.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of one bulk load.
+ *
+ * Rows that already existed (same primary key) are skipped, not updated,
+ * so a load can be re-run after a failure. An order that already exists
+ * is skipped together with its items.
+ */
+public class BulkLoadReport {
+
+    /** When the load started */
+    private final Instant startedAt;
+
+    /** When the load finished */
+    private Instant finishedAt;
+
+    /** Rows read from the source per table */
+    private final Map<BulkTable, Long> readRows = new EnumMap<>(BulkTable.class);
+
+    /** Rows actually inserted per table */
+    private final Map<BulkTable, Long> insertedRows = new EnumMap<>(BulkTable.class);
+
+    /** Chunks (transactions) committed over the whole load */
+    private long chunks;
+
+    public BulkLoadReport(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    // ===== Recording =====
+    void recordRead(BulkTable table, long rows) {
+        readRows.merge(table, rows, Long::sum);
+    }
+
+    void recordInserted(BulkTable table, long rows) {
+        insertedRows.merge(table, rows, Long::sum);
+    }
+
+    void recordChunk() {
+        chunks++;
+    }
+
+    void finish(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    // ===== Getters =====
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public long getChunks() { return chunks; }
+    public Map<BulkTable, Long> getReadRows() { return Collections.unmodifiableMap(readRows); }
+    public Map<BulkTable, Long> getInsertedRows() { return Collections.unmodifiableMap(insertedRows); }
+
+    public long getInsertedRows(BulkTable table) {
+        return insertedRows.getOrDefault(table, 0L);
+    }
+
+    public long getSkippedRows(BulkTable table) {
+        return readRows.getOrDefault(table, 0L) - getInsertedRows(table);
+    }
+
+    public Duration getDuration() {
+        return finishedAt == null ? Duration.ZERO : Duration.between(startedAt, finishedAt);
+    }
+
+    /** Inserted rows per second over all tables */
+    public double getRowsPerSecond() {
+        long millis = Math.max(1, getDuration().toMillis());
+        long total = insertedRows.values().stream().mapToLong(Long::longValue).sum();
+        return total * 1000.0 / millis;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkLoadReport{read=" + readRows + ", inserted=" + insertedRows
+                + ", chunks=" + chunks + ", duration=" + getDuration() + "}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.infrastructure.persistence.DatabaseDialect;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads large volumes of historical data (e.g. imports from the old
+ * platform) straight into the tables, bypassing JPA.
+ *
+ * Sources are iterated once and consumed in chunks; each chunk is committed
+ * in its own transaction on a dedicated connection, so memory and lock
+ * duration stay bounded whatever the size of the import. Rows whose
+ * primary key already exists are skipped, which makes loads re-runnable.
+ *
+ * Referenced rows (users, stores, products) must already exist.
+ */
+public interface BulkLoader {
+
+    // Loads orders together with their items
+    BulkLoadReport loadOrders(Iterable<Order> orders);
+
+    // Loads store items
+    BulkLoadReport loadStoreItems(Iterable<StoreItem> storeItems);
+
+    /**
+     * Picks the fastest loader for the database behind the data source:
+     * COPY on PostgreSQL, batched INSERTs anywhere else (e.g. H2).
+     */
+    static BulkLoader forDataSource(DataSource dataSource, int chunkSize) {
+        return DatabaseDialect.isPostgres(dataSource)
+                ? new PostgresCopyBulkLoader(dataSource, chunkSize)
+                : new BatchInsertBulkLoader(dataSource, chunkSize);
+    }
+}
@@ -0,0 +1,75 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import java.time.Instant;
+
+/**
+ * Flattens domain objects into column values, in {@link BulkTable} column order.
+ *
+ * Values are UUID, String, Boolean, Integer, BigDecimal, Instant or null.
+ */
+final class BulkRows {
+
+    private BulkRows() { }
+
+    static Object[] order(Order order) {
+        return new Object[]{
+                order.getId(),
+                order.getUser().getId(),
+                order.getStore().getId(),
+                order.getStatus().name(),
+                order.isActive(),
+                order.getTotalAmount(),
+                order.getItemCount(),
+                currencyCode(order),
+                order.getCreatedAt(),
+                order.getUpdatedAt()
+        };
+    }
+
+    static Object[] orderSummary(Order order) {
+        return new Object[]{
+                order.getId(),
+                order.getUser().getId(),
+                order.getStore().getId(),
+                order.getStatus().name(),
+                order.getTotalAmount(),
+                order.getItemCount(),
+                currencyCode(order),
+                order.getCreatedAt(),
+                order.getUpdatedAt()
+        };
+    }
+
+    static Object[] orderItem(Order order, OrderItem item) {
+        return new Object[]{
+                item.getId(),
+                order.getId(),
+                item.getProduct().getId(),
+                item.getQuantity(),
+                item.getPrice()
+        };
+    }
+
+    // Store items carry no timestamps in the domain; the load time is used
+    static Object[] storeItem(StoreItem storeItem, Instant loadedAt) {
+        return new Object[]{
+                storeItem.getId(),
+                storeItem.getStore().getId(),
+                storeItem.getProduct().getId(),
+                storeItem.getPrice(),
+                storeItem.getStock(),
+                storeItem.isActive(),
+                storeItem.getDeletedAt(),
+                loadedAt,
+                loadedAt
+        };
+    }
+
+    private static String currencyCode(Order order) {
+        return order.getCurrency() == null ? null : order.getCurrency().getCurrencyCode();
+    }
+}
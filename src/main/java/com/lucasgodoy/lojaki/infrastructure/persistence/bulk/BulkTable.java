@@ -0,0 +1,51 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import java.util.List;
+
+/**
+ * Tables the bulk loader can write to, with the columns it fills.
+ *
+ * Column order matches the values produced by {@link BulkRows}; the
+ * first column is the primary key.
+ */
+public enum BulkTable {
+
+    ORDERS("orders", List.of("id", "user_id", "store_id", "status", "active", "total_amount", "item_count",
+            "currency", "created_at", "updated_at")),
+
+    ORDER_ITEMS("order_items", List.of("id", "order_id", "product_id", "quantity", "price")),
+
+    ORDER_SUMMARIES("order_summaries", List.of("order_id", "user_id", "store_id", "status", "total_amount",
+            "item_count", "currency", "created_at", "updated_at")),
+
+    STORE_ITEMS("store_items", List.of("id", "store_id", "product_id", "price", "stock", "active",
+            "deleted_at", "created_at", "updated_at"));
+
+    private final String tableName;
+    private final List<String> columns;
+
+    BulkTable(String tableName, List<String> columns) {
+        this.tableName = tableName;
+        this.columns = columns;
+    }
+
+    public String getTableName() { return tableName; }
+    public List<String> getColumns() { return columns; }
+
+    /** Primary key column */
+    String keyColumn() {
+        return columns.get(0);
+    }
+
+    /** Comma-separated column list, optionally qualified with a table alias */
+    String columnList(String alias) {
+        return alias == null
+                ? String.join(", ", columns)
+                : alias + "." + String.join(", " + alias + ".", columns);
+    }
+
+    /** Name of the session-local staging table used by COPY */
+    String stagingTableName() {
+        return "staging_" + tableName;
+    }
+}
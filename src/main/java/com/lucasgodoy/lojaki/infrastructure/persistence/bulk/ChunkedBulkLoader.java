@@ -0,0 +1,124 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chunking and transaction handling shared by the bulk loaders.
+ *
+ * A load runs on its own connection (not the caller's transaction).
+ * The source is consumed chunk by chunk and every chunk is committed
+ * separately; if one fails it is rolled back and the error is rethrown,
+ * leaving the chunks already committed in place.
+ */
+abstract class ChunkedBulkLoader implements BulkLoader {
+
+    private final DataSource dataSource;
+
+    /** Maximum source objects (orders or store items) per transaction */
+    private final int chunkSize;
+
+    protected ChunkedBulkLoader(DataSource dataSource, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.dataSource = dataSource;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public BulkLoadReport loadOrders(Iterable<Order> orders) {
+        return load(orders, this::writeOrders);
+    }
+
+    @Override
+    public BulkLoadReport loadStoreItems(Iterable<StoreItem> storeItems) {
+        Instant loadedAt = Instant.now();
+        return load(storeItems, (connection, chunk, report) -> writeStoreItems(connection, chunk, loadedAt, report));
+    }
+
+    // ===== Hooks =====
+
+    // Called once per load before the first chunk
+    protected void prepare(Connection connection) throws SQLException { }
+
+    // Called once per load after the last chunk, even on failure
+    protected void cleanup(Connection connection) throws SQLException { }
+
+    protected abstract void writeOrders(Connection connection, List<Order> orders, BulkLoadReport report)
+            throws SQLException;
+
+    protected abstract void writeStoreItems(Connection connection, List<StoreItem> storeItems, Instant loadedAt,
+                                            BulkLoadReport report) throws SQLException;
+
+    // ===== Internals =====
+
+    private <T> BulkLoadReport load(Iterable<T> source, ChunkWriter<T> writer) {
+        BulkLoadReport report = new BulkLoadReport(Instant.now());
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                prepare(connection);
+                List<T> chunk = new ArrayList<>(chunkSize);
+                for (T row : source) {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        flush(connection, chunk, writer, report);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    flush(connection, chunk, writer, report);
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Failures while cleaning up after a failed load are attached to its error, not thrown instead
+                try {
+                    connection.rollback();
+                } catch (SQLException | RuntimeException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                try {
+                    finish(connection, autoCommit);
+                } catch (SQLException | RuntimeException cleanupFailure) {
+                    e.addSuppressed(cleanupFailure);
+                }
+                throw e;
+            }
+            finish(connection, autoCommit);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load failed after " + report.getChunks() + " committed chunks", e);
+        }
+        report.finish(Instant.now());
+        return report;
+    }
+
+    // Runs the cleanup hook and hands the connection back in its original commit mode
+    private void finish(Connection connection, boolean autoCommit) throws SQLException {
+        try {
+            cleanup(connection);
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private <T> void flush(Connection connection, List<T> chunk, ChunkWriter<T> writer, BulkLoadReport report)
+            throws SQLException {
+        writer.write(connection, chunk, report);
+        connection.commit();
+        report.recordChunk();
+        chunk.clear();
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        void write(Connection connection, List<T> chunk, BulkLoadReport report) throws SQLException;
+    }
+}
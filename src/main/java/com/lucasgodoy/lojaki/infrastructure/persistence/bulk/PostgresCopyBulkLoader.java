@@ -0,0 +1,155 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.bulk;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * PostgreSQL bulk loader based on COPY.
+ *
+ * Each chunk is streamed with COPY FROM STDIN in the binary format (see
+ * {@link BinaryCopyWriter}) into session-local, unindexed staging tables,
+ * then merged into the real tables with a single
+ * INSERT ... SELECT ... ON CONFLICT DO NOTHING statement. Orders, their
+ * items and their order_summaries rows are merged together in one
+ * statement: items and summaries are only inserted for orders that were
+ * inserted by the same chunk.
+ *
+ * Rows are encoded straight into the COPY stream through a fixed-size
+ * buffer, so memory use is bounded by the chunk size, not by the import.
+ * Staging tables are ON COMMIT DELETE ROWS, so they are empty again after
+ * every chunk, and are dropped at the end of the load.
+ *
+ * COPY removes the per-statement and text-parsing cost of INSERTs, not the
+ * per-row cost of the merge: foreign key checks and index maintenance on
+ * the real tables are the same for both loaders and take most of the
+ * merge, so COPY ends up well under an order of magnitude ahead (see
+ * BulkLoadBenchmark in src/loadtest). Merging once per load instead of per
+ * chunk would not reduce that work, and would hold the locks of the whole
+ * import in one transaction.
+ */
+public class PostgresCopyBulkLoader extends ChunkedBulkLoader {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    public PostgresCopyBulkLoader(DataSource dataSource, int chunkSize) {
+        super(dataSource, chunkSize);
+    }
+
+    // ===== Staging =====
+
+    @Override
+    protected void prepare(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (BulkTable table : BulkTable.values()) {
+                statement.execute("CREATE TEMP TABLE IF NOT EXISTS " + table.stagingTableName()
+                        + " (LIKE " + table.getTableName() + " INCLUDING DEFAULTS) ON COMMIT DELETE ROWS");
+            }
+        }
+    }
+
+    @Override
+    protected void cleanup(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (BulkTable table : BulkTable.values()) {
+                statement.execute("DROP TABLE IF EXISTS " + table.stagingTableName());
+            }
+        }
+    }
+
+    // ===== Orders =====
+
+    @Override
+    protected void writeOrders(Connection connection, List<Order> orders, BulkLoadReport report) throws SQLException {
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        try {
+            try (BinaryCopyWriter out = copyInto(pg, BulkTable.ORDERS)) {
+                for (Order order : orders) {
+                    out.row(BulkRows.order(order));
+                }
+                report.recordRead(BulkTable.ORDERS, out.getRows());
+            }
+            try (BinaryCopyWriter out = copyInto(pg, BulkTable.ORDER_ITEMS)) {
+                for (Order order : orders) {
+                    for (OrderItem item : order.getItems()) {
+                        out.row(BulkRows.orderItem(order, item));
+                    }
+                }
+                report.recordRead(BulkTable.ORDER_ITEMS, out.getRows());
+            }
+            try (BinaryCopyWriter out = copyInto(pg, BulkTable.ORDER_SUMMARIES)) {
+                for (Order order : orders) {
+                    out.row(BulkRows.orderSummary(order));
+                }
+                report.recordRead(BulkTable.ORDER_SUMMARIES, out.getRows());
+            }
+        } catch (IOException e) {
+            throw new SQLException("COPY into staging tables failed", e);
+        }
+
+        String sql = "WITH inserted_orders AS ("
+                + mergeSql(BulkTable.ORDERS, "") + " RETURNING id"
+                + "), inserted_items AS ("
+                + mergeSql(BulkTable.ORDER_ITEMS, " WHERE s.order_id IN (SELECT id FROM inserted_orders)")
+                + " RETURNING id"
+                + "), inserted_summaries AS ("
+                + mergeSql(BulkTable.ORDER_SUMMARIES, " WHERE s.order_id IN (SELECT id FROM inserted_orders)")
+                + " RETURNING order_id"
+                + ") SELECT (SELECT count(*) FROM inserted_orders), (SELECT count(*) FROM inserted_items),"
+                + " (SELECT count(*) FROM inserted_summaries)";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            report.recordInserted(BulkTable.ORDERS, rs.getLong(1));
+            report.recordInserted(BulkTable.ORDER_ITEMS, rs.getLong(2));
+            report.recordInserted(BulkTable.ORDER_SUMMARIES, rs.getLong(3));
+        }
+    }
+
+    // ===== Store Items =====
+
+    @Override
+    protected void writeStoreItems(Connection connection, List<StoreItem> storeItems, Instant loadedAt,
+                                   BulkLoadReport report) throws SQLException {
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        try (BinaryCopyWriter out = copyInto(pg, BulkTable.STORE_ITEMS)) {
+            for (StoreItem storeItem : storeItems) {
+                out.row(BulkRows.storeItem(storeItem, loadedAt));
+            }
+            report.recordRead(BulkTable.STORE_ITEMS, out.getRows());
+        } catch (IOException e) {
+            throw new SQLException("COPY into staging table failed", e);
+        }
+
+        String sql = "WITH inserted AS (" + mergeSql(BulkTable.STORE_ITEMS, "") + " RETURNING id)"
+                + " SELECT count(*) FROM inserted";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            report.recordInserted(BulkTable.STORE_ITEMS, rs.getLong(1));
+        }
+    }
+
+    // ===== SQL =====
+
+    private static BinaryCopyWriter copyInto(PGConnection pg, BulkTable table) throws SQLException, IOException {
+        String sql = "COPY " + table.stagingTableName() + " (" + table.columnList(null) + ")"
+                + " FROM STDIN (FORMAT binary)";
+        return new BinaryCopyWriter(new PGCopyOutputStream(pg, sql, COPY_BUFFER_SIZE));
+    }
+
+    private static String mergeSql(BulkTable table, String where) {
+        return "INSERT INTO " + table.getTableName() + " (" + table.columnList(null) + ")"
+                + " SELECT " + table.columnList("s") + " FROM " + table.stagingTableName() + " s" + where
+                + " ON CONFLICT (" + table.keyColumn() + ") DO NOTHING";
+    }
+}
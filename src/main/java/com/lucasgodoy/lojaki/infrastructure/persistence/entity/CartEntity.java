@@ -0,0 +1,83 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity representing a shopping cart for persistence.
+ * Maps to the "carts" table in the database; read and written by
+ * JdbcCartRepository, behind the in-memory cart store.
+ *
+ * - Lines are one binary column, 28 bytes per line (see JdbcCartRepository)
+ * - Expired carts are deleted by the write-behind flusher
+ */
+@Entity
+@Table(name = "carts", indexes = {
+        @Index(name = "idx_carts_expires_at", columnList = "expires_at")
+})
+public class CartEntity {
+
+    /** Room for 146 lines; carts accept at most 100 */
+    public static final int MAX_LINES_LENGTH = 4096;
+
+    @Id
+    @Column(name = "cart_id", length = 100)
+    private String cartId;
+
+    @Column(name = "store_id", nullable = false)
+    private UUID storeId;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(nullable = false, length = MAX_LINES_LENGTH)
+    private byte[] lines;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // ===== Constructors =====
+    protected CartEntity() {
+        // JPA default constructor
+    }
+
+    public CartEntity(String cartId, UUID storeId, String currency, byte[] lines, long version,
+                      Instant updatedAt, Instant expiresAt) {
+        this.cartId = cartId;
+        this.storeId = storeId;
+        this.currency = currency;
+        this.lines = lines;
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // ===== Getters and Setters =====
+    public String getCartId() { return cartId; }
+    public void setCartId(String cartId) { this.cartId = cartId; }
+
+    public UUID getStoreId() { return storeId; }
+    public void setStoreId(UUID storeId) { this.storeId = storeId; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public byte[] getLines() { return lines; }
+    public void setLines(byte[] lines) { this.lines = lines; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
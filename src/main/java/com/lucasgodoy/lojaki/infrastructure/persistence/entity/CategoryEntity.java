@@ -1,6 +1,9 @@
 package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
 
+import com.lucasgodoy.lojaki.domain.product.model.Category;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,18 +15,28 @@ import java.util.UUID;
  *
  * - Category belongs to ONE Store
  * - Products can reference a Category
+ * - A Category may have a parent Category
+ *
+ * The (store_id, path) index that subtree queries range over is created by
+ * CategoryPathIndexes, since it needs a binary collation on PostgreSQL.
  */
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "idx_categories_parent", columnList = "parent_id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lojaki.categories")
 public class CategoryEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(nullable = false, length = 100)
     private String name;
 
+    /** Materialized path; null only on rows not yet backfilled by CategoryPathBackfill */
+    @Column(length = Category.MAX_PATH_LENGTH)
+    private String path;
+
     @Column(nullable = false)
     private boolean active;
 
@@ -44,6 +57,13 @@ public class CategoryEntity {
     @JoinColumn(name = "store_id", nullable = false)
     private StoreEntity store;
 
+    /**
+     * Many-to-one relationship with the parent Category, null for a root
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private CategoryEntity parent;
+
     /**
      * One-to-many relationship with Products
      */
@@ -55,16 +75,18 @@ public class CategoryEntity {
         // JPA default constructor
     }
 
-    public CategoryEntity(UUID id, String name, boolean active,
+    public CategoryEntity(UUID id, String name, String path, boolean active,
                           Instant createdAt, Instant updatedAt, Instant deletedAt,
-                          StoreEntity store) {
+                          StoreEntity store, CategoryEntity parent) {
         this.id = id;
         this.name = name;
+        this.path = path;
         this.active = active;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
         this.deletedAt = deletedAt;
         this.store = store;
+        this.parent = parent;
     }
 
     // ===== Getters and Setters =====
@@ -74,6 +96,9 @@ public class CategoryEntity {
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 
@@ -89,5 +114,8 @@ public class CategoryEntity {
     public StoreEntity getStore() { return store; }
     public void setStore(StoreEntity store) { this.store = store; }
 
+    public CategoryEntity getParent() { return parent; }
+    public void setParent(CategoryEntity parent) { this.parent = parent; }
+
     public List<ProductEntity> getProducts() { return products; }
 }
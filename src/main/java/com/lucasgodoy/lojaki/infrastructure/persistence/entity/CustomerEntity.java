@@ -14,13 +14,19 @@ import java.util.UUID;
  *
  * Relationships:
  * - 1 Customer : 1 UserEntity
+ *
+ * Lookups go through normalized copies of phone, document and name
+ * (see CustomerSearchKeys), kept in sync on every insert and update.
  */
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        @Index(name = "idx_customers_phone_digits", columnList = "phone_digits"),
+        @Index(name = "idx_customers_document_digits", columnList = "document_digits"),
+        @Index(name = "idx_customers_search_name", columnList = "search_name")
+})
 public class CustomerEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     /**
@@ -42,6 +48,16 @@ public class CustomerEntity {
     @Column(length = 20)
     private String document;
 
+    // ===== Search Keys =====
+    @Column(name = "phone_digits", length = 20)
+    private String phoneDigits;
+
+    @Column(name = "document_digits", length = 20)
+    private String documentDigits;
+
+    @Column(name = "search_name", length = 201)
+    private String searchName;
+
     @Column(nullable = false)
     private boolean active;
 
@@ -79,6 +95,15 @@ public class CustomerEntity {
         this.deletedAt = deletedAt;
     }
 
+    // ===== Callbacks =====
+    @PrePersist
+    @PreUpdate
+    void updateSearchKeys() {
+        this.phoneDigits = CustomerSearchKeys.phone(phone);
+        this.documentDigits = CustomerSearchKeys.document(document);
+        this.searchName = CustomerSearchKeys.fullName(firstName, lastName);
+    }
+
     // ===== Getters and Setters =====
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -98,6 +123,10 @@ public class CustomerEntity {
     public String getDocument() { return document; }
     public void setDocument(String document) { this.document = document; }
 
+    public String getPhoneDigits() { return phoneDigits; }
+    public String getDocumentDigits() { return documentDigits; }
+    public String getSearchName() { return searchName; }
+
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
 
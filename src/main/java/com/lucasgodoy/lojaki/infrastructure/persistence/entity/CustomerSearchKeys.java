@@ -0,0 +1,50 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized forms of customer fields used for lookups.
+ *
+ * Support staff type phones and documents in any format ("(11) 98765-4321",
+ * "123.456.789-09") and names without accents or capitals, so searches
+ * compare normalized values stored next to the originals.
+ */
+public final class CustomerSearchKeys {
+
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^A-Z0-9]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private CustomerSearchKeys() { }
+
+    /** Digits only: "(11) 98765-4321" becomes "11987654321" */
+    public static String phone(String phone) {
+        return phone == null ? null : NON_DIGITS.matcher(phone).replaceAll("");
+    }
+
+    /** Upper-case letters and digits only: "123.456.789-09" becomes "12345678909" */
+    public static String document(String document) {
+        if (document == null) {
+            return null;
+        }
+        String normalized = NON_ALPHANUMERIC.matcher(document.toUpperCase(Locale.ROOT)).replaceAll("");
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /** Lower case, accents removed, single spaces: "José  da Silva" becomes "jose da silva" */
+    public static String name(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /** Searchable full name: normalized "first last" */
+    public static String fullName(String firstName, String lastName) {
+        return (name(firstName) + " " + name(lastName)).trim();
+    }
+}
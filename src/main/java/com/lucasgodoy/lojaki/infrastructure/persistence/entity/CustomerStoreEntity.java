@@ -11,11 +11,13 @@ import java.util.UUID;
  * Each CustomerStore links one Customer to one Store.
  */
 @Entity
-@Table(name = "customer_store")
+@Table(name = "customer_store", indexes = {
+        @Index(name = "idx_customer_store_customer_store", columnList = "customer_id, store_id"),
+        @Index(name = "idx_customer_store_store", columnList = "store_id")
+})
 public class CustomerStoreEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     /**
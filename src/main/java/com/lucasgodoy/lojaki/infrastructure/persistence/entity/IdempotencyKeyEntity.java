@@ -0,0 +1,101 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * JPA entity representing a client idempotency key for persistence.
+ * Maps to the "idempotency_keys" table in the database.
+ *
+ * - Keys are unique per scope (the user and store a request acts for), so
+ *   two clients choosing the same key never see each other's result
+ * - A key is written once, with the order created by the first request,
+ *   in that request's transaction
+ */
+@Entity
+@IdClass(IdempotencyKeyEntity.Key.class)
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "scope", length = 100)
+    private String scope;
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // ===== Constructors =====
+    protected IdempotencyKeyEntity() {
+        // JPA default constructor
+    }
+
+    public IdempotencyKeyEntity(String scope, String key, UUID orderId, Instant createdAt, Instant expiresAt) {
+        this.scope = scope;
+        this.key = key;
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // ===== Getters and Setters =====
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public UUID getOrderId() { return orderId; }
+    public void setOrderId(UUID orderId) { this.orderId = orderId; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+
+    /**
+     * Primary key: scope plus client key.
+     */
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String scope;
+        private String key;
+
+        protected Key() {
+            // JPA default constructor
+        }
+
+        public Key(String scope, String key) {
+            this.scope = scope;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key other)) return false;
+            return Objects.equals(scope, other.scope) && Objects.equals(key, other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scope, key);
+        }
+    }
+}
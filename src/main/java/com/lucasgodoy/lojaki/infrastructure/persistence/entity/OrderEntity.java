@@ -2,6 +2,7 @@ package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
 
 import com.lucasgodoy.lojaki.domain.order.model.Status;
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,13 +14,16 @@ import java.util.UUID;
  * Maps to the "orders" table in the database.
  * Each order belongs to a user and optionally to a store.
  * Each order has multiple OrderItems.
+ *
+ * Totals are stored with the order so listings never read order_items.
+ * The total columns are nullable only so they can be added to an existing
+ * table; OrderSummaryBackfill fills rows written before they existed.
  */
 @Entity
 @Table(name = "orders")
 public class OrderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     // ===== Relationships =====
@@ -43,6 +47,15 @@ public class OrderEntity {
     @Column(nullable = false)
     private boolean active;
 
+    @Column(name = "total_amount", precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(name = "item_count")
+    private Integer itemCount;
+
+    @Column(length = 3)
+    private String currency;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
@@ -55,11 +68,15 @@ public class OrderEntity {
     }
 
     public OrderEntity(UUID id, UserEntity user, StoreEntity store, List<OrderItemEntity> items,
+                       BigDecimal totalAmount, Integer itemCount, String currency,
                        Status status, boolean active, Instant createdAt, Instant updatedAt) {
         this.id = id;
         this.user = user;
         this.store = store;
         this.items = items != null ? items : new ArrayList<>();
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+        this.currency = currency;
         this.status = status;
         this.active = active;
         this.createdAt = createdAt;
@@ -79,6 +96,15 @@ public class OrderEntity {
     public List<OrderItemEntity> getItems() { return items; }
     public void setItems(List<OrderItemEntity> items) { this.items = items; }
 
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Integer getItemCount() { return itemCount; }
+    public void setItemCount(Integer itemCount) { this.itemCount = itemCount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
     public Status getStatus() { return status; }
     public void setStatus(Status status) { this.status = status; }
 
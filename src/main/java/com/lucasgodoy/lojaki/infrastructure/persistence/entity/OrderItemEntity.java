@@ -10,11 +10,12 @@ import java.util.UUID;
  * Each OrderItem belongs to one Order and references one Product.
  */
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_order", columnList = "order_id")
+})
 public class OrderItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     // ===== Relationships =====
@@ -0,0 +1,96 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for the denormalized order read model.
+ * Maps to the "order_summaries" table in the database.
+ *
+ * One row per order with everything an order listing shows. There are no
+ * associations and no join to order_items: "my orders" and store order
+ * lists are single range scans on the indexes below (the per-user index
+ * is created by OrderHistoryIndexes, since it needs INCLUDE columns).
+ * Rows are written by the same statements that write the order, so they
+ * never lag behind it.
+ */
+@Entity
+@Table(name = "order_summaries", indexes = {
+        @Index(name = "idx_order_summaries_store", columnList = "store_id, created_at DESC, order_id DESC"),
+        @Index(name = "idx_order_summaries_store_status", columnList = "store_id, status, created_at DESC, order_id DESC")
+})
+public class OrderSummaryEntity {
+
+    @Id
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "store_id")
+    private UUID storeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(length = 3)
+    private String currency;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    // ===== Constructors =====
+    protected OrderSummaryEntity() {
+        // JPA default constructor
+    }
+
+    public OrderSummaryEntity(UUID orderId, UUID userId, UUID storeId, Status status, BigDecimal totalAmount,
+                              int itemCount, String currency, Instant createdAt, Instant updatedAt) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.storeId = storeId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.itemCount = itemCount;
+        this.currency = currency;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // ===== Getters and Setters =====
+    public UUID getOrderId() { return orderId; }
+    public UUID getUserId() { return userId; }
+    public UUID getStoreId() { return storeId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public int getItemCount() { return itemCount; }
+    public void setItemCount(int itemCount) { this.itemCount = itemCount; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public Instant getCreatedAt() { return createdAt; }
+
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
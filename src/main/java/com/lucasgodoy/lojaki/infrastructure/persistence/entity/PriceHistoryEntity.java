@@ -0,0 +1,71 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import com.lucasgodoy.lojaki.domain.store.model.PriceChangeReason;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity for one store item price change.
+ * Maps to the "store_item_price_history" table in the database.
+ *
+ * Rows are append-only and kept small (bigint key, no foreign key
+ * objects); bulk repricing writes them with plain SQL, one per changed price.
+ */
+@Entity
+@Table(name = "store_item_price_history", indexes = {
+        @Index(name = "idx_price_history_item_id", columnList = "store_item_id, id"),
+        @Index(name = "idx_price_history_change", columnList = "change_id, id")
+})
+public class PriceHistoryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "store_item_id", nullable = false)
+    private UUID storeItemId;
+
+    @Column(name = "old_price", nullable = false, precision = 19, scale = 4)
+    private BigDecimal oldPrice;
+
+    @Column(name = "new_price", nullable = false, precision = 19, scale = 4)
+    private BigDecimal newPrice;
+
+    /** Repricing run or promotion that made the change, null for manual changes */
+    @Column(name = "change_id")
+    private UUID changeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PriceChangeReason reason;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    // ===== Constructors =====
+    protected PriceHistoryEntity() {
+        // JPA default constructor
+    }
+
+    public PriceHistoryEntity(UUID storeItemId, BigDecimal oldPrice, BigDecimal newPrice, UUID changeId,
+                              PriceChangeReason reason, Instant changedAt) {
+        this.storeItemId = storeItemId;
+        this.oldPrice = oldPrice;
+        this.newPrice = newPrice;
+        this.changeId = changeId;
+        this.reason = reason;
+        this.changedAt = changedAt;
+    }
+
+    // ===== Getters =====
+    public Long getId() { return id; }
+    public UUID getStoreItemId() { return storeItemId; }
+    public BigDecimal getOldPrice() { return oldPrice; }
+    public BigDecimal getNewPrice() { return newPrice; }
+    public UUID getChangeId() { return changeId; }
+    public PriceChangeReason getReason() { return reason; }
+    public Instant getChangedAt() { return changedAt; }
+}
@@ -1,8 +1,7 @@
 package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
 
-import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
-import com.lucasgodoy.lojaki.domain.store.model.Store;
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -13,11 +12,12 @@ import java.util.UUID;
  * Multiple stores can sell the same product via StoreItem.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category_id")
+})
 public class ProductEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(nullable = false, length = 100)
@@ -26,8 +26,15 @@ public class ProductEntity {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Embedded
-    private Money price;
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal price;
+
+    /** ISO 4217 currency code of the price */
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Column(nullable = false)
+    private int stock;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "brand_id", nullable = false)
@@ -58,13 +65,15 @@ public class ProductEntity {
         // JPA default constructor
     }
 
-    public ProductEntity(UUID id, String name, String description, Money price,
+    public ProductEntity(UUID id, String name, String description, BigDecimal price, String currency, int stock,
                          BrandEntity brand, StoreEntity store, CategoryEntity category, boolean active,
                          Instant createdAt, Instant updatedAt, Instant deletedAt) {
         this.id = id;
         this.name = name;
         this.description = description;
         this.price = price;
+        this.currency = currency;
+        this.stock = stock;
         this.brand = brand;
         this.store = store;
         this.category = category;
@@ -84,8 +93,14 @@ public class ProductEntity {
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public Money getPrice() { return price; }
-    public void setPrice(Money price) { this.price = price; }
+    public BigDecimal getPrice() { return price; }
+    public void setPrice(BigDecimal price) { this.price = price; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public int getStock() { return stock; }
+    public void setStock(int stock) { this.stock = stock; }
 
     public BrandEntity getBrand() { return brand; }
     public void setBrand(BrandEntity brand) { this.brand = brand; }
@@ -0,0 +1,77 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import com.lucasgodoy.lojaki.domain.store.model.PriceRule;
+import com.lucasgodoy.lojaki.domain.store.model.PromotionStatus;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA entity representing a scheduled promotion.
+ * Maps to the "promotions" table in the database.
+ */
+@Entity
+@Table(name = "promotions", indexes = {
+        @Index(name = "idx_promotions_status_starts", columnList = "status, starts_at"),
+        @Index(name = "idx_promotions_status_ends", columnList = "status, ends_at")
+})
+public class PromotionEntity {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "store_id", nullable = false)
+    private UUID storeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_scope", nullable = false, length = 20)
+    private PriceRule.Scope ruleScope;
+
+    /** Category or brand targeted by the rule, null for store-wide */
+    @Column(name = "rule_target_id")
+    private UUID ruleTargetId;
+
+    @Column(name = "rule_percent", nullable = false, precision = 9, scale = 4)
+    private BigDecimal rulePercent;
+
+    @Column(name = "starts_at", nullable = false)
+    private Instant startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private Instant endsAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PromotionStatus status;
+
+    // ===== Constructors =====
+    protected PromotionEntity() {
+        // JPA default constructor
+    }
+
+    public PromotionEntity(UUID id, UUID storeId, PriceRule.Scope ruleScope, UUID ruleTargetId,
+                           BigDecimal rulePercent, Instant startsAt, Instant endsAt, PromotionStatus status) {
+        this.id = id;
+        this.storeId = storeId;
+        this.ruleScope = ruleScope;
+        this.ruleTargetId = ruleTargetId;
+        this.rulePercent = rulePercent;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.status = status;
+    }
+
+    // ===== Getters and Setters =====
+    public UUID getId() { return id; }
+    public UUID getStoreId() { return storeId; }
+    public PriceRule.Scope getRuleScope() { return ruleScope; }
+    public UUID getRuleTargetId() { return ruleTargetId; }
+    public BigDecimal getRulePercent() { return rulePercent; }
+    public Instant getStartsAt() { return startsAt; }
+    public Instant getEndsAt() { return endsAt; }
+
+    public PromotionStatus getStatus() { return status; }
+    public void setStatus(PromotionStatus status) { this.status = status; }
+}
@@ -2,6 +2,8 @@ package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,10 +17,10 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "stores")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lojaki.stores")
 public class StoreEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @Column(nullable = false, length = 150)
@@ -13,11 +13,13 @@ import java.util.UUID;
  * Responsible only for persistence and relationships.
  */
 @Entity
-@Table(name = "store_items")
+@Table(name = "store_items", indexes = {
+        @Index(name = "idx_store_items_store", columnList = "store_id, id"),
+        @Index(name = "idx_store_items_store_product", columnList = "store_id, product_id")
+})
 public class StoreItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -2,6 +2,10 @@ package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
 
 import com.lucasgodoy.lojaki.domain.user.model.Role;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,16 +24,18 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lojaki.users")
+@NaturalIdCache(region = "lojaki.users.email")
 public class UserEntity {
 
     // ===== Attributes =====
 
-    /** Unique identifier of the user, automatically generated as UUID. */
+    /** Unique identifier of the user, assigned by the domain. */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
     /** Email of the user. Must be unique and not null. */
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -54,6 +60,7 @@ public class UserEntity {
 
     /**
      * One-to-many association with orders placed by this user.
+     * Unbounded: list a user's orders through OrderSummaryRepository instead.
      */
     @OneToMany(mappedBy = "user")
     private List<OrderEntity> orders = new ArrayList<>();
@@ -0,0 +1,32 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.BrandEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Maps between the domain Brand and BrandEntity.
+ */
+@Mapper(config = PersistenceMapperConfig.class, uses = {StoreMapper.class, EntityReferences.class})
+public interface BrandMapper {
+
+    BrandMapper INSTANCE = Mappers.getMapper(BrandMapper.class);
+
+    Brand toDomain(BrandEntity entity);
+
+    @Mapping(target = "store", qualifiedBy = EntityReference.class)
+    @Mapping(target = "products", ignore = true)
+    BrandEntity toEntity(Brand brand, @Context EntityManager entityManager);
+
+    // Copies mutable state onto a managed entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "store", ignore = true)
+    @Mapping(target = "products", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    void copyToEntity(Brand brand, @MappingTarget BrandEntity entity);
+}
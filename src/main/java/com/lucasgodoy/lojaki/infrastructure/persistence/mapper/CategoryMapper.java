@@ -0,0 +1,48 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CategoryEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.factory.Mappers;
+
+import java.util.UUID;
+
+/**
+ * Maps between the domain Category and CategoryEntity.
+ *
+ * The domain keeps only the parent's id. Reading it from the entity's lazy
+ * parent reference does not load the parent; writing it back sets a
+ * reference to the parent row.
+ */
+@Mapper(config = PersistenceMapperConfig.class, uses = {StoreMapper.class, EntityReferences.class})
+public interface CategoryMapper {
+
+    CategoryMapper INSTANCE = Mappers.getMapper(CategoryMapper.class);
+
+    @Mapping(target = "parentId", source = "parent.id")
+    @Mapping(target = "pathIds", ignore = true)
+    Category toDomain(CategoryEntity entity);
+
+    @Mapping(target = "store", qualifiedBy = EntityReference.class)
+    @Mapping(target = "parent", source = "parentId", qualifiedByName = "parentReference")
+    @Mapping(target = "products", ignore = true)
+    CategoryEntity toEntity(Category category, @Context EntityManager entityManager);
+
+    // Copies mutable state onto a managed entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "store", ignore = true)
+    @Mapping(target = "parent", source = "parentId", qualifiedByName = "parentReference")
+    @Mapping(target = "products", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    void copyToEntity(Category category, @MappingTarget CategoryEntity entity, @Context EntityManager entityManager);
+
+    @Named("parentReference")
+    default CategoryEntity parentReference(UUID parentId, @Context EntityManager entityManager) {
+        return parentId == null ? null : entityManager.getReference(CategoryEntity.class, parentId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.customer.model.Customer;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Maps between the domain Customer and CustomerEntity.
+ *
+ * The customers table has no store column (stores are linked through
+ * customer_store), so the owning store is supplied by the caller.
+ */
+@Mapper(config = PersistenceMapperConfig.class, uses = {UserMapper.class, EntityReferences.class},
+        imports = java.time.Instant.class)
+public interface CustomerMapper {
+
+    CustomerMapper INSTANCE = Mappers.getMapper(CustomerMapper.class);
+
+    @Mapping(target = "id", source = "entity.id")
+    @Mapping(target = "store", source = "store")
+    Customer toDomain(CustomerEntity entity, Store store);
+
+    @Mapping(target = "user", qualifiedBy = EntityReference.class)
+    @Mapping(target = "active", constant = "true")
+    @Mapping(target = "createdAt", expression = "java(Instant.now())")
+    @Mapping(target = "updatedAt", expression = "java(Instant.now())")
+    @Mapping(target = "deletedAt", ignore = true)
+    CustomerEntity toEntity(Customer customer, @Context EntityManager entityManager);
+
+    // Copies mutable state onto a managed entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "active", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", expression = "java(Instant.now())")
+    void copyToEntity(Customer customer, @MappingTarget CustomerEntity entity);
+}
@@ -0,0 +1,18 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import org.mapstruct.Qualifier;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Selects the EntityReferences method for an association instead of a
+ * mapper that builds a new entity.
+ */
+@Qualifier
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.CLASS)
+public @interface EntityReference {
+}
@@ -0,0 +1,49 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.BrandEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CategoryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.ProductEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Context;
+
+/**
+ * Associations written by the mappers: an entity holds a reference
+ * (EntityManager.getReference) to the associated row, never a copy of it,
+ * so saving an aggregate does not load or rewrite what it points to.
+ */
+public final class EntityReferences {
+
+    private EntityReferences() { }
+
+    @EntityReference
+    public static StoreEntity store(Store store, @Context EntityManager entityManager) {
+        return store == null ? null : entityManager.getReference(StoreEntity.class, store.getId());
+    }
+
+    @EntityReference
+    public static BrandEntity brand(Brand brand, @Context EntityManager entityManager) {
+        return brand == null ? null : entityManager.getReference(BrandEntity.class, brand.getId());
+    }
+
+    @EntityReference
+    public static CategoryEntity category(Category category, @Context EntityManager entityManager) {
+        return category == null ? null : entityManager.getReference(CategoryEntity.class, category.getId());
+    }
+
+    @EntityReference
+    public static ProductEntity product(Product product, @Context EntityManager entityManager) {
+        return product == null ? null : entityManager.getReference(ProductEntity.class, product.getId());
+    }
+
+    @EntityReference
+    public static UserEntity user(User user, @Context EntityManager entityManager) {
+        return user == null ? null : entityManager.getReference(UserEntity.class, user.getId());
+    }
+}
@@ -0,0 +1,82 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * List that maps a persistent collection to domain objects on first access.
+ *
+ * Lets a mapper hand an aggregate a list of children without initializing
+ * the underlying lazy JPA collection. Nothing is loaded until the list is
+ * read or modified; after that it behaves like a plain ArrayList.
+ *
+ * @param <E> entity type of the source collection
+ * @param <D> domain type exposed by the list
+ */
+public final class LazyMappedList<E, D> extends AbstractList<D> {
+
+    private final Supplier<List<E>> source;
+    private final Function<E, D> mapper;
+    private List<D> loaded;
+
+    public LazyMappedList(Supplier<List<E>> source, Function<E, D> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Checks whether the source collection was read.
+     */
+    public boolean isLoaded() {
+        return loaded != null;
+    }
+
+    /**
+     * Checks whether a list handed to a mapper may be read without loading anything.
+     */
+    public static boolean isLoaded(List<?> list) {
+        return !(list instanceof LazyMappedList<?, ?> lazy) || lazy.isLoaded();
+    }
+
+    private List<D> loaded() {
+        if (loaded == null) {
+            List<E> entities = source.get();
+            List<D> mapped = new ArrayList<>(entities.size());
+            for (E entity : entities) {
+                mapped.add(mapper.apply(entity));
+            }
+            loaded = mapped;
+        }
+        return loaded;
+    }
+
+    @Override
+    public D get(int index) {
+        return loaded().get(index);
+    }
+
+    @Override
+    public int size() {
+        return loaded().size();
+    }
+
+    @Override
+    public D set(int index, D element) {
+        return loaded().set(index, element);
+    }
+
+    @Override
+    public void add(int index, D element) {
+        loaded().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public D remove(int index) {
+        modCount++;
+        return loaded().remove(index);
+    }
+}
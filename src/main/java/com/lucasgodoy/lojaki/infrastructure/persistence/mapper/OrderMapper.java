@@ -0,0 +1,191 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.application.diagnostics.MappingEvent;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderItemEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ObjectFactory;
+import org.mapstruct.factory.Mappers;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Maps between the domain Order and OrderEntity, including its items.
+ *
+ * Items are mapped lazily by default: the order gets a LazyMappedList and
+ * the items table is only read if the caller touches the list (inside the
+ * persistence context). Use toDomainWithItems when the items are needed
+ * after the transaction ends. The generated mapping never reads the items
+ * collection itself: the list is passed in as mapping context and handed
+ * to the order as is.
+ *
+ * Mapping reads the order's store and user and, for items, each product
+ * with its brand, category and stores. Callers fetch-join those (see
+ * JpaOrderRepository); mapping straight from lazy proxies costs one query
+ * per association.
+ *
+ * Orders are built through Order.restore (see newOrder), the only way to
+ * rebuild one from persisted state.
+ *
+ * Totals come from the order row. Only rows written before the total
+ * columns existed (and not yet backfilled) fall back to summing the items.
+ */
+@Mapper(config = PersistenceMapperConfig.class,
+        uses = {StoreMapper.class, UserMapper.class, ProductMapper.class, EntityReferences.class},
+        imports = ArrayList.class)
+public abstract class OrderMapper {
+
+    public static final OrderMapper INSTANCE = Mappers.getMapper(OrderMapper.class);
+
+    public Order toDomain(OrderEntity entity) {
+        return toDomain(entity, entity::getItems);
+    }
+
+    // Same, reading the items through the given loader when the list is first touched
+    public Order toDomain(OrderEntity entity, Supplier<List<OrderItemEntity>> items) {
+        backfillTotals(entity);
+        return restore(entity, new LazyMappedList<>(items, this::toDomain));
+    }
+
+    public Order toDomainWithItems(OrderEntity entity) {
+        MappingEvent event = MappingEvent.begin("OrderMapper", "toDomain");
+        List<OrderItem> items = new ArrayList<>();
+        try {
+            for (OrderItemEntity item : entity.getItems()) {
+                items.add(toDomain(item));
+            }
+            backfillTotals(entity);
+            Order order = restore(entity, items);
+            event.succeeded();
+            return order;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(items.size());
+        }
+    }
+
+    public OrderEntity toEntity(Order order, EntityManager entityManager) {
+        MappingEvent event = MappingEvent.begin("OrderMapper", "toEntity");
+        try {
+            OrderEntity entity = newEntity(order, entityManager);
+            event.succeeded();
+            return entity;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(order.getItems().size());
+        }
+    }
+
+    /**
+     * Copies mutable state onto a managed entity.
+     *
+     * Items are synchronized by id (see syncItems) only when the domain list
+     * was actually loaded.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "store", ignore = true)
+    @Mapping(target = "items", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    public abstract void copyToEntity(Order order, @MappingTarget OrderEntity entity,
+                                      @Context EntityManager entityManager);
+
+    // ===== Generated steps =====
+
+    @BeanMapping(ignoreByDefault = true)
+    protected abstract Order restore(OrderEntity entity, @Context List<OrderItem> items);
+
+    protected abstract OrderItem toDomain(OrderItemEntity entity);
+
+    @Mapping(target = "user", qualifiedBy = EntityReference.class)
+    @Mapping(target = "store", qualifiedBy = EntityReference.class)
+    @Mapping(target = "items", expression = "java(new ArrayList<>())")
+    protected abstract OrderEntity newEntity(Order order, @Context EntityManager entityManager);
+
+    @Mapping(target = "id", source = "item.id")
+    @Mapping(target = "order", source = "order")
+    @Mapping(target = "product", source = "item.product", qualifiedBy = EntityReference.class)
+    @Mapping(target = "quantity", source = "item.quantity")
+    @Mapping(target = "price", source = "item.price")
+    protected abstract OrderItemEntity toEntity(OrderItem item, OrderEntity order,
+                                                @Context EntityManager entityManager);
+
+    // ===== Hooks =====
+
+    /**
+     * Builds the order restore() returns. Every property is taken here, so
+     * the generated step sets nothing afterwards (not even status, whose
+     * setter checks transitions).
+     */
+    @ObjectFactory
+    protected Order newOrder(OrderEntity entity, @Context List<OrderItem> items) {
+        Currency currency = entity.getCurrency() == null ? null : Currency.getInstance(entity.getCurrency());
+        int itemCount = entity.getItemCount() == null ? 0 : entity.getItemCount();
+        return Order.restore(entity.getId(), StoreMapper.INSTANCE.toDomain(entity.getStore()),
+                UserMapper.INSTANCE.toDomain(entity.getUser()), items, entity.getTotalAmount(), itemCount,
+                currency, entity.getStatus(), entity.isActive(), entity.getCreatedAt(), entity.getUpdatedAt());
+    }
+
+    private static void backfillTotals(OrderEntity entity) {
+        if (entity.getTotalAmount() != null) {
+            return;
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        int count = 0;
+        String currency = null;
+        for (OrderItemEntity item : entity.getItems()) {
+            total = total.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            count += item.getQuantity();
+            currency = item.getProduct().getCurrency();
+        }
+        entity.setTotalAmount(total);
+        entity.setItemCount(count);
+        entity.setCurrency(currency);
+    }
+
+    /**
+     * Synchronizes the entity's items with the order's, by id (added,
+     * updated, removed), after both newEntity and copyToEntity. An untouched
+     * lazy list cannot have changed, so the items collection is then left
+     * uninitialized.
+     */
+    @AfterMapping
+    protected void syncItems(Order order, @MappingTarget OrderEntity entity, @Context EntityManager entityManager) {
+        if (!LazyMappedList.isLoaded(order.getItems())) {
+            return;
+        }
+        Map<UUID, OrderItemEntity> existing = new HashMap<>();
+        for (OrderItemEntity item : entity.getItems()) {
+            existing.put(item.getId(), item);
+        }
+        for (OrderItem item : order.getItems()) {
+            OrderItemEntity current = existing.remove(item.getId());
+            if (current == null) {
+                entity.getItems().add(toEntity(item, entity, entityManager));
+            } else {
+                current.setQuantity(item.getQuantity());
+                current.setPrice(item.getPrice());
+            }
+        }
+        entity.getItems().removeAll(existing.values());
+    }
+}
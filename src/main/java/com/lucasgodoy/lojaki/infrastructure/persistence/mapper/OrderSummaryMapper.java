@@ -0,0 +1,27 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderSummary;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderSummaryEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Maps orders to their listing row and listing rows to the domain read model.
+ */
+@Mapper(config = PersistenceMapperConfig.class)
+public interface OrderSummaryMapper {
+
+    OrderSummaryMapper INSTANCE = Mappers.getMapper(OrderSummaryMapper.class);
+
+    OrderSummary toDomain(OrderSummaryEntity entity);
+
+    @Mapping(target = "orderId", source = "id")
+    @Mapping(target = "userId", source = "user.id")
+    @Mapping(target = "storeId", source = "store.id")
+    OrderSummaryEntity toEntity(Order order);
+
+    void copyToEntity(Order order, @MappingTarget OrderSummaryEntity entity);
+}
@@ -0,0 +1,17 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Settings shared by the domain/entity mappers of this package.
+ *
+ * The mappers are interfaces implemented by MapStruct at compile time: the
+ * generated code is plain getter, constructor and setter calls, with no
+ * reflection at runtime. Every target property must be mapped or ignored
+ * explicitly, so a column or field added later fails the build until the
+ * mapping is updated.
+ */
+@MapperConfig(unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PersistenceMapperConfig {
+}
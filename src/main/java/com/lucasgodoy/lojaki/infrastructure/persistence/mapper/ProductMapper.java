@@ -0,0 +1,59 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.Named;
+import org.mapstruct.factory.Mappers;
+
+import java.util.Currency;
+
+/**
+ * Maps between the domain Product and ProductEntity.
+ *
+ * Price is stored as amount + ISO currency code columns.
+ * A product without its own store inherits the store of its brand.
+ */
+@Mapper(config = PersistenceMapperConfig.class,
+        uses = {StoreMapper.class, BrandMapper.class, CategoryMapper.class, EntityReferences.class})
+public interface ProductMapper {
+
+    ProductMapper INSTANCE = Mappers.getMapper(ProductMapper.class);
+
+    @Mapping(target = "store", source = "entity", qualifiedByName = "owningStore")
+    @Mapping(target = "price", source = "entity", qualifiedByName = "price")
+    Product toDomain(ProductEntity entity);
+
+    @Mapping(target = "price", source = "price.amount")
+    @Mapping(target = "currency", source = "price.currency")
+    @Mapping(target = "brand", qualifiedBy = EntityReference.class)
+    @Mapping(target = "store", qualifiedBy = EntityReference.class)
+    @Mapping(target = "category", qualifiedBy = EntityReference.class)
+    ProductEntity toEntity(Product product, @Context EntityManager entityManager);
+
+    // Copies mutable state onto a managed entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "store", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "price", source = "price.amount")
+    @Mapping(target = "currency", source = "price.currency")
+    @Mapping(target = "brand", qualifiedBy = EntityReference.class)
+    @Mapping(target = "category", qualifiedBy = EntityReference.class)
+    void copyToEntity(Product product, @MappingTarget ProductEntity entity, @Context EntityManager entityManager);
+
+    @Named("owningStore")
+    default Store owningStore(ProductEntity entity) {
+        return StoreMapper.INSTANCE.toDomain(entity.getStore() != null ? entity.getStore() : entity.getBrand().getStore());
+    }
+
+    @Named("price")
+    default Money price(ProductEntity entity) {
+        return new Money(entity.getPrice(), Currency.getInstance(entity.getCurrency()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreItemEntity;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Context;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Maps between the domain StoreItem and StoreItemEntity.
+ * Timestamps exist only on the entity and are maintained here.
+ */
+@Mapper(config = PersistenceMapperConfig.class, uses = {StoreMapper.class, ProductMapper.class, EntityReferences.class},
+        imports = java.time.Instant.class)
+public interface StoreItemMapper {
+
+    StoreItemMapper INSTANCE = Mappers.getMapper(StoreItemMapper.class);
+
+    StoreItem toDomain(StoreItemEntity entity);
+
+    @Mapping(target = "store", qualifiedBy = EntityReference.class)
+    @Mapping(target = "product", qualifiedBy = EntityReference.class)
+    @Mapping(target = "createdAt", expression = "java(Instant.now())")
+    @Mapping(target = "updatedAt", expression = "java(Instant.now())")
+    StoreItemEntity toEntity(StoreItem storeItem, @Context EntityManager entityManager);
+
+    // Copies mutable state onto a managed entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "store", ignore = true)
+    @Mapping(target = "product", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", expression = "java(Instant.now())")
+    void copyToEntity(StoreItem storeItem, @MappingTarget StoreItemEntity entity);
+}
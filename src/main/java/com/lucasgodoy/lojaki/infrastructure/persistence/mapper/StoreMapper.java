@@ -0,0 +1,43 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Maps between the domain Store and StoreEntity.
+ *
+ * The entity's collections are the inverse sides of other aggregates'
+ * associations and are never written from a Store.
+ */
+@Mapper(config = PersistenceMapperConfig.class)
+public interface StoreMapper {
+
+    StoreMapper INSTANCE = Mappers.getMapper(StoreMapper.class);
+
+    Store toDomain(StoreEntity entity);
+
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "brands", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "products", ignore = true)
+    @Mapping(target = "storeItems", ignore = true)
+    @Mapping(target = "orders", ignore = true)
+    @Mapping(target = "customerStores", ignore = true)
+    StoreEntity toEntity(Store store);
+
+    // Copies mutable state onto a managed entity (description is not part of the domain)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "brands", ignore = true)
+    @Mapping(target = "categories", ignore = true)
+    @Mapping(target = "products", ignore = true)
+    @Mapping(target = "storeItems", ignore = true)
+    @Mapping(target = "orders", ignore = true)
+    @Mapping(target = "customerStores", ignore = true)
+    void copyToEntity(Store store, @MappingTarget StoreEntity entity);
+}
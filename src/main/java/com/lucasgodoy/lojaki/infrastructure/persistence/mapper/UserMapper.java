@@ -0,0 +1,38 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.UserEntity;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+/**
+ * Maps between the domain User and UserEntity.
+ */
+@Mapper(config = PersistenceMapperConfig.class)
+public interface UserMapper {
+
+    UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);
+
+    User toDomain(UserEntity entity);
+
+    // A user is built active; the flag can only be cleared through deactivate()
+    @AfterMapping
+    default void restoreActive(UserEntity entity, @MappingTarget User user) {
+        if (!entity.isActive()) {
+            user.deactivate();
+        }
+    }
+
+    @Mapping(target = "customer", ignore = true)
+    @Mapping(target = "orders", ignore = true)
+    UserEntity toEntity(User user);
+
+    // Copies mutable state onto a managed entity
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "customer", ignore = true)
+    @Mapping(target = "orders", ignore = true)
+    void copyToEntity(User user, @MappingTarget UserEntity entity);
+}
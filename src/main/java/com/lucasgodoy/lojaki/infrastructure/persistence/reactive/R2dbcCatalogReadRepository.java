@@ -0,0 +1,129 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.reactive;
+
+import com.lucasgodoy.lojaki.application.diagnostics.RepositoryCallEvent;
+import com.lucasgodoy.lojaki.domain.product.model.CategoryView;
+import com.lucasgodoy.lojaki.domain.product.model.ProductView;
+import com.lucasgodoy.lojaki.domain.repository.CatalogReadRepository;
+import com.lucasgodoy.lojaki.domain.store.model.BrandView;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItemView;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * R2DBC implementation of {@link CatalogReadRepository}, over the tables
+ * the JPA entities define.
+ *
+ * Owns a small connection pool of its own, next to the JDBC pool of the
+ * write path: a query holds a connection only while rows are in flight,
+ * and no thread waits on it. Store listings are read with a fetch size,
+ * so the driver pulls rows from the database in chunks as the subscriber
+ * requests them instead of buffering the whole result.
+ */
+public class R2dbcCatalogReadRepository implements CatalogReadRepository {
+
+    private static final String STORE_ITEM_COLUMNS = "SELECT si.id AS store_item_id, si.store_id, p.id AS product_id,"
+            + " p.name, p.brand_id, p.category_id, si.price, p.currency, si.stock"
+            + " FROM store_items si JOIN products p ON p.id = si.product_id";
+
+    private static final String SELLABLE = " AND si.active = TRUE AND si.deleted_at IS NULL"
+            + " AND p.active = TRUE AND p.deleted_at IS NULL";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final int fetchSize;
+
+    public R2dbcCatalogReadRepository(ConnectionPool pool, int fetchSize) {
+        this.pool = pool;
+        this.client = DatabaseClient.create(pool);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Flux<StoreItemView> streamStoreItems(UUID storeId) {
+        return observe("streamStoreItems", storeId, client
+                .sql(STORE_ITEM_COLUMNS + " WHERE si.store_id = :storeId" + SELLABLE + " ORDER BY si.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .bind("storeId", storeId)
+                .map(R2dbcCatalogReadRepository::toStoreItemView)
+                .all());
+    }
+
+    @Override
+    public Mono<StoreItemView> findStoreItem(UUID storeItemId) {
+        return observe("findStoreItem", null, client
+                .sql(STORE_ITEM_COLUMNS + " WHERE si.id = :id" + SELLABLE)
+                .bind("id", storeItemId)
+                .map(R2dbcCatalogReadRepository::toStoreItemView)
+                .all())
+                .singleOrEmpty();
+    }
+
+    @Override
+    public Mono<ProductView> findProduct(UUID productId) {
+        return observe("findProduct", null, client
+                .sql("SELECT id, store_id, name, description, price, currency, brand_id, category_id"
+                        + " FROM products WHERE id = :id AND active = TRUE AND deleted_at IS NULL")
+                .bind("id", productId)
+                .map(row -> new ProductView(row.get("id", UUID.class), row.get("store_id", UUID.class),
+                        row.get("name", String.class), row.get("description", String.class),
+                        row.get("price", BigDecimal.class), Currency.getInstance(row.get("currency", String.class)),
+                        row.get("brand_id", UUID.class), row.get("category_id", UUID.class)))
+                .all())
+                .singleOrEmpty();
+    }
+
+    @Override
+    public Flux<CategoryView> findCategories(UUID storeId) {
+        return observe("findCategories", storeId, client
+                .sql("SELECT id, store_id, name, parent_id, path FROM categories"
+                        + " WHERE store_id = :storeId AND active = TRUE AND deleted_at IS NULL ORDER BY path")
+                .bind("storeId", storeId)
+                .map(row -> new CategoryView(row.get("id", UUID.class), row.get("store_id", UUID.class),
+                        row.get("name", String.class), row.get("parent_id", UUID.class),
+                        row.get("path", String.class)))
+                .all());
+    }
+
+    @Override
+    public Flux<BrandView> findBrands(UUID storeId) {
+        return observe("findBrands", storeId, client
+                .sql("SELECT id, store_id, name FROM brands"
+                        + " WHERE store_id = :storeId AND active = TRUE AND deleted_at IS NULL ORDER BY name")
+                .bind("storeId", storeId)
+                .map(row -> new BrandView(row.get("id", UUID.class), row.get("store_id", UUID.class),
+                        row.get("name", String.class)))
+                .all());
+    }
+
+    /** Closes the pool's connections; called at shutdown */
+    public void close() {
+        pool.dispose();
+    }
+
+    // Records one repository call per subscription, from subscribe to completion, error or cancel
+    private static <T> Flux<T> observe(String operation, UUID storeId, Flux<T> rows) {
+        return Flux.defer(() -> {
+            RepositoryCallEvent event = RepositoryCallEvent.begin("R2dbcCatalogReadRepository", operation);
+            int[] count = new int[1];
+            return rows
+                    .doOnNext(row -> count[0]++)
+                    .doOnComplete(event::succeeded)
+                    .doOnError(event::failed)
+                    .doFinally(signal -> event.end(count[0], storeId));
+        });
+    }
+
+    private static StoreItemView toStoreItemView(Readable row) {
+        return new StoreItemView(row.get("store_item_id", UUID.class), row.get("store_id", UUID.class),
+                row.get("product_id", UUID.class), row.get("name", String.class), row.get("brand_id", UUID.class),
+                row.get("category_id", UUID.class), row.get("price", BigDecimal.class),
+                Currency.getInstance(row.get("currency", String.class)), row.get("stock", Integer.class));
+    }
+}
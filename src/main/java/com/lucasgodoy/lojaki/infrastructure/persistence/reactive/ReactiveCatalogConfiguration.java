@@ -0,0 +1,57 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Wires the non-blocking catalog read stack when lojaki.catalog.r2dbc.url is set.
+ *
+ * The pool is built here and owned by the repository rather than exposed
+ * as a ConnectionFactory bean: Spring Boot backs off its JDBC DataSource
+ * when such a bean exists, and the JPA write path needs it. For the same
+ * reason R2DBC auto-configuration is excluded in LojakiBackendApplication.
+ *
+ * Settings (application.properties):
+ * - lojaki.catalog.r2dbc.url / username / password: database to read (r2dbc:postgresql://...)
+ * - lojaki.catalog.r2dbc.pool-size: connections kept (small: no thread waits on them)
+ * - lojaki.catalog.r2dbc.max-acquire-time: wait for a connection before failing the read
+ * - lojaki.catalog.r2dbc.fetch-size: rows pulled per round trip when streaming listings
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("lojaki.catalog.r2dbc.url")
+public class ReactiveCatalogConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public R2dbcCatalogReadRepository catalogReadRepository(
+            @Value("${lojaki.catalog.r2dbc.url}") String url,
+            @Value("${lojaki.catalog.r2dbc.username:}") String username,
+            @Value("${lojaki.catalog.r2dbc.password:}") String password,
+            @Value("${lojaki.catalog.r2dbc.pool-size:4}") int poolSize,
+            @Value("${lojaki.catalog.r2dbc.max-acquire-time:3s}") Duration maxAcquireTime,
+            @Value("${lojaki.catalog.r2dbc.fetch-size:256}") int fetchSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("lojaki-catalog-r2dbc")
+                .initialSize(poolSize)
+                .maxSize(poolSize)
+                .maxAcquireTime(maxAcquireTime)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .maxLifeTime(Duration.ofMinutes(30))
+                .validationQuery("SELECT 1")
+                .build());
+        return new R2dbcCatalogReadRepository(pool, fetchSize);
+    }
+}
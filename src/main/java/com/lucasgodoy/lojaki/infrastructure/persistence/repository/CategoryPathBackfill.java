@@ -0,0 +1,45 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Gives a materialized path to categories written before paths existed.
+ *
+ * Those categories have no parent, so each one is a root and its path is
+ * its own id ("/<32 hex digits>/", as built by Category). Runs in chunks
+ * and is a no-op once done, so this is safe to run on every startup.
+ */
+public class CategoryPathBackfill {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String ROOTS_SQL = "UPDATE categories"
+            + " SET path = '/' || REPLACE(LOWER(CAST(id AS VARCHAR(36))), '-', '') || '/'"
+            + " WHERE id IN (SELECT id FROM categories WHERE path IS NULL AND parent_id IS NULL"
+            + " LIMIT " + CHUNK_SIZE + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryPathBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensure() {
+        backfillRoots();
+    }
+
+    /**
+     * Sets the path of root categories that have none.
+     *
+     * @return number of categories updated
+     */
+    public int backfillRoots() {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(ROOTS_SQL);
+            total += updated;
+        } while (updated > 0);
+        return total;
+    }
+}
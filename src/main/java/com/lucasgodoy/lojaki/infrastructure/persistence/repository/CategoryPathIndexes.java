@@ -0,0 +1,45 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.infrastructure.persistence.DatabaseDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the index behind category subtree queries on categories.
+ *
+ * A subtree is a range of paths, [path, upper bound), which only holds in
+ * binary order. On PostgreSQL the path column is switched to the "C"
+ * collation first, so range predicates and the index compare bytes whatever
+ * the database's default collation; other databases compare paths in
+ * binary order already. The index is then (store_id, path): a subtree
+ * lookup is one range scan.
+ *
+ * Safe to run on every startup.
+ */
+public class CategoryPathIndexes {
+
+    private static final String INDEX_NAME = "idx_categories_store_path";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CategoryPathIndexes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensure() {
+        if (DatabaseDialect.isPostgres(jdbcTemplate) && !binaryCollation()) {
+            jdbcTemplate.execute("ALTER TABLE categories ALTER COLUMN path TYPE VARCHAR("
+                    + Category.MAX_PATH_LENGTH + ") COLLATE \"C\"");
+        }
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + INDEX_NAME + " ON categories (store_id, path)");
+    }
+
+    private boolean binaryCollation() {
+        List<String> collations = jdbcTemplate.queryForList(
+                "SELECT collation_name FROM information_schema.columns"
+                        + " WHERE table_name = 'categories' AND column_name = 'path'", String.class);
+        return collations.contains("C");
+    }
+}
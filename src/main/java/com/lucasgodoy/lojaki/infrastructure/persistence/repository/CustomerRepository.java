@@ -1,4 +1,107 @@
 package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
 
-public class CustomerRepository {
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerSearchKeys;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Customer directory used by support staff.
+ *
+ * Lookups are scoped to one store (through customer_store) and compare the
+ * normalized search keys of CustomerEntity, each backed by an index:
+ * - phone and document: equality on digits-only columns
+ * - name: prefix match on the normalized full name (pattern index on PostgreSQL,
+ *   see CustomerSearchIndexes)
+ *
+ * Soft-deleted customers are never returned. Users are fetched in the same
+ * query, so results can be mapped without further round trips.
+ */
+public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID> {
+
+    /** Maximum IDs bound in one IN list by findAllByIds */
+    int ID_CHUNK_SIZE = 1000;
+
+    /** Maximum results of a name search */
+    int MAX_NAME_RESULTS = 100;
+
+    // ===== Store-scoped Lookups =====
+
+    /**
+     * Finds the customers of a store with the given phone, in any format.
+     */
+    default List<CustomerEntity> findByPhone(UUID storeId, String phone) {
+        String digits = CustomerSearchKeys.phone(phone);
+        return digits == null || digits.isEmpty() ? List.of() : findInStoreByPhoneDigits(storeId, digits);
+    }
+
+    /**
+     * Finds the customers of a store with the given document (CPF/CNPJ), in any format.
+     */
+    default List<CustomerEntity> findByDocument(UUID storeId, String document) {
+        String key = CustomerSearchKeys.document(document);
+        return key == null ? List.of() : findInStoreByDocumentDigits(storeId, key);
+    }
+
+    /**
+     * Finds the customers of a store whose full name starts with the given
+     * text, ignoring case and accents, ordered by name.
+     *
+     * @param limit maximum results (1..MAX_NAME_RESULTS)
+     */
+    default List<CustomerEntity> findByNamePrefix(UUID storeId, String prefix, int limit) {
+        if (limit < 1 || limit > MAX_NAME_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_NAME_RESULTS);
+        }
+        String key = CustomerSearchKeys.name(prefix);
+        // Normalized keys only hold [a-z0-9 ], so no LIKE escaping is needed
+        return key.isEmpty() ? List.of() : findInStoreBySearchNamePrefix(storeId, key + "%", Limit.of(limit));
+    }
+
+    // ===== Batch Lookup =====
+
+    /**
+     * Loads many customers (with their users) in a few queries instead of one
+     * per customer. IDs are de-duplicated and bound in chunks of ID_CHUNK_SIZE;
+     * unknown or soft-deleted IDs are absent from the result.
+     */
+    default List<CustomerEntity> findAllByIds(Collection<UUID> ids) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<CustomerEntity> customers = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += ID_CHUNK_SIZE) {
+            customers.addAll(findChunkByIds(distinct.subList(from, Math.min(distinct.size(), from + ID_CHUNK_SIZE))));
+        }
+        return customers;
+    }
+
+    // ===== Queries =====
+
+    @Query("SELECT c FROM CustomerEntity c JOIN FETCH c.user"
+            + " WHERE c.phoneDigits = :phone AND c.deletedAt IS NULL"
+            + " AND EXISTS (SELECT 1 FROM CustomerStoreEntity cs WHERE cs.customer = c AND cs.store.id = :storeId)")
+    List<CustomerEntity> findInStoreByPhoneDigits(@Param("storeId") UUID storeId, @Param("phone") String phoneDigits);
+
+    @Query("SELECT c FROM CustomerEntity c JOIN FETCH c.user"
+            + " WHERE c.documentDigits = :document AND c.deletedAt IS NULL"
+            + " AND EXISTS (SELECT 1 FROM CustomerStoreEntity cs WHERE cs.customer = c AND cs.store.id = :storeId)")
+    List<CustomerEntity> findInStoreByDocumentDigits(@Param("storeId") UUID storeId,
+                                                     @Param("document") String documentDigits);
+
+    @Query("SELECT c FROM CustomerEntity c JOIN FETCH c.user"
+            + " WHERE c.searchName LIKE :pattern AND c.deletedAt IS NULL"
+            + " AND EXISTS (SELECT 1 FROM CustomerStoreEntity cs WHERE cs.customer = c AND cs.store.id = :storeId)"
+            + " ORDER BY c.searchName, c.id")
+    List<CustomerEntity> findInStoreBySearchNamePrefix(@Param("storeId") UUID storeId,
+                                                       @Param("pattern") String pattern, Limit limit);
+
+    @Query("SELECT c FROM CustomerEntity c JOIN FETCH c.user WHERE c.id IN :ids AND c.deletedAt IS NULL")
+    List<CustomerEntity> findChunkByIds(@Param("ids") Collection<UUID> ids);
 }
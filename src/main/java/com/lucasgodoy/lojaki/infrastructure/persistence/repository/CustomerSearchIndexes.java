@@ -0,0 +1,66 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.infrastructure.persistence.DatabaseDialect;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerSearchKeys;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prepares the customers table for CustomerRepository searches.
+ *
+ * - On PostgreSQL, adds a varchar_pattern_ops index on search_name. The
+ *   plain index declared on the entity follows the database collation and
+ *   cannot serve LIKE 'prefix%' under non-C locales; this one can.
+ * - Fills the search keys of rows written before the keys existed, in
+ *   chunks, so the new indexes cover every customer.
+ *
+ * Safe to run on every startup: both steps are no-ops once done.
+ */
+public class CustomerSearchIndexes {
+
+    private static final int BACKFILL_CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerSearchIndexes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensure() {
+        if (DatabaseDialect.isPostgres(jdbcTemplate)) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_customers_search_name_prefix"
+                    + " ON customers (search_name varchar_pattern_ops)");
+        }
+        backfill();
+    }
+
+    /**
+     * Computes search keys for customers that have none.
+     *
+     * @return number of customers updated
+     */
+    public int backfill() {
+        int updated = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, first_name, last_name, phone, document FROM customers"
+                            + " WHERE search_name IS NULL LIMIT " + BACKFILL_CHUNK_SIZE);
+            if (rows.isEmpty()) {
+                return updated;
+            }
+            List<Object[]> keys = rows.stream()
+                    .map(row -> new Object[]{
+                            CustomerSearchKeys.phone((String) row.get("phone")),
+                            CustomerSearchKeys.document((String) row.get("document")),
+                            CustomerSearchKeys.fullName((String) row.get("first_name"), (String) row.get("last_name")),
+                            row.get("id")
+                    })
+                    .toList();
+            jdbcTemplate.batchUpdate(
+                    "UPDATE customers SET phone_digits = ?, document_digits = ?, search_name = ? WHERE id = ?", keys);
+            updated += rows.size();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.cart.model.SavedCart;
+import com.lucasgodoy.lojaki.domain.repository.CartRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link CartRepository} over the "carts" table
+ * (see CartEntity), for PostgreSQL.
+ *
+ * A cart is one row; its lines are packed into a single binary column,
+ * 28 bytes each (store item id, quantity, price in units of 1/10000), so
+ * writing a cart back is one upsert whatever its size, and batches of carts
+ * go in one JDBC batch.
+ */
+public class JdbcCartRepository implements CartRepository {
+
+    private static final int LINE_BYTES = 16 + 4 + 8;
+    private static final int PRICE_SCALE = 4;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO carts (cart_id, store_id, currency, lines, version, updated_at, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (cart_id) DO UPDATE SET
+                store_id = EXCLUDED.store_id, currency = EXCLUDED.currency, lines = EXCLUDED.lines,
+                version = EXCLUDED.version, updated_at = EXCLUDED.updated_at, expires_at = EXCLUDED.expires_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcCartRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public SavedCart find(String cartId, Instant now) {
+        return jdbcTemplate.query(
+                        "SELECT cart_id, store_id, currency, lines, version, updated_at, expires_at FROM carts"
+                                + " WHERE cart_id = ? AND expires_at > ?",
+                        (rs, row) -> toSavedCart(rs), cartId, Timestamp.from(now))
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public void saveAll(List<SavedCart> carts) {
+        if (carts.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, carts, carts.size(), (ps, cart) -> {
+            ps.setString(1, cart.getCartId());
+            ps.setObject(2, cart.getStoreId());
+            ps.setString(3, cart.getCurrency() == null ? null : cart.getCurrency().getCurrencyCode());
+            ps.setBytes(4, encode(cart.getLines()));
+            ps.setLong(5, cart.getVersion());
+            ps.setTimestamp(6, Timestamp.from(cart.getUpdatedAt()));
+            ps.setTimestamp(7, Timestamp.from(cart.getExpiresAt()));
+        });
+    }
+
+    @Override
+    public void deleteAll(Collection<String> cartIds) {
+        if (cartIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = List.copyOf(cartIds);
+        jdbcTemplate.batchUpdate("DELETE FROM carts WHERE cart_id = ?", ids, ids.size(),
+                (ps, cartId) -> ps.setString(1, cartId));
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM carts WHERE expires_at < ?", Timestamp.from(now));
+    }
+
+    private static SavedCart toSavedCart(ResultSet rs) throws SQLException {
+        String currency = rs.getString("currency");
+        return new SavedCart(rs.getString("cart_id"), rs.getObject("store_id", UUID.class),
+                currency == null ? null : Currency.getInstance(currency), decode(rs.getBytes("lines")),
+                rs.getLong("version"), rs.getTimestamp("updated_at").toInstant(),
+                rs.getTimestamp("expires_at").toInstant());
+    }
+
+    // ===== Line Encoding =====
+
+    static byte[] encode(List<SavedCart.Line> lines) {
+        ByteBuffer buffer = ByteBuffer.allocate(lines.size() * LINE_BYTES);
+        for (SavedCart.Line line : lines) {
+            buffer.putLong(line.getStoreItemId().getMostSignificantBits());
+            buffer.putLong(line.getStoreItemId().getLeastSignificantBits());
+            buffer.putInt(line.getQuantity());
+            buffer.putLong(line.getPrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        return buffer.array();
+    }
+
+    static List<SavedCart.Line> decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        List<SavedCart.Line> lines = new ArrayList<>(bytes.length / LINE_BYTES);
+        while (buffer.remaining() >= LINE_BYTES) {
+            UUID storeItemId = new UUID(buffer.getLong(), buffer.getLong());
+            int quantity = buffer.getInt();
+            lines.add(new SavedCart.Line(storeItemId, quantity, BigDecimal.valueOf(buffer.getLong(), PRICE_SCALE)));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,61 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.repository.IdempotencyKeyRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link IdempotencyKeyRepository} over the
+ * "idempotency_keys" table (see IdempotencyKeyEntity).
+ *
+ * Inserting relies on the (scope, key) primary key: a conflicting insert
+ * is reported as "already taken", with no prior read, unless the row it
+ * conflicts with has expired, in which case it is taken over. A conflict
+ * with a row not yet committed waits for that transaction to end.
+ * PostgreSQL only (ON CONFLICT ... DO UPDATE ... WHERE).
+ */
+public class JdbcIdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcIdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean insert(String scope, String key, UUID orderId, Instant now, Instant expiresAt) {
+        return jdbcTemplate.update(
+                "INSERT INTO idempotency_keys (scope, idempotency_key, order_id, created_at, expires_at)"
+                        + " VALUES (?, ?, ?, ?, ?)"
+                        + " ON CONFLICT (scope, idempotency_key) DO UPDATE SET order_id = EXCLUDED.order_id,"
+                        + " created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at"
+                        + " WHERE idempotency_keys.expires_at <= EXCLUDED.created_at",
+                scope, key, orderId, Timestamp.from(now), Timestamp.from(expiresAt)) == 1;
+    }
+
+    @Override
+    public Optional<UUID> findResult(String scope, String key, Instant now) {
+        return jdbcTemplate.queryForList(
+                        "SELECT order_id FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?"
+                                + " AND expires_at > ?",
+                        UUID.class, scope, key, Timestamp.from(now))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void release(String scope, String key, UUID orderId) {
+        jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND order_id = ?",
+                scope, key, orderId);
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at < ?", Timestamp.from(now));
+    }
+}
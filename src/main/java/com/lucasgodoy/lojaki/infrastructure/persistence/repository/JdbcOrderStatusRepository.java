@@ -0,0 +1,96 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.order.model.OrderStatusView;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.domain.repository.OrderStatusRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link OrderStatusRepository} for PostgreSQL.
+ *
+ * IDs are bound as a single uuid[] parameter (= ANY(?)), so a 50k-order
+ * file is one statement instead of 50k, and never hits the driver's bind
+ * parameter limit the way an expanded IN list would.
+ *
+ * Status updates change the order_summaries rows in the same statement.
+ */
+public class JdbcOrderStatusRepository implements OrderStatusRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcOrderStatusRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<UUID, OrderStatusView> findStatuses(Collection<UUID> orderIds) {
+        Map<UUID, OrderStatusView> result = new HashMap<>(orderIds.size() * 2);
+        if (orderIds.isEmpty()) {
+            return result;
+        }
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "SELECT id, store_id, user_id, status FROM orders WHERE id = ANY(?)");
+                    ps.setArray(1, uuidArray(connection, orderIds));
+                    return ps;
+                },
+                rs -> {
+                    UUID id = rs.getObject("id", UUID.class);
+                    result.put(id, new OrderStatusView(
+                            id,
+                            rs.getObject("store_id", UUID.class),
+                            rs.getObject("user_id", UUID.class),
+                            Status.valueOf(rs.getString("status"))));
+                });
+        return result;
+    }
+
+    @Override
+    public Set<UUID> updateStatus(Collection<UUID> orderIds, Status from, Status to, Instant updatedAt) {
+        Set<UUID> updated = new HashSet<>(orderIds.size() * 2);
+        if (orderIds.isEmpty()) {
+            return updated;
+        }
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "WITH updated AS ("
+                                    + "UPDATE orders SET status = ?, updated_at = ?"
+                                    + " WHERE id = ANY(?) AND status = ? RETURNING id"
+                                    + "), summaries AS ("
+                                    + "UPDATE order_summaries s SET status = ?, updated_at = ?"
+                                    + " FROM updated u WHERE s.order_id = u.id"
+                                    + ") SELECT id FROM updated");
+                    Timestamp timestamp = Timestamp.from(updatedAt);
+                    ps.setString(1, to.name());
+                    ps.setTimestamp(2, timestamp);
+                    ps.setArray(3, uuidArray(connection, orderIds));
+                    ps.setString(4, from.name());
+                    ps.setString(5, to.name());
+                    ps.setTimestamp(6, timestamp);
+                    return ps;
+                },
+                rs -> {
+                    updated.add(rs.getObject("id", UUID.class));
+                });
+        return updated;
+    }
+
+    private static Array uuidArray(Connection connection, Collection<UUID> ids) throws SQLException {
+        return connection.createArrayOf("uuid", ids.toArray());
+    }
+}
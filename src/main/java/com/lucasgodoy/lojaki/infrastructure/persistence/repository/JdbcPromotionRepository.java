@@ -0,0 +1,99 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.repository.PromotionRepository;
+import com.lucasgodoy.lojaki.domain.store.model.PriceRule;
+import com.lucasgodoy.lojaki.domain.store.model.Promotion;
+import com.lucasgodoy.lojaki.domain.store.model.PromotionStatus;
+import com.lucasgodoy.lojaki.infrastructure.persistence.DatabaseDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link PromotionRepository}.
+ *
+ * Status changes are compare-and-set updates, so two scheduler instances
+ * polling the same table never start or end the same promotion twice.
+ *
+ * Saving is a single upsert (INSERT ... ON CONFLICT) on PostgreSQL; other
+ * databases (e.g. H2) update the status first and insert when no row
+ * matched.
+ */
+public class JdbcPromotionRepository implements PromotionRepository {
+
+    private static final String COLUMNS =
+            "id, store_id, rule_scope, rule_target_id, rule_percent, starts_at, ends_at, status";
+
+    private static final RowMapper<Promotion> ROW_MAPPER = (rs, rowNum) -> Promotion.restore(
+            rs.getObject("id", UUID.class),
+            rs.getObject("store_id", UUID.class),
+            PriceRule.of(PriceRule.Scope.valueOf(rs.getString("rule_scope")),
+                    rs.getObject("rule_target_id", UUID.class),
+                    rs.getBigDecimal("rule_percent")),
+            rs.getTimestamp("starts_at").toInstant(),
+            rs.getTimestamp("ends_at").toInstant(),
+            PromotionStatus.valueOf(rs.getString("status")));
+
+    private static final String INSERT_SQL =
+            "INSERT INTO promotions (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Detected on first save
+    private volatile Boolean postgres;
+
+    public JdbcPromotionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void save(Promotion promotion) {
+        if (postgres == null) {
+            postgres = DatabaseDialect.isPostgres(jdbcTemplate);
+        }
+        if (postgres) {
+            insert(promotion, INSERT_SQL + " ON CONFLICT (id) DO UPDATE SET status = EXCLUDED.status");
+        } else if (jdbcTemplate.update("UPDATE promotions SET status = ? WHERE id = ?",
+                promotion.getStatus().name(), promotion.getId()) == 0) {
+            insert(promotion, INSERT_SQL);
+        }
+    }
+
+    private void insert(Promotion promotion, String sql) {
+        PriceRule rule = promotion.getRule();
+        jdbcTemplate.update(sql,
+                promotion.getId(),
+                promotion.getStoreId(),
+                rule.getScope().name(),
+                rule.getTargetId(),
+                rule.getPercent(),
+                Timestamp.from(promotion.getStartsAt()),
+                Timestamp.from(promotion.getEndsAt()),
+                promotion.getStatus().name());
+    }
+
+    @Override
+    public List<Promotion> findDueToStart(Instant now) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM promotions WHERE status = ? AND starts_at <= ? ORDER BY starts_at",
+                ROW_MAPPER, PromotionStatus.SCHEDULED.name(), Timestamp.from(now));
+    }
+
+    @Override
+    public List<Promotion> findDueToEnd(Instant now) {
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM promotions WHERE status = ? AND ends_at <= ? ORDER BY ends_at",
+                ROW_MAPPER, PromotionStatus.ACTIVE.name(), Timestamp.from(now));
+    }
+
+    @Override
+    public boolean transition(Promotion promotion, PromotionStatus from, PromotionStatus to) {
+        return jdbcTemplate.update(
+                "UPDATE promotions SET status = ? WHERE id = ? AND status = ?",
+                to.name(), promotion.getId(), from.name()) == 1;
+    }
+}
@@ -0,0 +1,200 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.repository.RepricingRepository;
+import com.lucasgodoy.lojaki.domain.store.model.PriceChangeReason;
+import com.lucasgodoy.lojaki.domain.store.model.PriceRule;
+import com.lucasgodoy.lojaki.domain.store.model.PromotionStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link RepricingRepository} for PostgreSQL.
+ *
+ * A rule is applied in keyset chunks over (store_id, id): each chunk is a
+ * single statement that locks the next N items, updates their prices and
+ * appends the history rows, all inside the database. Nothing is loaded into
+ * the JVM, so memory stays flat whatever the store size, and each chunk
+ * commits on its own, so row locks are held for one chunk only.
+ *
+ * Ending a promotion walks its history rows the same way and reprices
+ * each item from its history, so overlapping promotions compose: the item
+ * goes back to its price from before any promotion (the old price of the
+ * first promotion row since its last manual or rule change), times the
+ * factors of the promotions still active on it, if any. Items repriced
+ * manually or by a rule since the promotion started are left alone, as is
+ * an item whose price changes while the chunk runs; the next revert on it
+ * recomputes from the history.
+ */
+public class JdbcRepricingRepository implements RepricingRepository {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private static final String APPLY_SQL = """
+            WITH target AS (
+                SELECT si.id, si.price
+                FROM store_items si%s
+                WHERE si.store_id = ? AND si.deleted_at IS NULL AND si.id > ?%s
+                ORDER BY si.id
+                LIMIT ?
+                FOR UPDATE OF si
+            ), updated AS (
+                UPDATE store_items si
+                SET price = round(t.price * ?, 2), updated_at = ?
+                FROM target t
+                WHERE si.id = t.id AND si.price <> round(t.price * ?, 2)
+                RETURNING si.id, t.price AS old_price, si.price AS new_price
+            ), history AS (
+                INSERT INTO store_item_price_history (store_item_id, old_price, new_price, change_id, reason, changed_at)
+                SELECT id, old_price, new_price, ?, ?, ? FROM updated
+            )
+            SELECT (SELECT id FROM target ORDER BY id DESC LIMIT 1) AS last_id,
+                   (SELECT count(*) FROM target) AS scanned,
+                   (SELECT count(*) FROM updated) AS changed
+            """;
+
+    /*
+     * Per applied row: the item's last permanent change (manual or rule) since which its price has only
+     * moved through promotions, the price it had before those promotions, and the compounded factor of
+     * the promotions still active on it. Factors are rounded as PriceRule#factor rounds them, and their
+     * product is rounded back to 12 decimals so a single remaining promotion gives its exact factor.
+     */
+    private static final String REVERT_SQL = """
+            WITH applied AS (
+                SELECT h.id, h.store_item_id,
+                       (SELECT max(m.id) FROM store_item_price_history m
+                        WHERE m.store_item_id = h.store_item_id AND m.reason IN (?, ?)) AS repriced_id
+                FROM store_item_price_history h
+                WHERE h.change_id = ? AND h.reason = ? AND h.id > ?
+                ORDER BY h.id
+                LIMIT ?
+            ), target AS (
+                SELECT a.store_item_id,
+                       (SELECT p.old_price FROM store_item_price_history p
+                        WHERE p.store_item_id = a.store_item_id AND p.id > COALESCE(a.repriced_id, 0)
+                        ORDER BY p.id
+                        LIMIT 1) AS base_price,
+                       (SELECT round(exp(sum(ln(round(1 + pr.rule_percent / 100, 6)))), 12)
+                        FROM store_item_price_history s
+                        JOIN promotions pr ON pr.id = s.change_id
+                        WHERE s.store_item_id = a.store_item_id AND s.reason = ?
+                          AND s.id > COALESCE(a.repriced_id, 0) AND s.change_id <> ? AND pr.status = ?) AS factor
+                FROM applied a
+                WHERE a.repriced_id IS NULL OR a.repriced_id < a.id
+            ), current_prices AS (
+                SELECT si.id, si.price, round(t.base_price * COALESCE(t.factor, 1), 2) AS restored_price
+                FROM target t
+                JOIN store_items si ON si.id = t.store_item_id
+            ), restored AS (
+                UPDATE store_items si
+                SET price = c.restored_price, updated_at = ?
+                FROM current_prices c
+                WHERE si.id = c.id AND si.price = c.price AND si.price <> c.restored_price
+                RETURNING si.id, c.price AS old_price, si.price AS new_price
+            ), history AS (
+                INSERT INTO store_item_price_history (store_item_id, old_price, new_price, change_id, reason, changed_at)
+                SELECT id, old_price, new_price, ?, ?, ? FROM restored
+            )
+            SELECT (SELECT max(id) FROM applied) AS last_id,
+                   (SELECT count(*) FROM applied) AS scanned,
+                   (SELECT count(*) FROM restored) AS changed
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    public JdbcRepricingRepository(JdbcTemplate jdbcTemplate, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public long applyRule(UUID storeId, PriceRule rule, UUID changeId, PriceChangeReason reason, Instant at) {
+        String sql = applySql(rule.getScope());
+        Timestamp timestamp = Timestamp.from(at);
+        UUID cursor = FIRST_ID;
+        long changed = 0;
+        while (cursor != null) {
+            UUID after = cursor;
+            Chunk<UUID> chunk = jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(sql);
+                        int i = 1;
+                        ps.setObject(i++, storeId);
+                        ps.setObject(i++, after);
+                        if (rule.getScope() != PriceRule.Scope.STORE) {
+                            ps.setObject(i++, rule.getTargetId());
+                        }
+                        ps.setInt(i++, chunkSize);
+                        ps.setBigDecimal(i++, rule.factor());
+                        ps.setTimestamp(i++, timestamp);
+                        ps.setBigDecimal(i++, rule.factor());
+                        ps.setObject(i++, changeId);
+                        ps.setString(i++, reason.name());
+                        ps.setTimestamp(i, timestamp);
+                        return ps;
+                    },
+                    rs -> {
+                        rs.next();
+                        return new Chunk<>(rs.getObject("last_id", UUID.class), rs.getLong("scanned"), rs.getLong("changed"));
+                    });
+            changed += chunk.changed();
+            cursor = chunk.scanned() < chunkSize ? null : chunk.lastId();
+        }
+        return changed;
+    }
+
+    @Override
+    public long revertChange(UUID changeId, PriceChangeReason appliedReason, PriceChangeReason revertReason,
+                             Instant at) {
+        Timestamp timestamp = Timestamp.from(at);
+        Long cursor = 0L;
+        long changed = 0;
+        while (cursor != null) {
+            long after = cursor;
+            Chunk<Long> chunk = jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(REVERT_SQL);
+                        int i = 1;
+                        ps.setString(i++, PriceChangeReason.MANUAL.name());
+                        ps.setString(i++, PriceChangeReason.RULE.name());
+                        ps.setObject(i++, changeId);
+                        ps.setString(i++, appliedReason.name());
+                        ps.setLong(i++, after);
+                        ps.setInt(i++, chunkSize);
+                        ps.setString(i++, appliedReason.name());
+                        ps.setObject(i++, changeId);
+                        ps.setString(i++, PromotionStatus.ACTIVE.name());
+                        ps.setTimestamp(i++, timestamp);
+                        ps.setObject(i++, changeId);
+                        ps.setString(i++, revertReason.name());
+                        ps.setTimestamp(i, timestamp);
+                        return ps;
+                    },
+                    rs -> {
+                        rs.next();
+                        return new Chunk<>(rs.getObject("last_id", Long.class), rs.getLong("scanned"), rs.getLong("changed"));
+                    });
+            changed += chunk.changed();
+            cursor = chunk.scanned() < chunkSize ? null : chunk.lastId();
+        }
+        return changed;
+    }
+
+    private static String applySql(PriceRule.Scope scope) {
+        return switch (scope) {
+            case STORE -> APPLY_SQL.formatted("", "");
+            case CATEGORY -> APPLY_SQL.formatted(" JOIN products p ON p.id = si.product_id", " AND p.category_id = ?");
+            case BRAND -> APPLY_SQL.formatted(" JOIN products p ON p.id = si.product_id", " AND p.brand_id = ?");
+        };
+    }
+
+    /** Result of one chunk: where to continue from, rows looked at and prices changed */
+    private record Chunk<K>(K lastId, long scanned, long changed) { }
+}
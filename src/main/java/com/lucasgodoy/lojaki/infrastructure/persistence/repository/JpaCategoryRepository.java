@@ -0,0 +1,202 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.repository.CategoryRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CategoryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.CategoryMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JPA implementation of {@link CategoryRepository}.
+ *
+ * Categories live in the second-level cache and findAll goes through the
+ * query cache; both are invalidated by Hibernate when a category changes.
+ * Cached queries are read with getResultList: a result stream scrolls the
+ * JDBC result set and never consults the query cache.
+ *
+ * Subtrees are ranges of the (store_id, path) index: a category and its
+ * descendants are the paths in [path, upper bound), see
+ * {@link Category#getPathUpperBound()}. Moving a subtree rewrites those
+ * rows in a single UPDATE over the range, whatever its size. It runs as
+ * plain JDBC, since a bulk HQL UPDATE makes Hibernate evict the whole
+ * categories cache region, every store's categories included. Instead,
+ * only the moved descendants' cache entries are locked until the
+ * transaction ends, and only those of them already in the persistence
+ * context are refreshed; the context is flushed before the UPDATE.
+ */
+public class JpaCategoryRepository implements CategoryRepository {
+
+    private final EntityManager entityManager;
+
+    public JpaCategoryRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Category findById(UUID id) {
+        CategoryEntity entity = entityManager.find(CategoryEntity.class, id);
+        return entity == null ? null : CategoryMapper.INSTANCE.toDomain(entity);
+    }
+
+    @Override
+    public void save(Category category) {
+        CategoryEntity entity = entityManager.find(CategoryEntity.class, category.getId());
+        if (entity == null) {
+            entityManager.persist(CategoryMapper.INSTANCE.toEntity(category, entityManager));
+        } else {
+            CategoryMapper.INSTANCE.copyToEntity(category, entity, entityManager);
+        }
+    }
+
+    @Override
+    public void delete(Category category) {
+        CategoryEntity entity = entityManager.find(CategoryEntity.class, category.getId());
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return entityManager.createQuery("SELECT c FROM CategoryEntity c JOIN FETCH c.store", CategoryEntity.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList()
+                .stream()
+                .map(CategoryMapper.INSTANCE::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Category> findByStore(UUID storeId) {
+        return entityManager.createQuery(
+                        "SELECT c FROM CategoryEntity c JOIN FETCH c.store"
+                                + " WHERE c.store.id = :storeId ORDER BY c.path", CategoryEntity.class)
+                .setParameter("storeId", storeId)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getResultList()
+                .stream()
+                .map(CategoryMapper.INSTANCE::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Category> lockAll(Collection<UUID> ids) {
+        List<CategoryEntity> locked = entityManager.createQuery(
+                        "SELECT c FROM CategoryEntity c JOIN FETCH c.store WHERE c.id IN :ids ORDER BY c.id",
+                        CategoryEntity.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        // A copy already in the persistence context is returned as loaded, not as the locked row
+        locked.forEach(entityManager::refresh);
+        return locked.stream()
+                .map(CategoryMapper.INSTANCE::toDomain)
+                .toList();
+    }
+
+    @Override
+    public int subtreeHeight(Category category) {
+        List<String> deepest = entityManager.createQuery(
+                        "SELECT c.path FROM CategoryEntity c"
+                                + " WHERE c.store.id = :storeId AND c.path >= :path AND c.path < :upperBound"
+                                + " ORDER BY LENGTH(c.path) DESC", String.class)
+                .setParameter("storeId", category.getStore().getId())
+                .setParameter("path", category.getPath())
+                .setParameter("upperBound", category.getPathUpperBound())
+                .setMaxResults(1)
+                .getResultList();
+        return deepest.isEmpty() ? 0 : Category.depthOf(deepest.get(0)) - category.getDepth();
+    }
+
+    @Override
+    public int moveSubtree(Category category, String oldPath) {
+        save(category);
+        entityManager.flush();
+        UUID storeId = category.getStore().getId();
+        String oldUpperBound = Category.upperBound(oldPath);
+        List<UUID> descendants = entityManager.createQuery(
+                        "SELECT c.id FROM CategoryEntity c"
+                                + " WHERE c.store.id = :storeId AND c.path > :oldPath AND c.path < :oldUpperBound",
+                        UUID.class)
+                .setParameter("storeId", storeId)
+                .setParameter("oldPath", oldPath)
+                .setParameter("oldUpperBound", oldUpperBound)
+                .getResultList();
+        if (descendants.isEmpty()) {
+            return 0;
+        }
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(CategoryEntity.class);
+        lockCacheEntries(session, persister, descendants);
+
+        int moved = session.doReturningWork(connection -> {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE categories SET path = ? || SUBSTRING(path, ?), updated_at = ?"
+                            + " WHERE store_id = ? AND path > ? AND path < ?")) {
+                update.setString(1, category.getPath());
+                update.setInt(2, oldPath.length() + 1);
+                update.setTimestamp(3, Timestamp.from(category.getUpdatedAt()));
+                update.setObject(4, storeId);
+                update.setString(5, oldPath);
+                update.setString(6, oldUpperBound);
+                return update.executeUpdate();
+            }
+        });
+
+        // Descendants loaded earlier in the transaction still hold, and could write back, their old path
+        PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+        for (UUID id : descendants) {
+            Object managed = persistenceContext.getEntity(session.generateEntityKey(id, persister));
+            if (managed != null) {
+                entityManager.refresh(managed);
+            }
+        }
+        return moved;
+    }
+
+    // ===== Cache =====
+
+    /*
+     * Soft-locks the descendants' second-level cache entries and the cached
+     * queries over the table, as Hibernate does around an entity update:
+     * until the transaction ends, finds miss the cache and loads are not
+     * put back, so neither this transaction nor a concurrent one caches the
+     * old path. The locks are released, and the cached queries invalidated,
+     * whether the transaction commits or rolls back.
+     */
+    private static void lockCacheEntries(SessionImplementor session, EntityPersister persister, List<UUID> ids) {
+        TimestampsCache timestamps = session.getFactory().getCache().getTimestampsCache();
+        String[] spaces = persister.getSynchronizationSpaces();
+        timestamps.preInvalidate(spaces, session);
+        Map<Object, SoftLock> locks = new HashMap<>();
+        EntityDataAccess cache = persister.canWriteToCache() ? persister.getCacheAccessStrategy() : null;
+        if (cache != null) {
+            for (UUID id : ids) {
+                Object key = cache.generateCacheKey(id, persister, session.getFactory(), session.getTenantIdentifier());
+                locks.put(key, cache.lockItem(session, key, null));
+            }
+        }
+        session.getActionQueue().registerProcess((success, completed) -> {
+            locks.forEach((key, lock) -> cache.unlockItem(completed, key, lock));
+            timestamps.invalidate(spaces, completed);
+        });
+    }
+}
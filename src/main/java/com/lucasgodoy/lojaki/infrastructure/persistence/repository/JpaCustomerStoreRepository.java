@@ -0,0 +1,67 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.customer.model.CustomerStore;
+import com.lucasgodoy.lojaki.domain.repository.CustomerStoreRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerStoreEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * JPA implementation of {@link CustomerStoreRepository}.
+ */
+public class JpaCustomerStoreRepository implements CustomerStoreRepository {
+
+    /** Rows fetched per round trip while streaming links */
+    private static final int FETCH_SIZE = 10_000;
+
+    private final EntityManager entityManager;
+
+    public JpaCustomerStoreRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void save(CustomerStore customerStore) {
+        Instant now = Instant.now();
+        entityManager.persist(new CustomerStoreEntity(
+                customerStore.getId(),
+                entityManager.getReference(CustomerEntity.class, customerStore.getCustomer().getId()),
+                entityManager.getReference(StoreEntity.class, customerStore.getStore().getId()),
+                now,
+                now
+        ));
+    }
+
+    @Override
+    public long countLinks() {
+        Number links = (Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM (SELECT DISTINCT store_id, customer_id FROM customer_store) links")
+                .getSingleResult();
+        return links.longValue();
+    }
+
+    @Override
+    public Instant findLastChangedAt() {
+        return entityManager.createQuery(
+                        "SELECT MAX(COALESCE(cs.updatedAt, cs.createdAt)) FROM CustomerStoreEntity cs", Instant.class)
+                .getSingleResult();
+    }
+
+    // Scalar rows, so nothing accumulates in the persistence context
+    @Override
+    public void forEachLink(BiConsumer<UUID, UUID> action) {
+        try (Stream<Object[]> links = entityManager.createQuery(
+                        "SELECT cs.store.id, cs.customer.id FROM CustomerStoreEntity cs", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream()) {
+            links.forEach(link -> action.accept((UUID) link[0], (UUID) link[1]));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.application.diagnostics.RepositoryCallEvent;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.repository.OrderRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderItemEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderSummaryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.OrderMapper;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.OrderSummaryMapper;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA implementation of {@link OrderRepository}.
+ *
+ * Loaded orders carry a lazy item list (see OrderMapper): listing orders
+ * does not read order_items unless a caller looks at the items. Orders are
+ * read with their store and user, and items, when touched, with their
+ * products and everything the product mapping reads, so mapping never
+ * initializes a proxy one row at a time.
+ * Saving never merges, since merging a detached order would make
+ * orphanRemoval delete and re-insert its items.
+ *
+ * Every save also writes the order's order_summaries row in the same
+ * persistence context, so the listing read model commits with the order.
+ */
+public class JpaOrderRepository implements OrderRepository {
+
+    private final EntityManager entityManager;
+
+    public JpaOrderRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Order findById(UUID id) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaOrderRepository", "findById");
+        Order order = null;
+        try {
+            OrderEntity entity = entityManager.createQuery(
+                            "SELECT o FROM OrderEntity o JOIN FETCH o.store JOIN FETCH o.user WHERE o.id = :id",
+                            OrderEntity.class)
+                    .setParameter("id", id)
+                    .getResultStream()
+                    .findFirst()
+                    .orElse(null);
+            order = entity == null ? null : OrderMapper.INSTANCE.toDomain(entity, () -> fetchItems(entity));
+            event.succeeded();
+            return order;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(order == null ? 0 : 1, order == null ? null : order.getStore().getId());
+        }
+    }
+
+    // Initializes the order's items with their product graph in one query
+    private List<OrderItemEntity> fetchItems(OrderEntity entity) {
+        if (!entityManager.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(entity, "items")) {
+            entityManager.createQuery(
+                            "SELECT o FROM OrderEntity o"
+                                    + " LEFT JOIN FETCH o.items i"
+                                    + " LEFT JOIN FETCH i.product p"
+                                    + " LEFT JOIN FETCH p.store"
+                                    + " LEFT JOIN FETCH p.brand b LEFT JOIN FETCH b.store"
+                                    + " LEFT JOIN FETCH p.category c LEFT JOIN FETCH c.store"
+                                    + " WHERE o.id = :id", OrderEntity.class)
+                    .setParameter("id", entity.getId())
+                    .getResultList();
+        }
+        return entity.getItems();
+    }
+
+    @Override
+    public void save(Order order) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaOrderRepository", "save");
+        try {
+            write(order);
+            event.succeeded();
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(1, order.getStore().getId());
+        }
+    }
+
+    private void write(Order order) {
+        OrderEntity entity = entityManager.find(OrderEntity.class, order.getId());
+        if (entity == null) {
+            entityManager.persist(OrderMapper.INSTANCE.toEntity(order, entityManager));
+        } else {
+            OrderMapper.INSTANCE.copyToEntity(order, entity, entityManager);
+        }
+        OrderSummaryEntity summary = entityManager.find(OrderSummaryEntity.class, order.getId());
+        if (summary == null) {
+            entityManager.persist(OrderSummaryMapper.INSTANCE.toEntity(order));
+        } else {
+            OrderSummaryMapper.INSTANCE.copyToEntity(order, summary);
+        }
+    }
+
+    @Override
+    public void delete(Order order) {
+        OrderSummaryEntity summary = entityManager.find(OrderSummaryEntity.class, order.getId());
+        if (summary != null) {
+            entityManager.remove(summary);
+        }
+        OrderEntity entity = entityManager.find(OrderEntity.class, order.getId());
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    @Override
+    public List<Order> findAll() {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaOrderRepository", "findAll");
+        List<Order> orders = List.of();
+        try {
+            orders = entityManager.createQuery(
+                            "SELECT o FROM OrderEntity o JOIN FETCH o.store JOIN FETCH o.user", OrderEntity.class)
+                    .getResultStream()
+                    .map(entity -> OrderMapper.INSTANCE.toDomain(entity, () -> fetchItems(entity)))
+                    .toList();
+            event.succeeded();
+            return orders;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(orders.size(), null);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.order.model.OrderHistoryCursor;
+import com.lucasgodoy.lojaki.domain.order.model.OrderSummary;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.domain.repository.OrderSummaryRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderSummaryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.OrderSummaryMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA implementation of {@link OrderSummaryRepository}.
+ *
+ * Each query reads order_summaries only, in the order of one of its
+ * indexes, so it is a single range scan that stops after the limit.
+ * User history pages are keyset pages: the cursor condition is written
+ * as "created_at <= :at AND (created_at < :at OR order_id < :id)" so the
+ * first half bounds the index scan and deep pages cost the same as page 1.
+ */
+public class JpaOrderSummaryRepository implements OrderSummaryRepository {
+
+    /** Largest page a listing can ask for */
+    public static final int MAX_LIMIT = 100;
+
+    /** Most rows one history query may return: a full page plus the row that tells whether another follows */
+    public static final int MAX_HISTORY_LIMIT = MAX_LIMIT + 1;
+
+    private final EntityManager entityManager;
+
+    public JpaOrderSummaryRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<OrderSummary> findRecentByUser(UUID userId, int limit) {
+        return page(entityManager.createQuery(
+                        "SELECT s FROM OrderSummaryEntity s WHERE s.userId = :userId"
+                                + " ORDER BY s.createdAt DESC, s.orderId DESC", OrderSummaryEntity.class)
+                .setParameter("userId", userId), limit, MAX_LIMIT);
+    }
+
+    @Override
+    public List<OrderSummary> findUserHistory(UUID userId, UUID storeId, Status status, OrderHistoryCursor after,
+                                              int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT s FROM OrderSummaryEntity s WHERE s.userId = :userId");
+        if (storeId != null) {
+            jpql.append(" AND s.storeId = :storeId");
+        }
+        if (status != null) {
+            jpql.append(" AND s.status = :status");
+        }
+        if (after != null) {
+            jpql.append(" AND s.createdAt <= :afterCreatedAt"
+                    + " AND (s.createdAt < :afterCreatedAt OR s.orderId < :afterOrderId)");
+        }
+        jpql.append(" ORDER BY s.createdAt DESC, s.orderId DESC");
+
+        TypedQuery<OrderSummaryEntity> query = entityManager.createQuery(jpql.toString(), OrderSummaryEntity.class)
+                .setParameter("userId", userId);
+        if (storeId != null) {
+            query.setParameter("storeId", storeId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.getCreatedAt());
+            query.setParameter("afterOrderId", after.getOrderId());
+        }
+        return page(query, limit, MAX_HISTORY_LIMIT);
+    }
+
+    @Override
+    public List<OrderSummary> findRecentByStore(UUID storeId, Status status, int limit) {
+        if (status == null) {
+            return page(entityManager.createQuery(
+                            "SELECT s FROM OrderSummaryEntity s WHERE s.storeId = :storeId"
+                                    + " ORDER BY s.createdAt DESC, s.orderId DESC", OrderSummaryEntity.class)
+                    .setParameter("storeId", storeId), limit, MAX_LIMIT);
+        }
+        return page(entityManager.createQuery(
+                        "SELECT s FROM OrderSummaryEntity s WHERE s.storeId = :storeId AND s.status = :status"
+                                + " ORDER BY s.createdAt DESC, s.orderId DESC", OrderSummaryEntity.class)
+                .setParameter("storeId", storeId)
+                .setParameter("status", status), limit, MAX_LIMIT);
+    }
+
+    private static List<OrderSummary> page(TypedQuery<OrderSummaryEntity> query, int limit, int maxLimit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxLimit);
+        }
+        return query.setMaxResults(limit)
+                .getResultStream()
+                .map(OrderSummaryMapper.INSTANCE::toDomain)
+                .toList();
+    }
+}
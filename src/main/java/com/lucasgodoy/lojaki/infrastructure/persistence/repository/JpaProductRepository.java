@@ -0,0 +1,133 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.application.diagnostics.RepositoryCallEvent;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.repository.ProductRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.ProductEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.ProductMapper;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA implementation of {@link ProductRepository}.
+ *
+ * Updates copy the domain state onto the managed entity instead of merging
+ * a detached copy, so only changed columns are flushed.
+ *
+ * Products of a category subtree are found through the categories' paths:
+ * a range scan of the (store_id, path) index, then idx_products_category.
+ */
+public class JpaProductRepository implements ProductRepository {
+
+    private final EntityManager entityManager;
+
+    public JpaProductRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Product findById(UUID id) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaProductRepository", "findById");
+        Product product = null;
+        try {
+            ProductEntity entity = entityManager.find(ProductEntity.class, id);
+            product = entity == null ? null : ProductMapper.INSTANCE.toDomain(entity);
+            event.succeeded();
+            return product;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(product == null ? 0 : 1, storeId(product));
+        }
+    }
+
+    @Override
+    public void save(Product product) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaProductRepository", "save");
+        try {
+            write(product);
+            event.succeeded();
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(1, storeId(product));
+        }
+    }
+
+    private void write(Product product) {
+        ProductEntity entity = entityManager.find(ProductEntity.class, product.getId());
+        if (entity == null) {
+            entityManager.persist(ProductMapper.INSTANCE.toEntity(product, entityManager));
+        } else {
+            ProductMapper.INSTANCE.copyToEntity(product, entity, entityManager);
+        }
+    }
+
+    @Override
+    public void delete(Product product) {
+        ProductEntity entity = entityManager.find(ProductEntity.class, product.getId());
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    @Override
+    public List<Product> findAll() {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaProductRepository", "findAll");
+        List<Product> products = List.of();
+        try {
+            products = entityManager.createQuery(
+                            "SELECT p FROM ProductEntity p"
+                                    + " JOIN FETCH p.brand b JOIN FETCH b.store"
+                                    + " JOIN FETCH p.category c JOIN FETCH c.store"
+                                    + " LEFT JOIN FETCH p.store", ProductEntity.class)
+                    .getResultStream()
+                    .map(ProductMapper.INSTANCE::toDomain)
+                    .toList();
+            event.succeeded();
+            return products;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(products.size(), null);
+        }
+    }
+
+    @Override
+    public List<Product> findByCategoryTree(Category category) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaProductRepository", "findByCategoryTree");
+        List<Product> products = List.of();
+        try {
+            products = entityManager.createQuery(
+                            "SELECT p FROM ProductEntity p"
+                                    + " JOIN FETCH p.brand b JOIN FETCH b.store"
+                                    + " JOIN FETCH p.category c JOIN FETCH c.store cs"
+                                    + " LEFT JOIN FETCH p.store"
+                                    + " WHERE cs.id = :storeId AND c.path >= :path AND c.path < :upperBound"
+                                    + " AND p.deletedAt IS NULL", ProductEntity.class)
+                    .setParameter("storeId", category.getStore().getId())
+                    .setParameter("path", category.getPath())
+                    .setParameter("upperBound", category.getPathUpperBound())
+                    .getResultStream()
+                    .map(ProductMapper.INSTANCE::toDomain)
+                    .toList();
+            event.succeeded();
+            return products;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(products.size(), category.getStore().getId());
+        }
+    }
+
+    private static UUID storeId(Product product) {
+        return product == null || product.getStore() == null ? null : product.getStore().getId();
+    }
+}
@@ -0,0 +1,172 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.application.diagnostics.RepositoryCallEvent;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.PriceChangeReason;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.PriceHistoryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreItemEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.StoreItemMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * JPA implementation of {@link StoreItemRepository}.
+ *
+ * Saving an item whose price changed appends a MANUAL row to the price history.
+ * Lookups by many IDs bind them in chunks of ID_CHUNK_SIZE, one query each.
+ */
+public class JpaStoreItemRepository implements StoreItemRepository {
+
+    /** IDs bound per IN query */
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final String ITEMS_WITH_GRAPH = "SELECT si FROM StoreItemEntity si"
+            + " JOIN FETCH si.store"
+            + " JOIN FETCH si.product p"
+            + " JOIN FETCH p.brand b JOIN FETCH b.store"
+            + " JOIN FETCH p.category c JOIN FETCH c.store"
+            + " LEFT JOIN FETCH p.store";
+
+    private final EntityManager entityManager;
+
+    public JpaStoreItemRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public StoreItem findById(UUID id) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaStoreItemRepository", "findById");
+        StoreItem storeItem = null;
+        try {
+            StoreItemEntity entity = entityManager.find(StoreItemEntity.class, id);
+            storeItem = entity == null ? null : StoreItemMapper.INSTANCE.toDomain(entity);
+            event.succeeded();
+            return storeItem;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(storeItem == null ? 0 : 1, storeItem == null ? null : storeItem.getStore().getId());
+        }
+    }
+
+    @Override
+    public void save(StoreItem storeItem) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaStoreItemRepository", "save");
+        try {
+            write(storeItem);
+            event.succeeded();
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(1, storeItem.getStore().getId());
+        }
+    }
+
+    @Override
+    public List<StoreItem> findCatalog(UUID storeId) {
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaStoreItemRepository", "findCatalog");
+        List<StoreItem> storeItems = List.of();
+        try {
+            storeItems = entityManager.createQuery(
+                            ITEMS_WITH_GRAPH
+                                    + " WHERE si.store.id = :storeId"
+                                    + " AND si.active = true AND si.deletedAt IS NULL"
+                                    + " AND p.active = true AND p.deletedAt IS NULL", StoreItemEntity.class)
+                    .setParameter("storeId", storeId)
+                    .getResultStream()
+                    .map(StoreItemMapper.INSTANCE::toDomain)
+                    .toList();
+            event.succeeded();
+            return storeItems;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(storeItems.size(), storeId);
+        }
+    }
+
+    @Override
+    public List<StoreItem> findByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaStoreItemRepository", "findByIds");
+        List<StoreItem> storeItems = List.of();
+        try {
+            storeItems = findInChunks(ids, chunk -> entityManager.createQuery(
+                            ITEMS_WITH_GRAPH + " WHERE si.id IN :ids", StoreItemEntity.class)
+                    .setParameter("ids", chunk));
+            event.succeeded();
+            return storeItems;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(storeItems.size(), storeItems.isEmpty() ? null : storeItems.get(0).getStore().getId());
+        }
+    }
+
+    @Override
+    public List<StoreItem> findByStoreAndProducts(UUID storeId, Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        RepositoryCallEvent event = RepositoryCallEvent.begin("JpaStoreItemRepository", "findByStoreAndProducts");
+        List<StoreItem> storeItems = List.of();
+        try {
+            storeItems = findInChunks(productIds, chunk -> entityManager.createQuery(
+                            ITEMS_WITH_GRAPH + " WHERE si.store.id = :storeId AND p.id IN :productIds",
+                            StoreItemEntity.class)
+                    .setParameter("storeId", storeId)
+                    .setParameter("productIds", chunk));
+            event.succeeded();
+            return storeItems;
+        } catch (RuntimeException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.end(storeItems.size(), storeId);
+        }
+    }
+
+    // Runs an IN query once per chunk of de-duplicated IDs, so large carts stay under bind-parameter limits
+    private static List<StoreItem> findInChunks(Collection<UUID> ids,
+                                                Function<List<UUID>, TypedQuery<StoreItemEntity>> query) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<StoreItem> storeItems = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += ID_CHUNK_SIZE) {
+            query.apply(distinct.subList(from, Math.min(distinct.size(), from + ID_CHUNK_SIZE)))
+                    .getResultStream()
+                    .map(StoreItemMapper.INSTANCE::toDomain)
+                    .forEach(storeItems::add);
+        }
+        return storeItems;
+    }
+
+    private void write(StoreItem storeItem) {
+        StoreItemEntity entity = entityManager.find(StoreItemEntity.class, storeItem.getId());
+        if (entity == null) {
+            entityManager.persist(StoreItemMapper.INSTANCE.toEntity(storeItem, entityManager));
+        } else {
+            BigDecimal oldPrice = entity.getPrice();
+            StoreItemMapper.INSTANCE.copyToEntity(storeItem, entity);
+            if (oldPrice.compareTo(storeItem.getPrice()) != 0) {
+                entityManager.persist(new PriceHistoryEntity(storeItem.getId(), oldPrice, storeItem.getPrice(),
+                        null, PriceChangeReason.MANUAL, Instant.now()));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.UserEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.mapper.UserMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JPA implementation of the domain UserRepository.
+ *
+ * Email is the natural id of UserEntity, so lookups by email resolve
+ * through the natural-id cache and then the entity cache, without SQL
+ * once both are warm.
+ */
+public class JpaUserRepository implements com.lucasgodoy.lojaki.domain.repository.UserRepository {
+
+    private final EntityManager entityManager;
+
+    public JpaUserRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public User findById(UUID id) {
+        UserEntity entity = entityManager.find(UserEntity.class, id);
+        return entity == null ? null : UserMapper.INSTANCE.toDomain(entity);
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        UserEntity entity = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .load(email);
+        return entity == null ? null : UserMapper.INSTANCE.toDomain(entity);
+    }
+
+    @Override
+    public void save(User user) {
+        UserEntity entity = entityManager.find(UserEntity.class, user.getId());
+        if (entity == null) {
+            entityManager.persist(UserMapper.INSTANCE.toEntity(user));
+        } else {
+            UserMapper.INSTANCE.copyToEntity(user, entity);
+        }
+    }
+
+    @Override
+    public void delete(User user) {
+        UserEntity entity = entityManager.find(UserEntity.class, user.getId());
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    @Override
+    public List<User> findAll() {
+        return entityManager.createQuery("SELECT u FROM UserEntity u", UserEntity.class)
+                .getResultStream()
+                .map(UserMapper.INSTANCE::toDomain)
+                .toList();
+    }
+}
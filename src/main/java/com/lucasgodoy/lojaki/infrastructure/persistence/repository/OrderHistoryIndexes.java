@@ -0,0 +1,34 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.infrastructure.persistence.DatabaseDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Creates the index behind "my orders" paging on order_summaries.
+ *
+ * The index is ordered like the listing, (user_id, created_at DESC,
+ * order_id DESC). On PostgreSQL it also INCLUDEs every other column a page
+ * returns or filters on, so a page is an index-only scan that reads a
+ * limit's worth of index entries and never visits the table. Other
+ * databases get the plain ordered index.
+ *
+ * Safe to run on every startup.
+ */
+public class OrderHistoryIndexes {
+
+    private static final String INDEX_NAME = "idx_order_summaries_user_history";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderHistoryIndexes(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensure() {
+        String include = DatabaseDialect.isPostgres(jdbcTemplate)
+                ? " INCLUDE (store_id, status, total_amount, item_count, currency, updated_at)"
+                : "";
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + INDEX_NAME
+                + " ON order_summaries (user_id, created_at DESC, order_id DESC)" + include);
+    }
+}
@@ -0,0 +1,72 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Brings orders written before stored totals existed up to date.
+ *
+ * - Computes total_amount, item_count and currency from order_items for
+ *   orders that have no total yet.
+ * - Inserts the missing order_summaries rows.
+ *
+ * Both steps run in chunks and are no-ops once done, so this is safe to
+ * run on every startup.
+ */
+public class OrderSummaryBackfill {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String TOTALS_SQL = "UPDATE orders o SET"
+            + " total_amount = (SELECT COALESCE(SUM(i.price * i.quantity), 0) FROM order_items i WHERE i.order_id = o.id),"
+            + " item_count = (SELECT COALESCE(SUM(i.quantity), 0) FROM order_items i WHERE i.order_id = o.id),"
+            + " currency = (SELECT MIN(p.currency) FROM order_items i JOIN products p ON p.id = i.product_id"
+            + " WHERE i.order_id = o.id)"
+            + " WHERE o.id IN (SELECT id FROM orders WHERE total_amount IS NULL LIMIT " + CHUNK_SIZE + ")";
+
+    private static final String SUMMARIES_SQL = "INSERT INTO order_summaries"
+            + " (order_id, user_id, store_id, status, total_amount, item_count, currency, created_at, updated_at)"
+            + " SELECT o.id, o.user_id, o.store_id, o.status, o.total_amount, o.item_count, o.currency,"
+            + " o.created_at, o.updated_at FROM orders o"
+            + " WHERE o.total_amount IS NOT NULL"
+            + " AND NOT EXISTS (SELECT 1 FROM order_summaries s WHERE s.order_id = o.id)"
+            + " LIMIT " + CHUNK_SIZE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderSummaryBackfill(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void ensure() {
+        backfillTotals();
+        backfillSummaries();
+    }
+
+    /**
+     * Stores totals on orders that have none.
+     *
+     * @return number of orders updated
+     */
+    public int backfillTotals() {
+        return repeat(TOTALS_SQL);
+    }
+
+    /**
+     * Inserts the summaries of orders that have none.
+     *
+     * @return number of summaries inserted
+     */
+    public int backfillSummaries() {
+        return repeat(SUMMARIES_SQL);
+    }
+
+    private int repeat(String sql) {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql);
+            total += updated;
+        } while (updated > 0);
+        return total;
+    }
+}
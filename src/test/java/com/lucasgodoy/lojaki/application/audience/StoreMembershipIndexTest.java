@@ -0,0 +1,160 @@
+package com.lucasgodoy.lojaki.application.audience;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Membership queries of StoreMembershipIndex, its file round trip (with
+ * copy-on-write of bitmaps still read from the mapped file), rejected files,
+ * and changes made while a rebuild reads the links.
+ */
+class StoreMembershipIndexTest {
+
+    private final StoreMembershipIndex index = new StoreMembershipIndex();
+
+    private final UUID storeA = UUID.randomUUID();
+    private final UUID storeB = UUID.randomUUID();
+    private final UUID storeC = UUID.randomUUID();
+    private final UUID ana = UUID.randomUUID();
+    private final UUID bruno = UUID.randomUUID();
+    private final UUID carla = UUID.randomUUID();
+    private final UUID davi = UUID.randomUUID();
+
+    @Test
+    void savedIndexLoadsWithTheSameMembers(@TempDir Path dir) {
+        link();
+        Path file = dir.resolve("membership.idx");
+        index.save(file);
+
+        StoreMembershipIndex loaded = new StoreMembershipIndex();
+
+        assertThat(loaded.load(file)).isTrue();
+        assertThat(loaded.getCustomerCount()).isEqualTo(4);
+        assertThat(loaded.getStoreCount()).isEqualTo(3);
+        assertThat(loaded.getLinkCount()).isEqualTo(6);
+        assertThat(loaded.members(storeA).customerIds(10)).containsExactly(ana, bruno, carla);
+        assertThat(loaded.countCommon(storeA, storeB)).isEqualTo(2);
+        assertThat(loaded.members(storeC).contains(davi)).isTrue();
+    }
+
+    @Test
+    void changesAfterLoadCopyMappedBitmapsAndSaveAgain(@TempDir Path dir) {
+        link();
+        Path file = dir.resolve("membership.idx");
+        index.save(file);
+        StoreMembershipIndex loaded = new StoreMembershipIndex();
+        loaded.load(file);
+        Audience before = loaded.members(storeA);
+
+        UUID eva = UUID.randomUUID();
+        assertThat(loaded.add(storeA, eva)).isTrue();
+        assertThat(loaded.add(storeA, eva)).isFalse();
+        loaded.remove(storeB, ana);
+
+        assertThat(before.cardinality()).isEqualTo(3);
+        assertThat(loaded.members(storeA).customerIds(10)).containsExactly(ana, bruno, carla, eva);
+        assertThat(loaded.members(storeB).customerIds(10)).containsExactly(bruno);
+
+        // storeC was never touched, so it is still written from the mapped file
+        Path next = dir.resolve("membership-2.idx");
+        loaded.save(next);
+        StoreMembershipIndex reloaded = new StoreMembershipIndex();
+        assertThat(reloaded.load(next)).isTrue();
+        assertThat(reloaded.members(storeA).customerIds(10)).containsExactly(ana, bruno, carla, eva);
+        assertThat(reloaded.members(storeB).customerIds(10)).containsExactly(bruno);
+        assertThat(reloaded.members(storeC).customerIds(10)).containsExactly(davi);
+    }
+
+    @Test
+    void filesWithAnotherMagicOrVersionAreRejected(@TempDir Path dir) throws IOException {
+        link();
+        Path badMagic = header(dir.resolve("magic.idx"), 0x12345678, 1);
+        Path badVersion = header(dir.resolve("version.idx"), 0x4C4A4D49, 99);
+
+        assertThat(index.load(badMagic)).isFalse();
+        assertThat(index.load(badVersion)).isFalse();
+        assertThat(index.load(dir.resolve("missing.idx"))).isFalse();
+        assertThat(index.getLinkCount()).isEqualTo(6);
+    }
+
+    @Test
+    void changesDuringARebuildLandInItsResult() {
+        UUID oldStore = UUID.randomUUID();
+        index.add(oldStore, davi);
+
+        index.rebuild(links -> {
+            links.accept(storeA, ana);
+            links.accept(storeB, ana);
+            links.accept(storeB, bruno);
+            // Committed while the table is being read: queries still see the old content
+            index.add(storeB, carla);
+            index.remove(storeB, ana);
+            index.add(storeC, davi);
+            assertThat(index.count(oldStore)).isEqualTo(1);
+            links.accept(storeA, bruno);
+        });
+
+        assertThat(index.count(oldStore)).isZero();
+        assertThat(index.members(storeA).customerIds(10)).containsExactly(ana, bruno);
+        assertThat(index.members(storeB).customerIds(10)).containsExactlyInAnyOrder(bruno, carla);
+        assertThat(index.members(storeC).customerIds(10)).containsExactly(davi);
+    }
+
+    @Test
+    void unknownStoresEmptyAnIntersectionAndAreSkippedByAUnion() {
+        link();
+        UUID unknown = UUID.randomUUID();
+
+        assertThat(index.allOf(List.of(storeA, storeB)).customerIds(10)).containsExactly(ana, bruno);
+        assertThat(index.allOf(List.of(storeA, unknown)).isEmpty()).isTrue();
+        assertThat(index.allOf(List.of()).isEmpty()).isTrue();
+        assertThat(index.anyOf(List.of(storeB, unknown, storeC)).customerIds(10))
+                .containsExactly(ana, bruno, davi);
+        assertThat(index.anyOf(List.of(unknown)).isEmpty()).isTrue();
+        assertThat(index.members(unknown).isEmpty()).isTrue();
+        assertThat(index.countCommon(storeA, unknown)).isZero();
+    }
+
+    @Test
+    void customerIdsDecodeInFirstSeenOrderUpToTheLimit() {
+        link();
+        Audience a = index.members(storeA);
+
+        assertThat(a.customerIds(2)).containsExactly(ana, bruno);
+        assertThat(a.customerIds(0)).isEmpty();
+        assertThat(a.andNot(index.members(storeB)).customerIds(10)).containsExactly(carla);
+        assertThat(a.or(index.members(storeC)).customerIds(10)).containsExactly(ana, bruno, carla, davi);
+        assertThat(a.andCardinality(index.members(storeB))).isEqualTo(2);
+        assertThat(a.contains(davi)).isFalse();
+        assertThat(a.contains(UUID.randomUUID())).isFalse();
+    }
+
+    // A: ana, bruno, carla; B: ana, bruno; C: davi
+    private void link() {
+        index.add(storeA, ana);
+        index.add(storeA, bruno);
+        index.add(storeB, ana);
+        index.add(storeA, carla);
+        index.add(storeB, bruno);
+        index.add(storeC, davi);
+    }
+
+    private static Path header(Path file, int magic, int version) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(magic);
+            out.writeInt(version);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+        return file;
+    }
+}
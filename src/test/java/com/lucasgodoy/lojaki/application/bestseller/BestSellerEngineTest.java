@@ -0,0 +1,127 @@
+package com.lucasgodoy.lojaki.application.bestseller;
+
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Cancellations in BestSellerEngine take back what was recorded for the
+ * order, from the buckets it was recorded in, and nothing else. Events are
+ * built from restored orders so their times are known.
+ */
+class BestSellerEngineTest {
+
+    private static final Instant PLACED = Instant.parse("2026-01-01T10:00:00Z");
+    private static final Instant NOW = PLACED.plus(Duration.ofMinutes(40));
+
+    private final BestSellerEngine engine = new BestSellerEngine(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private final Store store = Store.create("Loja");
+    private final User customer = new User(UUID.randomUUID(), "customer@lojaki.com", Role.STAFF);
+    private final Category kitchen = Category.create(store, "Cozinha");
+    private final Product mug = product("Caneca");
+    private final Product pan = product("Panela");
+
+    @Test
+    void cancellingTakesBackItemsAddedAfterTheOrderWasPlaced() {
+        UUID orderId = UUID.randomUUID();
+        OrderItem first = OrderItem.create(mug, 1, new BigDecimal("10.00"));
+        OrderItem added = OrderItem.create(pan, 2, new BigDecimal("80.00"));
+        engine.onEvent(OrderLifecycleEvent.created(order(orderId, Status.PENDING, PLACED, first)));
+        engine.onEvent(OrderLifecycleEvent.itemAdded(
+                order(orderId, Status.PENDING, PLACED.plus(Duration.ofMinutes(30)), first, added), added));
+
+        engine.onEvent(cancelled(orderId, first, added));
+
+        for (BestSellerWindow window : BestSellerWindow.values()) {
+            assertThat(engine.topSellers(store.getId(), null, window, 10)).isEmpty();
+            assertThat(engine.topSellers(store.getId(), kitchen.getId(), window, 10)).isEmpty();
+        }
+    }
+
+    @Test
+    void cancellingLeavesOtherOrdersOfTheSameBucketAlone() {
+        UUID kept = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        engine.onEvent(OrderLifecycleEvent.created(
+                order(kept, Status.PENDING, PLACED, OrderItem.create(mug, 3, new BigDecimal("10.00")))));
+        OrderItem line = OrderItem.create(mug, 2, new BigDecimal("10.00"));
+        engine.onEvent(OrderLifecycleEvent.created(order(cancelled, Status.PENDING, PLACED, line)));
+
+        // The quantity changed after the sale was recorded: only the recorded units go
+        line.updateQuantity(5);
+        engine.onEvent(cancelled(cancelled, line));
+
+        assertThat(engine.topSellers(store.getId(), null, BestSellerWindow.LAST_HOUR, 10))
+                .extracting(BestSeller::getProductId, BestSeller::getUnitsSold)
+                .containsExactly(tuple(mug.getId(), 3L));
+    }
+
+    @Test
+    void cancellingAnOrderNeverRecordedChangesNothing() {
+        engine.onEvent(OrderLifecycleEvent.created(
+                order(UUID.randomUUID(), Status.PENDING, PLACED, OrderItem.create(mug, 3, new BigDecimal("10.00")))));
+
+        engine.onEvent(cancelled(UUID.randomUUID(), OrderItem.create(mug, 3, new BigDecimal("10.00"))));
+
+        assertThat(engine.topSellers(store.getId(), null, BestSellerWindow.LAST_HOUR, 10))
+                .extracting(BestSeller::getProductId, BestSeller::getUnitsSold)
+                .containsExactly(tuple(mug.getId(), 3L));
+    }
+
+    @Test
+    void snapshotKeepsWhatCancellationsNeed(@TempDir Path dir) {
+        UUID orderId = UUID.randomUUID();
+        OrderItem line = OrderItem.create(pan, 2, new BigDecimal("80.00"));
+        engine.onEvent(OrderLifecycleEvent.created(order(orderId, Status.PENDING, PLACED, line)));
+        Path file = dir.resolve("best-sellers.bin");
+        engine.snapshot(file);
+
+        BestSellerEngine restarted = new BestSellerEngine(Clock.fixed(NOW, ZoneOffset.UTC));
+        restarted.restore(file);
+        assertThat(restarted.topSellers(store.getId(), kitchen.getId(), BestSellerWindow.LAST_DAY, 10))
+                .extracting(BestSeller::getProductId, BestSeller::getUnitsSold)
+                .containsExactly(tuple(pan.getId(), 2L));
+        restarted.onEvent(cancelled(orderId, line));
+
+        assertThat(restarted.topSellers(store.getId(), kitchen.getId(), BestSellerWindow.LAST_DAY, 10)).isEmpty();
+    }
+
+    private OrderLifecycleEvent cancelled(UUID orderId, OrderItem... items) {
+        return OrderLifecycleEvent.statusChanged(order(orderId, Status.CANCELLED, NOW, items), Status.PENDING);
+    }
+
+    private Order order(UUID id, Status status, Instant updatedAt, OrderItem... items) {
+        return Order.restore(id, store, customer, new ArrayList<>(List.of(items)), BigDecimal.ZERO, 0,
+                null, status, status != Status.CANCELLED, PLACED, updatedAt);
+    }
+
+    private Product product(String name) {
+        return Product.create(store, name, name, new Money(new BigDecimal("10.00"), Currency.getInstance("BRL")),
+                10, Brand.create(store, "Marca"), kitchen);
+    }
+}
@@ -0,0 +1,119 @@
+package com.lucasgodoy.lojaki.application.bestseller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sliding-window counts and top-K ranking of WindowCounter, on the one-hour
+ * window (60 buckets of one minute). Time is passed in explicitly.
+ */
+class WindowCounterTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long START = 1_000 * MINUTE;
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+
+    @Test
+    void ranksProductsByUnitsHighestFirst() {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        counter.add(a, 2, START, START);
+        counter.add(b, 5, START, START);
+        counter.add(c, 1, START, START);
+        counter.add(a, 4, START + MINUTE, START + MINUTE);
+
+        assertThat(units(counter.top(3, START + MINUTE))).containsExactly(a + "=6", b + "=5", c + "=1");
+        assertThat(units(counter.top(2, START + MINUTE))).containsExactly(a + "=6", b + "=5");
+    }
+
+    @Test
+    void largerLimitAfterCachedRankingIsRecomputed() {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        counter.add(a, 3, START, START);
+        counter.add(b, 2, START, START);
+        counter.add(c, 1, START, START);
+
+        assertThat(counter.top(1, START)).hasSize(1);
+        assertThat(units(counter.top(3, START))).containsExactly(a + "=3", b + "=2", c + "=1");
+    }
+
+    @Test
+    void salesLeaveTheWindowWhenTheirBucketExpires() {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        counter.add(a, 5, START, START);
+        counter.add(b, 3, START + 30 * MINUTE, START + 30 * MINUTE);
+
+        assertThat(units(counter.top(5, START + 59 * MINUTE))).containsExactly(a + "=5", b + "=3");
+        assertThat(units(counter.top(5, START + 60 * MINUTE))).containsExactly(b + "=3");
+        assertThat(counter.top(5, START + 90 * MINUTE)).isEmpty();
+        assertThat(counter.isEmpty()).isTrue();
+    }
+
+    @Test
+    void slotReusedAfterAFullTurnStartsFromZero() {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        counter.add(a, 5, START, START);
+
+        long later = START + 120 * MINUTE;
+        counter.add(a, 1, later, later);
+
+        assertThat(units(counter.top(5, later))).containsExactly(a + "=1");
+    }
+
+    @Test
+    void ignoresEventsOutsideTheWindow() {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        long now = START + 120 * MINUTE;
+        counter.add(a, 5, now - 60 * MINUTE, now);
+        counter.add(b, 5, now + MINUTE, now);
+        counter.add(c, 1, now - 59 * MINUTE, now);
+
+        assertThat(units(counter.top(5, now))).containsExactly(c + "=1");
+    }
+
+    @Test
+    void negativeDeltaNeverTakesABucketBelowZero() {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        counter.add(a, 2, START, START + MINUTE);
+        counter.add(a, 3, START + MINUTE, START + MINUTE);
+
+        counter.add(a, -4, START, START + MINUTE);
+        assertThat(units(counter.top(5, START + MINUTE))).containsExactly(a + "=3");
+
+        counter.add(a, -3, START + MINUTE, START + MINUTE);
+        assertThat(counter.isEmpty()).isTrue();
+
+        counter.add(b, -1, START + MINUTE, START + MINUTE);
+        assertThat(counter.isEmpty()).isTrue();
+    }
+
+    @Test
+    void snapshotRoundTripKeepsCountsAndExpiry() throws IOException {
+        WindowCounter counter = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        counter.add(a, 5, START, START + 10 * MINUTE);
+        counter.add(b, 3, START + 10 * MINUTE, START + 10 * MINUTE);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        counter.writeTo(new DataOutputStream(bytes));
+        WindowCounter restored = new WindowCounter(BestSellerWindow.LAST_HOUR);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(units(restored.top(5, START + 10 * MINUTE))).containsExactly(a + "=5", b + "=3");
+        assertThat(units(restored.top(5, START + 60 * MINUTE))).containsExactly(b + "=3");
+    }
+
+    private static List<String> units(List<BestSeller> ranking) {
+        return ranking.stream().map(BestSeller::toString).toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.lucasgodoy.lojaki.application.cart;
+
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.repository.CartRepository;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout claims of Carts: a claimed cart cannot be claimed again or
+ * changed until released or cleared, and the claim outlives the cart's
+ * eviction from memory. One shard holding a single cart, so adding to a
+ * second cart evicts the first; carts are written behind to a pending map
+ * that is never flushed.
+ */
+class CartsTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-01-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private final StoreItemRepository storeItemRepository = mock(StoreItemRepository.class);
+    private final CartWriteBehind writeBehind = new CartWriteBehind(mock(CartRepository.class),
+            Duration.ofSeconds(1), 10, CLOCK);
+    private final Carts carts = new Carts(new CatalogSnapshots(storeItemRepository, CLOCK), writeBehind, 1, 1,
+            Duration.ofMinutes(30), CLOCK);
+
+    private Store store;
+    private StoreItem mug;
+    private StoreItem pan;
+
+    @BeforeEach
+    void setUp() {
+        store = Store.create("Loja");
+        mug = item("Caneca", "10.00");
+        pan = item("Panela", "80.00");
+        when(storeItemRepository.findCatalog(store.getId())).thenReturn(List.of(mug, pan));
+    }
+
+    @Test
+    void rejectsASecondClaim() {
+        carts.add("cart-1", store.getId(), mug.getId(), 1);
+
+        assertThat(carts.claimForCheckout("cart-1").lines()).hasSize(1);
+        assertThatThrownBy(() -> carts.claimForCheckout("cart-1"))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Cart is already being checked out");
+    }
+
+    @Test
+    void rejectsChangesWhileClaimedAndAllowsThemOnceReleased() {
+        carts.add("cart-1", store.getId(), mug.getId(), 1);
+        carts.claimForCheckout("cart-1");
+
+        assertThatThrownBy(() -> carts.add("cart-1", store.getId(), pan.getId(), 1))
+                .hasMessage("Cart is being checked out");
+        assertThatThrownBy(() -> carts.setQuantity("cart-1", mug.getId(), 3))
+                .hasMessage("Cart is being checked out");
+        assertThatThrownBy(() -> carts.remove("cart-1", mug.getId()))
+                .hasMessage("Cart is being checked out");
+        // Reading and reconciling stay open to the claim holder
+        assertThat(carts.get("cart-1").lines()).hasSize(1);
+        assertThat(carts.reconcile("cart-1", List.of(mug)).hasIssues()).isFalse();
+
+        carts.releaseCheckout("cart-1");
+
+        assertThat(carts.add("cart-1", store.getId(), pan.getId(), 1).lines()).hasSize(2);
+        assertThat(carts.claimForCheckout("cart-1")).isNotNull();
+    }
+
+    @Test
+    void clearingReleasesTheClaim() {
+        carts.add("cart-1", store.getId(), mug.getId(), 1);
+        carts.claimForCheckout("cart-1");
+
+        carts.clear("cart-1");
+
+        assertThat(carts.get("cart-1")).isNull();
+        assertThat(carts.add("cart-1", store.getId(), pan.getId(), 2).lines()).hasSize(1);
+        assertThat(carts.claimForCheckout("cart-1")).isNotNull();
+    }
+
+    @Test
+    void keepsTheClaimOfACartEvictedAndLoadedBack() {
+        carts.add("cart-1", store.getId(), mug.getId(), 1);
+        carts.claimForCheckout("cart-1");
+
+        carts.add("cart-2", store.getId(), pan.getId(), 1);
+        assertThat(carts.getEvictedCount()).isEqualTo(1);
+
+        assertThatThrownBy(() -> carts.claimForCheckout("cart-1"))
+                .hasMessage("Cart is already being checked out");
+        assertThat(carts.getLoadedCount()).isEqualTo(1);
+        assertThat(carts.getExpiredCount()).isZero();
+        assertThatThrownBy(() -> carts.add("cart-1", store.getId(), pan.getId(), 1))
+                .hasMessage("Cart is being checked out");
+        assertThat(carts.get("cart-1").lines()).extracting(CartLine::storeItemId).containsExactly(mug.getId());
+    }
+
+    @Test
+    void claimsNothingForAMissingCart() {
+        assertThat(carts.claimForCheckout("cart-1")).isNull();
+
+        assertThat(carts.add("cart-1", store.getId(), mug.getId(), 1).lines()).hasSize(1);
+    }
+
+    private StoreItem item(String name, String price) {
+        Money money = new Money(new BigDecimal(price), Currency.getInstance("BRL"));
+        Product product = Product.create(store, name, name, money, 10, Brand.create(store, "Marca"),
+                Category.create(store, "Cozinha"));
+        return StoreItem.create(store, product, new BigDecimal(price), 10);
+    }
+}
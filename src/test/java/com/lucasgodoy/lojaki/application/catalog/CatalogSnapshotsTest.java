@@ -0,0 +1,132 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rebuilds of CatalogSnapshots racing with incremental changes. The
+ * snapshots are not started, so invalidate() rebuilds on the calling
+ * thread and the repository stub reports changes from inside the load.
+ */
+class CatalogSnapshotsTest {
+
+    private final StoreItemRepository repository = mock(StoreItemRepository.class);
+    private final CatalogSnapshots snapshots = new CatalogSnapshots(repository, Clock.systemUTC());
+
+    private Store store;
+    private StoreItem item;
+
+    @BeforeEach
+    void setUp() {
+        store = Store.create("Loja");
+        item = item(store, "Caneca", "10.00");
+    }
+
+    @Test
+    void appliesAChangeReportedDuringTheLoadWithoutLoadingAgain() {
+        StoreItem repriced = reprice(item, "12.00");
+        when(repository.findCatalog(store.getId()))
+                .thenReturn(List.of(item))
+                .thenAnswer(invocation -> {
+                    snapshots.onStoreItemChanged(repriced);
+                    // Readers see the change on the current snapshot while the rebuild runs
+                    assertThat(snapshots.peek(store.getId()).find(item.getId()).getPrice())
+                            .isEqualByComparingTo("12.00");
+                    return List.of(item); // Read before the change was saved
+                });
+        snapshots.snapshot(store.getId());
+
+        snapshots.invalidate(store.getId());
+
+        assertThat(snapshots.snapshot(store.getId()).find(item.getId()).getPrice()).isEqualByComparingTo("12.00");
+        verify(repository, times(2)).findCatalog(store.getId());
+        assertThat(snapshots.getRebuildCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Timeout(5)
+    void rebuildsABusyStoreWithOneLoad() {
+        when(repository.findCatalog(store.getId()))
+                .thenReturn(List.of(item))
+                .thenAnswer(invocation -> {
+                    // A change on every load used to restart the rebuild forever
+                    snapshots.onStoreItemChanged(reprice(item, "11.00"));
+                    snapshots.onStoreItemChanged(reprice(item, "12.00"));
+                    return List.of(item);
+                });
+        snapshots.snapshot(store.getId());
+
+        snapshots.invalidate(store.getId());
+        snapshots.invalidate(store.getId());
+
+        verify(repository, times(3)).findCatalog(store.getId());
+        assertThat(snapshots.snapshot(store.getId()).find(item.getId()).getPrice()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    void keepsVersionsGrowingAcrossARebuild() {
+        StoreItem repriced = reprice(item, "11.00");
+        StoreItem other = item(store, "Prato", "30.00");
+        when(repository.findCatalog(store.getId()))
+                .thenReturn(List.of(item))
+                .thenAnswer(invocation -> {
+                    snapshots.onStoreItemChanged(other);
+                    return List.of(repriced);
+                });
+        snapshots.snapshot(store.getId());
+        snapshots.onStoreItemChanged(repriced);
+        long before = snapshots.peek(store.getId()).getVersion();
+
+        snapshots.invalidate(store.getId());
+
+        CatalogSnapshot rebuilt = snapshots.snapshot(store.getId());
+        assertThat(rebuilt.getVersion()).isGreaterThan(before + 1);
+        assertThat(rebuilt.find(other.getId())).isNotNull();
+        assertThat(rebuilt.find(item.getId()).getPrice()).isEqualByComparingTo("11.00");
+    }
+
+    @Test
+    void keepsThePreviousSnapshotWhenTheLoadFails() {
+        when(repository.findCatalog(store.getId()))
+                .thenReturn(List.of(item))
+                .thenThrow(new IllegalStateException("database down"));
+        CatalogSnapshot loaded = snapshots.snapshot(store.getId());
+
+        snapshots.invalidate(store.getId());
+
+        assertThat(snapshots.snapshot(store.getId())).isSameAs(loaded);
+        assertThat(snapshots.getFailedRebuildCount()).isEqualTo(1);
+    }
+
+    private static StoreItem item(Store store, String name, String price) {
+        Money money = new Money(new BigDecimal(price), Currency.getInstance("BRL"));
+        Product product = Product.create(store, name, name, money, 10, Brand.create(store, "Marca"),
+                Category.create(store, "Cozinha"));
+        return StoreItem.create(store, product, new BigDecimal(price), 10);
+    }
+
+    private static StoreItem reprice(StoreItem item, String price) {
+        return StoreItem.restore(item.getId(), item.getStore(), item.getProduct(), new BigDecimal(price),
+                item.getStock(), item.isActive(), item.getDeletedAt());
+    }
+}
@@ -0,0 +1,282 @@
+package com.lucasgodoy.lojaki.application.catalog;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Facet counts of FacetIndex over catalog snapshots: unfiltered and
+ * filtered panels, incremental changes, and random filters checked
+ * against counting the snapshot's entries one by one.
+ *
+ * Three price buckets: below 20, below 100, 100 and up.
+ */
+class FacetIndexTest {
+
+    private static final List<String> BUCKETS = List.of("0-20", "20-100", "100+");
+    private static final BigDecimal TWENTY = new BigDecimal("20");
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final ToIntFunction<CatalogEntry> BUCKET_OF = entry ->
+            entry.getPrice().compareTo(TWENTY) < 0 ? 0 : entry.getPrice().compareTo(HUNDRED) < 0 ? 1 : 2;
+
+    private enum Facet { CATEGORY, BRAND, BUCKET, STOCK }
+
+    private Store store;
+    private Brand acme;
+    private Brand globex;
+    private Category kitchen;
+    private Category garden;
+
+    @BeforeEach
+    void setUp() {
+        store = Store.create("Loja");
+        acme = Brand.create(store, "Acme");
+        globex = Brand.create(store, "Globex");
+        kitchen = Category.create(store, "Cozinha");
+        garden = Category.create(store, "Jardim");
+    }
+
+    @Test
+    void countsEveryValueWithoutAFilter() {
+        CatalogSnapshot snapshot = snapshot(List.of(
+                item("Caneca", acme, kitchen, "10", 5),
+                item("Panela", acme, kitchen, "80", 0),
+                item("Vaso", globex, garden, "150", 2)));
+
+        FacetPanel panel = built(snapshot).panel(store.getId(), FacetFilter.none(), snapshot, BUCKETS);
+
+        assertThat(panel.matching()).isEqualTo(3);
+        assertThat(panel.catalogVersion()).isEqualTo(snapshot.getVersion());
+        assertThat(labels(panel.categories())).containsExactly("Cozinha", "Jardim");
+        assertThat(counts(panel.categories())).isEqualTo(Map.of("Cozinha", 2, "Jardim", 1));
+        assertThat(counts(panel.brands())).isEqualTo(Map.of("Acme", 2, "Globex", 1));
+        assertThat(counts(panel.priceBuckets())).isEqualTo(Map.of("0-20", 1, "20-100", 1, "100+", 1));
+        assertThat(counts(panel.stock())).isEqualTo(Map.of("in-stock", 2, "out-of-stock", 1));
+    }
+
+    @Test
+    void countsAFacetWithTheOtherFacetsFiltersOnly() {
+        CatalogSnapshot snapshot = snapshot(List.of(
+                item("Caneca", acme, kitchen, "10", 5),
+                item("Panela", acme, kitchen, "80", 0),
+                item("Vaso", globex, garden, "150", 2),
+                item("Regador", globex, kitchen, "30", 1)));
+        FacetFilter filter = new FacetFilter(Set.of(), Set.of(acme.getId()), Set.of(), null);
+
+        FacetPanel panel = built(snapshot).panel(store.getId(), filter, snapshot, BUCKETS);
+
+        assertThat(panel.matching()).isEqualTo(2);
+        // Other brands keep their counts, so they can still be picked
+        assertThat(counts(panel.brands())).isEqualTo(Map.of("Acme", 2, "Globex", 2));
+        assertThat(panel.brands()).filteredOn(FacetCount::selected).extracting(FacetCount::label)
+                .containsExactly("Acme");
+        assertThat(counts(panel.categories())).isEqualTo(Map.of("Cozinha", 2));
+        assertThat(counts(panel.stock())).isEqualTo(Map.of("in-stock", 1, "out-of-stock", 1));
+    }
+
+    @Test
+    void listsSelectedValuesWithoutItemsAndMatchesNothingForUnknownOnes() {
+        CatalogSnapshot snapshot = snapshot(List.of(
+                item("Caneca", acme, kitchen, "10", 5),
+                item("Vaso", globex, garden, "150", 2)));
+        FacetFilter filter = new FacetFilter(Set.of(kitchen.getId()), Set.of(globex.getId()), Set.of(), null);
+
+        FacetPanel panel = built(snapshot).panel(store.getId(), filter, snapshot, BUCKETS);
+
+        assertThat(panel.matching()).isZero();
+        assertThat(panel.categories()).extracting(FacetCount::label, FacetCount::count, FacetCount::selected)
+                .containsExactly(tuple("Jardim", 1, false),
+                        tuple("Cozinha", 0, true));
+
+        FacetFilter unknown = new FacetFilter(Set.of(UUID.randomUUID()), Set.of(), Set.of(), null);
+        assertThat(built(snapshot).panel(store.getId(), unknown, snapshot, BUCKETS).matching()).isZero();
+    }
+
+    @Test
+    void followsItemChangesAndRemovals() {
+        StoreItem mug = item("Caneca", acme, kitchen, "10", 5);
+        StoreItem pan = item("Panela", acme, kitchen, "80", 3);
+        CatalogSnapshot snapshot = snapshot(List.of(mug, pan));
+        FacetIndex index = built(snapshot);
+
+        StoreItem repricedMug = StoreItem.restore(mug.getId(), store, mug.getProduct(), new BigDecimal("120"), 0,
+                true, null);
+        StoreItem vase = item("Vaso", globex, garden, "150", 2);
+        CatalogSnapshot latest = snapshot.withItem(repricedMug, Instant.now())
+                .withoutItem(pan.getId(), Instant.now())
+                .withItem(vase, Instant.now());
+        index.apply(() -> latest, List.of(mug.getId(), pan.getId(), vase.getId()), BUCKET_OF);
+
+        FacetPanel panel = index.panel(store.getId(), FacetFilter.none(), latest, BUCKETS);
+        assertThat(panel.matching()).isEqualTo(2);
+        assertThat(panel.catalogVersion()).isEqualTo(latest.getVersion());
+        assertThat(counts(panel.categories())).isEqualTo(Map.of("Cozinha", 1, "Jardim", 1));
+        assertThat(counts(panel.brands())).isEqualTo(Map.of("Acme", 1, "Globex", 1));
+        assertThat(counts(panel.priceBuckets())).isEqualTo(Map.of("0-20", 0, "20-100", 0, "100+", 2));
+        assertThat(counts(panel.stock())).isEqualTo(Map.of("in-stock", 1, "out-of-stock", 1));
+    }
+
+    @Test
+    void ignoresChangesUntilBuiltAndBuildsOnce() {
+        StoreItem mug = item("Caneca", acme, kitchen, "10", 5);
+        CatalogSnapshot snapshot = snapshot(List.of(mug));
+        CatalogSnapshot latest = snapshot.withItem(item("Vaso", globex, garden, "150", 2), Instant.now());
+        FacetIndex index = new FacetIndex(BUCKETS.size());
+
+        index.apply(() -> snapshot, List.of(mug.getId()), BUCKET_OF);
+        index.ensureBuilt(() -> latest, BUCKET_OF);
+        index.ensureBuilt(() -> snapshot, BUCKET_OF);
+
+        assertThat(index.panel(store.getId(), FacetFilter.none(), latest, BUCKETS).matching()).isEqualTo(2);
+    }
+
+    @Test
+    void matchesCountingEntriesOneByOne() {
+        Random random = new Random(42);
+        List<Brand> brands = List.of(acme, globex, Brand.create(store, "Initech"));
+        List<Category> categories = List.of(kitchen, garden, Category.create(store, "Banho"));
+        List<StoreItem> items = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            items.add(randomItem(random, "Item " + i, brands, categories));
+        }
+        CatalogSnapshot snapshot = snapshot(items);
+        FacetIndex index = built(snapshot);
+
+        // Churn through incremental changes, so freed ordinals are reused
+        for (int i = 0; i < 60; i++) {
+            StoreItem removed = items.remove(random.nextInt(items.size()));
+            StoreItem added = randomItem(random, "New " + i, brands, categories);
+            items.add(added);
+            CatalogSnapshot next = snapshot.withoutItem(removed.getId(), Instant.now()).withItem(added, Instant.now());
+            index.apply(() -> next, List.of(removed.getId(), added.getId()), BUCKET_OF);
+            snapshot = next;
+        }
+
+        CatalogSnapshot current = snapshot;
+        for (int round = 0; round < 200; round++) {
+            FacetFilter filter = new FacetFilter(
+                    pick(random, categories.stream().map(Category::getId).toList()),
+                    pick(random, brands.stream().map(Brand::getId).toList()),
+                    pick(random, List.of(0, 1, 2)),
+                    random.nextInt(3) == 0 ? null : random.nextBoolean());
+
+            FacetPanel panel = index.panel(store.getId(), filter, current, BUCKETS);
+
+            assertThat(panel.matching()).as("matching for %s", filter)
+                    .isEqualTo(current.entries().stream().filter(e -> matches(current, e, filter, null)).count());
+            assertThat(counts(panel.categories())).as("categories for %s", filter)
+                    .isEqualTo(expected(current, filter, Facet.CATEGORY));
+            assertThat(counts(panel.brands())).as("brands for %s", filter)
+                    .isEqualTo(expected(current, filter, Facet.BRAND));
+            assertThat(counts(panel.priceBuckets())).as("buckets for %s", filter)
+                    .isEqualTo(expected(current, filter, Facet.BUCKET));
+            assertThat(counts(panel.stock())).as("stock for %s", filter)
+                    .isEqualTo(expected(current, filter, Facet.STOCK));
+        }
+    }
+
+    // ===== Expected Counts =====
+
+    /**
+     * Counts, by label, the entries matching the filters of every facet but
+     * the counted one. Categories and brands list only values with items,
+     * plus the selected ones; buckets and stock list every value.
+     */
+    private static Map<String, Integer> expected(CatalogSnapshot snapshot, FacetFilter filter, Facet facet) {
+        Map<String, Integer> counts = new HashMap<>();
+        switch (facet) {
+            case CATEGORY -> filter.categoryIds().forEach(id -> counts.put(snapshot.categoryName(id), 0));
+            case BRAND -> filter.brandIds().forEach(id -> counts.put(snapshot.brandName(id), 0));
+            case BUCKET -> BUCKETS.forEach(label -> counts.put(label, 0));
+            case STOCK -> counts.putAll(Map.of("in-stock", 0, "out-of-stock", 0));
+        }
+        for (CatalogEntry entry : snapshot.entries()) {
+            if (matches(snapshot, entry, filter, facet)) {
+                String label = switch (facet) {
+                    case CATEGORY -> snapshot.categoryName(entry);
+                    case BRAND -> snapshot.brandName(entry);
+                    case BUCKET -> BUCKETS.get(BUCKET_OF.applyAsInt(entry));
+                    case STOCK -> entry.isInStock() ? "in-stock" : "out-of-stock";
+                };
+                counts.merge(label, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    // Whether the entry passes every filter except the one of the given facet (null: all of them)
+    private static boolean matches(CatalogSnapshot snapshot, CatalogEntry entry, FacetFilter filter, Facet skipped) {
+        return (skipped == Facet.CATEGORY || filter.categoryIds().isEmpty()
+                        || filter.categoryIds().contains(snapshot.categoryId(entry)))
+                && (skipped == Facet.BRAND || filter.brandIds().isEmpty()
+                        || filter.brandIds().contains(snapshot.brandId(entry)))
+                && (skipped == Facet.BUCKET || filter.priceBuckets().isEmpty()
+                        || filter.priceBuckets().contains(BUCKET_OF.applyAsInt(entry)))
+                && (skipped == Facet.STOCK || filter.inStock() == null || filter.inStock() == entry.isInStock());
+    }
+
+    // ===== Fixtures =====
+
+    private FacetIndex built(CatalogSnapshot snapshot) {
+        FacetIndex index = new FacetIndex(BUCKETS.size());
+        index.ensureBuilt(() -> snapshot, BUCKET_OF);
+        return index;
+    }
+
+    private CatalogSnapshot snapshot(List<StoreItem> items) {
+        return CatalogSnapshot.build(store.getId(), items, 1, Instant.now());
+    }
+
+    private StoreItem item(String name, Brand brand, Category category, String price, int stock) {
+        Money money = new Money(new BigDecimal(price), Currency.getInstance("BRL"));
+        Product product = Product.create(store, name, name, money, stock, brand, category);
+        return StoreItem.create(store, product, new BigDecimal(price), stock);
+    }
+
+    private StoreItem randomItem(Random random, String name, List<Brand> brands, List<Category> categories) {
+        return item(name, brands.get(random.nextInt(brands.size())),
+                categories.get(random.nextInt(categories.size())),
+                String.valueOf(1 + random.nextInt(200)), random.nextInt(4));
+    }
+
+    // Each value with probability 1/3, so most filters are empty or narrow and some select everything
+    private static <T> Set<T> pick(Random random, List<T> values) {
+        Set<T> picked = new HashSet<>();
+        for (T value : values) {
+            if (random.nextInt(3) == 0) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+
+    private static Map<String, Integer> counts(List<FacetCount> counts) {
+        return counts.stream().collect(Collectors.toMap(FacetCount::label, FacetCount::count));
+    }
+
+    private static List<String> labels(List<FacetCount> counts) {
+        return counts.stream().map(FacetCount::label).toList();
+    }
+}
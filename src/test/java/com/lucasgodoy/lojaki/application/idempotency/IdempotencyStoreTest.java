@@ -0,0 +1,248 @@
+package com.lucasgodoy.lojaki.application.idempotency;
+
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Keys of IdempotencyStore: one execution per key, shared with concurrent
+ * duplicates, released when the execution fails or rolls back, expired
+ * after the TTL, and resolved from the table when another node holds them.
+ * The table is an in-memory fake whose inserts a simulated transaction
+ * undoes on rollback.
+ */
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "order:user:store";
+    private static final String KEY = "checkout-1";
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private final TestClock clock = new TestClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private final Transaction transaction = new Transaction();
+    private final FakeKeys keys = new FakeKeys();
+    private final IdempotencyStore store = new IdempotencyStore(keys, TTL, Duration.ofSeconds(5), clock, transaction);
+
+    private final AtomicInteger runs = new AtomicInteger();
+    private final Runnable action = runs::incrementAndGet;
+
+    @Test
+    void concurrentDuplicatesWaitForTheInFlightExecution() throws Exception {
+        UUID first = UUID.randomUUID();
+        assertThat(store.execute(SCOPE, KEY, first, action)).isEqualTo(first);
+
+        List<CompletableFuture<UUID>> duplicates = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            duplicates.add(CompletableFuture.supplyAsync(() -> store.execute(SCOPE, KEY, UUID.randomUUID(), action)));
+        }
+        Thread.sleep(100);
+        assertThat(duplicates).noneMatch(CompletableFuture::isDone);
+
+        transaction.commit();
+
+        for (CompletableFuture<UUID> duplicate : duplicates) {
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(first);
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(keys.inserts).isEqualTo(1);
+        assertThat(keys.reads).isZero();
+    }
+
+    @Test
+    void rollbackReleasesTheKey() throws Exception {
+        store.execute(SCOPE, KEY, UUID.randomUUID(), action);
+        CompletableFuture<UUID> waiting =
+                CompletableFuture.supplyAsync(() -> store.execute(SCOPE, KEY, UUID.randomUUID(), action));
+        Thread.sleep(100);
+
+        transaction.rollback();
+
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DomainException.class);
+        UUID retry = UUID.randomUUID();
+        assertThat(store.execute(SCOPE, KEY, retry, action)).isEqualTo(retry);
+        transaction.commit();
+        assertThat(runs).hasValue(2);
+        assertThat(keys.findResult(SCOPE, KEY, clock.instant())).contains(retry);
+    }
+
+    @Test
+    void failedActionReleasesTheKey() {
+        UUID failed = UUID.randomUUID();
+        assertThatThrownBy(() -> store.execute(SCOPE, KEY, failed, () -> {
+            throw new DomainException("Out of stock");
+        })).hasMessage("Out of stock");
+
+        // No transaction to undo the row: the store deletes it
+        assertThat(keys.findResult(SCOPE, KEY, clock.instant())).isEmpty();
+        assertThat(store.size()).isZero();
+        UUID retry = UUID.randomUUID();
+        assertThat(store.execute(SCOPE, KEY, retry, action)).isEqualTo(retry);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void expiredKeysAreEvictedAndTakenOver() {
+        UUID first = UUID.randomUUID();
+        store.execute(SCOPE, KEY, first, action);
+        transaction.commit();
+        clock.advance(TTL.minusMinutes(1));
+        assertThat(store.execute(SCOPE, KEY, UUID.randomUUID(), action)).isEqualTo(first);
+        assertThat(store.evictExpired()).isZero();
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(store.evictExpired()).isEqualTo(1);
+        assertThat(store.size()).isZero();
+
+        UUID second = UUID.randomUUID();
+        assertThat(store.execute(SCOPE, KEY, second, action)).isEqualTo(second);
+        transaction.commit();
+        assertThat(runs).hasValue(2);
+        assertThat(keys.findResult(SCOPE, KEY, clock.instant())).contains(second);
+    }
+
+    @Test
+    void keyTakenElsewhereReturnsTheStoredResult() {
+        UUID elsewhere = UUID.randomUUID();
+        keys.insert(SCOPE, KEY, elsewhere, clock.instant(), clock.instant().plus(TTL));
+
+        assertThat(store.execute(SCOPE, KEY, UUID.randomUUID(), action)).isEqualTo(elsewhere);
+        assertThat(store.execute(SCOPE, KEY, UUID.randomUUID(), action)).isEqualTo(elsewhere);
+
+        assertThat(runs).hasValue(0);
+        assertThat(keys.reads).isEqualTo(1);
+    }
+
+    @Test
+    void sameKeyInAnotherScopeIsAnotherKey() {
+        UUID first = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        assertThat(store.execute(SCOPE, KEY, first, action)).isEqualTo(first);
+        assertThat(store.execute("order:user:other-store", KEY, other, action)).isEqualTo(other);
+
+        assertThat(runs).hasValue(2);
+    }
+
+    /** Holds after-commit work until the test ends the transaction; rollback also undoes the fake's inserts */
+    private static final class Transaction implements AfterCommit {
+
+        private final List<Runnable> onCommit = new ArrayList<>();
+        private final List<Runnable> onRollback = new ArrayList<>();
+
+        @Override
+        public synchronized void run(Runnable work) {
+            onCommit.add(work);
+        }
+
+        @Override
+        public synchronized void run(Runnable commit, Runnable rollback) {
+            onCommit.add(commit);
+            onRollback.add(rollback);
+        }
+
+        synchronized void commit() {
+            onCommit.forEach(Runnable::run);
+            onCommit.clear();
+            onRollback.clear();
+        }
+
+        synchronized void rollback() {
+            onRollback.forEach(Runnable::run);
+            onCommit.clear();
+            onRollback.clear();
+        }
+    }
+
+    /** idempotency_keys in memory, same conflict rules as the JDBC repository */
+    private final class FakeKeys implements IdempotencyKeyRepository {
+
+        private final Map<String, Row> rows = new HashMap<>();
+        private int inserts;
+        private int reads;
+
+        @Override
+        public synchronized boolean insert(String scope, String key, UUID orderId, Instant now, Instant expiresAt) {
+            String id = scope + "/" + key;
+            Row previous = rows.get(id);
+            if (previous != null && previous.expiresAt().isAfter(now)) {
+                return false;
+            }
+            inserts++;
+            Row row = new Row(orderId, expiresAt);
+            rows.put(id, row);
+            transaction.onRollback.add(() -> rows.remove(id, row));
+            return true;
+        }
+
+        @Override
+        public synchronized Optional<UUID> findResult(String scope, String key, Instant now) {
+            reads++;
+            Row row = rows.get(scope + "/" + key);
+            return row == null || !row.expiresAt().isAfter(now) ? Optional.empty() : Optional.of(row.orderId());
+        }
+
+        @Override
+        public synchronized void release(String scope, String key, UUID orderId) {
+            rows.computeIfPresent(scope + "/" + key, (id, row) -> row.orderId().equals(orderId) ? null : row);
+        }
+
+        @Override
+        public synchronized int deleteExpired(Instant now) {
+            int before = rows.size();
+            rows.values().removeIf(row -> !row.expiresAt().isAfter(now));
+            return before - rows.size();
+        }
+    }
+
+    private record Row(UUID orderId, Instant expiresAt) { }
+
+    /** Clock the test moves by hand */
+    private static final class TestClock extends Clock {
+
+        private volatile Instant now;
+
+        private TestClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Delivery by BatchingAlertNotifier: batches of at most batchSize, alerts
+ * dropped (and counted) when the queue is full, and everything queued
+ * delivered on shutdown. The sink can hold its first delivery so the test
+ * fills the queue behind it.
+ */
+class BatchingAlertNotifierTest {
+
+    private final GatedSink sink = new GatedSink();
+    private BatchingAlertNotifier notifier;
+
+    @AfterEach
+    void shutdown() {
+        sink.open();
+        if (notifier != null) {
+            notifier.shutdown();
+        }
+    }
+
+    @Test
+    void deliversQueuedAlertsInBatchesOfAtMostBatchSize() throws InterruptedException {
+        notifier = new BatchingAlertNotifier(sink, 100, 3, Duration.ofMillis(50));
+        List<LowStockAlert> alerts = alerts(7);
+        notifier.notify(alerts.get(0));
+        sink.awaitFirstDelivery();
+        alerts.subList(1, 7).forEach(notifier::notify);
+
+        sink.open();
+        notifier.shutdown();
+
+        assertThat(sink.batches).containsExactly(
+                alerts.subList(0, 1), alerts.subList(1, 4), alerts.subList(4, 7));
+        assertThat(notifier.getDelivered()).isEqualTo(7);
+        assertThat(notifier.getQueued()).isZero();
+    }
+
+    @Test
+    void dropsAlertsWhenTheQueueIsFull() throws InterruptedException {
+        notifier = new BatchingAlertNotifier(sink, 2, 10, Duration.ofMillis(50));
+        List<LowStockAlert> alerts = alerts(4);
+        notifier.notify(alerts.get(0));
+        sink.awaitFirstDelivery();
+
+        assertThat(notifier.notify(alerts.get(1))).isTrue();
+        assertThat(notifier.notify(alerts.get(2))).isTrue();
+        assertThat(notifier.notify(alerts.get(3))).isFalse();
+        assertThat(notifier.getDropped()).isEqualTo(1);
+
+        sink.open();
+        notifier.shutdown();
+
+        assertThat(sink.batches).flatExtracting(batch -> batch).containsExactlyElementsOf(alerts.subList(0, 3));
+        assertThat(notifier.getDelivered()).isEqualTo(3);
+    }
+
+    @Test
+    void shutdownFlushesWithoutWaitingForTheLinger() {
+        sink.open();
+        notifier = new BatchingAlertNotifier(sink, 100, 10, Duration.ofSeconds(30));
+        List<LowStockAlert> alerts = alerts(3);
+        alerts.forEach(notifier::notify);
+
+        long start = System.nanoTime();
+        notifier.shutdown();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+        assertThat(sink.batches).flatExtracting(batch -> batch).containsExactlyElementsOf(alerts);
+        assertThat(notifier.getDelivered()).isEqualTo(3);
+    }
+
+    @Test
+    void failedBatchIsCountedAndDeliveryGoesOn() {
+        sink.open();
+        List<LowStockAlert> delivered = Collections.synchronizedList(new ArrayList<>());
+        LowStockAlertSink failingOnce = new LowStockAlertSink() {
+            private boolean failed;
+
+            @Override
+            public void deliver(List<LowStockAlert> batch) {
+                if (!failed) {
+                    failed = true;
+                    throw new IllegalStateException("Webhook down");
+                }
+                delivered.addAll(batch);
+            }
+        };
+        notifier = new BatchingAlertNotifier(failingOnce, 100, 1, Duration.ofMillis(10));
+        List<LowStockAlert> alerts = alerts(2);
+        alerts.forEach(notifier::notify);
+
+        notifier.shutdown();
+
+        assertThat(notifier.getFailedBatches()).isEqualTo(1);
+        assertThat(delivered).containsExactly(alerts.get(1));
+    }
+
+    private static List<LowStockAlert> alerts(int count) {
+        UUID store = UUID.randomUUID();
+        List<LowStockAlert> alerts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            alerts.add(new LowStockAlert(store, UUID.randomUUID(), UUID.randomUUID(), i, 5, Instant.now()));
+        }
+        return alerts;
+    }
+
+    /** Records batches; holds the first delivery until opened */
+    private static final class GatedSink implements LowStockAlertSink {
+
+        private final List<List<LowStockAlert>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public void deliver(List<LowStockAlert> alerts) {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(alerts);
+        }
+
+        void awaitFirstDelivery() throws InterruptedException {
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void open() {
+            gate.countDown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.lucasgodoy.lojaki.application.inventory;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Crossings detected by LowStockMonitor: one alert per crossing, silence
+ * until the stock recovers past the hysteresis band, and the store's own
+ * threshold over the default. The notifier is a mock.
+ */
+class LowStockMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final BatchingAlertNotifier notifier = mock(BatchingAlertNotifier.class);
+    private final LowStockMonitor monitor =
+            new LowStockMonitor(notifier, new LowStockThreshold(5, 3), Clock.fixed(NOW, ZoneOffset.UTC));
+
+    private final UUID store = UUID.randomUUID();
+    private final UUID item = UUID.randomUUID();
+    private final UUID product = UUID.randomUUID();
+
+    @Test
+    void alertsOnceWhenStockCrossesTheLevel() {
+        monitor.onStockChanged(store, item, product, 10);
+        monitor.onStockChanged(store, item, product, 6);
+        verify(notifier, never()).notify(any());
+
+        monitor.onStockChanged(store, item, product, 5);
+        monitor.onStockChanged(store, item, product, 3);
+        monitor.onStockChanged(store, item, product, 0);
+
+        ArgumentCaptor<LowStockAlert> alert = ArgumentCaptor.forClass(LowStockAlert.class);
+        verify(notifier).notify(alert.capture());
+        assertThat(alert.getAllValues())
+                .extracting(LowStockAlert::getStoreId, LowStockAlert::getItemId, LowStockAlert::getProductId,
+                        LowStockAlert::getStock, LowStockAlert::getThreshold, LowStockAlert::getRaisedAt)
+                .containsExactly(tuple(store, item, product, 5, 5, NOW));
+        assertThat(monitor.getAlertedItemCount()).isEqualTo(1);
+    }
+
+    @Test
+    void staysSilentUntilTheStockRecoversPastTheHysteresis() {
+        monitor.onStockChanged(store, item, product, 4);
+
+        // Bouncing inside the band (6 and 7 are below 5 + 3) does not re-arm the item
+        monitor.onStockChanged(store, item, product, 7);
+        monitor.onStockChanged(store, item, product, 4);
+        monitor.onStockChanged(store, item, product, 6);
+        monitor.onStockChanged(store, item, product, 2);
+        verify(notifier, times(1)).notify(any());
+
+        monitor.onStockChanged(store, item, product, 8);
+        assertThat(monitor.getAlertedItemCount()).isZero();
+        monitor.onStockChanged(store, item, product, 1);
+
+        ArgumentCaptor<LowStockAlert> alerts = ArgumentCaptor.forClass(LowStockAlert.class);
+        verify(notifier, times(2)).notify(alerts.capture());
+        assertThat(alerts.getAllValues()).extracting(LowStockAlert::getStock).containsExactly(4, 1);
+    }
+
+    @Test
+    void storeThresholdOverridesTheDefault() {
+        UUID otherStore = UUID.randomUUID();
+        UUID otherItem = UUID.randomUUID();
+        monitor.configure(store, new LowStockThreshold(20, 5));
+
+        monitor.onStockChanged(store, item, product, 10);
+        monitor.onStockChanged(otherStore, otherItem, product, 10);
+
+        ArgumentCaptor<LowStockAlert> alert = ArgumentCaptor.forClass(LowStockAlert.class);
+        verify(notifier).notify(alert.capture());
+        assertThat(alert.getValue().getItemId()).isEqualTo(item);
+        assertThat(alert.getValue().getThreshold()).isEqualTo(20);
+
+        monitor.reset(store);
+        assertThat(monitor.thresholdOf(store).getLevel()).isEqualTo(5);
+        monitor.setDefaultThreshold(new LowStockThreshold(12, 1));
+        assertThat(monitor.thresholdOf(otherStore).getLevel()).isEqualTo(12);
+    }
+
+    @Test
+    void forgottenItemAlertsAgain() {
+        monitor.onStockChanged(store, item, product, 3);
+        monitor.forget(item);
+        assertThat(monitor.getAlertedItemCount()).isZero();
+
+        monitor.onStockChanged(store, item, product, 3);
+
+        verify(notifier, times(2)).notify(any());
+    }
+}
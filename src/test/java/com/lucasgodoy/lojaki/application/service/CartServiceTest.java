@@ -0,0 +1,177 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.application.cart.CartCheckout;
+import com.lucasgodoy.lojaki.application.cart.CartIssue;
+import com.lucasgodoy.lojaki.application.cart.CartLine;
+import com.lucasgodoy.lojaki.application.cart.Carts;
+import com.lucasgodoy.lojaki.application.catalog.CatalogSnapshots;
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.application.event.OrderEventPublisher;
+import com.lucasgodoy.lojaki.application.idempotency.IdempotencyStore;
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.repository.OrderRepository;
+import com.lucasgodoy.lojaki.domain.repository.OrderStatusRepository;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checkout of CartService and the cart's claim through it: released when
+ * the checkout is rejected or fails, held until the order's transaction
+ * ends otherwise, then the cart is cleared (commit) or kept (rollback).
+ * Transactions are simulated by an AfterCommit that holds the work until
+ * the test commits or rolls back.
+ */
+class CartServiceTest {
+
+    private final StoreItemRepository storeItemRepository = mock(StoreItemRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final Transaction transaction = new Transaction();
+    private final Carts carts = new Carts(new CatalogSnapshots(storeItemRepository, Clock.systemUTC()), null, 1, 16,
+            Duration.ofMinutes(30), Clock.systemUTC());
+    private final CartService cartService = new CartService(carts, storeItemRepository,
+            new OrderService(orderRepository, mock(OrderStatusRepository.class), mock(IdempotencyStore.class),
+                    mock(OrderEventPublisher.class), storeItemRepository, transaction),
+            transaction);
+
+    private final User customer = new User(UUID.randomUUID(), "customer@lojaki.com", Role.STAFF);
+    private Store store;
+    private StoreItem mug;
+    private StoreItem pan;
+
+    @BeforeEach
+    void setUp() {
+        store = Store.create("Loja");
+        mug = item("Caneca", "10.00");
+        pan = item("Panela", "80.00");
+        when(storeItemRepository.findCatalog(store.getId())).thenReturn(List.of(mug, pan));
+        when(storeItemRepository.findByIds(anyCollection())).thenReturn(List.of(mug, pan));
+        cartService.addItem("cart-1", store.getId(), mug.getId(), 2);
+    }
+
+    @Test
+    void holdsTheClaimUntilCommitThenClearsTheCart() {
+        CartCheckout checkout = cartService.checkout("cart-1", customer, null);
+
+        assertThat(checkout.isPlaced()).isTrue();
+        verify(orderRepository).save(any(Order.class));
+        assertThatThrownBy(() -> cartService.addItem("cart-1", store.getId(), pan.getId(), 1))
+                .hasMessage("Cart is being checked out");
+
+        transaction.commit();
+
+        assertThat(cartService.getCart("cart-1")).isNull();
+    }
+
+    @Test
+    void keepsTheCartAndReleasesTheClaimOnRollback() {
+        assertThat(cartService.checkout("cart-1", customer, null).isPlaced()).isTrue();
+
+        transaction.rollback();
+
+        assertThat(cartService.getCart("cart-1").lines()).extracting(CartLine::quantity).containsExactly(2);
+        assertThat(cartService.addItem("cart-1", store.getId(), pan.getId(), 1).lines()).hasSize(2);
+        assertThat(cartService.checkout("cart-1", customer, null).isPlaced()).isTrue();
+    }
+
+    @Test
+    void releasesTheClaimWhenRejected() {
+        StoreItem repriced = StoreItem.restore(mug.getId(), store, mug.getProduct(), new BigDecimal("12.00"), 10,
+                true, null);
+        when(storeItemRepository.findByIds(anyCollection())).thenReturn(List.of(repriced, pan));
+
+        CartCheckout checkout = cartService.checkout("cart-1", customer, null);
+
+        assertThat(checkout.isPlaced()).isFalse();
+        assertThat(checkout.cart().lines()).extracting(CartLine::issue).containsExactly(CartIssue.PRICE_CHANGED);
+        verify(orderRepository, never()).save(any());
+        assertThat(cartService.addItem("cart-1", store.getId(), pan.getId(), 1).lines()).hasSize(2);
+    }
+
+    @Test
+    void releasesTheClaimWhenPlacingTheOrderFails() {
+        doThrow(new IllegalStateException("database down")).when(orderRepository).save(any());
+
+        assertThatThrownBy(() -> cartService.checkout("cart-1", customer, null))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cartService.addItem("cart-1", store.getId(), pan.getId(), 1).lines()).hasSize(2);
+    }
+
+    @Test
+    void rejectsASecondCheckoutWithoutReleasingTheFirst() {
+        assertThat(cartService.checkout("cart-1", customer, null).isPlaced()).isTrue();
+
+        assertThatThrownBy(() -> cartService.checkout("cart-1", customer, null))
+                .isInstanceOf(DomainException.class)
+                .hasMessage("Cart is already being checked out");
+
+        verify(orderRepository).save(any(Order.class));
+        assertThatThrownBy(() -> cartService.addItem("cart-1", store.getId(), pan.getId(), 1))
+                .hasMessage("Cart is being checked out");
+    }
+
+    private StoreItem item(String name, String price) {
+        Money money = new Money(new BigDecimal(price), Currency.getInstance("BRL"));
+        Product product = Product.create(store, name, name, money, 10, Brand.create(store, "Marca"),
+                Category.create(store, "Cozinha"));
+        return StoreItem.create(store, product, new BigDecimal(price), 10);
+    }
+
+    /** Holds after-commit work until the test ends the transaction */
+    private static final class Transaction implements AfterCommit {
+
+        private final List<Runnable> onCommit = new ArrayList<>();
+        private final List<Runnable> onRollback = new ArrayList<>();
+
+        @Override
+        public void run(Runnable work) {
+            onCommit.add(work);
+        }
+
+        @Override
+        public void run(Runnable commit, Runnable rollback) {
+            onCommit.add(commit);
+            onRollback.add(rollback);
+        }
+
+        void commit() {
+            onCommit.forEach(Runnable::run);
+            onCommit.clear();
+            onRollback.clear();
+        }
+
+        void rollback() {
+            onRollback.forEach(Runnable::run);
+            onCommit.clear();
+            onRollback.clear();
+        }
+    }
+}
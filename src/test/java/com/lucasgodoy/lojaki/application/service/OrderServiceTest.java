@@ -0,0 +1,159 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.application.event.AfterCommit;
+import com.lucasgodoy.lojaki.application.event.OrderEventPublisher;
+import com.lucasgodoy.lojaki.application.idempotency.IdempotencyStore;
+import com.lucasgodoy.lojaki.application.service.OrderLineReport.InvalidLine;
+import com.lucasgodoy.lojaki.application.service.OrderLineReport.Problem;
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.OrderItem;
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.repository.OrderRepository;
+import com.lucasgodoy.lojaki.domain.repository.OrderStatusRepository;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Line validation of OrderService: every problem of every line is
+ * reported, from a single store item query whatever the number of lines.
+ */
+class OrderServiceTest {
+
+    private final StoreItemRepository storeItemRepository = mock(StoreItemRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderService orderService = new OrderService(orderRepository, mock(OrderStatusRepository.class),
+            mock(IdempotencyStore.class), mock(OrderEventPublisher.class), storeItemRepository, AfterCommit.IMMEDIATE);
+
+    private final Store store = Store.create("Loja");
+    private final User customer = new User(UUID.randomUUID(), "customer@lojaki.com", Role.STAFF);
+
+    @Test
+    void reportsEveryInvalidLineFromOneQuery() {
+        StoreItem mug = item("Caneca", "10.00", 5, true);
+        StoreItem pan = item("Panela", "80.00", 5, false);
+        StoreItem vase = item("Vaso", "150.00", 5, true);
+        Product unsold = item("Prato", "30.00", 5, true).getProduct();
+        when(storeItemRepository.findByStoreAndProducts(any(), anyCollection())).thenReturn(List.of(mug, pan, vase));
+
+        Order order = order(
+                OrderItem.create(mug.getProduct(), 1, new BigDecimal("10.00")),
+                OrderItem.create(unsold, 1, new BigDecimal("30.00")),
+                OrderItem.create(pan.getProduct(), 1, new BigDecimal("80.00")),
+                OrderItem.create(vase.getProduct(), 1, new BigDecimal("140.00")));
+        OrderLineReport report = orderService.validateOrder(order);
+
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getLineCount()).isEqualTo(4);
+        assertThat(report.getInvalidLines())
+                .extracting(InvalidLine::index, InvalidLine::problem, InvalidLine::currentPrice, InvalidLine::stock)
+                .containsExactly(
+                        tuple(1, Problem.NOT_SOLD, null, 0),
+                        tuple(2, Problem.UNAVAILABLE, new BigDecimal("80.00"), 5),
+                        tuple(3, Problem.PRICE_CHANGED, new BigDecimal("150.00"), 5));
+        verify(storeItemRepository).findByStoreAndProducts(any(), anyCollection());
+    }
+
+    @Test
+    void checksStockAgainstEveryLineOfAProduct() {
+        StoreItem mug = item("Caneca", "10.00", 5, true);
+        when(storeItemRepository.findByStoreAndProducts(any(), anyCollection())).thenReturn(List.of(mug));
+
+        OrderLineReport fits = orderService.validateOrder(order(
+                OrderItem.create(mug.getProduct(), 2, new BigDecimal("10.00")),
+                OrderItem.create(mug.getProduct(), 3, new BigDecimal("10.00"))));
+        OrderLineReport exceeds = orderService.validateOrder(order(
+                OrderItem.create(mug.getProduct(), 3, new BigDecimal("10.00")),
+                OrderItem.create(mug.getProduct(), 3, new BigDecimal("10.00"))));
+
+        assertThat(fits.isValid()).isTrue();
+        assertThat(exceeds.getInvalidLines()).extracting(InvalidLine::index, InvalidLine::problem)
+                .containsExactly(tuple(0, Problem.INSUFFICIENT_STOCK), tuple(1, Problem.INSUFFICIENT_STOCK));
+    }
+
+    @Test
+    void reportsEachProblemOfALine() {
+        StoreItem mug = item("Caneca", "10.00", 1, true);
+        when(storeItemRepository.findByStoreAndProducts(any(), anyCollection())).thenReturn(List.of(mug));
+
+        OrderLineReport report = orderService.validateOrder(order(
+                OrderItem.create(mug.getProduct(), 2, new BigDecimal("9.00"))));
+
+        assertThat(report.getInvalidLines()).extracting(InvalidLine::index, InvalidLine::problem)
+                .containsExactly(tuple(0, Problem.PRICE_CHANGED), tuple(0, Problem.INSUFFICIENT_STOCK));
+    }
+
+    @Test
+    void rejectsAnInvalidOrderWithTheReportAndSavesNothing() {
+        StoreItem mug = item("Caneca", "10.00", 5, true);
+        when(storeItemRepository.findByStoreAndProducts(any(), anyCollection())).thenReturn(List.of(mug));
+        Order order = order(
+                OrderItem.create(mug.getProduct(), 1, new BigDecimal("10.00")),
+                OrderItem.create(mug.getProduct(), 9, new BigDecimal("12.00")));
+
+        assertThatThrownBy(() -> orderService.createOrder(order))
+                .isInstanceOf(OrderRejectedException.class)
+                .hasMessage("2 of 2 order lines are invalid")
+                .extracting(e -> ((OrderRejectedException) e).getReport().getInvalidLines().size())
+                .isEqualTo(3);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void validatesAgainstItemsAlreadyReadForTheRequest() {
+        StoreItem mug = item("Caneca", "10.00", 5, true);
+        when(storeItemRepository.findByIds(anyCollection())).thenReturn(List.of(mug));
+        StoreItemLookup lookup = new StoreItemLookup(storeItemRepository, store.getId());
+        lookup.loadByIds(List.of(mug.getId()));
+        Order order = order(OrderItem.create(mug.getProduct(), 1, new BigDecimal("10.00")));
+
+        orderService.createOrder(order, lookup);
+
+        verify(orderRepository).save(order);
+        verify(storeItemRepository, never()).findByStoreAndProducts(any(), anyCollection());
+        assertThat(lookup.getQueryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesALookupOfAnotherStore() {
+        StoreItem mug = item("Caneca", "10.00", 5, true);
+        Order order = order(OrderItem.create(mug.getProduct(), 1, new BigDecimal("10.00")));
+
+        assertThatThrownBy(() -> orderService.createOrder(order,
+                new StoreItemLookup(storeItemRepository, UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(orderRepository, never()).save(any());
+    }
+
+    private Order order(OrderItem... items) {
+        return Order.create(store, customer, List.of(items));
+    }
+
+    private StoreItem item(String name, String price, int stock, boolean active) {
+        Money money = new Money(new BigDecimal(price), Currency.getInstance("BRL"));
+        Product product = Product.create(store, name, name, money, stock, Brand.create(store, "Marca"),
+                Category.create(store, "Cozinha"));
+        return StoreItem.restore(UUID.randomUUID(), store, product, new BigDecimal(price), stock, active, null);
+    }
+}
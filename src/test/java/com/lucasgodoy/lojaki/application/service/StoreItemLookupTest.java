@@ -0,0 +1,104 @@
+package com.lucasgodoy.lojaki.application.service;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.product.model.Product;
+import com.lucasgodoy.lojaki.domain.product.valueobject.Money;
+import com.lucasgodoy.lojaki.domain.repository.StoreItemRepository;
+import com.lucasgodoy.lojaki.domain.store.model.Brand;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.store.model.StoreItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batched loading of StoreItemLookup: one repository call per load, only
+ * for what was never asked before, misses included.
+ */
+class StoreItemLookupTest {
+
+    private final StoreItemRepository repository = mock(StoreItemRepository.class);
+    private final Store store = Store.create("Loja");
+    private final StoreItem mug = item(store, "Caneca");
+    private final StoreItem pan = item(store, "Panela");
+    private final StoreItemLookup lookup = new StoreItemLookup(repository, store.getId());
+
+    @Test
+    void readsEachIdOnce() {
+        UUID missing = UUID.randomUUID();
+        when(repository.findByIds(anyCollection())).thenReturn(List.of(mug), List.of(pan));
+
+        assertThat(lookup.loadByIds(List.of(mug.getId(), missing))).containsExactly(mug);
+        assertThat(lookup.loadByIds(List.of(mug.getId(), missing, pan.getId()))).containsExactly(mug, pan);
+        assertThat(lookup.loadByIds(List.of(pan.getId(), missing, mug.getId()))).containsExactly(pan, mug);
+
+        verify(repository).findByIds(List.of(mug.getId(), missing));
+        verify(repository).findByIds(List.of(pan.getId()));
+        verifyNoMoreInteractions(repository);
+        assertThat(lookup.getQueryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findsProductsOfItemsAlreadyReadWithoutQuerying() {
+        when(repository.findByIds(anyCollection())).thenReturn(List.of(mug, pan));
+        lookup.loadByIds(List.of(mug.getId(), pan.getId()));
+
+        lookup.loadByProducts(List.of(mug.getProduct().getId(), pan.getProduct().getId()));
+
+        verify(repository, never()).findByStoreAndProducts(any(), anyCollection());
+        assertThat(lookup.findByProduct(mug.getProduct().getId())).isSameAs(mug);
+        assertThat(lookup.getQueryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void remembersProductsTheStoreDoesNotSell() {
+        UUID unsold = UUID.randomUUID();
+        when(repository.findByStoreAndProducts(any(), anyCollection())).thenReturn(List.of(mug));
+
+        lookup.loadByProducts(List.of(mug.getProduct().getId(), unsold));
+        lookup.loadByProducts(List.of(unsold, mug.getProduct().getId()));
+
+        verify(repository).findByStoreAndProducts(store.getId(), List.of(mug.getProduct().getId(), unsold));
+        assertThat(lookup.findByProduct(unsold)).isNull();
+        assertThat(lookup.getQueryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresItemsOfAnotherStore() {
+        StoreItem elsewhere = item(Store.create("Outra"), "Caneca");
+        when(repository.findByIds(anyCollection())).thenReturn(List.of(elsewhere));
+
+        assertThat(lookup.loadByIds(List.of(elsewhere.getId()))).isEmpty();
+        assertThat(lookup.findByProduct(elsewhere.getProduct().getId())).isNull();
+    }
+
+    @Test
+    void prefersASellableItemForAProduct() {
+        StoreItem inactive = StoreItem.restore(UUID.randomUUID(), store, mug.getProduct(), mug.getPrice(), 5,
+                false, null);
+        when(repository.findByStoreAndProducts(any(), anyCollection())).thenReturn(List.of(inactive, mug));
+
+        lookup.loadByProducts(List.of(mug.getProduct().getId()));
+
+        assertThat(lookup.findByProduct(mug.getProduct().getId())).isSameAs(mug);
+    }
+
+    private static StoreItem item(Store store, String name) {
+        Money money = new Money(new BigDecimal("10.00"), Currency.getInstance("BRL"));
+        Product product = Product.create(store, name, name, money, 10, Brand.create(store, "Marca"),
+                Category.create(store, "Cozinha"));
+        return StoreItem.create(store, product, new BigDecimal("10.00"), 10);
+    }
+}
@@ -0,0 +1,65 @@
+package com.lucasgodoy.lojaki.domain.order.model;
+
+import com.lucasgodoy.lojaki.domain.exception.DomainException;
+import com.lucasgodoy.lojaki.domain.order.event.OrderLifecycleEvent;
+import com.lucasgodoy.lojaki.domain.store.model.Store;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Status changes on the Order aggregate: transitions follow the table in
+ * Status, and cancelling deactivates the order whichever method is used.
+ * Restoring checks the persisted state it is given.
+ */
+class OrderTest {
+
+    @Test
+    void setStatusCancelledDeactivatesTheOrder() {
+        Order order = order(Status.PAID);
+
+        order.setStatus(Status.CANCELLED);
+
+        assertThat(order.getStatus()).isEqualTo(Status.CANCELLED);
+        assertThat(order.isActive()).isFalse();
+        assertThat(order.pullEvents()).singleElement()
+                .extracting(OrderLifecycleEvent::getPreviousStatus).isEqualTo(Status.PAID);
+    }
+
+    @Test
+    void setStatusFollowsTheTransitionTable() {
+        Order order = order(Status.PENDING);
+
+        order.setStatus(Status.PAID);
+        order.setStatus(Status.SHIPPED);
+
+        assertThat(order.getStatus()).isEqualTo(Status.SHIPPED);
+        assertThat(order.isActive()).isTrue();
+        assertThatThrownBy(() -> order.setStatus(Status.CANCELLED)).isInstanceOf(DomainException.class);
+        assertThatThrownBy(() -> order.setStatus(Status.PAID)).isInstanceOf(DomainException.class);
+        assertThat(order.getStatus()).isEqualTo(Status.SHIPPED);
+        assertThat(order.isActive()).isTrue();
+    }
+
+    @Test
+    void restoreRequiresAStatus() {
+        assertThatThrownBy(() -> order(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Status is required");
+    }
+
+    private static Order order(Status status) {
+        Instant now = Instant.now();
+        return Order.restore(UUID.randomUUID(), Store.create("Loja"),
+                new User(UUID.randomUUID(), "customer@lojaki.com", Role.STAFF), new ArrayList<>(),
+                BigDecimal.ZERO, 0, null, status, true, now, now);
+    }
+}
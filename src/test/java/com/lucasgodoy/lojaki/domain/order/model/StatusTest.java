@@ -0,0 +1,53 @@
+package com.lucasgodoy.lojaki.domain.order.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The order status transition table: every allowed move, every refused one,
+ * and the final statuses.
+ */
+class StatusTest {
+
+    @Test
+    void allowsOnlyTheTableTransitions() {
+        assertThat(Status.PENDING.allowedTransitions()).containsExactlyInAnyOrder(Status.PAID, Status.CANCELLED);
+        assertThat(Status.PAID.allowedTransitions()).containsExactlyInAnyOrder(Status.SHIPPED, Status.CANCELLED);
+        assertThat(Status.SHIPPED.allowedTransitions()).containsExactly(Status.DELIVERED);
+        assertThat(Status.DELIVERED.allowedTransitions()).isEmpty();
+        assertThat(Status.CANCELLED.allowedTransitions()).isEmpty();
+    }
+
+    @Test
+    void canTransitionToAgreesWithTheTable() {
+        for (Status source : Status.values()) {
+            for (Status target : Status.values()) {
+                assertThat(source.canTransitionTo(target))
+                        .as("%s -> %s", source, target)
+                        .isEqualTo(source.allowedTransitions().contains(target));
+            }
+        }
+    }
+
+    @Test
+    void refusesSelfAndNullTransitions() {
+        for (Status status : Status.values()) {
+            assertThat(status.canTransitionTo(status)).as("%s -> %s", status, status).isFalse();
+            assertThat(status.canTransitionTo(null)).isFalse();
+        }
+    }
+
+    @Test
+    void onlyDeliveredAndCancelledAreFinal() {
+        EnumSet<Status> finals = EnumSet.noneOf(Status.class);
+        for (Status status : Status.values()) {
+            if (status.isFinal()) {
+                finals.add(status);
+            }
+        }
+        assertThat(finals).containsExactlyInAnyOrder(Status.DELIVERED, Status.CANCELLED);
+    }
+}
@@ -0,0 +1,117 @@
+package com.lucasgodoy.lojaki.infrastructure.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Crash recovery of JournalSegment: a segment is written, closed without
+ * sealing, corrupted on disk and reopened. Payloads are opaque here, all
+ * of the same size, so record k starts at k * RECORD.
+ */
+class JournalSegmentTest {
+
+    private static final int PAYLOAD = 40;
+    private static final int RECORD = JournalSegment.RECORD_HEADER + PAYLOAD;
+    private static final int SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopensAfterTheLastCompleteRecord() throws IOException {
+        JournalSegment segment = JournalSegment.create(directory, 0, SIZE);
+        appendRange(segment, 0, 5);
+        segment.close();
+
+        JournalSegment reopened = reopen();
+
+        assertThat(reopened.getNextSequence()).isEqualTo(5);
+        assertThat(reopened.getWritePosition()).isEqualTo(5 * RECORD);
+    }
+
+    @Test
+    void dropsACorruptTailAndEverythingAfterIt() throws IOException {
+        JournalSegment segment = JournalSegment.create(directory, 0, SIZE);
+        appendRange(segment, 0, 5);
+        segment.close();
+        corruptPayload(2);
+
+        JournalSegment reopened = reopen();
+
+        assertThat(reopened.getNextSequence()).isEqualTo(2);
+        assertThat(reopened.getWritePosition()).isEqualTo(2 * RECORD);
+        assertThat(bytesAt(2 * RECORD, 5 * RECORD - 2 * RECORD)).containsOnly((byte) 0);
+    }
+
+    @Test
+    void neverReplaysRecordsLeftBehindByACorruptTail() throws IOException {
+        JournalSegment segment = JournalSegment.create(directory, 0, SIZE);
+        appendRange(segment, 0, 5);
+        segment.close();
+        corruptPayload(2);
+
+        // Rewrites 2 and 3 at the same sizes, so the old record 4 would line up right after them
+        JournalSegment recovered = reopen();
+        appendRange(recovered, 2, 4);
+        recovered.close();
+
+        JournalSegment reopened = reopen();
+
+        assertThat(reopened.getNextSequence()).isEqualTo(4);
+        assertThat(reopened.getWritePosition()).isEqualTo(4 * RECORD);
+    }
+
+    @Test
+    void refusesACorruptSealedSegment() throws IOException {
+        JournalSegment segment = JournalSegment.create(directory, 0, SIZE);
+        appendRange(segment, 0, 3);
+        segment.close();
+        corruptPayload(1);
+
+        Path file = directory.resolve(JournalSegment.fileName(0));
+        assertThatThrownBy(() -> JournalSegment.open(file, false))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("Corrupt journal record");
+    }
+
+    private static void appendRange(JournalSegment segment, long from, long to) {
+        for (long sequence = from; sequence < to; sequence++) {
+            ByteBuffer payload = ByteBuffer.allocate(PAYLOAD);
+            while (payload.hasRemaining()) {
+                payload.put((byte) (sequence + 1));
+            }
+            assertThat(segment.append(sequence, payload.flip())).isTrue();
+        }
+    }
+
+    private JournalSegment reopen() throws IOException {
+        return JournalSegment.open(directory.resolve(JournalSegment.fileName(0)), true);
+    }
+
+    // Flips a payload byte of the record, so its CRC no longer matches
+    private void corruptPayload(int record) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(JournalSegment.fileName(0)),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), (long) record * RECORD + JournalSegment.RECORD_HEADER);
+        }
+    }
+
+    private byte[] bytesAt(int position, int length) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(JournalSegment.fileName(0)),
+                StandardOpenOption.READ)) {
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            channel.read(bytes, position);
+            return bytes.array();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.pool;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Leak reports of PoolTelemetry: what they carry with stack capture off
+ * and on. Checkouts are backdated past the threshold instead of waiting.
+ */
+class PoolTelemetryTest {
+
+    private static final Duration THRESHOLD = Duration.ofSeconds(30);
+
+    @Test
+    void reportsOnlyTheCallerWhenStacksAreNotCaptured() {
+        PoolTelemetry telemetry = new PoolTelemetry(new SimpleMeterRegistry(), THRESHOLD, 60, false);
+
+        ConnectionLease lease = telemetry.onAcquired(heldPastThreshold(), 0);
+        telemetry.sample();
+
+        assertThat(lease.stack).isNull();
+        LeakReport report = telemetry.advise().recentLeaks().get(0);
+        assertThat(report.stack()).containsExactly(report.caller());
+        assertThat(report.thread()).isEqualTo(Thread.currentThread().getName());
+    }
+
+    @Test
+    void reportsTheCheckoutStackWhenCaptured() {
+        PoolTelemetry telemetry = new PoolTelemetry(new SimpleMeterRegistry(), THRESHOLD, 60, true);
+
+        telemetry.onAcquired(heldPastThreshold(), 0);
+        telemetry.sample();
+
+        LeakReport report = telemetry.advise().recentLeaks().get(0);
+        assertThat(report.stack()).hasSizeGreaterThan(1)
+                .noneMatch(frame -> frame.contains(PoolTelemetry.class.getName()));
+    }
+
+    @Test
+    void reportsEachLeakOnceAndNothingForReturnedConnections() {
+        PoolTelemetry telemetry = new PoolTelemetry(new SimpleMeterRegistry(), THRESHOLD, 60, false);
+
+        telemetry.onAcquired(heldPastThreshold(), 0);
+        ConnectionLease returned = telemetry.onAcquired(heldPastThreshold(), 0);
+        telemetry.onReleased(returned, System.nanoTime());
+        telemetry.sample();
+        telemetry.sample();
+
+        assertThat(telemetry.advise().recentLeaks()).hasSize(1);
+        assertThat(telemetry.getLeasedConnections()).isEqualTo(1);
+    }
+
+    private static long heldPastThreshold() {
+        return System.nanoTime() - THRESHOLD.toNanos() - TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bounds of NormalizedSqlCache: a full cache drops its least recently used
+ * strings one at a time, so a statement in constant use stays cached.
+ */
+class NormalizedSqlCacheTest {
+
+    @Test
+    void hitsReturnTheCachedShape() {
+        NormalizedSqlCache cache = new NormalizedSqlCache(64);
+        String first = cache.normalize("SELECT * FROM t WHERE id = 1");
+
+        assertThat(first).isEqualTo("SELECT * FROM t WHERE id = ?");
+        assertThat(cache.normalize("SELECT * FROM t WHERE id = 1")).isSameAs(first);
+    }
+
+    @Test
+    void staysWithinCapacityAndKeepsHotStatements() {
+        NormalizedSqlCache cache = new NormalizedSqlCache(64);
+        String hot = "SELECT * FROM orders WHERE id = ?";
+        String shape = cache.normalize(hot);
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.normalize("SELECT * FROM orders WHERE id = " + i);
+            assertThat(cache.normalize(hot)).isSameAs(shape);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(64).isGreaterThan(32);
+    }
+}
@@ -0,0 +1,63 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * SQL rewriting of PlanCollector: JDBC placeholders numbered for PREPARE
+ * (quoted text and comments untouched, "??" unescaped), and literals masked
+ * in plan lines.
+ */
+class PlanCollectorTest {
+
+    static Stream<Arguments> placeholders() {
+        return Stream.of(
+                arguments("SELECT * FROM t", "SELECT * FROM t", ""),
+                arguments("SELECT * FROM t WHERE a = ? AND b = ?", "SELECT * FROM t WHERE a = $1 AND b = $2",
+                        "(NULL, NULL)"),
+                arguments("SELECT '?' FROM t WHERE a = ?", "SELECT '?' FROM t WHERE a = $1", "(NULL)"),
+                arguments("SELECT \"?\" FROM t WHERE a = ?", "SELECT \"?\" FROM t WHERE a = $1", "(NULL)"),
+                arguments("SELECT 'it''s ?', ? FROM t", "SELECT 'it''s ?', $1 FROM t", "(NULL)"),
+                arguments("SELECT a -- is a ?\nFROM t WHERE b = ?", "SELECT a -- is a ?\nFROM t WHERE b = $1", "(NULL)"),
+                arguments("SELECT a /* ? */ FROM t WHERE b = ?", "SELECT a /* ? */ FROM t WHERE b = $1", "(NULL)"),
+                arguments("SELECT * FROM t WHERE tags ?? ? AND a = ?", "SELECT * FROM t WHERE tags ? $1 AND a = $2",
+                        "(NULL, NULL)"),
+                arguments("SELECT ? FROM t WHERE a = 'never closed ?", "SELECT $1 FROM t WHERE a = 'never closed ?",
+                        "(NULL)"),
+                arguments("SELECT ? FROM t /* never closed ?", "SELECT $1 FROM t /* never closed ?", "(NULL)"),
+                arguments("SELECT ? -- trailing ?", "SELECT $1 -- trailing ?", "(NULL)"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("placeholders")
+    void numbersPlaceholders(String sql, String expected, String expectedArguments) {
+        StringBuilder arguments = new StringBuilder();
+
+        assertThat(PlanCollector.numberPlaceholders(sql, arguments)).isEqualTo(expected);
+        assertThat(arguments).hasToString(expectedArguments);
+    }
+
+    static Stream<Arguments> planLines() {
+        return Stream.of(
+                arguments("Seq Scan on public.orders  (cost=0.00..35.50 rows=10 width=16)",
+                        "Seq Scan on public.orders  (cost=0.00..35.50 rows=10 width=16)"),
+                arguments("Filter: ((status)::text = 'PAID'::text)", "Filter: ((status)::text = '?'::text)"),
+                arguments("Filter: (name = 'O''Brien'::text)", "Filter: (name = '?'::text)"),
+                arguments("Filter: (a = 'x' OR b = 'y')", "Filter: (a = '?' OR b = '?')"),
+                arguments("Filter: (a = 'never closed", "Filter: (a = '?'"),
+                arguments("Filter: (a = '')", "Filter: (a = '?')"),
+                arguments(null, null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("planLines")
+    void masksLiterals(String line, String expected) {
+        assertThat(PlanCollector.maskLiterals(line)).isEqualTo(expected);
+    }
+}
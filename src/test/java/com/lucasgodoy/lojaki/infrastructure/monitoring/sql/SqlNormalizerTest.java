@@ -0,0 +1,67 @@
+package com.lucasgodoy.lojaki.infrastructure.monitoring.sql;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Shapes produced by SqlNormalizer: literals, parameters and placeholder
+ * lists become "?" forms, comments and extra whitespace go, and quoted
+ * identifiers and names containing digits are left alone.
+ */
+class SqlNormalizerTest {
+
+    static Stream<Arguments> statements() {
+        return Stream.of(
+                arguments("SELECT * FROM orders WHERE id = ?", "SELECT * FROM orders WHERE id = ?"),
+                arguments("select *  from orders\n\twhere status = 'PAID' and total > 10.50",
+                        "select * from orders where status = ? and total > ?"),
+                arguments("SELECT * FROM t WHERE a = $1 AND b = $12", "SELECT * FROM t WHERE a = ? AND b = ?"),
+                arguments("SELECT 'it''s ?' FROM t", "SELECT ? FROM t"),
+                arguments("SELECT 'never closed", "SELECT ?"),
+                arguments("SELECT \"Order\".\"id\" FROM \"Order\"", "SELECT \"Order\".\"id\" FROM \"Order\""),
+                arguments("SELECT \"weird\"\"name\" FROM t1", "SELECT \"weird\"\"name\" FROM t1"),
+                arguments("SELECT t1.col2 FROM table_3 t1", "SELECT t1.col2 FROM table_3 t1"),
+                arguments("SELECT a -- the ? column\nFROM t", "SELECT a FROM t"),
+                arguments("SELECT /* ? and 'x' */ a FROM t", "SELECT a FROM t"),
+                arguments("SELECT a FROM t /* never closed", "SELECT a FROM t"),
+                arguments("SELECT * FROM t WHERE id IN (?, ?, ?)", "SELECT * FROM t WHERE id IN (?...)"),
+                arguments("SELECT * FROM t WHERE id IN (1, 2, 3, 4)", "SELECT * FROM t WHERE id IN (?...)"),
+                arguments("INSERT INTO t (a, b) VALUES (?, ?), (?, ?), (?, ?)", "INSERT INTO t (a, b) VALUES (?...)"),
+                arguments("SELECT * FROM t WHERE tags ?? 'vip'", "SELECT * FROM t WHERE tags ?? ?"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("statements")
+    void normalizes(String sql, String expected) {
+        assertThat(SqlNormalizer.normalize(sql)).isEqualTo(expected);
+    }
+
+    @Test
+    void statementsDifferingOnlyInValuesShareAShape() {
+        assertThat(SqlNormalizer.normalize("SELECT * FROM t WHERE id IN (1, 2) AND name = 'Ana'"))
+                .isEqualTo(SqlNormalizer.normalize("SELECT * FROM t WHERE id IN (?, ?, ?) AND name = ?"));
+    }
+
+    @Test
+    void longStatementsAreCut() {
+        String sql = "SELECT " + "a, ".repeat(3000) + "b FROM t";
+
+        assertThat(SqlNormalizer.normalize(sql))
+                .startsWith("SELECT a, a, ")
+                .hasSizeBetween(SqlNormalizer.MAX_LENGTH - 1, SqlNormalizer.MAX_LENGTH);
+    }
+
+    @Test
+    void kindIsTheFirstKeyword() {
+        assertThat(SqlNormalizer.kind("SELECT 1")).isEqualTo("select");
+        assertThat(SqlNormalizer.kind("with x as (select 1) select * from x")).isEqualTo("with");
+        assertThat(SqlNormalizer.kind("(select 1)")).isEqualTo("other");
+    }
+}
@@ -0,0 +1,234 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence;
+
+import com.lucasgodoy.lojaki.domain.product.model.Category;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.domain.user.model.User;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CategoryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaCategoryRepository;
+import com.lucasgodoy.lojaki.infrastructure.persistence.repository.JpaUserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache behaviour across sessions, read from Hibernate
+ * Statistics: reference data loaded by one session is served to the next
+ * without SQL, and updates never leave a stale copy behind.
+ *
+ * Runs on the embedded H2 database with the application's cache settings
+ * and ehcache.xml. Every step uses its own EntityManager and transaction,
+ * so only the second-level cache is shared between them.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        // Resolved by Hibernate's class loader service, which does not know the "classpath:" prefix under Surefire
+        "spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final String STORES = "lojaki.stores";
+    private static final String USERS = "lojaki.users";
+    private static final String CATEGORIES = "lojaki.categories";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetCache() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void storeLoadedByOneSessionIsServedToAnotherWithoutSql() {
+        UUID storeId = persistStore("Cached store");
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        inSession(em -> em.find(StoreEntity.class, storeId));
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+        String name = inSession(em -> em.find(StoreEntity.class, storeId).getName());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(STORES);
+        assertThat(name).isEqualTo("Cached store");
+        assertThat(region.getMissCount()).isEqualTo(1);
+        assertThat(region.getPutCount()).isEqualTo(1);
+        assertThat(region.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLoad);
+    }
+
+    @Test
+    void updatedStoreReplacesTheCachedCopy() {
+        UUID storeId = persistStore("Before update");
+        inSession(em -> em.find(StoreEntity.class, storeId));
+
+        inTransaction(em -> em.find(StoreEntity.class, storeId).setName("After update"));
+        statistics.clear();
+        String name = inSession(em -> em.find(StoreEntity.class, storeId).getName());
+
+        assertThat(name).isEqualTo("After update");
+        assertThat(statistics.getDomainDataRegionStatistics(STORES).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void bulkUpdateEvictsTheRegion() {
+        UUID storeId = persistStore("Before bulk update");
+        inSession(em -> em.find(StoreEntity.class, storeId));
+        assertThat(entityManagerFactory.getCache().contains(StoreEntity.class, storeId)).isTrue();
+
+        inTransaction(em -> em.createQuery("UPDATE StoreEntity s SET s.name = :name WHERE s.id = :id")
+                .setParameter("name", "After bulk update")
+                .setParameter("id", storeId)
+                .executeUpdate());
+        assertThat(entityManagerFactory.getCache().contains(StoreEntity.class, storeId)).isFalse();
+
+        statistics.clear();
+        String name = inSession(em -> em.find(StoreEntity.class, storeId).getName());
+        assertThat(name).isEqualTo("After bulk update");
+        assertThat(statistics.getDomainDataRegionStatistics(STORES).getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void categoryQueryIsCachedUntilACategoryChanges() {
+        UUID storeId = persistStore("Category store");
+        UUID categoryId = UUID.randomUUID();
+        inTransaction(em -> em.persist(new CategoryEntity(categoryId, "Shoes", categoryId.toString(), true,
+                Instant.now(), Instant.now(), null, em.getReference(StoreEntity.class, storeId), null)));
+
+        inSession(em -> new JpaCategoryRepository(em).findByStore(storeId));
+        statistics.clear();
+        List<Category> cached = inSession(em -> new JpaCategoryRepository(em).findByStore(storeId));
+        assertThat(cached).extracting(Category::getName).containsExactly("Shoes");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        inTransaction(em -> em.find(CategoryEntity.class, categoryId).setName("Sneakers"));
+        statistics.clear();
+        List<Category> reloaded = inSession(em -> new JpaCategoryRepository(em).findByStore(storeId));
+        assertThat(reloaded).extracting(Category::getName).containsExactly("Sneakers");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void movingASubtreeEvictsOnlyTheMovedDescendants() {
+        UUID storeId = persistStore("Tree store");
+        UUID otherStoreId = persistStore("Other tree store");
+        UUID rootId = persistCategory(storeId, "Electronics", null);
+        UUID movedId = persistCategory(storeId, "Phones", rootId);
+        UUID leafId = persistCategory(storeId, "Cases", movedId);
+        UUID otherId = persistCategory(otherStoreId, "Garden", null);
+        inSession(em -> List.of(rootId, movedId, leafId, otherId).stream()
+                .map(id -> em.find(CategoryEntity.class, id).getPath())
+                .toList());
+
+        String leafPathInTransaction = inSession(em -> {
+            JpaCategoryRepository repository = new JpaCategoryRepository(em);
+            CategoryEntity leaf = em.find(CategoryEntity.class, leafId);
+            Category moved = repository.findById(movedId);
+            String oldPath = moved.getPath();
+            moved.moveTo(null, repository.subtreeHeight(moved));
+            assertThat(repository.moveSubtree(moved, oldPath)).isEqualTo(1);
+            assertThat(em.contains(leaf)).isTrue();
+            return leaf.getPath();
+        });
+
+        statistics.clear();
+        String leafPath = inSession(em -> em.find(CategoryEntity.class, leafId).getPath());
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(CATEGORIES);
+        String expected = pathSegment(movedId) + pathSegment(leafId).substring(1);
+        assertThat(leafPathInTransaction).isEqualTo(expected);
+        assertThat(leafPath).isEqualTo(expected);
+        assertThat(region.getMissCount()).isEqualTo(1);
+
+        statistics.clear();
+        inSession(em -> List.of(rootId, otherId).stream().map(id -> em.find(CategoryEntity.class, id)).toList());
+        assertThat(statistics.getDomainDataRegionStatistics(CATEGORIES).getHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void userFoundByEmailResolvesThroughTheNaturalIdCache() {
+        User user = new User(UUID.randomUUID(), "cached-" + UUID.randomUUID() + "@lojaki.test", Role.STAFF);
+        inTransaction(em -> new JpaUserRepository(em).save(user));
+        entityManagerFactory.getCache().evictAll();
+
+        inSession(em -> new JpaUserRepository(em).findByEmail(user.getEmail()));
+        statistics.clear();
+        User found = inSession(em -> new JpaUserRepository(em).findByEmail(user.getEmail()));
+
+        assertThat(found.getId()).isEqualTo(user.getId());
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(USERS).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // The inverse one-to-one to CustomerEntity cannot be proxied, so its side is still looked up by user_id
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // ===== Helpers =====
+
+    private UUID persistStore(String name) {
+        UUID id = UUID.randomUUID();
+        inTransaction(em -> em.persist(new StoreEntity(id, name, null, true, null, Instant.now(), Instant.now())));
+        return id;
+    }
+
+    private UUID persistCategory(UUID storeId, String name, UUID parentId) {
+        UUID id = UUID.randomUUID();
+        inTransaction(em -> {
+            CategoryEntity parent = parentId == null ? null : em.find(CategoryEntity.class, parentId);
+            String path = (parent == null ? "" : parent.getPath().substring(0, parent.getPath().length() - 1))
+                    + pathSegment(id);
+            em.persist(new CategoryEntity(id, name, path, true, Instant.now(), Instant.now(), null,
+                    em.getReference(StoreEntity.class, storeId), parent));
+        });
+        return id;
+    }
+
+    private static String pathSegment(UUID id) {
+        return "/" + id.toString().replace("-", "") + "/";
+    }
+
+    // Runs the work in a new session and transaction, committed before returning
+    private <T> T inSession(Function<EntityManager, T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            T result = work.apply(em);
+            em.getTransaction().commit();
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        inSession(em -> {
+            work.accept(em);
+            return null;
+        });
+    }
+}
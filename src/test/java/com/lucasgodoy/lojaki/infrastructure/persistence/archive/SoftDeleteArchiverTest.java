@@ -0,0 +1,107 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.archive;
+
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.BrandEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archive, restore and archive again on PostgreSQL: a restored row must not
+ * be picked up by the next run.
+ *
+ * The archiver relies on PostgreSQL catalogs and CTEs, so the test runs only
+ * when LOJAKI_TEST_POSTGRES_URL points at a database it may write to
+ * (LOJAKI_TEST_POSTGRES_USERNAME and LOJAKI_TEST_POSTGRES_PASSWORD default
+ * to postgres and empty). Hibernate updates the schema there on startup.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.ddl-auto=update",
+        // Resolved by Hibernate's class loader service, which does not know the "classpath:" prefix under Surefire
+        "spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "LOJAKI_TEST_POSTGRES_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SoftDeleteArchiverTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("LOJAKI_TEST_POSTGRES_URL"));
+        registry.add("spring.datasource.username",
+                () -> System.getenv().getOrDefault("LOJAKI_TEST_POSTGRES_USERNAME", "postgres"));
+        registry.add("spring.datasource.password",
+                () -> System.getenv().getOrDefault("LOJAKI_TEST_POSTGRES_PASSWORD", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void restoredRowIsNotArchivedByTheNextRun() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        SoftDeleteArchiver archiver = new SoftDeleteArchiver(jdbcTemplate, 100, Duration.ZERO);
+        Instant deletedAt = Instant.now().minus(Duration.ofDays(30));
+        UUID brandId = persistDeletedBrand(deletedAt);
+
+        archiver.archive(Instant.now());
+        assertThat(countById("brands", brandId, jdbcTemplate)).isZero();
+        assertThat(countById("brands_archive", brandId, jdbcTemplate)).isEqualTo(1);
+
+        assertThat(archiver.restore(ArchivableTable.BRANDS, brandId)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT deleted_at FROM brands WHERE id = ?", Timestamp.class,
+                brandId)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT active FROM brands WHERE id = ?", Boolean.class,
+                brandId)).isFalse();
+
+        archiver.archive(Instant.now());
+        assertThat(countById("brands", brandId, jdbcTemplate)).isEqualTo(1);
+        assertThat(countById("brands_archive", brandId, jdbcTemplate)).isZero();
+    }
+
+    // ===== Helpers =====
+
+    // A store kept live by the brand, and a soft-deleted brand no product refers to
+    private UUID persistDeletedBrand(Instant deletedAt) {
+        UUID storeId = UUID.randomUUID();
+        UUID brandId = UUID.randomUUID();
+        EntityManager em = entityManagerFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            StoreEntity store = new StoreEntity(storeId, "Archive store", null, true, null, Instant.now(),
+                    Instant.now());
+            em.persist(store);
+            em.persist(new BrandEntity(brandId, "Archived brand", false, deletedAt, deletedAt, deletedAt, store));
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        return brandId;
+    }
+
+    private static int countById(String table, UUID id, JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+    }
+}
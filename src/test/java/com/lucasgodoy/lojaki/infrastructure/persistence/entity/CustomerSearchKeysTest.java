@@ -0,0 +1,78 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.entity;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Search keys of CustomerSearchKeys: phones reduced to digits, documents to
+ * upper-case letters and digits, names folded to lower case without
+ * accents or punctuation.
+ */
+class CustomerSearchKeysTest {
+
+    static Stream<Arguments> phones() {
+        return Stream.of(
+                arguments("(11) 98765-4321", "11987654321"),
+                arguments("+55 11 98765 4321", "5511987654321"),
+                arguments("11987654321", "11987654321"),
+                arguments("ramal", ""),
+                arguments(null, null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("phones")
+    void phoneKeepsDigitsOnly(String phone, String expected) {
+        assertThat(CustomerSearchKeys.phone(phone)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> documents() {
+        return Stream.of(
+                arguments("123.456.789-09", "12345678909"),
+                arguments("12.345.678/0001-95", "12345678000195"),
+                arguments("mg-12.345.678", "MG12345678"),
+                arguments(" -./ ", null),
+                arguments(null, null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("documents")
+    void documentKeepsUpperCaseLettersAndDigits(String document, String expected) {
+        assertThat(CustomerSearchKeys.document(document)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> names() {
+        return Stream.of(
+                arguments("José  da Silva", "jose da silva"),
+                arguments("ÂNGELA Conceição", "angela conceicao"),
+                arguments("  Zoë-O'Connor ", "zoe o connor"),
+                arguments("Müller2", "muller2"),
+                arguments("--", ""),
+                arguments(null, ""));
+    }
+
+    @ParameterizedTest
+    @MethodSource("names")
+    void nameFoldsCaseAccentsAndSeparators(String name, String expected) {
+        assertThat(CustomerSearchKeys.name(name)).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> fullNames() {
+        return Stream.of(
+                arguments("João", "Gonçalves", "joao goncalves"),
+                arguments("Ana", null, "ana"),
+                arguments(null, "Souza", "souza"),
+                arguments("--", "", ""));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fullNames")
+    void fullNameJoinsNormalizedParts(String firstName, String lastName, String expected) {
+        assertThat(CustomerSearchKeys.fullName(firstName, lastName)).isEqualTo(expected);
+    }
+}
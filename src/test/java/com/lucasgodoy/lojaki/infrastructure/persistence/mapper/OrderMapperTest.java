@@ -0,0 +1,107 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.mapper;
+
+import com.lucasgodoy.lojaki.domain.order.model.Order;
+import com.lucasgodoy.lojaki.domain.order.model.Status;
+import com.lucasgodoy.lojaki.domain.user.model.Role;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.BrandEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CategoryEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.OrderItemEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.ProductEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.StoreEntity;
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lazy item handling of the generated OrderMapper: items are mapped only
+ * when the domain list is read, an untouched list never reaches the items
+ * collection, and new entities get their items with the back reference.
+ */
+class OrderMapperTest {
+
+    private final Instant now = Instant.now();
+    private final StoreEntity store = new StoreEntity(UUID.randomUUID(), "Loja", null, true, null, now, now);
+    private final UserEntity user = new UserEntity(UUID.randomUUID(), "customer@lojaki.com", Role.STAFF, true);
+    private final ProductEntity product = new ProductEntity(UUID.randomUUID(), "Product", null,
+            new BigDecimal("12.50"), "BRL", 10,
+            new BrandEntity(UUID.randomUUID(), "Brand", true, null, now, now, store), store,
+            new CategoryEntity(UUID.randomUUID(), "Category", null, true, now, now, null, store, null),
+            true, now, now, null);
+
+    @Test
+    void itemsAreMappedOnlyWhenTheListIsRead() {
+        OrderEntity entity = order(new BigDecimal("25.00"), 2);
+        entity.getItems().add(new OrderItemEntity(UUID.randomUUID(), entity, product, 2, new BigDecimal("12.50")));
+        AtomicInteger loads = new AtomicInteger();
+
+        Order order = OrderMapper.INSTANCE.toDomain(entity, () -> {
+            loads.incrementAndGet();
+            return entity.getItems();
+        });
+
+        assertThat(loads).hasValue(0);
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("25.00");
+        assertThat(order.getItems()).hasSize(1);
+        assertThat(loads).hasValue(1);
+        assertThat(order.getItems().get(0).getProduct().getId()).isEqualTo(product.getId());
+    }
+
+    @Test
+    void copyToEntityLeavesUnreadItemsAlone() {
+        OrderEntity loaded = order(new BigDecimal("25.00"), 2);
+        Order order = OrderMapper.INSTANCE.toDomain(loaded, () -> {
+            throw new AssertionError("items loaded");
+        });
+        order.setStatus(Status.PAID);
+
+        OrderEntity managed = order(new BigDecimal("25.00"), 2);
+        managed.setItems(new AbstractList<>() {
+            @Override
+            public OrderItemEntity get(int index) {
+                throw new AssertionError("items read");
+            }
+
+            @Override
+            public int size() {
+                throw new AssertionError("items read");
+            }
+        });
+        OrderMapper.INSTANCE.copyToEntity(order, managed, mock(EntityManager.class));
+
+        assertThat(managed.getStatus()).isEqualTo(Status.PAID);
+    }
+
+    @Test
+    void newEntityGetsItemsWithBackReference() {
+        OrderEntity source = order(null, null);
+        source.getItems().add(new OrderItemEntity(UUID.randomUUID(), source, product, 3, new BigDecimal("12.50")));
+        Order order = OrderMapper.INSTANCE.toDomainWithItems(source);
+
+        OrderEntity entity = OrderMapper.INSTANCE.toEntity(order, mock(EntityManager.class));
+
+        assertThat(order.getTotalAmount()).isEqualByComparingTo("37.50");
+        assertThat(order.getItemCount()).isEqualTo(3);
+        assertThat(entity.getCurrency()).isEqualTo("BRL");
+        assertThat(entity.getItems()).singleElement().satisfies(item -> {
+            assertThat(item.getOrder()).isSameAs(entity);
+            assertThat(item.getQuantity()).isEqualTo(3);
+        });
+    }
+
+    private OrderEntity order(BigDecimal totalAmount, Integer itemCount) {
+        return new OrderEntity(UUID.randomUUID(), user, store, new ArrayList<>(), totalAmount, itemCount,
+                totalAmount == null ? null : "BRL", Status.PENDING, true, now, now);
+    }
+}
@@ -0,0 +1,77 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import com.lucasgodoy.lojaki.infrastructure.persistence.entity.CustomerEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The default methods of CustomerRepository: batch loading by id in
+ * de-duplicated chunks, and lookups skipped when the normalized key is
+ * empty. The queries themselves are mocked.
+ */
+class CustomerRepositoryTest {
+
+    private final CustomerRepository repository = mock(CustomerRepository.class, CALLS_REAL_METHODS);
+
+    @Test
+    void findAllByIdsQueriesDistinctIdsInChunks() {
+        List<List<UUID>> chunks = new ArrayList<>();
+        doAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            chunks.add(List.copyOf(ids));
+            return ids.stream().map(CustomerRepositoryTest::customer).toList();
+        }).when(repository).findChunkByIds(any());
+        List<UUID> distinct = new ArrayList<>();
+        for (int i = 0; i < 2 * CustomerRepository.ID_CHUNK_SIZE + 10; i++) {
+            distinct.add(UUID.randomUUID());
+        }
+        List<UUID> ids = new ArrayList<>(distinct);
+        ids.addAll(distinct.subList(0, 500));
+
+        List<CustomerEntity> customers = repository.findAllByIds(ids);
+
+        assertThat(chunks).extracting(List::size)
+                .containsExactly(CustomerRepository.ID_CHUNK_SIZE, CustomerRepository.ID_CHUNK_SIZE, 10);
+        assertThat(chunks).flatExtracting(chunk -> chunk).containsExactlyElementsOf(distinct);
+        assertThat(customers).extracting(CustomerEntity::getId).containsExactlyElementsOf(distinct);
+    }
+
+    @Test
+    void findAllByIdsWithNoIdsRunsNoQuery() {
+        assertThat(repository.findAllByIds(List.of())).isEmpty();
+
+        verify(repository, never()).findChunkByIds(any());
+    }
+
+    @Test
+    void blankKeysSkipTheQuery() {
+        UUID store = UUID.randomUUID();
+
+        assertThat(repository.findByPhone(store, "sem telefone")).isEmpty();
+        assertThat(repository.findByDocument(store, "./-")).isEmpty();
+        assertThat(repository.findByNamePrefix(store, "--", 10)).isEmpty();
+
+        verify(repository, never()).findInStoreByPhoneDigits(any(), any());
+        verify(repository, never()).findInStoreByDocumentDigits(any(), any());
+        verify(repository, never()).findInStoreBySearchNamePrefix(any(), any(), any());
+    }
+
+    private static CustomerEntity customer(UUID id) {
+        CustomerEntity customer = mock(CustomerEntity.class);
+        when(customer.getId()).thenReturn(id);
+        return customer;
+    }
+}
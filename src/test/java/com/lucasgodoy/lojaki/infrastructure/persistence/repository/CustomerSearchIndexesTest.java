@@ -0,0 +1,71 @@
+package com.lucasgodoy.lojaki.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Backfill of CustomerSearchIndexes on an in-memory H2 customers table:
+ * every row without keys gets them, chunk after chunk, and the loop ends
+ * even for rows whose name normalizes to an empty key.
+ */
+class CustomerSearchIndexesTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTable() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE customers (id UUID PRIMARY KEY, first_name VARCHAR(100),"
+                + " last_name VARCHAR(100), phone VARCHAR(20), document VARCHAR(20), phone_digits VARCHAR(20),"
+                + " document_digits VARCHAR(20), search_name VARCHAR(201))");
+    }
+
+    @Test
+    void backfillsEveryRowAcrossChunks() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), "José", "Silva " + i, "(11) 98765-4321", "123.456.789-09"});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO customers (id, first_name, last_name, phone, document) VALUES (?, ?, ?, ?, ?)", rows);
+        CustomerSearchIndexes indexes = new CustomerSearchIndexes(jdbcTemplate);
+
+        assertThat(indexes.backfill()).isEqualTo(2_500);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT phone_digits, document_digits, search_name FROM customers WHERE id = ?", rows.get(7)[0]);
+        assertThat(row).containsEntry("PHONE_DIGITS", "11987654321")
+                .containsEntry("DOCUMENT_DIGITS", "12345678909")
+                .containsEntry("SEARCH_NAME", "jose silva 7");
+        assertThat(indexes.backfill()).isZero();
+    }
+
+    @Test
+    void backfillEndsForNamesWithoutSearchableCharacters() {
+        UUID blank = UUID.randomUUID();
+        UUID punctuation = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, phone) VALUES (?, '', '', '')", blank);
+        jdbcTemplate.update("INSERT INTO customers (id, first_name, last_name, phone) VALUES (?, '--', '.', '-')",
+                punctuation);
+        CustomerSearchIndexes indexes = new CustomerSearchIndexes(jdbcTemplate);
+
+        int updated = assertTimeoutPreemptively(Duration.ofSeconds(10), indexes::backfill);
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT search_name FROM customers", String.class))
+                .containsExactly("", "");
+        assertThat(indexes.backfill()).isZero();
+    }
+}